@@ -4,10 +4,16 @@ import com.shj.onlinememospringproject.response.exception.Exception429;
 import com.shj.onlinememospringproject.response.exception.Exception500;
 import lombok.RequiredArgsConstructor;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Component
 @RequiredArgsConstructor
 public class OpenAIClient {
@@ -34,4 +40,32 @@ public class OpenAIClient {
             throw new Exception500.ExternalServer(this.getClass().getSimpleName(), "getChatAnswer", ex.getMessage());  // clientClassName = "OpenAIClient"
         }
     }
+
+    // 한 번의 요청으로 답변 후보를 candidateCount개 생성. (OpenAI 'n' 옵션 : 입력 토큰은 한 번만 과금되며, 출력 토큰만 후보 수만큼 늘어남.)
+    public List<String> getChatAnswers(String question, int candidateCount) {
+        try {
+            ChatResponse chatResponse = chatClient.prompt()
+                    .user(question)
+                    .options(OpenAiChatOptions.builder()
+                            .N(candidateCount)  // 모델 · 온도 등 나머지 옵션은 기본 옵션(OpenAIConfig)과 병합됨.
+                            .build())
+                    .call()
+                    .chatResponse();
+            if(chatResponse == null) return List.of();
+
+            return chatResponse.getResults().stream()
+                    .map(generation -> generation.getOutput().getText())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (HttpClientErrorException hcEx) {
+            if(hcEx.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {  // 429 예외 응답 (getChatAnswer() 참고)
+                throw new Exception429.ExcessRequestOpenAI(
+                        String.format("OpenAI API 키 소유자가 최대 한도에 도달했습니다. (%s)", hcEx.getMessage())
+                );
+            }
+            throw new Exception500.ExternalServer(this.getClass().getSimpleName(), "getChatAnswers", hcEx.getMessage());
+        } catch (Exception ex) {
+            throw new Exception500.ExternalServer(this.getClass().getSimpleName(), "getChatAnswers", ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package com.shj.onlinememospringproject.config;
+
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {  // 요청 스레드(Tomcat)와 분리된 작업 전용 스레드풀
+
+    public static final String OPENAI_TITLE_EXECUTOR = "openAITitleExecutor";  // 주입 시 @Qualifier로 지정할 빈 이름
+    public static final String SUMMARY_EXECUTOR = "summaryExecutor";
+
+    // AI 제목 생성 작업 전용 : 외부 API 응답을 기다리는 동안 스레드를 점유하므로, 일반 메모 요청과 스레드를 공유하지 않도록 분리함.
+    // - 스레드 수와 대기열을 모두 제한하여, AI 요청이 몰려도 이 풀 안에서만 대기하며 초과분은 즉시 거절됨. (TaskRejectedException)
+    private static final int OPENAI_TITLE_POOL_SIZE = 4;
+    private static final int OPENAI_TITLE_QUEUE_CAPACITY = 100;
+
+    // 긴 글 요약(TextRank) 전용 : CPU와 힙을 많이 사용하는 작업이므로, 동시 실행 수를 코어 수 이하로 제한하고 대기열도 짧게 둠.
+    // - 대기열이 가득 차면 즉시 거절되며, 호출부는 요약 대신 앞부분 문장들로 대체함. (SummaryServiceImpl 참고)
+    private static final int SUMMARY_POOL_SIZE = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int SUMMARY_QUEUE_CAPACITY = 10;
+
+
+    // 작업 전용 풀을 빈으로 등록하면 스프링부트의 기본 'applicationTaskExecutor'가 생성되지 않으므로, 같은 설정(spring.task.execution.*)으로 직접 등록함.
+    // - MVC 비동기 응답(SseEmitter 등)은 이 기본 풀을 사용하며, 작업 전용 풀은 이름(@Qualifier)으로만 주입받음.
+    @Primary
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder) {
+        return threadPoolTaskExecutorBuilder.build();
+    }
+
+    @Bean(name = OPENAI_TITLE_EXECUTOR)
+    public ThreadPoolTaskExecutor openAITitleExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(OPENAI_TITLE_POOL_SIZE);
+        executor.setMaxPoolSize(OPENAI_TITLE_POOL_SIZE);
+        executor.setQueueCapacity(OPENAI_TITLE_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("openai-title-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);  // 정상 종료 시, 이미 등록된 작업은 마치고 종료.
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = SUMMARY_EXECUTOR)
+    public ThreadPoolTaskExecutor summaryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(SUMMARY_POOL_SIZE);
+        executor.setMaxPoolSize(SUMMARY_POOL_SIZE);
+        executor.setQueueCapacity(SUMMARY_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("summary-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);  // 요약 결과는 요청 스레드만 기다리므로, 종료 시 남은 작업은 버림.
+        return executor;
+    }
+}
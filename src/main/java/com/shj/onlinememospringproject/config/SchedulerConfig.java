@@ -0,0 +1,25 @@
+package com.shj.onlinememospringproject.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulerConfig {  // @Scheduled 작업 전용 스레드풀
+
+    // 기본 스케줄러는 스레드가 1개뿐이므로, 오래 걸리는 배치(미사용 계정 정리, 임시저장 반영 등)가 실행되는 동안
+    // 편집락 · 공동편집 하트비트가 밀려 TTL이 만료되고, 락을 잃거나 SSE 연결이 끊긴 것으로 처리될 수 있음.
+    // - 하트비트(편집락, 공동편집), 스냅샷 저장, 임시저장 반영, 배치가 서로를 기다리지 않도록 작업 수만큼의 스레드를 둠.
+    private static final int SCHEDULER_POOL_SIZE = 4;
+
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {  // @EnableScheduling은 'taskScheduler' 이름의 빈을 사용함.
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(SCHEDULER_POOL_SIZE);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);  // 정상 종료 시, 실행 중인 스냅샷 저장 · 임시저장 반영은 마치고 종료.
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -0,0 +1,196 @@
+package com.shj.onlinememospringproject.config;
+
+import com.shj.onlinememospringproject.domain.Memo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class SchemaMigrationRunner implements SmartInitializingSingleton {  // JPA ddl-auto로는 생성할 수 없는 스키마 변경사항을 서버 시작 시 적용.
+
+    // - 실행 시점 : 모든 빈이 생성된 직후(JPA ddl-auto의 컬럼 추가 이후), 웹 서버가 요청을 받기 시작하기 전에 실행됨.
+    // (ApplicationRunner는 이미 요청을 받는 중에 실행되므로, 이관 · 채우기가 끝나기 전의 빈 값이 응답될 수 있어 사용하지 않음.)
+    // - 실패 시 : 각 단계는 서로 독립적으로 모두 시도되며, 하나라도 실패했다면 예외를 던져 서버 시작을 중단함.
+    // - 동시 실행 방지 : 여러 인스턴스가 함께 시작되더라도, MySQL 네임드 락(GET_LOCK)을 획득한 한 곳에서만 실행됨.
+    // (나머지 인스턴스는 락을 기다린 후, 이미 적용된 단계를 건너뜀. 네임드 락은 커넥션 단위이므로, 모든 단계를 하나의 커넥션에서 실행함.)
+    // - 모든 단계는 적용여부를 먼저 확인하므로, 서버를 여러 번 재시작해도 한 번만 적용됨. (멱등성 보장)
+    // - 기존 'memo.content' 컬럼 삭제는 되돌릴 수 없으므로, 모든 인스턴스가 새 버전으로 배포된 이후 설정값으로 명시했을 때만 실행함.
+
+    private static final int MIGRATION_CHUNK_SIZE = 1000;  // 대량 데이터 이관 시, 한 번에 처리할 memo_id 범위 (긴 잠금 및 undo 로그 방지)
+    private static final String MIGRATION_LOCK_NAME = "onlinememo_schema_migration";
+    private static final int MIGRATION_LOCK_TIMEOUT_SECONDS = 60 * 10;  // 다른 인스턴스의 마이그레이션 최대 대기시간 = 10분
+
+    private final DataSource dataSource;
+    private final boolean isDropLegacyMemoContent;
+
+
+    public SchemaMigrationRunner(DataSource dataSource,
+                                 @Value("${schema-migration.drop-legacy-memo-content:false}") boolean isDropLegacyMemoContent) {
+        this.dataSource = dataSource;
+        this.isDropLegacyMemoContent = isDropLegacyMemoContent;
+    }
+
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> failedStepList = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));  // 닫기는 try-with-resources가 담당함.
+            acquireMigrationLock(jdbcTemplate);
+            try {
+                // 1. 메모 본문 분리 (memo.content -> memo_content.content, 미리보기 채우기)
+                runStep(failedStepList, "memo_content 이관", () -> migrateMemoContent(jdbcTemplate));
+
+                // 2. 기존 본문 컬럼 삭제 (설정값으로 명시한 경우에만, 모든 본문이 이관되었는지 검증 후 삭제)
+                if(isDropLegacyMemoContent == true) {
+                    runStep(failedStepList, "memo.content 삭제", () -> dropLegacyMemoContent(jdbcTemplate));
+                }
+
+                // 3. 메모 검색용 FULLTEXT ngram 인덱스 (한국어는 형태소 대신 2글자 단위 n-gram으로 토큰화)
+                runStep(failedStepList, "ft_memo_title 생성", () -> createIndexIfAbsent(jdbcTemplate, "memo", "ft_memo_title",
+                        "ALTER TABLE memo ADD FULLTEXT INDEX ft_memo_title (title) WITH PARSER ngram"));
+                runStep(failedStepList, "ft_memo_content_content 생성", () -> createIndexIfAbsent(jdbcTemplate, "memo_content", "ft_memo_content_content",
+                        "ALTER TABLE memo_content ADD FULLTEXT INDEX ft_memo_content_content (content) WITH PARSER ngram"));
+
+                // 4. 메모 사용자 수 채우기 (기본값 0으로 추가된 memo.member_count)
+                runStep(failedStepList, "memo.member_count 채우기", () -> backfillMemberCount(jdbcTemplate));
+
+                // 5. 사용자별 메모 목록의 정렬기준 채우기 (NULL로 추가된 user_memo.memo_modified_time)
+                runStep(failedStepList, "user_memo.memo_modified_time 채우기", () -> backfillMemoModifiedTime(jdbcTemplate));
+
+                // 6. 메모 변경내역 시퀀스의 커밋 순서 보장용 잠금 행 (MemoChangeRepository 참고)
+                runStep(failedStepList, "memo_change_lock 생성", () -> createMemoChangeLock(jdbcTemplate));
+            } finally {
+                jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, MIGRATION_LOCK_NAME);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("스키마 마이그레이션 실패 - DB 연결 불가", ex);
+        }
+
+        if(!failedStepList.isEmpty()) {  // 서버 시작 중단
+            throw new IllegalStateException(String.format("스키마 마이그레이션 실패 - %s", failedStepList));
+        }
+    }
+
+
+    // ========== 마이그레이션 단계 ========== //
+
+    private void migrateMemoContent(JdbcTemplate jdbcTemplate) {
+        if(!existsColumn(jdbcTemplate, "memo", "content")) return;  // 이미 기존 컬럼이 삭제된 경우
+
+        // 기존 컬럼이 남아있는 동안에는 매 시작마다 실행되며, 이미 이관된 본문 · 미리보기는 건너뜀. (이전 버전 인스턴스가 그 사이 저장한 메모도 이관됨.)
+        Long maxMemoId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(memo_id), 0) FROM memo", Long.class);
+        for(long start=0; start<maxMemoId; start+=MIGRATION_CHUNK_SIZE) {
+            long end = start + MIGRATION_CHUNK_SIZE;
+            // INSERT IGNORE : 이관 도중 서버가 재시작되었거나, 이미 신규 방식으로 저장된 본문이 있다면 건너뜀.
+            jdbcTemplate.update("INSERT IGNORE INTO memo_content (memo_id, content) SELECT memo_id, content FROM memo WHERE memo_id > ? AND memo_id <= ?",
+                    start, end);
+            // 미리보기만 채우므로, version 및 modified_time은 변경하지 않음.
+            jdbcTemplate.update("UPDATE memo SET preview = LEFT(content, ?) WHERE memo_id > ? AND memo_id <= ? AND preview IS NULL AND content IS NOT NULL",
+                    Memo.MEMO_PREVIEW_LENGTH, start, end);
+        }
+        log.info("스키마 마이그레이션 - 'memo.content' 컬럼을 'memo_content' 테이블로 이관 완료 (maxMemoId = {})", maxMemoId);
+    }
+
+    private void dropLegacyMemoContent(JdbcTemplate jdbcTemplate) {
+        if(!existsColumn(jdbcTemplate, "memo", "content")) return;  // 이미 삭제된 경우
+
+        Integer missingCount = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM memo m LEFT JOIN memo_content mc ON mc.memo_id = m.memo_id " +
+                "WHERE mc.memo_id IS NULL AND m.content IS NOT NULL)", Integer.class);
+        if(missingCount != null && missingCount > 0) {
+            throw new IllegalStateException("'memo_content'로 이관되지 않은 본문이 있어 'memo.content' 컬럼을 삭제할 수 없음");
+        }
+
+        dropIndexIfPresent(jdbcTemplate, "memo", "ft_memo_title_content");  // 본문 컬럼을 포함하던 기존 검색 인덱스
+        jdbcTemplate.execute("ALTER TABLE memo DROP COLUMN content");
+        log.info("스키마 마이그레이션 - 'memo.content' 컬럼 삭제 완료");
+    }
+
+    private void backfillMemberCount(JdbcTemplate jdbcTemplate) {
+        // 메모는 항상 1명 이상의 사용자를 가지므로, 0인 행이 없다면 이미 채워진 경우임.
+        Integer pendingCount = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM memo WHERE member_count = 0)", Integer.class);
+        if(pendingCount == null || pendingCount == 0) return;
+
+        Long maxMemoId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(memo_id), 0) FROM memo", Long.class);
+        for(long start=0; start<maxMemoId; start+=MIGRATION_CHUNK_SIZE) {
+            // 사용자 수만 채우므로, version 및 modified_time은 변경하지 않음.
+            jdbcTemplate.update("UPDATE memo m SET member_count = (SELECT COUNT(*) FROM user_memo um WHERE um.memo_id = m.memo_id) " +
+                    "WHERE m.memo_id > ? AND m.memo_id <= ? AND m.member_count = 0", start, start + MIGRATION_CHUNK_SIZE);
+        }
+        log.info("스키마 마이그레이션 - 'memo.member_count' 컬럼 채우기 완료 (maxMemoId = {})", maxMemoId);
+    }
+
+    private void backfillMemoModifiedTime(JdbcTemplate jdbcTemplate) {
+        Integer pendingCount = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM user_memo WHERE memo_modified_time IS NULL)", Integer.class);
+        if(pendingCount == null || pendingCount == 0) return;
+
+        Long maxMemoId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(memo_id), 0) FROM memo", Long.class);
+        for(long start=0; start<maxMemoId; start+=MIGRATION_CHUNK_SIZE) {
+            jdbcTemplate.update("UPDATE user_memo um JOIN memo m ON um.memo_id = m.memo_id SET um.memo_modified_time = m.modified_time " +
+                    "WHERE um.memo_id > ? AND um.memo_id <= ? AND um.memo_modified_time IS NULL", start, start + MIGRATION_CHUNK_SIZE);
+        }
+        log.info("스키마 마이그레이션 - 'user_memo.memo_modified_time' 컬럼 채우기 완료 (maxMemoId = {})", maxMemoId);
+    }
+
+    private void createMemoChangeLock(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS memo_change_lock (lock_id TINYINT NOT NULL, PRIMARY KEY (lock_id)) ENGINE=InnoDB");
+        jdbcTemplate.update("INSERT IGNORE INTO memo_change_lock (lock_id) VALUES (1)");
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private void runStep(List<String> failedStepList, String stepName, Runnable step) {  // 한 단계의 실패가 다른 단계의 실행을 막지 않도록, 단계별로 실패를 모아둠.
+        try {
+            step.run();
+        } catch (RuntimeException ex) {
+            log.error("스키마 마이그레이션 실패 - {} : {}", stepName, ex.getMessage());
+            failedStepList.add(stepName);
+        }
+    }
+
+    private void acquireMigrationLock(JdbcTemplate jdbcTemplate) {
+        Integer lockResult = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class, MIGRATION_LOCK_NAME, MIGRATION_LOCK_TIMEOUT_SECONDS);
+        if(lockResult == null || lockResult != 1) {  // 0 : 대기시간 초과, NULL : 오류
+            throw new IllegalStateException(String.format("스키마 마이그레이션 실패 - 다른 인스턴스의 마이그레이션이 %d초 안에 끝나지 않음", MIGRATION_LOCK_TIMEOUT_SECONDS));
+        }
+    }
+
+    private boolean existsColumn(JdbcTemplate jdbcTemplate, String tableName, String columnName) {
+        Integer columnCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, tableName, columnName);
+        return columnCount != null && columnCount > 0;
+    }
+
+    private boolean existsIndex(JdbcTemplate jdbcTemplate, String tableName, String indexName) {
+        Integer indexCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, tableName, indexName);
+        return indexCount != null && indexCount > 0;
+    }
+
+    private void dropIndexIfPresent(JdbcTemplate jdbcTemplate, String tableName, String indexName) {
+        if(!existsIndex(jdbcTemplate, tableName, indexName)) return;
+
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DROP INDEX %s", tableName, indexName));
+        log.info("스키마 마이그레이션 - '{}.{}' 인덱스 삭제 완료", tableName, indexName);
+    }
+
+    private void createIndexIfAbsent(JdbcTemplate jdbcTemplate, String tableName, String indexName, String ddl) {
+        if(existsIndex(jdbcTemplate, tableName, indexName)) return;
+
+        jdbcTemplate.execute(ddl);
+        log.info("스키마 마이그레이션 - '{}.{}' 인덱스 생성 완료", tableName, indexName);
+    }
+}
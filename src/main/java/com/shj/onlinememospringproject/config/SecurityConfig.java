@@ -11,6 +11,7 @@ import com.shj.onlinememospringproject.jwt.handler.JwtAccessDeniedHandler;
 import com.shj.onlinememospringproject.jwt.handler.JwtAuthenticationEntryPoint;
 import com.shj.onlinememospringproject.jwt.handler.JwtExceptionFilter;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -71,6 +72,7 @@ public class SecurityConfig {
                             // < default >
                             // .requestMatchers("/**").permitAll()  // Test 용도
                             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()  // SSE 등 비동기 응답의 재디스패치는 최초 요청에서 이미 인증되었으므로 허용.
                             .requestMatchers(HttpMethod.POST, "/").denyAll()  // "/"에 대한 POST 요청을 막음. (이처럼 위쪽에 작성해야 정상 적용가능.)
 
                             // < All (User, Admin) >
@@ -6,6 +6,7 @@ import com.shj.onlinememospringproject.response.ResponseCode;
 import com.shj.onlinememospringproject.response.ResponseData;
 import com.shj.onlinememospringproject.service.BackOfficeScheduler;
 import com.shj.onlinememospringproject.service.Ga4FilteredService;
+import com.shj.onlinememospringproject.service.MetricRecorder;
 import com.shj.onlinememospringproject.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,6 +26,7 @@ public class BackOfficeController {
     private final Ga4FilteredService ga4FilteredService;
     private final UserService userService;
     private final BackOfficeScheduler backOfficeScheduler;
+    private final MetricRecorder metricRecorder;
 
 
     @GetMapping("/ga4/all-data")
@@ -119,4 +121,16 @@ public class BackOfficeController {
         Map<String, Object> ramMemoryMap = backOfficeScheduler.getRamMemoryUsage();
         return ResponseData.toResponseEntity(ResponseCode.READ_MEMORY, ramMemoryMap);
     }
+
+    @GetMapping("/metrics")
+    @Operation(summary = "서버 지표 조회 [JWT O]",
+            description = """
+                    <strong>< Response ></strong>
+                    - <strong>memo_list_cache.hit, memo_list_cache.miss</strong> : 메모 목록 캐시의 적중 및 미스 횟수
+                    - <strong>참고 사항</strong> : 서버 인스턴스별 누적값이며, 서버 재시작 시 0부터 다시 집계됨.
+                    """)
+    public ResponseEntity<ResponseData<Map<String, Long>>> getMetrics() {
+        Map<String, Long> metricMap = metricRecorder.getCounters();
+        return ResponseData.toResponseEntity(ResponseCode.READ_METRIC, metricMap);
+    }
 }
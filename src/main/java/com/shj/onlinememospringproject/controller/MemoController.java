@@ -3,14 +3,24 @@ package com.shj.onlinememospringproject.controller;
 import com.shj.onlinememospringproject.dto.MemoDto;
 import com.shj.onlinememospringproject.response.ResponseCode;
 import com.shj.onlinememospringproject.response.ResponseData;
+import com.shj.onlinememospringproject.service.CollabEditService;
+import com.shj.onlinememospringproject.service.EditLockSessionService;
+import com.shj.onlinememospringproject.service.MemoDraftService;
 import com.shj.onlinememospringproject.service.MemoFacade;
+import com.shj.onlinememospringproject.service.MemoRevisionService;
 import com.shj.onlinememospringproject.service.MemoService;
+import com.shj.onlinememospringproject.service.TitleJobService;
 import com.shj.onlinememospringproject.service.UserMemoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,13 +33,21 @@ public class MemoController {
     private final MemoFacade memoFacade;
     private final MemoService memoService;
     private final UserMemoService userMemoService;
+    private final EditLockSessionService editLockSessionService;
+    private final CollabEditService collabEditService;
+    private final MemoRevisionService memoRevisionService;
+    private final MemoDraftService memoDraftService;
+    private final TitleJobService titleJobService;
 
 
     @GetMapping("/{memoId}")
-    @Operation(summary = "메모정보 조회 [JWT O]")
-    public ResponseEntity<ResponseData<MemoDto.Response>> findMemoInfo(@PathVariable(value = "memoId") Long memoId) {
+    @Operation(summary = "메모정보 조회 [JWT O]", description = "- If-None-Match 헤더 : 이전 응답의 ETag와 메모가 변경되지 않았다면, 본문 없이 304 Not Modified 응답")
+    public ResponseEntity<ResponseData<MemoDto.Response>> findMemoInfo(@PathVariable(value = "memoId") Long memoId, WebRequest webRequest) {
+        String eTag = memoService.findMemoInfoETag(memoId);
+        if(webRequest.checkNotModified(eTag)) return null;  // 304 Not Modified (DTO 생성 없이 즉시 응답)
+
         MemoDto.Response memoResponseDto = memoService.findMemoInfo(memoId);
-        return ResponseData.toResponseEntity(ResponseCode.READ_MEMO, memoResponseDto);
+        return ResponseData.toResponseEntity(ResponseCode.READ_MEMO, toConditionalHeaders(eTag), memoResponseDto);
     }
 
     @GetMapping
@@ -43,13 +61,74 @@ public class MemoController {
                     - <strong>검색 URI</strong> : /memos?search={검색종류 string}  \n
                     <strong>< value ></strong>
                     - <strong>정렬 종류(의미)</strong> : 빈값(전체 메모), private-memo(개인 메모), group-memo(공동 메모), star-memo(즐겨찾기 개인메모)
-                    - <strong>검색 종류(의미)</strong> : 빈값(전체 메모), 제목 또는 내용에 포함된 키워드
+                    - <strong>검색 종류(의미)</strong> : 빈값(전체 메모), 제목 또는 내용에 포함된 키워드 (공백으로 구분된 키워드들을 모두 포함하는 메모를 관련도순으로 정렬)  \n
+                    <strong>< Header ></strong>
+                    - <strong>If-None-Match</strong> : 이전 응답의 ETag와 메모 목록이 변경되지 않았다면, 본문 없이 304 Not Modified 응답
                     """)
     public ResponseEntity<ResponseData<List<MemoDto.MemoPageResponse>>> findMemos(
             @RequestParam(value = "filter", required = false) String filter,
-            @RequestParam(value = "search", required = false) String search) {
+            @RequestParam(value = "search", required = false) String search,
+            WebRequest webRequest) {
+        String eTag = memoService.findMemosETag(filter, search);
+        if(eTag != null && webRequest.checkNotModified(eTag)) return null;  // 304 Not Modified (DTO 생성 없이 즉시 응답)
+
         List<MemoDto.MemoPageResponse> memoPageResponseDtoList = memoService.findMemos(filter, search);
-        return ResponseData.toResponseEntity(ResponseCode.READ_MEMOLIST, memoPageResponseDtoList);
+        return ResponseData.toResponseEntity(ResponseCode.READ_MEMOLIST, toConditionalHeaders(eTag), memoPageResponseDtoList);
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "메모 목록 커서 기반 조회/정렬 [JWT O]",
+            description = """
+                    <strong>< RequestParam ></strong>
+                    - <strong>filter</strong> : required = false
+                    - <strong>cursor</strong> : required = false (첫 페이지인 경우에만 생략)
+                    - <strong>limit</strong> : required = true (1 이상 100 이하)  \n
+                    <strong>< URI ></strong>
+                    - <strong>첫 페이지 URI</strong> : /memos?limit={페이지 크기}&filter={정렬종류 string}
+                    - <strong>다음 페이지 URI</strong> : /memos?limit={페이지 크기}&filter={정렬종류 string}&cursor={이전 응답의 nextCursor}  \n
+                    <strong>< value ></strong>
+                    - <strong>정렬 종류(의미)</strong> : 빈값(전체 메모), private-memo(개인 메모), group-memo(공동 메모), star-memo(즐겨찾기 개인메모)
+                    - <strong>참고 사항</strong> : 검색(search)은 커서 기반 조회를 지원하지 않음
+                    """)
+    public ResponseEntity<ResponseData<MemoDto.MemoSliceResponse>> findMemosByCursor(
+            @RequestParam(value = "filter", required = false) String filter,
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit") int limit) {
+        MemoDto.MemoSliceResponse memoSliceResponseDto = memoService.findMemosByCursor(filter, search, cursor, limit);
+        return ResponseData.toResponseEntity(ResponseCode.READ_MEMOLIST, memoSliceResponseDto);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "메모 목록 변경내역 조회 (델타 동기화) [JWT O]",
+            description = """
+                    <strong>< RequestParam ></strong>
+                    - <strong>since</strong> : required = false (최초 동기화인 경우에만 생략)  \n
+                    <strong>< URI ></strong>
+                    - <strong>최초 URI</strong> : /memos/changes
+                    - <strong>이후 URI</strong> : /memos/changes?since={이전 응답의 nextToken}  \n
+                    <strong>< Response ></strong>
+                    - <strong>isReset == true</strong> : 토큰이 없거나 만료됨. 전체 메모 목록(/memos)을 다시 조회한 후, nextToken으로 이어서 동기화
+                    - <strong>hasNext == true</strong> : 남은 변경내역이 있으므로, nextToken으로 즉시 재요청
+                    - <strong>참고 사항</strong> : 변경내역은 7일간 보관되며, 커밋 직후부터 조회됨
+                    """)
+    public ResponseEntity<ResponseData<MemoDto.ChangeResponse>> findMemoChanges(@RequestParam(value = "since", required = false) String since) {
+        MemoDto.ChangeResponse changeResponseDto = memoService.findMemoChanges(since);
+        return ResponseData.toResponseEntity(ResponseCode.READ_MEMOLIST, changeResponseDto);
+    }
+
+    @GetMapping("/{memoId}/revisions")
+    @Operation(summary = "메모 수정 이력 목록 조회 [JWT O]", description = "- 최신 버전순으로 최대 100개까지 응답")
+    public ResponseEntity<ResponseData<List<MemoDto.RevisionResponse>>> findMemoRevisions(@PathVariable(value = "memoId") Long memoId) {
+        List<MemoDto.RevisionResponse> revisionResponseDtoList = memoRevisionService.findRevisions(memoId);
+        return ResponseData.toResponseEntity(ResponseCode.READ_MEMO_REVISIONLIST, revisionResponseDtoList);
+    }
+
+    @GetMapping("/{memoId}/revisions/{version}")
+    @Operation(summary = "메모 수정 이력 복원 조회 [JWT O]", description = "- 해당 버전 시점의 제목과 본문을 응답 (메모 자체는 수정되지 않음)")
+    public ResponseEntity<ResponseData<MemoDto.RevisionDetailResponse>> findMemoRevision(@PathVariable(value = "memoId") Long memoId, @PathVariable(value = "version") Long version) {
+        MemoDto.RevisionDetailResponse revisionDetailResponseDto = memoRevisionService.findRevision(memoId, version);
+        return ResponseData.toResponseEntity(ResponseCode.READ_MEMO_REVISION, revisionDetailResponseDto);
     }
 
     @PostMapping
@@ -66,13 +145,49 @@ public class MemoController {
         return ResponseData.toResponseEntity(ResponseCode.LOCK_ACQUIRED);
     }
 
+    @GetMapping(value = "/{memoId}/lock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "메모 편집권한 Lock 세션 연결 (SSE) [JWT O]",
+            description = """
+                    - 연결이 유지되는 동안 서버가 Lock을 자동 연장하므로, Lock 검사/생성/연장 API를 반복 호출할 필요가 없음
+                    - <strong>lock-acquired</strong> : Lock 획득 (fencingToken)
+                    - <strong>lock-waiting</strong> : Lock 대기 (queuePosition, holderNickname) - 순번이 바뀌거나 Lock 주인이 바뀔 때마다 전송되며, 차례가 되면 lock-acquired 전송
+                    - <strong>lock-lost</strong> : Lock 만료로 다른 사용자에게 넘어감 (이후 lock-waiting 전송)
+                    - 연결을 종료하면 Lock이 해제되며, 30분마다 연결이 만료되므로 재연결할 것
+                    """)
+    public SseEmitter subscribeEditLock(@PathVariable(value = "memoId") Long memoId) {
+        return editLockSessionService.subscribe(memoId);
+    }
+
     @DeleteMapping("/{memoId}/lock")
     @Operation(summary = "메모 편집권한 Lock 삭제 [JWT O]", description = "!!! 프론트엔드 : <strong>공동 메모</strong>인 경우에만 호출할 것 !!!<br>(비록 백엔드에서 한 번 더 검증하지만, 불필요한 API 호출은 리소스 낭비로 이어지므로 지양해야함.)")
     public ResponseEntity<ResponseData> releaseEditLock(@PathVariable(value = "memoId") Long memoId) {
-        memoService.releaseEditLock(memoId);
+        memoFacade.releaseEditLockFacade(memoId);  // 락 해제 전, 남은 임시저장을 먼저 반영.
         return ResponseData.toResponseEntity(ResponseCode.DELETE_LOCK);
     }
 
+    @GetMapping(value = "/{memoId}/collab/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "공동메모 공동 편집 세션 연결 (SSE) [JWT O]",
+            description = """
+                    - <strong>snapshot</strong> : 연결 직후의 문서 상태 (revision, content)
+                    - <strong>operation</strong> : 반영된 연산 (revision, userId, clientOpId, operation) - snapshot의 revision 이하인 연산은 무시할 것
+                    - 공동 편집 중에는 편집권한 Lock 없이 연산 전송 API로 수정하며, 메모 수정(PUT/PATCH)은 423 응답
+                    """)
+    public SseEmitter subscribeCollabEdit(@PathVariable(value = "memoId") Long memoId) {
+        return collabEditService.subscribe(memoId);
+    }
+
+    @PostMapping("/{memoId}/collab/operations")
+    @Operation(summary = "공동메모 공동 편집 연산 전송 [JWT O]",
+            description = """
+                    - baseRevision : 연산을 만든 시점에 클라이언트가 마지막으로 반영한 revision
+                    - operation : ot.js TextOperation 형식 (양수 = retain, 음수 = delete, 문자열 = insert)
+                    - 서버가 그 사이의 연산들로 변환하여 반영하며, 응답의 revision 이후로 이어서 전송할 것 (409 응답 시 SSE 재연결)
+                    """)
+    public ResponseEntity<ResponseData<MemoDto.CollabOperationResponse>> submitCollabOperation(@PathVariable(value = "memoId") Long memoId, @RequestBody MemoDto.CollabOperationRequest collabOperationRequestDto) {
+        MemoDto.CollabOperationResponse collabOperationResponseDto = collabEditService.submitOperation(memoId, collabOperationRequestDto);
+        return ResponseData.toResponseEntity(ResponseCode.APPLY_COLLAB_OPERATION, collabOperationResponseDto);
+    }
+
     @PutMapping("/{memoId}")
     @Operation(summary = "메모 제목/내용/즐겨찾기 수정 [JWT O]",
             description = """
@@ -80,11 +195,42 @@ public class MemoController {
                     - isStar 필드 : null 허용 (제목/내용 수정인 경우에만)
                     """)
     public ResponseEntity<ResponseData> updateMemo(@PathVariable(value = "memoId") Long memoId, @RequestBody MemoDto.UpdateRequest updateRequestDto) {
-        if(updateRequestDto.getIsStar() != null) memoService.updateMemo(memoId, updateRequestDto);  // Lock 제어는 메모의 즐겨찾기 수정과는 무관하므로, 퍼사드 메소드 호출 X.
+        if(updateRequestDto.getIsStar() != null) memoService.updateMemo(memoId, updateRequestDto, null);  // Lock 제어는 메모의 즐겨찾기 수정과는 무관하므로, 퍼사드 메소드 호출 X.
         else memoFacade.updateMemoFacade(memoId, updateRequestDto);  // 퍼사드 메소드 호출 O.
         return ResponseData.toResponseEntity(ResponseCode.UPDATE_MEMO);
     }
 
+    @PutMapping("/{memoId}/draft")
+    @Operation(summary = "메모 제목/내용 임시저장 (자동저장) [JWT O]",
+            description = """
+                    - title 필드 : null 허용 (제목은 수정하지 않음)
+                    - currentVersion 필드 : 편집을 시작한 버전 (이전 임시저장 이후에도 그대로 전송해도 됨)
+                    - DB에는 주기적으로 병합되어 반영되며, 반영이 버전 충돌로 실패했다면 다음 임시저장이 409 응답 (최신 메모를 다시 조회할 것)
+                    """)
+    public ResponseEntity<ResponseData> saveDraft(@PathVariable(value = "memoId") Long memoId, @RequestBody MemoDto.DraftRequest draftRequestDto) {
+        memoDraftService.saveDraft(memoId, draftRequestDto);
+        return ResponseData.toResponseEntity(ResponseCode.SAVE_DRAFT);
+    }
+
+    @PostMapping("/{memoId}/draft/flush")
+    @Operation(summary = "메모 임시저장 즉시 반영 (명시적 저장) [JWT O]", description = "- 응답의 currentVersion : 반영 이후의 메모 버전")
+    public ResponseEntity<ResponseData<MemoDto.DraftResponse>> flushDraft(@PathVariable(value = "memoId") Long memoId) {
+        MemoDto.DraftResponse draftResponseDto = memoDraftService.flushDraft(memoId);
+        return ResponseData.toResponseEntity(ResponseCode.FLUSH_DRAFT, draftResponseDto);
+    }
+
+    @PatchMapping("/{memoId}")
+    @Operation(summary = "메모 제목/내용 패치 수정 [JWT O]",
+            description = """
+                    - title 필드 : null 허용 (null일 경우, 제목은 수정하지 않음)
+                    - operationList 필드 : currentVersion 시점의 본문 기준 UTF-16 인덱스의 [start, end) 범위를 text로 치환하는 연산들 (start 오름차순, 범위 중복 불가)
+                    - currentVersion이 최신이 아닐 경우 409 응답 (최신 본문을 다시 조회한 후 패치를 재계산할 것)
+                    """)
+    public ResponseEntity<ResponseData> patchMemo(@PathVariable(value = "memoId") Long memoId, @RequestBody MemoDto.PatchRequest patchRequestDto) {
+        memoFacade.patchMemoFacade(memoId, patchRequestDto);  // 퍼사드 메소드 호출 O.
+        return ResponseData.toResponseEntity(ResponseCode.UPDATE_MEMO);
+    }
+
     @PostMapping("/{memoId}")
     @Operation(summary = "메모 사용자 초대 [JWT O]")
     public ResponseEntity<ResponseData> invteUsersToMemo(@PathVariable(value = "memoId") Long memoId, @RequestBody MemoDto.InviteRequest inviteRequestDto) {
@@ -105,4 +251,37 @@ public class MemoController {
         MemoDto.GenerateResponse generateResponseDto = memoService.generateTitleByOpenAI(generateRequestDto);
         return ResponseData.toResponseEntity(ResponseCode.SUCCESS_RESPONSE_OPENAI, generateResponseDto);
     }
+
+    @PostMapping("/ai/title/jobs")
+    @Operation(summary = "메모 내용 기반의 AI 제목 생성 작업 등록 (비동기) [JWT O]",
+            description = """
+                    - 요청 본문은 동기 API(POST /memos/ai/title)와 동일하며, 작업 id를 202로 즉시 응답
+                    - 결과는 작업 조회 API로 status가 DONE 또는 FAILED가 될 때까지 1초 간격으로 조회할 것 (결과는 10분간 보관)
+                    - 작업 대기열이 가득 찬 경우 429 응답
+                    """)
+    public ResponseEntity<ResponseData<MemoDto.TitleJobResponse>> submitTitleJob(@RequestBody MemoDto.GenerateRequest generateRequestDto) {
+        MemoDto.TitleJobResponse titleJobResponseDto = titleJobService.submitTitleJob(generateRequestDto);
+        return ResponseData.toResponseEntity(ResponseCode.CREATED_TITLE_JOB, titleJobResponseDto);
+    }
+
+    @GetMapping("/ai/title/jobs/{jobId}")
+    @Operation(summary = "AI 제목 생성 작업 조회 [JWT O]", description = "- status : PENDING, RUNNING, DONE (title 등 결과 포함), FAILED (errorCode, errorMessage 포함)")
+    public ResponseEntity<ResponseData<MemoDto.TitleJobResponse>> findTitleJob(@PathVariable(value = "jobId") String jobId) {
+        MemoDto.TitleJobResponse titleJobResponseDto = titleJobService.findTitleJob(jobId);
+        return ResponseData.toResponseEntity(ResponseCode.READ_TITLE_JOB, titleJobResponseDto);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    // 'Cache-Control: private, no-cache' : 브라우저가 응답을 저장하되 매번 If-None-Match로 재검증하도록 함.
+    // (Spring Security의 기본 'no-store' 헤더는 컨트롤러가 Cache-Control을 지정한 경우 덮어쓰지 않음.)
+    private static HttpHeaders toConditionalHeaders(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        if(eTag != null) {
+            headers.setETag(eTag);
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        }
+        return headers;
+    }
 }
@@ -16,10 +16,12 @@ import java.util.Set;
 
 @Getter
 @NoArgsConstructor
-@Table(name = "memo")
+@Table(name = "memo")  // 메모 목록의 정렬용 인덱스는 사용자별로 조회되므로 user_memo에 있음. (UserMemo.memoModifiedTime 참고)
 @Entity
 public class Memo extends BaseModifiedEntity implements Serializable {
 
+    public static final int MEMO_PREVIEW_LENGTH = 100;  // 미리보기 최대 길이 = 100자 이하
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "memo_id")
@@ -28,8 +30,9 @@ public class Memo extends BaseModifiedEntity implements Serializable {
     @Column(name = "title")
     private String title;
 
-    @Column(name = "content", columnDefinition = "MEDIUMTEXT")
-    private String content;
+    // 본문(MEDIUMTEXT)은 'memo_content' 테이블로 분리하여, 목록 조회 · 즐겨찾기 수정 · 버전 검증이 좁은 행만 읽고 쓰도록 함. (MemoContent 엔티티 참고)
+    @Column(name = "preview", length = MEMO_PREVIEW_LENGTH)
+    private String preview;  // 본문 앞부분의 비정규화 미리보기
 
     @Column(name = "is_star", columnDefinition = "TINYINT(1) default 0", length = 1)
     private Integer isStar;  // isStar 필드는 수정시각에 영향을 주지않도록, @LastModifiedDate 생명주기에서 제외시켜 따로 JPQL로 직접 업데이트함.
@@ -37,6 +40,12 @@ public class Memo extends BaseModifiedEntity implements Serializable {
     @Version
     private Long version;  // '낙관적 락 (Optimistic Lock)'을 위한 버전 필드
 
+    @Column(name = "member_count", columnDefinition = "INT NOT NULL default 0")
+    private Integer memberCount;  // 비정규화된 메모 사용자 수 (사용자 구성이 바뀌는 트랜잭션에서 MemoRepository.refreshMemberCount()로 함께 갱신함.)
+
+    @Column(name = "lock_fence")
+    private Long lockFence;  // 마지막으로 수정을 반영한 편집락의 펜싱 토큰 (편집락 없이 수정된 경우에는 갱신하지 않음.)
+
     @OneToMany(mappedBy = "memo")  // Memo-UserMemo 양방향매핑 (읽기 전용 필드)
     private Set<UserMemo> userMemoList = new HashSet<>();  // MultipleBagFetchException Fetch Join 에러 해결을 위해, Set으로 선언하고 List로 변환해서 사용함.
 
@@ -45,8 +54,9 @@ public class Memo extends BaseModifiedEntity implements Serializable {
     public Memo(String title, String content) {
         // 이 빌더는 메모 생성때만 사용할 용도
         this.title = title;
-        this.content = content;
+        this.preview = toPreview(content);
         this.isStar = 0;
+        this.memberCount = 1;  // 생성자는 같은 트랜잭션에서 반드시 메모의 사용자로 추가됨.
         this.modifiedTime = LocalDateTime.now();
     }
 
@@ -60,7 +70,16 @@ public class Memo extends BaseModifiedEntity implements Serializable {
         this.title = title;
     }
 
-    public void updateContent(String content) {
-        this.content = content;
+    // 본문은 별도 테이블에 저장되므로, 본문이 수정되면 반드시 이 메소드로 메모 행도 함께 변경해야함.
+    // (미리보기 범위 밖의 수정이라도 수정날짜가 바뀌어 더티 체킹되므로, 낙관적 락의 버전이 증가함.)
+    public void updatePreview(String content) {
+        this.preview = toPreview(content);
+        this.modifiedTime = LocalDateTime.now();
+    }
+
+    public static String toPreview(String content) {
+        if(content == null) return null;
+        if(content.codePointCount(0, content.length()) <= MEMO_PREVIEW_LENGTH) return content;
+        return content.substring(0, content.offsetByCodePoints(0, MEMO_PREVIEW_LENGTH));  // 서로게이트 쌍(이모지 등)이 잘리지 않도록 코드포인트 단위로 자름.
     }
 }
@@ -0,0 +1,39 @@
+package com.shj.onlinememospringproject.domain;
+
+import com.shj.onlinememospringproject.domain.enums.MemoChangeType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table(name = "memo_change", indexes = {
+        @Index(name = "idx_memo_change_user_id_id", columnList = "user_id, memo_change_id"),  // 사용자별 변경내역의 순차 조회용 인덱스
+        @Index(name = "idx_memo_change_created_time", columnList = "created_time")  // 보관기간이 지난 변경내역 삭제용 인덱스
+})
+@Entity
+public class MemoChange {  // 사용자별 메모 변경내역 (델타 동기화 API의 변경 시퀀스)
+
+    // - 저장은 MemoChangeRepository(JDBC)의 INSERT ~ SELECT로만 수행하며, 이 엔티티는 테이블 스키마 정의용임.
+    // - 메모가 삭제되어도 삭제 내역(tombstone)은 남아야 하므로, Memo · User와의 연관관계(FK) 없이 id만 저장함.
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "memo_change_id")
+    private Long id;  // 단조 증가하는 변경 시퀀스 (동기화 토큰의 기준값)
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "memo_id", nullable = false)
+    private Long memoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private MemoChangeType changeType;
+
+    @Column(name = "created_time", nullable = false, columnDefinition = "DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3)")
+    private LocalDateTime createdTime;
+}
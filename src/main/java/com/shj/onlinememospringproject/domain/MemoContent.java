@@ -0,0 +1,44 @@
+package com.shj.onlinememospringproject.domain;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@NoArgsConstructor
+@Table(name = "memo_content")
+@Entity
+public class MemoContent implements Serializable {  // 메모 본문 (Memo와 1:1이며, PK를 공유함.)
+
+    // - Memo 엔티티의 필드로 두지 않은 이유 :
+    // 연관관계의 주인이 아닌 쪽의 @OneToOne은 바이트코드 향상(bytecode enhancement) 없이는 Lazy 로딩되지 않아, 메모 조회마다 본문까지 함께 조회됨.
+    // 따라서 본문이 필요한 경우(상세 조회, 수정)에만 MemoContentRepository로 직접 조회함.
+
+    @Id
+    @Column(name = "memo_id")
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "memo_id")
+    private Memo memo;
+
+    @Column(name = "content", columnDefinition = "MEDIUMTEXT")
+    private String content;
+
+
+    @Builder(builderClassName = "MemoContentSaveBuilder", builderMethodName = "MemoContentSaveBuilder")
+    public MemoContent(Memo memo, String content) {
+        // 이 빌더는 메모 생성때만 사용할 용도
+        this.memo = memo;
+        this.content = content;
+    }
+
+
+    public void updateContent(String content) {
+        this.content = content;
+    }
+}
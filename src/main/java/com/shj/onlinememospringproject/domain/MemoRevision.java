@@ -0,0 +1,67 @@
+package com.shj.onlinememospringproject.domain;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Table(name = "memo_revision", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_memo_revision_memo_id_version", columnNames = {"memo_id", "version"})  // 메모별 버전 순 조회 및 범위 조회용 인덱스
+})
+@Entity
+public class MemoRevision {  // 메모의 버전별 수정 이력 (본문은 압축된 스냅샷 또는 이전 버전과의 델타로 저장)
+
+    // - 저장 방식 :
+    // 1. 스냅샷 : 본문 전체를 Deflate 압축하여 저장. (snapshotVersion == version)
+    // 2. 델타 : 직전 버전 본문 -> 현재 본문의 편집 연산(TextOperation JSON)을 Deflate 압축하여 저장. (snapshotVersion = 이 델타 체인의 시작 스냅샷 버전)
+    // - 특정 버전은 '시작 스냅샷 + 그 이후의 델타들'을 차례로 적용하여 복원하며, 델타 체인의 길이는 MemoRevisionServiceImpl에서 제한함.
+    // - 메모 삭제 시 함께 삭제되며, 델타 복원 순서는 버전으로만 정해지므로 Memo와의 연관관계(FK) 없이 id만 저장함.
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "memo_revision_id")
+    private Long id;
+
+    @Column(name = "memo_id", nullable = false)
+    private Long memoId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;  // 이 수정으로 커밋된 메모의 버전
+
+    @Column(name = "snapshot_version", nullable = false)
+    private Long snapshotVersion;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "editor_id")
+    private Long editorId;  // 수정한 사용자의 userId (탈퇴한 사용자일 수 있으므로, FK 없음.)
+
+    @Column(name = "data", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    @Column(name = "created_time", nullable = false)
+    private LocalDateTime createdTime;
+
+
+    @Builder(builderClassName = "MemoRevisionSaveBuilder", builderMethodName = "MemoRevisionSaveBuilder")
+    public MemoRevision(Long memoId, Long version, Long snapshotVersion, String title, Long editorId, byte[] data) {
+        // 이 빌더는 리비전 생성때만 사용할 용도
+        this.memoId = memoId;
+        this.version = version;
+        this.snapshotVersion = snapshotVersion;
+        this.title = title;
+        this.editorId = editorId;
+        this.data = data;
+        this.createdTime = LocalDateTime.now();
+    }
+
+
+    public boolean isSnapshot() {
+        return this.version.equals(this.snapshotVersion);
+    }
+}
@@ -0,0 +1,5 @@
+package com.shj.onlinememospringproject.domain.enums;
+
+public enum TitleJobStatus {
+    PENDING, RUNNING, DONE, FAILED
+}
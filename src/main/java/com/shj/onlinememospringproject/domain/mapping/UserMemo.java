@@ -8,10 +8,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Getter
 @NoArgsConstructor
-@Table(name = "user_memo")
+@Table(name = "user_memo", indexes = {
+        @Index(name = "idx_user_memo_user_id_memo_id", columnList = "user_id, memo_id"),  // 사용자별 메모 조회 및 메모 접근권한 체킹용 인덱스
+        @Index(name = "idx_user_memo_user_id_modified_time", columnList = "user_id, memo_modified_time, memo_id")  // 사용자별 메모 목록의 정렬기준(수정날짜 내림차순 -> id 내림차순) 커서 조회용 인덱스
+})
 @Entity
 public class UserMemo implements Serializable {
 
@@ -28,11 +32,17 @@ public class UserMemo implements Serializable {
     @JoinColumn(name = "memo_id")
     private Memo memo;
 
+    // 메모의 수정날짜를 사용자-메모 관계에 비정규화하여, 사용자별 목록을 인덱스 순서 그대로 읽음. (memo 쪽 인덱스로는 사용자 조건과 정렬을 함께 만족할 수 없음.)
+    // 메모의 수정날짜가 바뀌는 트랜잭션에서 UserMemoRepository.syncMemoModifiedTime()으로 함께 갱신함.
+    @Column(name = "memo_modified_time")
+    private LocalDateTime memoModifiedTime;
+
 
     @Builder(builderClassName = "UserMemoSaveBuilder", builderMethodName = "UserMemoSaveBuilder")
     public UserMemo(User user, Memo memo) {
         // 이 빌더는 UserMemo 생성때만 사용할 용도
         this.user = user;
         this.memo = memo;
+        this.memoModifiedTime = memo.getModifiedTime();
     }
 }
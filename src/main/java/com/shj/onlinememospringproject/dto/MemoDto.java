@@ -8,9 +8,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class MemoDto {
 
@@ -37,6 +35,80 @@ public class MemoDto {
         private Long currentVersion;  // !!! 수정을 위한 값이 아닌, 수정 이전인 현재의 버전값을 의미. !!!
     }
 
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PatchRequest {
+
+        private String title;  // null 허용. (null일 경우, 제목은 수정하지 않음.)
+        private List<PatchOperation> operationList;  // 본문 패치 연산 리스트. null 허용. (null 또는 빈 리스트일 경우, 본문은 수정하지 않음.)
+        private Long currentVersion;  // !!! 수정을 위한 값이 아닌, 수정 이전인 현재의 버전값을 의미. (패치 연산의 위치 기준이 되는 버전) !!!
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PatchOperation {  // 원본의 start ~ end 범위(end 미포함)를 text로 치환 (util.TextPatcher 참고)
+
+        private Integer start;
+        private Integer end;
+        private String text;  // null 허용. (null 또는 빈 문자열일 경우, 삭제를 의미.)
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DraftRequest {  // 편집기의 자동저장 (DB에는 주기적으로 병합되어 반영됨.)
+
+        private String title;  // null 허용. (null일 경우, 제목은 수정하지 않음.)
+        private String content;
+        private Long currentVersion;  // !!! 수정을 위한 값이 아닌, 편집을 시작한 버전 또는 이전 임시저장에서 이어지는 버전값을 의미. !!!
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class LockEventResponse {  // 편집락 세션(SSE)의 이벤트 데이터
+
+        private Long fencingToken;  // 락을 획득한 경우에만 존재.
+        private Long queuePosition;  // 대기 중인 경우에만 존재. (1부터 시작)
+        private String holderNickname;  // 대기 중인 경우, 현재 락을 가진 사용자의 닉네임. (null일 경우, 락이 해제되어 다음 대기자에게 넘어가는 중임.)
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CollabOperationRequest {
+
+        private Long baseRevision;  // 연산을 만든 시점의 문서 revision (클라이언트가 마지막으로 반영한 revision)
+        private String clientOpId;  // 클라이언트가 자신의 연산을 식별하기 위한 값 (SSE로 되돌아오는 연산과 비교용)
+        private List<Object> operation;  // ot.js TextOperation 형식의 JSON 배열 (ex. [3, "abc", -2, 5])
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CollabOperationResponse {
+
+        private Long revision;  // 연산이 반영된 이후의 revision
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CollabSnapshotResponse {  // 공동 편집 세션(SSE) 연결 직후의 문서 상태
+
+        private Long revision;
+        private String content;
+    }
+
     @Getter
     @NoArgsConstructor
     public static class InviteRequest {
@@ -67,13 +139,13 @@ public class MemoDto {
         private Integer memoHasUsersCount;  // 해당 메모를 가지고 있는 사용자의 수
         private Long currentVersion;  // 메모의 현재 버전값
 
-        public Response(Memo entity) {
+        public Response(Memo entity, String content) {  // 본문은 'memo_content' 테이블에서 별도로 조회하여 전달받음.
             this.memoId = entity.getId();
             this.title = entity.getTitle();
-            this.content = entity.getContent();
+            this.content = content;
             this.isStar = entity.getIsStar();
             this.modifiedTime = TimeConverter.timeToStringForResponse(entity.getModifiedTime());
-            this.memoHasUsersCount = entity.getUserMemoList().size();
+            this.memoHasUsersCount = entity.getMemberCount();
             this.currentVersion = entity.getVersion();
         }
     }
@@ -102,6 +174,30 @@ public class MemoDto {
         private Boolean isMaxDailyAIUsage;  // 일일 AI 사용량 한도에 도달했는가? (boolean 원시타입은 앞의 "is"가 제거된 필드명으로 응답되므로 주의할것.)
     }
 
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TitleJobResponse {  // AI 제목 생성 작업의 상태 (결과 필드는 status가 DONE일 때만 존재)
+
+        private String jobId;
+        private String status;  // PENDING, RUNNING, DONE, FAILED
+        private String title;
+        private Integer dailyAIUsage;  // 호출 이후의 일일 AI 사용량
+        private Boolean isMaxDailyAIUsage;  // 일일 AI 사용량 한도에 도달했는가?
+        private String errorCode;  // FAILED일 때만 존재 (동기 API의 실패 응답 code와 동일)
+        private String errorMessage;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DraftResponse {
+
+        private Long currentVersion;  // 임시저장 반영 이후의 메모 버전 (이후 수정 요청의 currentVersion으로 사용)
+    }
+
     @Getter
     @NoArgsConstructor
     @AllArgsConstructor
@@ -111,6 +207,7 @@ public class MemoDto {
         // Memo
         private Long memoId;
         private String title;
+        private String preview;  // 본문 앞부분 미리보기 (최대 100자)
         private Integer isStar;
         private String modifiedTime;
 
@@ -119,21 +216,54 @@ public class MemoDto {
 
         // UserMemo
         private Integer memoHasUsersCount;  // 해당 메모를 가지고 있는 사용자의 수
+    }
 
-        public MemoPageResponse(Memo entity) {
-            this.memoId = entity.getId();
-            this.title = entity.getTitle();
-            this.isStar = entity.getIsStar();
-            this.modifiedTime = TimeConverter.timeToStringForResponse(entity.getModifiedTime());
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MemoSliceResponse {
 
-            List<UserDto.Response> userResponseDtoList = entity.getUserMemoList().stream()
-                    .map(UserMemo::getUser)
-                    .map(UserDto.Response::new)
-                    .sorted(Comparator.comparing(UserDto.Response::getNickname)  // 정렬 우선순위 1: 이름 오름차순
-                            .thenComparing(UserDto.Response::getUserId))  // 정렬 우선순위 2: id 오름차순
-                    .collect(Collectors.toList());
-            this.userResponseDtoList = userResponseDtoList;
-            this.memoHasUsersCount = userResponseDtoList.size();
-        }
+        private List<MemoPageResponse> memoPageResponseDtoList;  // 현재 페이지의 메모 리스트
+        private String nextCursor;  // 다음 페이지 조회용 커서. (null일 경우, 마지막 페이지임을 의미.)
+        private Boolean hasNext;  // 다음 페이지 존재 여부
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChangeResponse {
+
+        private List<MemoPageResponse> upsertedMemoPageResponseDtoList;  // since 이후 생성 · 수정되었거나 사용자 구성이 바뀐 메모들의 현재 상태
+        private List<Long> deletedMemoIdList;  // since 이후 삭제되었거나 탈퇴한 메모들의 id (tombstone)
+        private String nextToken;  // 다음 동기화 요청에 사용할 토큰
+        private Boolean hasNext;  // 아직 응답하지 못한 변경내역 존재 여부 (true일 경우, nextToken으로 즉시 재요청)
+        private Boolean isReset;  // true일 경우, 변경내역으로 동기화할 수 없으므로 전체 메모 목록을 다시 조회해야함.
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RevisionResponse {  // 메모 수정 이력 목록의 항목
+
+        private Long version;  // 이 수정으로 커밋된 메모의 버전
+        private String title;
+        private Long editorId;  // 수정한 사용자의 userId (null일 경우, 알 수 없음.)
+        private String editorNickname;  // 수정한 사용자의 닉네임 (null일 경우, 탈퇴한 사용자임.)
+        private String createdTime;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RevisionDetailResponse {  // 해당 버전으로 복원한 메모
+
+        private Long version;
+        private String title;
+        private String content;
+        private String createdTime;
     }
 }
@@ -40,6 +40,14 @@ public class UserDto {
             this.createdTime = entity.getCreatedTime();
             this.createdTimeStr = TimeConverter.timeToStringForResponse(entity.getCreatedTime());
         }
+
+        public Response(Long userId, String email, String nickname, LocalDateTime createdTime) {  // 엔티티 대신 Projection 조회결과로 생성하는 경우
+            this.userId = userId;
+            this.email = email;
+            this.nickname = nickname;
+            this.createdTime = createdTime;
+            this.createdTimeStr = TimeConverter.timeToStringForResponse(createdTime);
+        }
     }
 
     @Getter
@@ -0,0 +1,21 @@
+package com.shj.onlinememospringproject.event;
+
+import com.shj.onlinememospringproject.repository.MemoAccessCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class MemoAccessCacheEventListener {
+
+    private final MemoAccessCacheRepository memoAccessCacheRepository;
+
+
+    // - AFTER_COMMIT 사용 이유 : MemoListCacheEventListener와 동일. (회수 표시가 커밋 이전의 DB 조회로 다시 채워지는 것까지 막아줌.)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void revokeMemoAccess(MemoAccessRevokedEvent event) {
+        memoAccessCacheRepository.revoke(event.getUserId(), event.getMemoIds());
+    }
+}
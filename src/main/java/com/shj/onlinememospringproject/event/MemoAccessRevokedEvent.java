@@ -0,0 +1,14 @@
+package com.shj.onlinememospringproject.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+@Getter
+@AllArgsConstructor
+public class MemoAccessRevokedEvent {  // 사용자가 메모들의 접근권한을 잃었음(메모 탈퇴 · 삭제 · 회원 탈퇴)을 알리는 이벤트
+
+    private final Long userId;
+    private final Collection<Long> memoIds;
+}
@@ -0,0 +1,36 @@
+package com.shj.onlinememospringproject.event;
+
+import com.shj.onlinememospringproject.domain.enums.MemoChangeType;
+import com.shj.onlinememospringproject.repository.MemoChangeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class MemoChangeEventListener {
+
+    private final MemoChangeRepository memoChangeRepository;
+    private final EntityManager entityManager;
+
+
+    // - BEFORE_COMMIT 사용 이유 :
+    // 변경내역은 메모 변경과 같은 트랜잭션으로 커밋되어야, 서버 장애 시에도 변경내역만 누락되는 경우가 없음.
+    // 또한 시퀀스 발급 순서를 커밋 순서와 맞추기 위해 잡는 잠금이, 커밋 직전의 짧은 구간에만 유지됨. (MemoChangeRepository 참고)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordMemoChange(MemoChangedEvent event) {
+        entityManager.flush();  // 아직 반영되지 않은 사용자-메모 관계의 변경을 먼저 반영한 후, 현재 사용자들을 조회함.
+        memoChangeRepository.lockForSequence();  // 커밋까지 유지됨. (같은 트랜잭션의 여러 이벤트는 이미 획득한 잠금을 재사용함.)
+
+        if(event.getChangeType() == MemoChangeType.UPSERT) {
+            memoChangeRepository.insertUpsertsForMembers(event.getMemoIds());
+        }
+        else {
+            for(Long memoId : event.getMemoIds()) {
+                memoChangeRepository.insertDeletes(memoId, event.getUserIds());
+            }
+        }
+    }
+}
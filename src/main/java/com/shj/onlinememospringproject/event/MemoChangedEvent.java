@@ -0,0 +1,29 @@
+package com.shj.onlinememospringproject.event;
+
+import com.shj.onlinememospringproject.domain.enums.MemoChangeType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemoChangedEvent {  // 델타 동기화용 메모 변경내역을 기록하기 위한 이벤트
+
+    private final MemoChangeType changeType;
+    private final Collection<Long> memoIds;
+    private final Collection<Long> userIds;  // DELETE인 경우에만 사용 (UPSERT는 커밋 직전 시점의 메모 사용자들에게 기록함.)
+
+
+    // 메모가 생성 · 수정되었거나, 메모의 사용자 구성이 바뀐 경우 (메모의 현재 사용자들 모두에게 기록)
+    public static MemoChangedEvent upsert(Collection<Long> memoIds) {
+        return new MemoChangedEvent(MemoChangeType.UPSERT, memoIds, List.of());
+    }
+
+    // 사용자들이 메모에서 빠진 경우 (해당 사용자들에게만 삭제 내역을 기록)
+    public static MemoChangedEvent delete(Long memoId, Collection<Long> userIds) {
+        return new MemoChangedEvent(MemoChangeType.DELETE, List.of(memoId), userIds);
+    }
+}
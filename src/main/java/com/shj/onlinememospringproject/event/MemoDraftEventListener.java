@@ -0,0 +1,31 @@
+package com.shj.onlinememospringproject.event;
+
+import com.shj.onlinememospringproject.repository.MemoDraftRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemoDraftEventListener {
+
+    private final MemoDraftRepository memoDraftRepository;
+
+
+    // 메모 삭제 · 그룹 탈퇴 · 회원 탈퇴로 접근권한을 잃은 사용자의 임시저장을 삭제함. (남아있다면 주기 반영 시 접근권한 없음으로 실패만 반복됨.)
+    // - AFTER_COMMIT 사용 이유 : 삭제가 롤백된 경우에는 임시저장을 그대로 유지하기 위함.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void deleteDrafts(MemoAccessRevokedEvent event) {
+        for(Long memoId : event.getMemoIds()) {
+            try {
+                memoDraftRepository.deleteOwnedBy(memoId, event.getUserId());
+            } catch (DataAccessException ex) {  // 남은 임시저장은 TTL로 만료됨.
+                log.warn("메모 임시저장 삭제 실패 - memoId = {}, userId = {}, {}", memoId, event.getUserId(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.shj.onlinememospringproject.event;
+
+import com.shj.onlinememospringproject.repository.MemoListCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class MemoListCacheEventListener {
+
+    private final MemoListCacheRepository memoListCacheRepository;
+
+
+    // - AFTER_COMMIT 사용 이유 :
+    // 커밋 이전에 무효화할 경우, 그 사이의 조회 요청이 아직 커밋되지 않은 이전 DB 데이터로 캐시를 다시 채울 수 있음.
+    // 또한 롤백된 변경에 대해서는 무효화할 필요가 없음. (트랜잭션 밖에서 발행된 경우에는 즉시 실행.)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void invalidateMemoListCache(MemoListChangedEvent event) {
+        memoListCacheRepository.invalidate(event.getUserIds());
+    }
+}
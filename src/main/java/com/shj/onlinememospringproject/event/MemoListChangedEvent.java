@@ -0,0 +1,14 @@
+package com.shj.onlinememospringproject.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+@Getter
+@AllArgsConstructor
+public class MemoListChangedEvent {  // 메모 목록(GET /memos)의 응답이 달라지는 변경이 발생했음을 알리는 이벤트
+
+    // 삭제 이후에는 메모의 사용자들을 다시 조회할 수 없으므로, 발행 시점에 영향받는 사용자들을 미리 담아서 전달함.
+    private final Collection<Long> userIds;
+}
@@ -0,0 +1,46 @@
+package com.shj.onlinememospringproject.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface CollabOperationStore {  // 공동 편집(OT) 문서 상태 및 연산 기록 저장소
+    // - 운영 : RedisCollabOperationStore (서버 인스턴스 간 공유 및 Pub/Sub 전파)
+    // - 테스트 : InMemoryCollabOperationStore ('collab.store=memory' 설정 시, 단일 인스턴스 메모리에서 동작)
+
+    DocumentState findDocument(Long memoId);  // 문서가 없다면 null 반환
+    boolean existsDocument(Long memoId);
+    boolean initializeDocument(Long memoId, long revision, String content);  // 문서가 없는 경우에만 생성 (시작 revision = max(revision, 마지막으로 발급한 revision + 1), 생성 여부 반환)
+    boolean discardUnusedDocument(Long memoId);  // 생성 이후 연산이 한 번도 반영되지 않은 문서라면 삭제 (공동 편집 중인 문서가 남아있지 않다면 true 반환)
+    List<OperationRecord> findOperationsSince(Long memoId, long revision);  // revision 이후의 연산들 (이미 압축되어 없다면 null 반환)
+    boolean appendOperation(Long memoId, long expectedRevision, String content, OperationRecord operationRecord);  // 현재 revision이 expectedRevision일 때만 반영 후 전파 (반영 여부 반환)
+    Set<Long> claimDirtyMemoIds();  // 마지막 호출 이후 연산이 반영된 메모들의 id (처리 중 상태로 옮겨지며, 완료되지 않은 채 오래된 id도 다시 포함됨.)
+    void completeDirty(Long memoId);  // 스냅샷 저장이 커밋된 이후 호출하여, 처리 중 상태에서 제거
+    void markDirty(Long memoId);  // 스냅샷 저장에 실패한 메모를 다음 주기에 다시 저장하도록 등록 (처리 중 상태에서도 제거)
+    void compact(Long memoId, int retainCount);  // 최근 retainCount개의 연산만 남기고 삭제
+    void subscribe(Consumer<OperationRecord> listener);  // 반영된 연산 수신 (모든 서버 인스턴스)
+
+    @Getter
+    @AllArgsConstructor
+    class DocumentState {
+
+        private final long revision;
+        private final String content;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    class OperationRecord {  // 반영된 연산 1건 (Redis 저장 및 Pub/Sub 전파 시, JSON으로 직렬화됨.)
+
+        private Long memoId;
+        private long revision;  // 이 연산을 반영한 이후의 revision
+        private Long userId;
+        private String clientOpId;  // 클라이언트가 자신의 연산을 식별하기 위한 값
+        private List<Object> operation;  // TextOperation.toList()
+    }
+}
@@ -0,0 +1,248 @@
+package com.shj.onlinememospringproject.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Repository
+@RequiredArgsConstructor
+public class EditLockRepository {  // 공동메모 편집락 (Redis Lua 스크립트 기반)
+
+    // - 저장 구조 :
+    // 1. 'memoId:%d:edit_lock' : 락 상태를 담은 Hash. (필드 : userId, userNickname, token, acquiredAt)
+    // 2. 'memoId:%d:lock_fence' : 해당 메모에 마지막으로 발급한 펜싱 토큰.
+    // 3. 'memoId:%d:lock_queue' : 락을 기다리는 사용자들의 대기열 ZSET. (member = userId, score = 최초 대기 시각)
+    // - 락이 새로 획득되거나 해제될 때마다 LOCK_EVENT_CHANNEL로 memoId를 발행하여, 모든 서버 인스턴스의 락 세션(SSE)에 알림.
+    // - 락 상태를 문자열로 이어붙이지 않고 Hash 필드로 저장하므로, 닉네임에 구분자(',' 또는 ':')가 포함되어도 안전하며 필드 추가도 자유로움.
+    // - 모든 연산은 서버 측 Lua 스크립트로 실행되므로, 'GET -> EXPIRE/SET NX/DEL' 사이에 락이 만료되거나 다른 사용자에게 넘어가는 경합이 없으며 왕복도 1회임.
+    // - 펜싱 토큰 : 락을 새로 획득할 때마다 증가하는 값. (같은 사용자의 TTL 연장 시에는 유지)
+    // Redis 서버 시각(마이크로초)과 직전 토큰 + 1 중 큰 값으로 발급하므로, 토큰 키가 만료되거나 유실되어도 이전 토큰보다 작아지지 않음.
+    // 락이 만료된 뒤 늦게 도착한 이전 소유자의 수정은, DB에 기록된 더 큰 토큰(memo.lock_fence)과 비교하여 거부됨.
+    // - 이전 키 전환 처리 : 락이 Hash로 바뀌면서 키 이름도 'memoId:%d:lock'(문자열 "userId:..,userNickname:..")에서 변경되었으므로,
+    // 배포 시점에 잡혀있던 이전 키의 락도 함께 확인함. 다른 사용자의 이전 락은 그대로 존중하며, 본인의 이전 락은 남은 TTL 그대로 새 키로 옮김.
+    // (이전 키의 락은 락 TTL(10분) 이내에 모두 만료되므로, 그 이후에는 LEGACY_LOCK_LUA와 함께 제거해도 됨.)
+
+    public static final String LOCK_EVENT_CHANNEL = "memo_lock_event";
+    private static final long LOCK_QUEUE_EXPIRE_TIME = 1000L * 60 * 10;  // 대기열 TTL = 10분 (대기 중인 세션이 주기적으로 연장함.)
+    private static final Pattern LEGACY_USER_ID_PATTERN = Pattern.compile("userId:(\\d+)");
+    private static final Pattern LEGACY_TOKEN_PATTERN = Pattern.compile("token:(\\d+)");
+    private static final Pattern LEGACY_NICKNAME_PATTERN = Pattern.compile("userNickname:(.*)$");
+
+    // 이전 키의 락 조회 및 새 키로 이전하는 공통 함수 (스크립트 앞에 붙여서 사용)
+    private static final String LEGACY_LOCK_LUA = """
+            local function readLegacyLock(legacyKey)
+                local value = redis.call('GET', legacyKey)
+                if not value then
+                    return false, false, false
+                end
+                return string.match(value, 'userId:(%d+)') or false, string.match(value, 'userNickname:(.*)$') or false, string.match(value, 'token:(%d+)') or false
+            end
+            local function migrateLegacyLock(lockKey, legacyKey, fenceKey)
+                local owner, nickname = readLegacyLock(legacyKey)
+                local ttl = redis.call('PTTL', legacyKey)
+                local now = redis.call('TIME')
+                local nowMicros = tonumber(now[1]) * 1000000 + tonumber(now[2])
+                local token = string.format('%d', math.max(nowMicros, tonumber(redis.call('GET', fenceKey) or '0') + 1))
+                redis.call('SET', fenceKey, token)
+                redis.call('HSET', lockKey, 'userId', owner, 'userNickname', nickname or '', 'token', token, 'acquiredAt', string.format('%d', math.floor(nowMicros / 1000)))
+                if ttl > 0 then
+                    redis.call('PEXPIRE', lockKey, ttl)
+                end
+                redis.call('DEL', legacyKey)
+            end
+            """;
+
+    // 락 획득 또는 연장 : {1 = 획득/연장 성공 or 0 = 다른 사용자의 락, userId, userNickname, token, acquiredAt}
+    // (새로 획득한 경우에는 대기열에서 제거하고 락 이벤트를 발행함.)
+    private static final RedisScript<List> ACQUIRE_SCRIPT = new DefaultRedisScript<>(LEGACY_LOCK_LUA + """
+            local legacyOwner, legacyNickname, legacyToken = readLegacyLock(KEYS[4])
+            if legacyOwner and legacyOwner ~= ARGV[1] then
+                return {0, legacyOwner, legacyNickname, legacyToken, false}
+            elseif legacyOwner and not redis.call('HGET', KEYS[1], 'userId') then
+                migrateLegacyLock(KEYS[1], KEYS[4], KEYS[2])
+            end
+            local owner = redis.call('HGET', KEYS[1], 'userId')
+            local isAcquired = 1
+            if owner and owner ~= ARGV[1] then
+                isAcquired = 0
+            elseif owner then
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            else
+                local now = redis.call('TIME')
+                local nowMicros = tonumber(now[1]) * 1000000 + tonumber(now[2])
+                local token = string.format('%d', math.max(nowMicros, tonumber(redis.call('GET', KEYS[2]) or '0') + 1))
+                redis.call('SET', KEYS[2], token)
+                redis.call('HSET', KEYS[1], 'userId', ARGV[1], 'userNickname', ARGV[2], 'token', token, 'acquiredAt', string.format('%d', math.floor(nowMicros / 1000)))
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+                redis.call('ZREM', KEYS[3], ARGV[1])
+                redis.call('PUBLISH', ARGV[4], ARGV[5])
+            end
+            local lock = redis.call('HMGET', KEYS[1], 'userId', 'userNickname', 'token', 'acquiredAt')
+            return {isAcquired, lock[1], lock[2], lock[3], lock[4]}
+            """, List.class);
+
+    // 본인의 락 해제 : 1 = 해제 성공 (락 이벤트 발행), 0 = 다른 사용자의 락, -1 = 락 없음
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(LEGACY_LOCK_LUA + """
+            local legacyOwner = readLegacyLock(KEYS[2])
+            local owner = redis.call('HGET', KEYS[1], 'userId') or legacyOwner
+            if not owner then
+                return -1
+            end
+            if owner ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            if legacyOwner == ARGV[1] then
+                redis.call('DEL', KEYS[2])
+            end
+            redis.call('PUBLISH', ARGV[2], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // 본인의 락 검증 : 토큰(> 0) = 본인의 락, 0 = 다른 사용자의 락, -1 = 락 없음
+    private static final RedisScript<Long> CHECK_OWNER_SCRIPT = new DefaultRedisScript<>(LEGACY_LOCK_LUA + """
+            local legacyOwner = readLegacyLock(KEYS[2])
+            if legacyOwner and legacyOwner ~= ARGV[1] then
+                return 0
+            elseif legacyOwner and not redis.call('HGET', KEYS[1], 'userId') then
+                migrateLegacyLock(KEYS[1], KEYS[2], KEYS[3])
+            end
+            local lock = redis.call('HMGET', KEYS[1], 'userId', 'token')
+            if not lock[1] then
+                return -1
+            end
+            if lock[1] ~= ARGV[1] then
+                return 0
+            end
+            return tonumber(lock[2])
+            """, Long.class);
+
+    // 대기열 등록 (이미 대기 중이라면 기존 순서 유지) : 0부터 시작하는 대기 순번
+    private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return redis.call('ZRANK', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+
+    public AcquireResult acquire(Long memoId, Long userId, String userNickname, long millisecond) {  // 락 획득 & 생성 & 연장
+        List<?> resultList = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(toLockKey(memoId), toFenceKey(memoId), toQueueKey(memoId), toLegacyLockKey(memoId)),
+                userId.toString(), String.valueOf(userNickname), String.valueOf(millisecond), LOCK_EVENT_CHANNEL, memoId.toString());
+        boolean isAcquired = ((Number) resultList.get(0)).longValue() == 1L;
+        EditLock editLock = EditLock.of((String) resultList.get(1), (String) resultList.get(2), (String) resultList.get(3), (String) resultList.get(4));
+        return new AcquireResult(isAcquired, editLock);
+    }
+
+    public Boolean release(Long memoId, Long userId) {  // 본인의 락 해제
+        // true : 본인의 락 해제 성공.
+        // false : 본인의 락 해제 실패. (다른 사용자의 락)
+        // null : 키가 존재하지 않음.
+        Long result = redisTemplate.execute(RELEASE_SCRIPT, List.of(toLockKey(memoId), toLegacyLockKey(memoId)), userId.toString(), LOCK_EVENT_CHANNEL, memoId.toString());
+        if(result == null || result == -1L) return null;
+        return result == 1L;
+    }
+
+    public Boolean forceRelease(Long memoId) {  // 락 해제 (본인 무관)
+        Long deletedCnt = redisTemplate.delete(List.of(toLockKey(memoId), toLegacyLockKey(memoId)));
+        boolean isDeleted = (deletedCnt != null && deletedCnt > 0);
+        if(isDeleted) redisTemplate.convertAndSend(LOCK_EVENT_CHANNEL, memoId.toString());
+        return isDeleted;
+    }
+
+    public EditLock find(Long memoId) {  // 현재 락 조회 (락이 없다면 null)
+        HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+        List<String> valueList = hashOperations.multiGet(toLockKey(memoId), List.of("userId", "userNickname", "token", "acquiredAt"));
+        if(valueList == null || valueList.get(0) == null) return findLegacy(memoId);
+        return EditLock.of(valueList.get(0), valueList.get(1), valueList.get(2), valueList.get(3));
+    }
+
+    public Long enqueue(Long memoId, Long userId) {  // 대기열 등록 및 TTL 연장 (1부터 시작하는 대기 순번 반환)
+        Long rank = redisTemplate.execute(ENQUEUE_SCRIPT, List.of(toQueueKey(memoId)),
+                userId.toString(), String.valueOf(System.currentTimeMillis()), String.valueOf(LOCK_QUEUE_EXPIRE_TIME));
+        return (rank != null) ? rank + 1 : null;
+    }
+
+    public Long findQueuePosition(Long memoId, Long userId) {  // 1부터 시작하는 대기 순번 (대기열에 없다면 null)
+        Long rank = redisTemplate.opsForZSet().rank(toQueueKey(memoId), userId.toString());
+        return (rank != null) ? rank + 1 : null;
+    }
+
+    public void dequeue(Long memoId, Long userId) {  // 대기열 제거
+        redisTemplate.opsForZSet().remove(toQueueKey(memoId), userId.toString());
+    }
+
+    public Long checkOwner(Long memoId, Long userId) {  // 본인의 락이 맞는지 검증
+        // 양수 : 키가 존재하고 본인의 락이 맞으며, 해당 락의 펜싱 토큰을 반환.
+        // 0 : 키는 존재하나, 본인의 락이 아님.
+        // null : 키가 존재하지 않음.
+        Long result = redisTemplate.execute(CHECK_OWNER_SCRIPT, List.of(toLockKey(memoId), toLegacyLockKey(memoId), toFenceKey(memoId)), userId.toString());
+        return (result == null || result == -1L) ? null : result;
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private EditLock findLegacy(Long memoId) {  // 이전 키의 락 조회 (문자열 "userId:{id},token:{token},userNickname:{nickname}", token은 없을 수 있음.)
+        String value = redisTemplate.opsForValue().get(toLegacyLockKey(memoId));
+        if(value == null) return null;
+        Matcher userIdMatcher = LEGACY_USER_ID_PATTERN.matcher(value);
+        if(!userIdMatcher.find()) return null;
+        Matcher tokenMatcher = LEGACY_TOKEN_PATTERN.matcher(value);
+        Matcher nicknameMatcher = LEGACY_NICKNAME_PATTERN.matcher(value);
+        return EditLock.of(userIdMatcher.group(1),
+                nicknameMatcher.find() ? nicknameMatcher.group(1) : null,
+                tokenMatcher.find() ? tokenMatcher.group(1) : null,
+                null);
+    }
+
+    private static String toLockKey(Long memoId) {
+        return String.format("memoId:%d:edit_lock", memoId);
+    }
+
+    private static String toLegacyLockKey(Long memoId) {  // 이전 키 (전환 처리용)
+        return String.format("memoId:%d:lock", memoId);
+    }
+
+    private static String toFenceKey(Long memoId) {
+        return String.format("memoId:%d:lock_fence", memoId);
+    }
+
+    private static String toQueueKey(Long memoId) {
+        return String.format("memoId:%d:lock_queue", memoId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EditLock {  // 편집락 상태
+
+        private final long userId;
+        private final String userNickname;
+        private final long fencingToken;
+        private final long acquiredAt;  // 락 최초 획득 시각 (epoch millisecond, TTL 연장 시에는 유지)
+
+        private static EditLock of(String userId, String userNickname, String fencingToken, String acquiredAt) {
+            return new EditLock(Long.parseLong(userId), userNickname,
+                    (fencingToken != null) ? Long.parseLong(fencingToken) : 0L,
+                    (acquiredAt != null) ? Long.parseLong(acquiredAt) : 0L);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AcquireResult {  // 락 획득 결과 (isAcquired == false 이면, editLock은 현재 락을 가진 다른 사용자의 락임.)
+
+        private final boolean isAcquired;
+        private final EditLock editLock;
+    }
+}
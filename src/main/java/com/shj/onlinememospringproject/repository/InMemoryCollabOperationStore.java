@@ -0,0 +1,142 @@
+package com.shj.onlinememospringproject.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Repository
+@ConditionalOnProperty(name = "collab.store", havingValue = "memory")
+public class InMemoryCollabOperationStore implements CollabOperationStore {  // 단일 인스턴스용 메모리 저장소 (테스트 및 로컬 환경 전용)
+
+    private final Map<Long, Document> documentMap = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastRevisionMap = new ConcurrentHashMap<>();  // 마지막으로 발급한 revision (문서가 삭제되어도 유지)
+    private final Set<Long> dirtyMemoIdSet = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<OperationRecord>> listenerList = new CopyOnWriteArrayList<>();
+
+
+    @Override
+    public DocumentState findDocument(Long memoId) {
+        Document document = documentMap.get(memoId);
+        if(document == null) return null;
+        synchronized (document) {
+            return new DocumentState(document.revision, document.content);
+        }
+    }
+
+    @Override
+    public boolean existsDocument(Long memoId) {
+        return documentMap.containsKey(memoId);
+    }
+
+    @Override
+    public boolean initializeDocument(Long memoId, long revision, String content) {
+        boolean[] isCreated = {false};
+        documentMap.computeIfAbsent(memoId, key -> {
+            long startRevision = Math.max(revision, lastRevisionMap.getOrDefault(memoId, -1L) + 1);
+            lastRevisionMap.put(memoId, startRevision);
+            isCreated[0] = true;
+            return new Document(startRevision, content);
+        });
+        return isCreated[0];
+    }
+
+    @Override
+    public boolean discardUnusedDocument(Long memoId) {
+        Document document = documentMap.get(memoId);
+        if(document == null) return true;
+        synchronized (document) {
+            if(document.revision != document.initialRevision) return false;
+            document.isDiscarded = true;  // 삭제 직전에 문서를 조회한 appendOperation()이 반영되지 않도록함.
+            documentMap.remove(memoId, document);
+            return true;
+        }
+    }
+
+    @Override
+    public List<OperationRecord> findOperationsSince(Long memoId, long revision) {
+        Document document = documentMap.get(memoId);
+        if(document == null) return null;
+        synchronized (document) {
+            if(revision < document.baseRevision) return null;
+            int fromIdx = (int) (revision - document.baseRevision);
+            return new ArrayList<>(document.operationList.subList(Math.min(fromIdx, document.operationList.size()), document.operationList.size()));
+        }
+    }
+
+    @Override
+    public boolean appendOperation(Long memoId, long expectedRevision, String content, OperationRecord operationRecord) {
+        Document document = documentMap.get(memoId);
+        if(document == null) return false;
+        synchronized (document) {
+            if(document.isDiscarded || document.revision != expectedRevision) return false;
+            document.revision = expectedRevision + 1;
+            document.content = content;
+            document.operationList.add(operationRecord);
+            lastRevisionMap.merge(memoId, expectedRevision + 1, Math::max);
+        }
+        dirtyMemoIdSet.add(memoId);
+        listenerList.forEach(listener -> listener.accept(operationRecord));
+        return true;
+    }
+
+    @Override
+    public Set<Long> claimDirtyMemoIds() {  // 단일 인스턴스이므로, 처리 중 상태는 따로 두지 않음.
+        Set<Long> memoIdSet = new HashSet<>();
+        for(Long memoId : dirtyMemoIdSet) {
+            if(dirtyMemoIdSet.remove(memoId)) memoIdSet.add(memoId);
+        }
+        return memoIdSet;
+    }
+
+    @Override
+    public void completeDirty(Long memoId) {
+    }
+
+    @Override
+    public void markDirty(Long memoId) {
+        dirtyMemoIdSet.add(memoId);
+    }
+
+    @Override
+    public void compact(Long memoId, int retainCount) {
+        Document document = documentMap.get(memoId);
+        if(document == null) return;
+        synchronized (document) {
+            int removeCount = document.operationList.size() - retainCount;
+            if(removeCount <= 0) return;
+            document.operationList.subList(0, removeCount).clear();
+            document.baseRevision += removeCount;
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<OperationRecord> listener) {
+        listenerList.add(listener);
+    }
+
+
+    private static class Document {
+
+        private long revision;
+        private long baseRevision;  // operationList의 첫 연산 직전의 revision
+        private final long initialRevision;  // 문서 생성 시의 revision
+        private String content;
+        private boolean isDiscarded = false;
+        private final List<OperationRecord> operationList = new ArrayList<>();
+
+        private Document(long revision, String content) {
+            this.revision = revision;
+            this.baseRevision = revision;
+            this.initialRevision = revision;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.util.LongKeyCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class MemoAccessCacheRepository {  // 사용자의 메모 접근권한(메모 사용자 여부) 2단계 캐시 (로컬 + Redis)
+
+    // - 저장 구조 :
+    // 1. 로컬 : '(userId << 32) | memoId' 원시 long 키의 크기 제한 캐시. (짧은 TTL이며, 권한 회수 시 Pub/Sub으로 모든 서버 인스턴스에서 삭제됨.)
+    // 2. Redis : 'userId:%d:memo_access_expiry' ZSET. (접근 가능한 memoId들, score = 항목별 만료 시각)
+    //   키 전체가 아닌 항목마다 만료 시각을 두므로, 다른 memoId가 계속 채워지더라도 회수되지 못한 항목은 ACCESS_EXPIRE_TIME 이후 무효가 됨.
+    //   (이전 'userId:%d:memo_access' Set과는 타입이 다르므로 키 이름을 바꿨으며, 이전 키는 TTL로 자연 삭제됨.)
+    // - 접근 가능(양성) 결과만 저장하므로, 초대로 권한이 생기는 경우에는 무효화가 필요 없음. (없는 결과는 항상 DB에서 확인함.)
+    // - 실패 시 닫힘(fail-closed) : 캐시의 미스 · 장애는 권한 거부가 아닌 DB 확인으로 이어지며, 캐시만으로 권한을 새로 허용하는 경우는 없음.
+    // - 회수 표시 : 'userId:%d:memo_access_revoked' Set. 회수 직전에 DB를 읽은 요청이 회수 이후에 다시 채우지 못하도록, 잠시 동안 채우기를 막음.
+    // - 회수 실패 시 : 재시도 후에도 Redis 회수에 실패했다면, 성공할 때까지 해당 사용자는 이 서버 인스턴스에서 캐시를 사용하지 않고(조회 · 채우기 모두) 주기적으로 다시 회수함.
+    //   다른 서버 인스턴스에는 Redis 캐시가 남을 수 있으나, DB에서 권한이 사라져 더 이상 채워지지 않으므로 항목의 만료 시각(최대 ACCESS_EXPIRE_TIME) 이후에는 허용되지 않음.
+
+    public static final String ACCESS_REVOKE_CHANNEL = "memo_access_revoke";
+
+    private static final int LOCAL_CACHE_SIZE = 1 << 16;  // 로컬 캐시 최대 항목 수
+    private static final long LOCAL_EXPIRE_TIME = 1000L * 5;  // 로컬 캐시 TTL = 5초 (Pub/Sub 메시지가 유실되어도 이 시간 이후에는 다시 확인함.)
+    private static final long ACCESS_EXPIRE_TIME = 1000L * 60 * 5;  // Redis 캐시 항목 TTL = 5분 (해당 항목의 마지막 채우기 이후)
+    private static final long REVOKED_EXPIRE_TIME = 1000L * 30;  // 회수 표시 TTL = 30초
+    private static final int REVOKE_RETRY_COUNT = 3;  // Redis 회수 최대 시도 횟수
+    private static final long REVOKE_RETRY_BACKOFF = 50L;  // 재시도 간격 = 50ms * 시도 횟수
+    private static final long PENDING_REVOKE_RETRY_INTERVAL = 1000L * 5;  // 실패한 회수의 재시도 주기 = 5초
+
+    // 회수 표시가 없을 때만 채움. (해당 항목의 만료 시각만 연장하며, 만료된 항목은 함께 정리함.)
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then
+                return 0
+            end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now)
+            redis.call('ZADD', KEYS[1], now + tonumber(ARGV[2]), ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])  -- 키 자체는 가장 늦게 채워진 항목의 만료와 함께 삭제됨.
+            return 1
+            """, Long.class);
+
+    // 항목이 있고 만료 시각이 지나지 않은 경우에만 1.
+    private static final RedisScript<Long> CONTAINS_SCRIPT = new DefaultRedisScript<>("""
+            local expireAt = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not expireAt then
+                return 0
+            end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            if tonumber(expireAt) <= now then
+                return 0
+            end
+            return 1
+            """, Long.class);
+
+    // 권한 회수 : Redis 캐시에서 삭제하고 회수 표시를 남긴 뒤, 모든 서버 인스턴스의 로컬 캐시에도 알림.
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            for idx = 4, #ARGV do
+                redis.call('ZREM', KEYS[1], ARGV[idx])
+                redis.call('SADD', KEYS[2], ARGV[idx])
+            end
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            redis.call('PUBLISH', ARGV[2], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final LongKeyCache localCache = new LongKeyCache(LOCAL_CACHE_SIZE, LOCAL_EXPIRE_TIME);
+    private final Map<Long, Set<Long>> pendingRevokeMap = new ConcurrentHashMap<>();  // Redis 회수에 실패한 { userId : memoIds } (값은 compute 안에서만 수정함.)
+
+
+    @PostConstruct
+    public void subscribeRevokeEvent() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ACCESS_REVOKE_CHANNEL));
+    }
+
+    public boolean contains(Long userId, Long memoId) {  // 캐시에 없거나 Redis 장애 시 false 반환 (DB로 확인할 것)
+        if(pendingRevokeMap.containsKey(userId)) return false;  // 회수가 아직 Redis에 반영되지 않은 사용자 ==> 캐시를 신뢰하지 않음.
+        long localKey = toLocalKey(userId, memoId);
+        if(localKey != -1L && localCache.contains(localKey)) return true;
+
+        try {
+            Long result = redisTemplate.execute(CONTAINS_SCRIPT, List.of(toAccessKey(userId)), memoId.toString());
+            if(result == null || result == 0L) return false;
+        } catch (DataAccessException ex) {
+            log.warn("메모 접근권한 캐시 조회 실패 - userId = {}, memoId = {}, {}", userId, memoId, ex.getMessage());
+            return false;
+        }
+        if(localKey != -1L) localCache.put(localKey);
+        return true;
+    }
+
+    public void save(Long userId, Long memoId) {  // DB로 확인된 접근 가능 결과만 저장할 것.
+        if(pendingRevokeMap.containsKey(userId)) return;
+        try {
+            Long result = redisTemplate.execute(SAVE_SCRIPT, List.of(toAccessKey(userId), toRevokedKey(userId)),
+                    memoId.toString(), String.valueOf(ACCESS_EXPIRE_TIME));
+            if(result == null || result == 0L) return;  // 방금 회수된 권한이라면, 로컬에도 저장하지 않음.
+        } catch (DataAccessException ex) {
+            log.warn("메모 접근권한 캐시 저장 실패 - userId = {}, memoId = {}, {}", userId, memoId, ex.getMessage());
+            return;
+        }
+        long localKey = toLocalKey(userId, memoId);
+        if(localKey != -1L) localCache.put(localKey);
+    }
+
+    public void revoke(Long userId, Collection<Long> memoIds) {  // 메모 탈퇴 · 삭제 · 회원 탈퇴 시 (커밋 이후에 호출할 것)
+        if(memoIds.isEmpty()) return;
+
+        memoIds.forEach(memoId -> {  // Redis 장애로 발행되지 못하더라도, 최소한 이 서버 인스턴스의 로컬 캐시는 삭제함.
+            long localKey = toLocalKey(userId, memoId);
+            if(localKey != -1L) localCache.remove(localKey);
+        });
+
+        if(!executeRevoke(userId, memoIds)) {  // 재시도까지 실패 ==> 성공할 때까지 이 사용자의 캐시 사용을 막고, 주기적으로 다시 회수함.
+            pendingRevokeMap.compute(userId, (key, pendingMemoIds) -> {
+                Set<Long> mergedMemoIds = (pendingMemoIds != null) ? new HashSet<>(pendingMemoIds) : new HashSet<>();
+                mergedMemoIds.addAll(memoIds);
+                return mergedMemoIds;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelay = PENDING_REVOKE_RETRY_INTERVAL)
+    public void retryPendingRevokes() {
+        for(Long userId : new ArrayList<>(pendingRevokeMap.keySet())) {
+            Set<Long> pendingMemoIds = pendingRevokeMap.get(userId);
+            if(pendingMemoIds == null) continue;
+            Set<Long> targetMemoIds = Set.copyOf(pendingMemoIds);
+            if(!executeRevoke(userId, targetMemoIds)) continue;
+
+            pendingRevokeMap.computeIfPresent(userId, (key, memoIds) -> {  // 재시도 도중 새로 추가된 memoId는 남겨둠.
+                Set<Long> remainMemoIds = new HashSet<>(memoIds);
+                remainMemoIds.removeAll(targetMemoIds);
+                return remainMemoIds.isEmpty() ? null : remainMemoIds;
+            });
+        }
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private boolean executeRevoke(Long userId, Collection<Long> memoIds) {  // 최대 REVOKE_RETRY_COUNT번 시도하여, 성공 여부 반환
+        String memoIdsStr = memoIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        List<String> argList = new ArrayList<>();
+        argList.add(String.valueOf(REVOKED_EXPIRE_TIME));
+        argList.add(ACCESS_REVOKE_CHANNEL);
+        argList.add(userId + ":" + memoIdsStr);  // 발행 메시지 = '{userId}:{memoId},{memoId},...'
+        memoIds.forEach(memoId -> argList.add(memoId.toString()));
+
+        for(int attempt=1; attempt<=REVOKE_RETRY_COUNT; attempt++) {
+            try {
+                redisTemplate.execute(REVOKE_SCRIPT, List.of(toAccessKey(userId), toRevokedKey(userId)), argList.toArray());
+                return true;
+            } catch (DataAccessException ex) {
+                log.error("메모 접근권한 캐시 회수 실패 ({}/{}) - userId = {}, memoIds = {}, {}", attempt, REVOKE_RETRY_COUNT, userId, memoIdsStr, ex.getMessage());
+            }
+            if(attempt == REVOKE_RETRY_COUNT) break;
+            try {
+                Thread.sleep(REVOKE_RETRY_BACKOFF * attempt);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return false;
+    }
+
+    private void evictLocal(String message) {
+        try {
+            int separatorIdx = message.indexOf(':');
+            Long userId = Long.valueOf(message.substring(0, separatorIdx));
+            for(String memoIdStr : message.substring(separatorIdx + 1).split(",")) {
+                long localKey = toLocalKey(userId, Long.valueOf(memoIdStr));
+                if(localKey != -1L) localCache.remove(localKey);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("메모 접근권한 회수 메시지 처리 실패 - message = {}, {}", message, ex.getMessage());
+        }
+    }
+
+    private static long toLocalKey(Long userId, Long memoId) {  // 두 id를 하나의 원시 long으로 합침. (int 범위를 넘는 id는 로컬 캐시를 사용하지 않으므로 -1 반환)
+        if(userId < 0 || userId > Integer.MAX_VALUE || memoId < 0 || memoId > Integer.MAX_VALUE) return -1L;
+        return (userId << 32) | memoId;
+    }
+
+    private static String toAccessKey(Long userId) {
+        return String.format("userId:%d:memo_access_expiry", userId);
+    }
+
+    private static String toRevokedKey(Long userId) {
+        return String.format("userId:%d:memo_access_revoked", userId);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,6 +17,22 @@ public class MemoBatchRepository {  // 대용량 데이터의 batch 처리를 
     private final JdbcTemplate jdbcTemplate;
 
 
+    // 사용자 수를 user_memo 기준으로 다시 계산하고, 사용자가 남지 않은 메모들의 id를 반환함. (MemoRepository.refreshMemberCount() 참고)
+    public List<Long> batchRefreshMemberCount(List<Memo> memoList) {
+        List<Long> emptyMemoIdList = new ArrayList<>();
+
+        for (int i=0; i<memoList.size(); i+=BATCH_SIZE) {
+            String memoIds = memoList.subList(i, Math.min(i+BATCH_SIZE, memoList.size()))
+                    .stream()
+                    .map(memo -> String.valueOf(memo.getId()))
+                    .collect(Collectors.joining(","));
+
+            jdbcTemplate.update(String.format("UPDATE memo m SET member_count = (SELECT COUNT(*) FROM user_memo um WHERE um.memo_id = m.memo_id) WHERE m.memo_id IN (%s)", memoIds));
+            emptyMemoIdList.addAll(jdbcTemplate.queryForList(String.format("SELECT memo_id FROM memo WHERE memo_id IN (%s) AND member_count = 0", memoIds), Long.class));
+        }
+        return emptyMemoIdList;
+    }
+
     public void batchDelete(List<Memo> memoList) {
 
         for (int i=0; i<memoList.size(); i+=BATCH_SIZE) {
@@ -24,12 +41,14 @@ public class MemoBatchRepository {  // 대용량 데이터의 batch 처리를 
                     .map(Memo::getId)
                     .collect(Collectors.toList());
 
-            String sql = String.format("DELETE FROM memo WHERE memo_id IN (%s)",
-                    batchList.stream()
-                            .map(String::valueOf)
-                            .collect(Collectors.joining(",")));
+            String memoIds = batchList.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
 
-            jdbcTemplate.update(sql);
+            // 자식 테이블인 MemoContent에서 본문부터 삭제한 후, 부모 테이블인 Memo를 삭제. (수정 이력도 같은 트랜잭션에서 함께 삭제.)
+            jdbcTemplate.update(String.format("DELETE FROM memo_revision WHERE memo_id IN (%s)", memoIds));
+            jdbcTemplate.update(String.format("DELETE FROM memo_content WHERE memo_id IN (%s)", memoIds));
+            jdbcTemplate.update(String.format("DELETE FROM memo WHERE memo_id IN (%s)", memoIds));
         }
     }
 }
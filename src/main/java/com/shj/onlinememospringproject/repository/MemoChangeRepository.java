@@ -0,0 +1,101 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.domain.enums.MemoChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class MemoChangeRepository {  // 메모 변경내역(델타 동기화) 전용의 JDBC Repository
+
+    // - 커밋 순서대로 시퀀스를 발급하는 방식 :
+    // AUTO_INCREMENT 시퀀스는 INSERT 시점에 발급되지만 조회 가능 시점은 커밋 이후이므로, 그대로라면 작은 시퀀스가 큰 시퀀스보다 늦게 커밋될 수 있음.
+    // 이때 큰 시퀀스까지 응답해버리면 클라이언트의 토큰이 앞서나가 작은 시퀀스를 영영 놓치게 됨.
+    // 따라서 변경내역을 기록하는 트랜잭션은 INSERT 이전에 'memo_change_lock' 행을 잠그고(lockForSequence), 이 잠금은 커밋까지 유지됨.
+    // 그러면 다음 트랜잭션의 INSERT는 이전 트랜잭션의 커밋 이후에만 실행되므로, 시퀀스 순서 == 커밋 순서가 되어 보이는 시퀀스 이전에는 빈 곳이 없음.
+    // (변경내역은 BEFORE_COMMIT 시점에 기록되므로, 직렬화되는 구간은 변경내역 INSERT부터 커밋까지뿐임.)
+
+    public static final int RETENTION_DAYS = 7;  // 변경내역 보관기간 = 7일
+    private static final int IN_CLAUSE_SIZE = 1000;  // IN 절의 최대 파라미터 개수 (쿼리 길이 제한 방지)
+    private static final int PURGE_BATCH_SIZE = 10000;  // 한 번에 삭제할 최대 행 수 (긴 잠금 방지)
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    // 변경내역 시퀀스의 발급 순서를 커밋 순서와 맞추기 위한 잠금. (반드시 트랜잭션 내에서, 변경내역 INSERT 이전에 호출할 것.)
+    public void lockForSequence() {
+        jdbcTemplate.queryForObject("SELECT lock_id FROM memo_change_lock WHERE lock_id = 1 FOR UPDATE", Integer.class);
+    }
+
+    // 메모들의 현재 사용자 모두에게 UPSERT 내역 기록 (사용자가 없는 삭제된 메모는 기록되지 않음.)
+    public void insertUpsertsForMembers(Collection<Long> memoIds) {
+        List<Long> memoIdList = new ArrayList<>(memoIds);
+        for(int start=0; start<memoIdList.size(); start+=IN_CLAUSE_SIZE) {
+            List<Long> chunkList = memoIdList.subList(start, Math.min(start + IN_CLAUSE_SIZE, memoIdList.size()));
+            String sql = "INSERT INTO memo_change (user_id, memo_id, change_type, created_time)"
+                    + " SELECT um.user_id, um.memo_id, '" + MemoChangeType.UPSERT.name() + "', NOW(3)"
+                    + " FROM user_memo um WHERE um.memo_id IN (" + toPlaceholders(chunkList.size()) + ")";
+            jdbcTemplate.update(sql, chunkList.toArray());
+        }
+    }
+
+    // 메모에서 빠진 사용자들에게 DELETE 내역(tombstone) 기록
+    public void insertDeletes(Long memoId, Collection<Long> userIds) {
+        if(userIds.isEmpty()) return;
+        String sql = "INSERT INTO memo_change (user_id, memo_id, change_type, created_time) VALUES (?, ?, '" + MemoChangeType.DELETE.name() + "', NOW(3))";
+        List<Object[]> batchArgList = new ArrayList<>(userIds.size());
+        for(Long userId : userIds) batchArgList.add(new Object[]{ userId, memoId });
+        jdbcTemplate.batchUpdate(sql, batchArgList);
+    }
+
+    // 사용자의 sinceId 이후 변경내역을 시퀀스 오름차순으로 조회 (시퀀스는 커밋 순서대로 발급되므로, 이미 커밋된 내역만으로 응답해도 누락이 없음.)
+    public List<MemoChangeRow> findChangesByUserId(Long userId, long sinceId, int limit) {
+        String sql = "SELECT memo_change_id, memo_id, change_type FROM memo_change"
+                + " WHERE user_id = ? AND memo_change_id > ?"
+                + " ORDER BY memo_change_id LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new MemoChangeRow(
+                rs.getLong("memo_change_id"), rs.getLong("memo_id"), MemoChangeType.valueOf(rs.getString("change_type"))),
+                userId, sinceId, limit);
+    }
+
+    // 전체 변경내역 중 커밋된 가장 최근 시퀀스 조회 (최초 동기화 토큰용)
+    public long findLatestId() {
+        Long latestId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(memo_change_id), 0) FROM memo_change", Long.class);
+        return (latestId != null) ? latestId : 0L;
+    }
+
+    // 보관기간이 지난 변경내역 삭제 (삭제된 총 행 수 반환)
+    public int deleteExpiredChanges() {
+        int totalDeletedCount = 0, deletedCount;
+        do {
+            deletedCount = jdbcTemplate.update(
+                    "DELETE FROM memo_change WHERE created_time < NOW(3) - INTERVAL " + RETENTION_DAYS + " DAY LIMIT " + PURGE_BATCH_SIZE);
+            totalDeletedCount += deletedCount;
+        } while(deletedCount == PURGE_BATCH_SIZE);
+        return totalDeletedCount;
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static String toPlaceholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MemoChangeRow {
+
+        private final long id;
+        private final long memoId;
+        private final MemoChangeType changeType;
+    }
+}
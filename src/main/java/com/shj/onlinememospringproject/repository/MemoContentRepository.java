@@ -0,0 +1,29 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.domain.MemoContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MemoContentRepository extends JpaRepository<MemoContent, Long> {
+
+    // memoId로 검색하여 본문만 가져오는 메소드
+    @Query("SELECT mc.content FROM MemoContent mc WHERE mc.id = :memoId")
+    String findContentById(@Param("memoId") Long memoId);
+
+    // 최신 커밋된 본문 조회 (잠금 읽기이므로, 트랜잭션의 스냅샷 시점과 무관하게 최신값을 읽음. MemoRepository.findByIdForUpdate() 이후에 호출할 것.)
+    @Query(value = "SELECT content FROM memo_content WHERE memo_id = :memoId FOR SHARE", nativeQuery = true)
+    String findLatestContentById(@Param("memoId") Long memoId);
+
+    // 본문 엔티티를 조회하지 않고 바로 수정함. (반드시 같은 트랜잭션에서 MemoRepository.updateWithVersion()이 성공한 이후에 호출할 것.)
+    @Modifying
+    @Query("UPDATE MemoContent mc SET mc.content = :content WHERE mc.id = :memoId")
+    int updateContentByMemoId(@Param("memoId") Long memoId, @Param("content") String content);
+
+    // 기본 deleteById는 삭제 전 엔티티(본문 포함)를 먼저 조회하므로, JPQL로 직접 삭제함.
+    // (이후 같은 트랜잭션에서 Memo 엔티티를 삭제해야하므로, 영속성 컨텍스트는 비우지 않음.)
+    @Modifying
+    @Query("DELETE FROM MemoContent mc WHERE mc.id = :memoId")
+    void deleteByMemoId(@Param("memoId") Long memoId);
+}
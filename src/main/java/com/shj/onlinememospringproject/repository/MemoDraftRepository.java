@@ -0,0 +1,209 @@
+package com.shj.onlinememospringproject.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class MemoDraftRepository {  // 메모 자동저장(임시저장) 버퍼 (Redis)
+
+    // - 저장 구조 :
+    // 1. 'memoId:%d:draft' : 메모별 최신 임시저장 Hash. (필드 : userId, title, content, originVersion, baseVersion, fencingToken, seq, dirty, conflicted)
+    // 2. 'autosave:dirty_memos' : DB 반영(flush)이 필요한 메모 id들의 Set.
+    // 3. 'autosave:processing_memos' : 주기 반영 중인 메모 id들의 ZSET. (score = 꺼낸 시각)
+    // 반영이 끝난 이후에만 제거하므로, 반영 도중 서버가 종료되더라도 PROCESSING_EXPIRE_TIME 이후 다른 인스턴스가 다시 꺼내어 반영함.
+    // - 버전 체인 : 임시저장은 같은 사용자의 편집기에서 계속 이어지는 전체 본문이므로, 반영될 때마다 baseVersion을 새 버전으로 옮김.
+    // 클라이언트가 아직 이전 버전(originVersion ~ baseVersion)을 들고 있더라도, 이는 이 버퍼가 만든 버전들이므로 그대로 이어서 받음.
+    // - seq : 임시저장마다 증가하여, 반영 도중에 새 임시저장이 들어왔는지 판단함. (새 임시저장이 있다면 dirty를 유지)
+
+    public static final long SAVE_REJECTED = -1L;  // 다른 사용자 또는 다른 버전 기준의 반영되지 않은 임시저장이 있음.
+    public static final long SAVE_CONFLICTED = -2L;  // 이전 임시저장이 버전 충돌로 반영되지 못했음. (버퍼는 비워지며, 최신 메모를 다시 불러온 이후의 저장은 정상 처리됨.)
+
+    private static final String DIRTY_MEMO_KEY = "autosave:dirty_memos";
+    private static final String PROCESSING_MEMO_KEY = "autosave:processing_memos";
+    private static final long DRAFT_EXPIRE_TIME = 1000L * 60 * 60 * 24;  // 임시저장 TTL = 1일 (마지막 저장 이후, 반영은 그 전에 완료됨.)
+    private static final long PROCESSING_EXPIRE_TIME = 1000L * 60 * 5;  // 반영 중 상태의 최대 유지시간 = 5분 (초과 시 다시 꺼냄.)
+
+    // 반환값 : 반영 기준 버전(baseVersion) 또는 SAVE_REJECTED, SAVE_CONFLICTED
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local draft = redis.call('HMGET', KEYS[1], 'userId', 'originVersion', 'baseVersion', 'dirty', 'conflicted')
+            local version = tonumber(ARGV[2])
+            local origin, base = version, version
+            if draft[1] then
+                if draft[5] == '1' then
+                    if version <= tonumber(draft[3]) then  -- 충돌 이후 최신 메모를 다시 불러오지 않은 경우
+                        redis.call('DEL', KEYS[1])
+                        return -2
+                    end
+                elseif draft[1] == ARGV[1] and version >= tonumber(draft[2]) and version <= tonumber(draft[3]) then
+                    origin, base = tonumber(draft[2]), tonumber(draft[3])
+                elseif draft[4] == '1' then
+                    return -1
+                end
+            end
+            redis.call('HSET', KEYS[1], 'userId', ARGV[1], 'originVersion', origin, 'baseVersion', base, 'content', ARGV[4], 'dirty', '1', 'conflicted', '0')
+            if ARGV[3] == '1' then redis.call('HSET', KEYS[1], 'title', ARGV[5]) else redis.call('HDEL', KEYS[1], 'title') end
+            if ARGV[6] ~= '' then redis.call('HSET', KEYS[1], 'fencingToken', ARGV[6]) else redis.call('HDEL', KEYS[1], 'fencingToken') end
+            redis.call('HINCRBY', KEYS[1], 'seq', 1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[7])
+            redis.call('SADD', KEYS[2], ARGV[8])
+            return base
+            """, Long.class);
+
+    // 반영 완료 : 기준 버전을 새 버전으로 옮기고, 그 사이 새 임시저장이 없었다면 dirty 해제.
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'baseVersion', ARGV[2])
+            if redis.call('HGET', KEYS[1], 'seq') == ARGV[1] then
+                redis.call('HSET', KEYS[1], 'dirty', '0')
+            end
+            return 1
+            """, Long.class);
+
+    // 반영 실패(버전 충돌) : 이후의 임시저장도 같은 버전 체인이므로 함께 반영할 수 없음. (다음 임시저장 또는 반영 요청에서 409로 알림.)
+    private static final RedisScript<Long> CONFLICT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'dirty', '0', 'conflicted', '1')
+            return 1
+            """, Long.class);
+
+    // 명시적 저장 : 같은 사용자의 같은 버전 체인 임시저장이라면 버퍼를 비우고, 저장에 사용할 기준 버전을 반환. (해당 없으면 -1)
+    private static final RedisScript<Long> REBASE_SCRIPT = new DefaultRedisScript<>("""
+            local draft = redis.call('HMGET', KEYS[1], 'userId', 'originVersion', 'baseVersion', 'conflicted')
+            local version = tonumber(ARGV[2])
+            if not draft[1] or draft[1] ~= ARGV[1] or draft[4] == '1' or version < tonumber(draft[2]) or version > tonumber(draft[3]) then
+                return -1
+            end
+            redis.call('DEL', KEYS[1])
+            return tonumber(draft[3])
+            """, Long.class);
+
+    // 해당 사용자의 임시저장인 경우에만 삭제. (다른 사용자의 임시저장은 유지)
+    private static final RedisScript<Long> DELETE_OWNED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'userId') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    // dirty 목록을 반영 중 목록으로 옮기고, 반영 중 상태로 PROCESSING_EXPIRE_TIME이 지난 id(반영 도중 종료된 인스턴스의 몫)도 함께 반환.
+    private static final RedisScript<List> CLAIM_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+            local now = redis.call('TIME')
+            local nowMillis = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000)
+            local members = redis.call('SMEMBERS', KEYS[1])
+            local staleMembers = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', nowMillis - tonumber(ARGV[1]))
+            for _, member in ipairs(staleMembers) do
+                table.insert(members, member)
+            end
+            for _, member in ipairs(members) do
+                redis.call('ZADD', KEYS[2], nowMillis, member)
+            end
+            redis.call('DEL', KEYS[1])
+            return members
+            """, List.class);
+
+    private static final RedisScript<Long> MARK_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+
+    public long save(Long memoId, Long userId, long currentVersion, String title, String content, Long fencingToken) {
+        Long result = redisTemplate.execute(SAVE_SCRIPT, List.of(toDraftKey(memoId), DIRTY_MEMO_KEY),
+                userId.toString(), String.valueOf(currentVersion), (title != null) ? "1" : "0", (content != null) ? content : "",
+                (title != null) ? title : "", (fencingToken != null) ? fencingToken.toString() : "",
+                String.valueOf(DRAFT_EXPIRE_TIME), memoId.toString());
+        return (result != null) ? result : SAVE_REJECTED;
+    }
+
+    public Draft find(Long memoId) {  // 임시저장이 없다면 null 반환
+        Map<Object, Object> fieldMap = redisTemplate.opsForHash().entries(toDraftKey(memoId));
+        if(fieldMap == null || fieldMap.get("userId") == null) return null;
+
+        String fencingToken = (String) fieldMap.get("fencingToken");
+        return new Draft(
+                Long.valueOf((String) fieldMap.get("userId")),
+                (String) fieldMap.get("title"),
+                (String) fieldMap.get("content"),
+                Long.parseLong((String) fieldMap.get("baseVersion")),
+                (fencingToken != null) ? Long.valueOf(fencingToken) : null,
+                (String) fieldMap.get("seq"),
+                "1".equals(fieldMap.get("dirty")),
+                "1".equals(fieldMap.get("conflicted")));
+    }
+
+    public void complete(Long memoId, String seq, long newVersion) {
+        redisTemplate.execute(COMPLETE_SCRIPT, List.of(toDraftKey(memoId)), seq, String.valueOf(newVersion));
+    }
+
+    public void markConflicted(Long memoId) {
+        redisTemplate.execute(CONFLICT_SCRIPT, List.of(toDraftKey(memoId)));
+    }
+
+    public Long rebase(Long memoId, Long userId, long currentVersion) {  // 해당 없으면 null 반환
+        Long result = redisTemplate.execute(REBASE_SCRIPT, List.of(toDraftKey(memoId)), userId.toString(), String.valueOf(currentVersion));
+        return (result != null && result != -1L) ? result : null;
+    }
+
+    public void delete(Long memoId) {
+        redisTemplate.delete(toDraftKey(memoId));
+    }
+
+    public void deleteOwnedBy(Long memoId, Long userId) {
+        redisTemplate.execute(DELETE_OWNED_SCRIPT, List.of(toDraftKey(memoId)), userId.toString());
+    }
+
+    public Set<Long> claimDirtyMemoIds() {  // 여러 서버 인스턴스 중 한 곳에서만 꺼내지므로, 같은 메모가 동시에 주기 반영되지 않음. (반영 완료 전까지는 반영 중 목록에 남음.)
+        List<?> memberList = redisTemplate.execute(CLAIM_DIRTY_SCRIPT, List.of(DIRTY_MEMO_KEY, PROCESSING_MEMO_KEY), String.valueOf(PROCESSING_EXPIRE_TIME));
+        Set<Long> memoIdSet = new HashSet<>();
+        if(memberList != null) memberList.forEach(member -> memoIdSet.add(Long.valueOf((String) member)));
+        return memoIdSet;
+    }
+
+    public void completeDirty(Long memoId) {  // 반영이 끝난 이후(또는 반영할 필요가 없어진 경우) 호출하여, 반영 중 목록에서 제거.
+        redisTemplate.opsForZSet().remove(PROCESSING_MEMO_KEY, memoId.toString());
+    }
+
+    public void markDirty(Long memoId) {  // 일시적 장애로 반영하지 못한 경우, 다음 주기에 다시 반영되도록 등록. (반영 중 목록에서는 제거)
+        redisTemplate.execute(MARK_DIRTY_SCRIPT, List.of(DIRTY_MEMO_KEY, PROCESSING_MEMO_KEY), memoId.toString());
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static String toDraftKey(Long memoId) {
+        return String.format("memoId:%d:draft", memoId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Draft {
+
+        private final Long userId;
+        private final String title;  // null : 제목은 수정하지 않음.
+        private final String content;
+        private final long baseVersion;  // 반영 시 사용할 낙관적 락 버전
+        private final Long fencingToken;  // 저장 당시 보유한 편집락의 펜싱 토큰 (락이 없었다면 null)
+        private final String seq;
+        private final boolean isDirty;
+        private final boolean isConflicted;
+    }
+}
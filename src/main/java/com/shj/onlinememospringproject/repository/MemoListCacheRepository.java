@@ -0,0 +1,174 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shj.onlinememospringproject.dto.MemoDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class MemoListCacheRepository {  // 사용자별 전체 메모 목록(MemoPageResponse 리스트)의 Redis 캐시
+
+    // - 저장 구조 :
+    // 1. 'userId:%d:memo_list_version' : 사용자 목록의 버전값. (메모 목록에 영향을 주는 변경이 커밋될 때마다 INCR)
+    // 2. 'userId:%d:memo_list' : "{버전}:{JSON}" 형태의 캐시값. (조회 시점의 버전과 일치할 때만 유효함.)
+    // - 버전을 함께 저장하는 이유 :
+    // 캐시를 단순 삭제만 하는 경우, '조회 요청이 변경 이전의 DB 결과를 읽음 -> 변경 커밋 및 캐시 삭제 -> 조회 요청이 이전 결과를 캐시에 저장' 순서로
+    // 오래된 목록이 TTL 동안 남을 수 있음. 따라서 DB 조회 이전에 읽어둔 버전으로 저장하여, 그 사이 무효화가 있었다면 다음 조회에서 불일치로 걸러지게함.
+    // - 무효화 실패 시 : 버전 키(7일)는 목록 ETag로도 쓰이므로, 증가가 누락되면 304 응답으로 오래된 목록이 계속 사용됨.
+    // 따라서 재시도 후에도 실패하면 버전 키를 삭제하여(다음 조회 시 새 버전으로 초기화) ETag를 바꾸고, 삭제까지 실패했다면
+    // 성공할 때까지 이 서버 인스턴스에서는 해당 사용자의 목록 캐시와 ETag를 사용하지 않고 주기적으로 다시 무효화함.
+
+    private static final long MEMO_LIST_EXPIRE_TIME = 1000L * 60 * 30;  // 목록 캐시 TTL = 30분 (캐시값에만 해당하며, 목록 ETag는 버전 키를 따르므로 아래의 무효화 실패 처리로 복구함.)
+    private static final long MEMO_LIST_VERSION_EXPIRE_TIME = 1000L * 60 * 60 * 24 * 7;  // 버전 키 TTL = 7일 (목록 캐시 TTL보다 반드시 길어야함.)
+    private static final int INVALIDATE_RETRY_COUNT = 3;  // 무효화 최대 시도 횟수
+    private static final long INVALIDATE_RETRY_BACKOFF = 50L;  // 재시도 간격 = 50ms * 시도 횟수
+    private static final long PENDING_INVALIDATE_RETRY_INTERVAL = 1000L * 5;  // 실패한 무효화의 재시도 주기 = 5초
+    private static final TypeReference<List<MemoDto.MemoPageResponse>> MEMO_PAGE_LIST_TYPE = new TypeReference<>() {};
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Set<Long> pendingInvalidateUserIds = ConcurrentHashMap.newKeySet();  // 무효화가 Redis에 반영되지 못한 사용자들
+
+
+    // 캐시 조회 (Redis 장애 시에는 예외 대신 미스로 처리하며, 이때의 version은 null이므로 저장도 생략됨.)
+    public CacheLookup find(Long userId) {
+        if(pendingInvalidateUserIds.contains(userId)) return new CacheLookup(null, null);  // 무효화 누락 사용자 ==> 캐시 미사용 (저장도 생략)
+        String versionKey = toVersionKey(userId);
+        try {
+            List<String> valueList = redisTemplate.opsForValue().multiGet(List.of(versionKey, toListKey(userId)));  // 한 번의 왕복으로 버전과 캐시값을 함께 조회.
+            String version = (valueList != null) ? valueList.get(0) : null;
+            String cachedValue = (valueList != null) ? valueList.get(1) : null;
+
+            if(version == null) return new CacheLookup(initVersion(versionKey), null);
+
+            int separatorIdx = (cachedValue != null) ? cachedValue.indexOf(':') : -1;
+            if(separatorIdx == -1 || !version.equals(cachedValue.substring(0, separatorIdx))) {
+                return new CacheLookup(version, null);  // 캐시값이 없거나 이전 버전의 캐시값인 경우
+            }
+            List<MemoDto.MemoPageResponse> memoPageList = objectMapper.readValue(cachedValue.substring(separatorIdx + 1), MEMO_PAGE_LIST_TYPE);
+            return new CacheLookup(version, memoPageList);
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("메모 목록 캐시 조회 실패 - userId = {}, {}", userId, ex.getMessage());
+            return new CacheLookup(null, null);
+        }
+    }
+
+    // 목록 버전만 조회 (목록 ETag용이며, Redis 장애 시에는 null 반환.)
+    public String findVersion(Long userId) {
+        if(pendingInvalidateUserIds.contains(userId)) return null;  // 무효화 누락 사용자 ==> ETag 미사용
+        String versionKey = toVersionKey(userId);
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey);
+            return (version != null) ? version : initVersion(versionKey);
+        } catch (DataAccessException ex) {
+            log.warn("메모 목록 버전 조회 실패 - userId = {}, {}", userId, ex.getMessage());
+            return null;
+        }
+    }
+
+    // 캐시 저장 (version은 반드시 DB 조회 이전에 find()로 얻은 값을 전달할 것.)
+    public void save(Long userId, String version, List<MemoDto.MemoPageResponse> memoPageList) {
+        if(version == null) return;
+        try {
+            String cachedValue = version + ":" + objectMapper.writeValueAsString(memoPageList);
+            redisTemplate.opsForValue().set(toListKey(userId), cachedValue, Duration.ofMillis(MEMO_LIST_EXPIRE_TIME));
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("메모 목록 캐시 저장 실패 - userId = {}, {}", userId, ex.getMessage());
+        }
+    }
+
+    // 캐시 무효화 (사용자들의 버전 증가 및 캐시값 삭제를 하나의 파이프라인으로 전송)
+    public void invalidate(Collection<Long> userIds) {
+        if(userIds.isEmpty()) return;
+        if(executeInvalidate(userIds)) return;
+
+        try {  // 재시도까지 실패 ==> 버전 키를 삭제하여, 다음 조회에서 새 버전(ETag)으로 초기화되게함.
+            redisTemplate.delete(userIds.stream().map(MemoListCacheRepository::toVersionKey).collect(Collectors.toList()));
+        } catch (DataAccessException ex) {
+            log.error("메모 목록 버전 삭제 실패 - userIds = {}, {}", userIds, ex.getMessage());
+            pendingInvalidateUserIds.addAll(userIds);
+        }
+    }
+
+    @Scheduled(fixedDelay = PENDING_INVALIDATE_RETRY_INTERVAL)
+    public void retryPendingInvalidates() {
+        if(pendingInvalidateUserIds.isEmpty()) return;
+        List<Long> targetUserIds = List.copyOf(pendingInvalidateUserIds);
+        if(executeInvalidate(targetUserIds)) targetUserIds.forEach(pendingInvalidateUserIds::remove);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private boolean executeInvalidate(Collection<Long> userIds) {  // 최대 INVALIDATE_RETRY_COUNT번 시도하여, 성공 여부 반환
+        for(int attempt=1; attempt<=INVALIDATE_RETRY_COUNT; attempt++) {
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for(Long userId : userIds) {
+                        byte[] versionKey = toVersionKey(userId).getBytes(StandardCharsets.UTF_8);
+                        connection.stringCommands().incr(versionKey);
+                        connection.keyCommands().pExpire(versionKey, MEMO_LIST_VERSION_EXPIRE_TIME);
+                        connection.keyCommands().del(toListKey(userId).getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                });
+                return true;
+            } catch (DataAccessException ex) {
+                log.error("메모 목록 캐시 무효화 실패 ({}/{}) - userIds = {}, {}", attempt, INVALIDATE_RETRY_COUNT, userIds, ex.getMessage());
+            }
+            if(attempt == INVALIDATE_RETRY_COUNT) break;
+            try {
+                Thread.sleep(INVALIDATE_RETRY_BACKOFF * attempt);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return false;
+    }
+
+    private String initVersion(String versionKey) {  // 최초 조회이거나 버전 키가 만료된 경우 : 이전의 어떤 캐시값과도 겹치지 않도록 현재 시각으로 초기화.
+        redisTemplate.opsForValue().setIfAbsent(versionKey, String.valueOf(System.currentTimeMillis()), Duration.ofMillis(MEMO_LIST_VERSION_EXPIRE_TIME));
+        return redisTemplate.opsForValue().get(versionKey);  // 동시 초기화로 SETNX에 실패했을 수 있으므로 재조회.
+    }
+
+    private static String toVersionKey(Long userId) {
+        return String.format("userId:%d:memo_list_version", userId);
+    }
+
+    private static String toListKey(Long userId) {
+        return String.format("userId:%d:memo_list", userId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CacheLookup {  // 캐시 조회 결과 (memoPageList == null 이면 캐시 미스)
+
+        private final String version;
+        private final List<MemoDto.MemoPageResponse> memoPageList;
+
+        public boolean isHit() {
+            return memoPageList != null;
+        }
+    }
+}
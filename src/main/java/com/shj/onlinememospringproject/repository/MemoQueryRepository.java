@@ -0,0 +1,208 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.dto.UserDto;
+import com.shj.onlinememospringproject.util.TimeConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class MemoQueryRepository {  // 메모 목록 조회 전용의 JDBC Repository (엔티티 대신 필요한 컬럼만 Projection 조회)
+
+    // - 기존 'UserRepository.findByIdToDeepUserWithEager' 방식의 문제점 :
+    // 4단계 Fetch Join으로 '메모 x 공동작성자' 수만큼의 행이 조회되며, 목록에서는 사용하지 않는 MEDIUMTEXT 본문까지 엔티티로 모두 로딩됨.
+    // - 이 Repository의 방식 :
+    // 1. 메모 헤더(id, title, preview, isStar, modifiedTime)만 조회. (메모 1개당 1행)
+    // 2. 위 메모들의 사용자(작성자)들을 memoId IN 절로 조회. (관계 1개당 1행)
+    // 3. 두 결과를 원시타입 long 배열 기반의 인덱스로 메모리에서 조립함. (Long 박싱 및 HashMap 엔트리 할당 없음)
+
+    private static final int IN_CLAUSE_SIZE = 1000;  // IN 절의 최대 파라미터 개수 (쿼리 길이 제한 방지)
+    private static final int NGRAM_TOKEN_SIZE = 2;  // MySQL 'ngram_token_size' 기본값 (이보다 짧은 검색어는 FULLTEXT 인덱스로 검색 불가)
+    private static final String MEMO_HEADER_COLUMNS = "m.memo_id, m.title, m.preview, m.is_star, m.modified_time";
+    private static final String MEMO_ORDER_BY = " ORDER BY m.modified_time DESC, m.memo_id DESC";  // 정렬 우선순위 1: 수정날짜 내림차순, 2: id 내림차순
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    // 사용자의 전체 메모 목록 조회 (isStar == null일 경우, 즐겨찾기 조건은 무시함.)
+    public List<MemoDto.MemoPageResponse> findMemoPagesByUserId(Long userId, Integer isStar) {
+        StringBuilder sqlStb = new StringBuilder("SELECT ").append(MEMO_HEADER_COLUMNS)
+                .append(" FROM user_memo um JOIN memo m ON um.memo_id = m.memo_id")
+                .append(" WHERE um.user_id = ?");
+        List<Object> paramList = new ArrayList<>();
+        paramList.add(userId);
+        if(isStar != null) {
+            sqlStb.append(" AND m.is_star = ?");
+            paramList.add(isStar);
+        }
+        sqlStb.append(" ORDER BY um.memo_modified_time DESC, um.memo_id DESC");  // 정렬기준은 같으나, 사용자별 인덱스 순서로 읽도록 user_memo 쪽 컬럼으로 정렬.
+
+        MemoHeaders memoHeaders = new MemoHeaders();
+        jdbcTemplate.query(sqlStb.toString(), memoHeaders::addRow, paramList.toArray());
+
+        return assembleMemoPages(memoHeaders);
+    }
+
+    // memoId 리스트에 해당하는 메모 목록 조회 (정렬기준은 사용자의 전체 메모 목록 조회와 동일함.)
+    public List<MemoDto.MemoPageResponse> findMemoPagesByMemoIdIn(List<Long> memoIdList) {
+        if(memoIdList.isEmpty()) return List.of();
+
+        MemoHeaders memoHeaders = new MemoHeaders();
+        String sql = "SELECT " + MEMO_HEADER_COLUMNS
+                + " FROM memo m WHERE m.memo_id IN (" + toPlaceholders(memoIdList.size()) + ")"
+                + MEMO_ORDER_BY;
+        jdbcTemplate.query(sql, memoHeaders::addRow, memoIdList.toArray());
+
+        return assembleMemoPages(memoHeaders);
+    }
+
+    // 사용자의 메모 검색 (FULLTEXT ngram 인덱스 'ft_memo_title', 'ft_memo_content_content' 기반, 관련도 내림차순 정렬)
+    // - 공백으로 구분된 각 검색어가 제목 또는 내용에 모두 포함된 메모만 조회. (ngram 토큰 길이보다 짧은 검색어가 섞여있다면, 같은 조건의 LIKE 검색으로 대체.)
+    // - 제목과 본문이 서로 다른 테이블에 있어 하나의 MATCH로 묶을 수 없으므로, 검색어마다 '제목 MATCH OR 본문 MATCH' 조건을 AND로 연결함.
+    public List<MemoDto.MemoPageResponse> searchMemoPagesByUserId(Long userId, String search) {
+        String[] keywords = search.strip().replace("\"", "").split("\\s+");
+        boolean isFulltextSearchable = Arrays.stream(keywords).allMatch(keyword -> keyword.length() >= NGRAM_TOKEN_SIZE);
+
+        MemoHeaders memoHeaders = new MemoHeaders();
+        if(isFulltextSearchable == true) {
+            StringBuilder scoreAgainstStb = new StringBuilder();  // BOOLEAN MODE 구문 : "검색어1" "검색어2" (관련도 계산용)
+            StringBuilder whereStb = new StringBuilder(" WHERE um.user_id = ?");
+            List<Object> whereParamList = new ArrayList<>();
+            whereParamList.add(userId);
+            for(String keyword : keywords) {
+                String phrase = "\"" + keyword + "\"";
+                scoreAgainstStb.append(phrase).append(" ");
+                whereStb.append(" AND (MATCH(m.title) AGAINST (? IN BOOLEAN MODE) OR MATCH(mc.content) AGAINST (? IN BOOLEAN MODE))");
+                whereParamList.add(phrase);
+                whereParamList.add(phrase);
+            }
+            String scoreAgainst = scoreAgainstStb.toString().strip();
+
+            String sql = "SELECT " + MEMO_HEADER_COLUMNS
+                    + ", MATCH(m.title) AGAINST (? IN BOOLEAN MODE) + MATCH(mc.content) AGAINST (? IN BOOLEAN MODE) AS score"
+                    + " FROM user_memo um JOIN memo m ON um.memo_id = m.memo_id JOIN memo_content mc ON mc.memo_id = m.memo_id"
+                    + whereStb
+                    + " ORDER BY score DESC, m.modified_time DESC, m.memo_id DESC";  // 정렬 우선순위 1: 관련도 내림차순, 2: 수정날짜 내림차순, 3: id 내림차순
+            List<Object> paramList = new ArrayList<>(whereParamList.size() + 2);
+            paramList.add(scoreAgainst);
+            paramList.add(scoreAgainst);
+            paramList.addAll(whereParamList);
+            jdbcTemplate.query(sql, memoHeaders::addRow, paramList.toArray());
+        }
+        else {  // FULLTEXT 검색과 같은 결과가 되도록, 검색어마다 '제목 LIKE OR 본문 LIKE' 조건을 AND로 연결함.
+            StringBuilder whereStb = new StringBuilder(" WHERE um.user_id = ?");
+            List<Object> paramList = new ArrayList<>(keywords.length * 2 + 1);
+            paramList.add(userId);
+            for(String keyword : keywords) {
+                String likeKeyword = "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+                whereStb.append(" AND (m.title LIKE ? OR mc.content LIKE ?)");
+                paramList.add(likeKeyword);
+                paramList.add(likeKeyword);
+            }
+            String sql = "SELECT " + MEMO_HEADER_COLUMNS
+                    + " FROM user_memo um JOIN memo m ON um.memo_id = m.memo_id JOIN memo_content mc ON mc.memo_id = m.memo_id"
+                    + whereStb
+                    + MEMO_ORDER_BY;
+            jdbcTemplate.query(sql, memoHeaders::addRow, paramList.toArray());
+        }
+
+        return assembleMemoPages(memoHeaders);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private List<MemoDto.MemoPageResponse> assembleMemoPages(MemoHeaders memoHeaders) {
+        int memoCount = memoHeaders.size;
+        if(memoCount == 0) return List.of();
+
+        // memoId 오름차순으로 정렬된 원시타입 배열과, 각 위치에 대응하는 헤더 인덱스 배열을 생성. (memoId -> 헤더 인덱스 이진탐색용)
+        long[] sortedMemoIds = Arrays.copyOf(memoHeaders.memoIds, memoCount);
+        Arrays.sort(sortedMemoIds);
+        int[] headerIdxBySorted = new int[memoCount];
+        for(int i=0; i<memoCount; i++) {
+            headerIdxBySorted[Arrays.binarySearch(sortedMemoIds, memoHeaders.memoIds[i])] = i;
+        }
+
+        // 메모별 사용자 리스트 조회 (IN 절 크기 단위로 분할 조회)
+        @SuppressWarnings("unchecked")
+        List<UserDto.Response>[] userResponseDtoLists = new List[memoCount];
+        for(int start=0; start<memoCount; start+=IN_CLAUSE_SIZE) {
+            int end = Math.min(start + IN_CLAUSE_SIZE, memoCount);
+            Object[] params = new Object[end - start];
+            for(int i=start; i<end; i++) params[i - start] = sortedMemoIds[i];
+
+            String sql = "SELECT um.memo_id, u.user_id, u.email, u.nickname, u.created_time"
+                    + " FROM user_memo um JOIN `user` u ON um.user_id = u.user_id"
+                    + " WHERE um.memo_id IN (" + toPlaceholders(params.length) + ")";
+            jdbcTemplate.query(sql, rs -> {
+                int headerIdx = headerIdxBySorted[Arrays.binarySearch(sortedMemoIds, rs.getLong("memo_id"))];
+                if(userResponseDtoLists[headerIdx] == null) userResponseDtoLists[headerIdx] = new ArrayList<>(2);
+                userResponseDtoLists[headerIdx].add(new UserDto.Response(
+                        rs.getLong("user_id"), rs.getString("email"), rs.getString("nickname"), rs.getObject("created_time", LocalDateTime.class)));
+            }, params);
+        }
+
+        // DTO 조립
+        Comparator<UserDto.Response> userComparator = Comparator.comparing(UserDto.Response::getNickname)  // 정렬 우선순위 1: 이름 오름차순
+                .thenComparing(UserDto.Response::getUserId);  // 정렬 우선순위 2: id 오름차순
+        List<MemoDto.MemoPageResponse> memoPageResponseDtoList = new ArrayList<>(memoCount);
+        for(int i=0; i<memoCount; i++) {
+            List<UserDto.Response> userResponseDtoList = (userResponseDtoLists[i] != null) ? userResponseDtoLists[i] : Collections.emptyList();
+            if(userResponseDtoList.size() > 1) userResponseDtoList.sort(userComparator);
+
+            memoPageResponseDtoList.add(MemoDto.MemoPageResponse.builder()
+                    .memoId(memoHeaders.memoIds[i])
+                    .title(memoHeaders.titles.get(i))
+                    .preview(memoHeaders.previews.get(i))
+                    .isStar(memoHeaders.isStars[i])
+                    .modifiedTime(TimeConverter.timeToStringForResponse(memoHeaders.modifiedTimes.get(i)))
+                    .userResponseDtoList(userResponseDtoList)
+                    .memoHasUsersCount(userResponseDtoList.size())
+                    .build());
+        }
+        return memoPageResponseDtoList;
+    }
+
+    private static String toPlaceholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static class MemoHeaders {  // 메모 헤더 조회결과를 원시타입 배열에 담아두는 컨테이너 (조회 순서 == 응답 순서)
+
+        private long[] memoIds = new long[16];
+        private int[] isStars = new int[16];
+        private final List<String> titles = new ArrayList<>();
+        private final List<String> previews = new ArrayList<>();
+        private final List<LocalDateTime> modifiedTimes = new ArrayList<>();
+        private int size = 0;
+
+        private void addRow(ResultSet rs) throws SQLException {
+            add(rs.getLong("memo_id"), rs.getString("title"), rs.getString("preview"), rs.getInt("is_star"), rs.getObject("modified_time", LocalDateTime.class));
+        }
+
+        private void add(long memoId, String title, String preview, int isStar, LocalDateTime modifiedTime) {
+            if(size == memoIds.length) {
+                memoIds = Arrays.copyOf(memoIds, size * 2);
+                isStars = Arrays.copyOf(isStars, size * 2);
+            }
+            memoIds[size] = memoId;
+            isStars[size] = isStar;
+            titles.add(title);
+            previews.add(preview);
+            modifiedTimes.add(modifiedTime);
+            size++;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.shj.onlinememospringproject.repository;
 
 import com.shj.onlinememospringproject.domain.Memo;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface MemoRepository extends JpaRepository<Memo, Long> {
@@ -21,24 +24,89 @@ public interface MemoRepository extends JpaRepository<Memo, Long> {
     // Eager 조회 : 'Memo + Memo.userMemoList' (하위의 userRoomList가 비어있더라도 정상 반환되도록, LEFT JOIN 사용.)
     // 비록 OneToMany 필드인 userMemoList를 Eager로 지정하여 카테시안곱의 중복데이터 위험이 있지만, 메소드 반환자료형이 List가 아닌 고유한 하나의 값이기에, DISTINCT 없이 작성해도 무방함.
     @Query("SELECT m FROM Memo m LEFT JOIN FETCH m.userMemoList WHERE m.id = :memoId")
-    Optional<Memo> findByIdToUserMemoListWithEager(@Param("memoId") Long memoId);
+    Optional<Memo> findByIdToUserMemoListWithEager(@Param("memoId") Long memoId);  // 현재 미사용 메소드이나, 차후 활용가능성을 위해 작성해두었음.
 
     // Eager 조회 : 'Memo + Memo.userMemoList + Memo.userMemoList.user' (하위의 userRoomList가 비어있더라도 정상 반환되도록, LEFT JOIN 사용. userRoomList가 비어있을수도있으니, Memo.userMemoList.user 부분도 LEFT JOIN 사용.)
     // 비록 OneToMany 필드인 userMemoList를 Eager로 지정하여 카테시안곱의 중복데이터 위험이 있지만, 메소드 반환자료형이 List가 아닌 고유한 하나의 값이기에, DISTINCT 없이 작성해도 무방함.
     @Query("SELECT m FROM Memo m LEFT JOIN FETCH m.userMemoList uml LEFT JOIN FETCH uml.user WHERE m.id = :memoId")
     Optional<Memo> findByIdToUserWithEager(@Param("memoId") Long memoId);
 
+    // 커서 기반 메모 목록 조회 (memoId만 조회하여 가볍게 페이지를 구성함.)
+    // - 정렬 : 수정날짜 내림차순 -> id 내림차순 (user_memo의 'idx_user_memo_user_id_modified_time' 인덱스를 역순으로 읽으므로, filesort 없이 limit개에서 멈춤.)
+    // - 커서 : 이전 페이지 마지막 메모의 (수정날짜, id) 이후의 메모들만 조회. (cursorTime == null일 경우, 첫 페이지)
+    // - 필터 : isStar == null 또는 minUserCount == null일 경우, 해당 조건은 무시함. (인덱스 순서로 읽은 행마다 memo를 PK로 조인하여 검사)
+    // - 정렬과 커서는 반드시 user_memo 쪽 컬럼으로 지정해야함. (memo 쪽 컬럼으로 지정하면, 사용자의 모든 메모를 읽어 filesort함.)
+    @Query("SELECT um.memo.id FROM UserMemo um JOIN um.memo m " +
+            "WHERE um.user.id = :userId " +
+            "AND (:isStar IS NULL OR m.isStar = :isStar) " +
+            "AND (:minUserCount IS NULL OR m.memberCount BETWEEN :minUserCount AND :maxUserCount) " +
+            "AND (:cursorTime IS NULL OR um.memoModifiedTime < :cursorTime OR (um.memoModifiedTime = :cursorTime AND um.memo.id < :cursorId)) " +
+            "ORDER BY um.memoModifiedTime DESC, um.memo.id DESC")
+    List<Long> findMemoIdsByCursor(@Param("userId") Long userId,
+                                   @Param("isStar") Integer isStar,
+                                   @Param("minUserCount") Long minUserCount,
+                                   @Param("maxUserCount") Long maxUserCount,
+                                   @Param("cursorTime") LocalDateTime cursorTime,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
     // isStar 필드는 수정시각에 영향을 주지않도록, @LastModifiedDate 생명주기에서 제외시켜 따로 JPQL로 직접 업데이트함.
     @Modifying(clearAutomatically = true)
     @Query("UPDATE Memo m SET m.isStar = :isStar WHERE m.id = :memoId")  // 네이티브쿼리 말고, JPQL로 작성하였음.
     void updateIsStar(@Param("memoId") Long memoId, @Param("isStar") Integer isStar);
 
+    // 사용자 구성 변경(생성 · 초대 · 탈퇴) 이후, 사용자 수를 user_memo 기준으로 다시 계산하여 저장함.
+    // - 증감 대신 재계산하므로, 배포 이전의 메모나 동시 초대 · 탈퇴가 있더라도 값이 어긋나지 않음. (메모 행 잠금으로 같은 메모의 갱신은 직렬화됨.)
+    // - 사용자 수는 수정시각 및 버전과 무관하므로, 낙관적 락에 영향을 주지 않음.
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE memo SET member_count = (SELECT COUNT(*) FROM user_memo um WHERE um.memo_id = :memoId) WHERE memo_id = :memoId", nativeQuery = true)
+    int refreshMemberCount(@Param("memoId") Long memoId);
+
+    // 버전 조건부 수정 (낙관적 락) : 전달받은 버전이 현재 버전과 일치할 때만 제목 · 미리보기 · 수정날짜를 변경하고 버전을 증가시킴.
+    // - 엔티티 조회 없이 단일 UPDATE 문으로 검증과 반영을 함께 수행하므로, 반환값(변경된 행 수)이 0이라면 버전 충돌(또는 메모 없음)을 의미함.
+    // - 행 잠금은 이 UPDATE부터 트랜잭션 커밋까지만 유지되며, title == null일 경우 제목은 수정하지 않음.
+    // - 펜싱 토큰 : 편집락을 통해 수정하는 경우, 이미 더 최신 락(더 큰 토큰)으로 반영된 메모라면 수정하지 않음. (fencingToken == null일 경우, 검증 생략)
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE memo SET title = COALESCE(:title, title), preview = :preview, modified_time = :modifiedTime, version = version + 1, " +
+            "lock_fence = COALESCE(:fencingToken, lock_fence) " +
+            "WHERE memo_id = :memoId AND version = :currentVersion " +
+            "AND (:fencingToken IS NULL OR lock_fence IS NULL OR lock_fence <= :fencingToken)", nativeQuery = true)
+    int updateWithVersion(@Param("memoId") Long memoId,
+                          @Param("currentVersion") Long currentVersion,
+                          @Param("fencingToken") Long fencingToken,
+                          @Param("title") String title,
+                          @Param("preview") String preview,
+                          @Param("modifiedTime") LocalDateTime modifiedTime);
+
+    // 공동 편집 문서의 스냅샷 저장 시, 버전 검증 없이 미리보기 · 수정날짜를 변경하고 버전을 증가시킴. (연산 순서는 이미 공동 편집 저장소에서 정해짐.)
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE memo SET preview = :preview, modified_time = :modifiedTime, version = version + 1 WHERE memo_id = :memoId", nativeQuery = true)
+    int updateSnapshot(@Param("memoId") Long memoId, @Param("preview") String preview, @Param("modifiedTime") LocalDateTime modifiedTime);
+
+    // 낙관적 락 충돌 시의 병합용 조회 : 'SELECT ... FOR UPDATE'로 최신 커밋된 행을 읽고 트랜잭션 종료까지 잠금.
+    // (병합 결과를 반영하기 전에 다른 수정이 끼어들지 않으며, 본문도 같은 트랜잭션에서 메모 행 이후에 수정되므로 함께 고정됨.)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Memo m WHERE m.id = :memoId")
+    Optional<Memo> findByIdForUpdate(@Param("memoId") Long memoId);
+
     // memoId로 검색하여 version만 가져오는 메소드
     @Query("SELECT m.version FROM Memo m WHERE m.id = :memoId")
     Long findVersionById(@Param("memoId") Long memoId);
 
-    // 낙관적 락 (Optimistic Lock)
-    @Lock(LockModeType.OPTIMISTIC)
-    @Query("SELECT m FROM Memo m WHERE m.id = :memoId")
-    Optional<Memo> findByIdWithOptimisticLock(@Param("memoId") Long memoId);
+    // memoId로 검색하여 메모 상세 응답의 ETag 재료('{version}-{isStar}-{사용자 수}')만 가져오는 메소드
+    // (본문 · 제목 수정은 version이 증가하지만, 즐겨찾기 수정과 사용자 초대 · 탈퇴는 version과 무관하므로 함께 조합함.)
+    @Query(value = "SELECT CONCAT(m.version, '-', m.is_star, '-', m.member_count) FROM memo m WHERE m.memo_id = :memoId", nativeQuery = true)
+    String findETagSourceById(@Param("memoId") Long memoId);
+
+    // memoId로 검색하여 memberCount만 가져오는 메소드 (메모가 없다면 null)
+    @Query("SELECT m.memberCount FROM Memo m WHERE m.id = :memoId")
+    Integer findMemberCountById(@Param("memoId") Long memoId);
+
+    // memoId로 검색하여 title만 가져오는 메소드
+    @Query("SELECT m.title FROM Memo m WHERE m.id = :memoId")
+    String findTitleById(@Param("memoId") Long memoId);
+
+    // memoId로 검색하여 modifiedTime만 가져오는 메소드
+    @Query("SELECT m.modifiedTime FROM Memo m WHERE m.id = :memoId")
+    LocalDateTime findModifiedTimeById(@Param("memoId") Long memoId);
 }
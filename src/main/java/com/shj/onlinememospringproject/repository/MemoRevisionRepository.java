@@ -0,0 +1,45 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.domain.MemoRevision;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MemoRevisionRepository extends JpaRepository<MemoRevision, Long> {
+    // 압축된 본문(data)은 크기가 클 수 있으므로, 목록 · 체인 정보 조회는 필요한 컬럼만 조회하는 프로젝션을 사용함.
+
+    // 메모의 가장 최신 리비전의 체인 정보 (새 리비전을 델타로 저장할 수 있는지 판단용)
+    Optional<RevisionChain> findTopByMemoIdOrderByVersionDesc(Long memoId);
+
+    // 메모의 리비전 목록 (최신순)
+    List<RevisionSummary> findByMemoIdOrderByVersionDesc(Long memoId, Pageable pageable);
+
+    // 해당 버전을 복원하기 위한 '시작 스냅샷 ~ 해당 버전' 리비전들 (버전 오름차순)
+    @Query("SELECT mr FROM MemoRevision mr WHERE mr.memoId = :memoId " +
+            "AND mr.version BETWEEN (SELECT t.snapshotVersion FROM MemoRevision t WHERE t.memoId = :memoId AND t.version = :version) AND :version " +
+            "ORDER BY mr.version ASC")
+    List<MemoRevision> findChainByMemoIdAndVersion(@Param("memoId") Long memoId, @Param("version") Long version);
+
+    @Modifying
+    @Query("DELETE FROM MemoRevision mr WHERE mr.memoId = :memoId")
+    void deleteByMemoId(@Param("memoId") Long memoId);
+
+
+    interface RevisionChain {
+        Long getVersion();
+        Long getSnapshotVersion();
+    }
+
+    interface RevisionSummary {
+        Long getVersion();
+        String getTitle();
+        Long getEditorId();
+        LocalDateTime getCreatedTime();
+    }
+}
@@ -0,0 +1,126 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.util.TimeConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OpenAIQuotaRepository {  // OpenAI 호출량 제한 (Redis)
+
+    // - 저장 구조 :
+    // 1. 'userId:%d:openai_usage:{yyyy-MM-dd}' : 사용자별 해당 날짜(KST)의 AI 호출횟수. (그 날짜의 KST 자정에 만료)
+    //   예약한 날짜를 키에 포함하므로, 자정을 넘겨 실패한 호출의 환불이 새 날의 호출횟수를 줄이지 않음.
+    //   (이전의 날짜 없는 'userId:%d:openai_usage' 키는 당일 자정에 만료되므로, 그 전까지만 당일 호출횟수로 이어받음.)
+    // 2. 'openai:rate_limit:requests', 'openai:rate_limit:tokens' : 모든 서버 인스턴스가 함께 사용하는 토큰 버킷 Hash. (필드 : level, updatedTime)
+    // - 모든 연산은 Lua 스크립트로 조회와 수정을 한 번에 처리하므로, 동시 요청 사이에서도 원자적임.
+
+    public static final long RESERVE_REJECTED = -1L;  // 이미 일일 호출한도를 모두 사용함.
+
+    // 한도 미만일 때만 1 증가 후 증가된 값 반환. (만료시간이 없는 키도 자정 만료를 다시 지정함.)
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then  -- 이전 키의 당일 호출횟수 이어받기
+                local legacyUsage = redis.call('GET', KEYS[2])
+                if legacyUsage then
+                    redis.call('SET', KEYS[1], legacyUsage)
+                end
+            end
+            local usage = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if usage >= tonumber(ARGV[1]) then
+                return -1
+            end
+            usage = redis.call('INCR', KEYS[1])
+            if redis.call('PTTL', KEYS[1]) < 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return usage
+            """, Long.class);
+
+    // 예약한 날짜의 키가 0보다 클 때만 1 감소. (자정이 지나 그 날짜의 키가 만료되었다면 환불하지 않으며, 새 날의 키는 건드리지 않음.)
+    private static final RedisScript<Long> REFUND_SCRIPT = new DefaultRedisScript<>("""
+            local usage = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if usage <= 0 then
+                return 0
+            end
+            return redis.call('DECR', KEYS[1])
+            """, Long.class);
+
+    // 두 버킷(요청 수, 토큰 수)을 경과시간만큼 채운 뒤, 모두 충분할 때만 함께 차감하고 0 반환. (부족하다면 차감 없이, 필요한 대기시간(ms) 반환)
+    // - 시각은 Redis 서버 시각(TIME)을 사용하므로, 서버 인스턴스 간 시계 차이의 영향을 받지 않음.
+    // - ARGV : 요청 버킷 용량, 요청 버킷 ms당 충전량, 토큰 버킷 용량, 토큰 버킷 ms당 충전량, 요청 비용, 토큰 비용
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local levels, waits = {}, {}
+            for idx = 1, 2 do
+                local capacity, rate = tonumber(ARGV[idx * 2 - 1]), tonumber(ARGV[idx * 2])
+                local cost = math.min(tonumber(ARGV[idx + 4]), capacity)
+                local bucket = redis.call('HMGET', KEYS[idx], 'level', 'updatedTime')
+                local level = capacity
+                if bucket[1] then
+                    level = math.min(capacity, tonumber(bucket[1]) + math.max(0, now - tonumber(bucket[2])) * rate)
+                end
+                levels[idx] = level - cost
+                waits[idx] = (level >= cost) and 0 or math.ceil((cost - level) / rate)
+            end
+            local wait = math.max(waits[1], waits[2])
+            if wait > 0 then
+                return wait
+            end
+            for idx = 1, 2 do
+                local capacity, rate = tonumber(ARGV[idx * 2 - 1]), tonumber(ARGV[idx * 2])
+                redis.call('HSET', KEYS[idx], 'level', tostring(levels[idx]), 'updatedTime', now)
+                redis.call('PEXPIRE', KEYS[idx], math.ceil(capacity / rate))  -- 가득 찰 때까지 사용되지 않으면 삭제 (없는 버킷은 가득 찬 것으로 봄.)
+            end
+            return 0
+            """, Long.class);
+
+    private static final String REQUEST_BUCKET_KEY = "openai:rate_limit:requests";
+    private static final String TOKEN_BUCKET_KEY = "openai:rate_limit:tokens";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+
+    public long reserve(Long userId, LocalDate usageDate, int maxUsage, long expireMillis) {  // 증가된 호출횟수 또는 RESERVE_REJECTED 반환
+        Long result = redisTemplate.execute(RESERVE_SCRIPT, List.of(toUsageKey(userId, usageDate), toLegacyUsageKey(userId)),
+                String.valueOf(maxUsage), String.valueOf(expireMillis));
+        return (result != null) ? result : RESERVE_REJECTED;
+    }
+
+    public long refund(Long userId, LocalDate usageDate) {  // 감소된 호출횟수 반환 (usageDate : 예약한 날짜)
+        Long result = redisTemplate.execute(REFUND_SCRIPT, List.of(toUsageKey(userId, usageDate)));
+        return (result != null) ? result : 0L;
+    }
+
+    public int findUsage(Long userId, LocalDate usageDate) {
+        List<String> valueList = redisTemplate.opsForValue().multiGet(List.of(toUsageKey(userId, usageDate), toLegacyUsageKey(userId)));
+        if(valueList == null) return 0;
+        String value = (valueList.get(0) != null) ? valueList.get(0) : valueList.get(1);
+        return (value != null) ? Integer.parseInt(value) : 0;
+    }
+
+    // 0 반환 시 획득 성공, 양수 반환 시 그 시간(ms) 이후에 다시 시도할 것.
+    public long acquire(double requestCapacity, double requestRefillPerMillis, double tokenCapacity, double tokenRefillPerMillis, long tokenCost) {
+        Long result = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(REQUEST_BUCKET_KEY, TOKEN_BUCKET_KEY),
+                String.valueOf(requestCapacity), String.valueOf(requestRefillPerMillis),
+                String.valueOf(tokenCapacity), String.valueOf(tokenRefillPerMillis), "1", String.valueOf(tokenCost));
+        return (result != null) ? result : 0L;
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static String toUsageKey(Long userId, LocalDate usageDate) {
+        return String.format("userId:%d:openai_usage:%s", userId, usageDate.format(TimeConverter.DATE_FORMATTER));
+    }
+
+    private static String toLegacyUsageKey(Long userId) {
+        return String.format("userId:%d:openai_usage", userId);
+    }
+}
@@ -0,0 +1,243 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "collab.store", havingValue = "redis", matchIfMissing = true)
+public class RedisCollabOperationStore implements CollabOperationStore {
+
+    // - 저장 구조 :
+    // 1. 'memoId:%d:collab_doc' : 현재 문서 상태 Hash. (필드 : revision, baseRevision, initialRevision, content)
+    // 2. 'memoId:%d:collab_ops' : baseRevision 이후에 반영된 연산(OperationRecord JSON)들의 List.
+    // 3. 'memoId:%d:collab_last_revision' : 마지막으로 발급한 revision. (문서가 만료 · 삭제되어도 남겨두어, 다시 생성된 문서는 항상 그보다 큰 revision에서 시작함.)
+    // 4. 'collab:dirty_memos' : DB 스냅샷 저장이 필요한 메모 id들의 Set.
+    // 5. 'collab:processing_memos' : 스냅샷 저장 중인 메모 id들의 ZSET. (score = 꺼낸 시각)
+    // 저장이 커밋된 이후에만 제거하므로, 저장 도중 서버가 종료되더라도 PROCESSING_EXPIRE_TIME 이후 다른 인스턴스가 다시 꺼내어 저장함.
+    // - 연산 반영은 Lua 스크립트로 'revision 비교 -> 문서 갱신 -> 연산 추가 -> Pub/Sub 전파'를 원자적으로 수행하므로,
+    // 여러 서버 인스턴스가 동시에 반영하더라도 revision 순서가 하나로 정해짐. (실패한 쪽은 새 연산들로 다시 변환 후 재시도)
+
+    private static final String COLLAB_EVENT_CHANNEL = "memo_collab_event";
+    private static final String DIRTY_MEMO_KEY = "collab:dirty_memos";
+    private static final String PROCESSING_MEMO_KEY = "collab:processing_memos";
+    private static final long DOCUMENT_EXPIRE_TIME = 1000L * 60 * 60;  // 문서 TTL = 1시간 (마지막 연산 이후, 스냅샷은 그 전에 DB에 저장됨.)
+    private static final long LAST_REVISION_EXPIRE_TIME = 1000L * 60 * 60 * 24;  // 마지막 revision TTL = 1일 (문서 TTL 및 SSE 연결시간보다 충분히 길게)
+    private static final long PROCESSING_EXPIRE_TIME = 1000L * 60 * 5;  // 스냅샷 저장 중 상태의 최대 유지시간 = 5분 (초과 시 다시 꺼냄.)
+
+    // 시작 revision = max(메모 버전, 마지막으로 발급한 revision + 1)
+    private static final RedisScript<Long> INITIALIZE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            local revision = string.format('%d', math.max(tonumber(ARGV[1]), tonumber(redis.call('GET', KEYS[3]) or '-1') + 1))
+            redis.call('HSET', KEYS[1], 'revision', revision, 'baseRevision', revision, 'initialRevision', revision, 'content', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('DEL', KEYS[2])
+            redis.call('SET', KEYS[3], revision, 'PX', ARGV[4])
+            return 1
+            """, Long.class);
+
+    // 구독만 하고 연산을 보내지 않은 문서는 DB 본문과 같으므로, 전체 수정 · 임시저장 시 삭제하여 편집을 막지 않도록함.
+    private static final RedisScript<Long> DISCARD_UNUSED_SCRIPT = new DefaultRedisScript<>("""
+            local revision = redis.call('HMGET', KEYS[1], 'revision', 'initialRevision')
+            if not revision[1] then
+                return 1
+            end
+            if revision[1] ~= revision[2] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'revision') ~= ARGV[1] then
+                return 0
+            end
+            local revision = redis.call('HINCRBY', KEYS[1], 'revision', 1)
+            redis.call('SET', KEYS[4], string.format('%d', revision), 'PX', ARGV[7])
+            redis.call('HSET', KEYS[1], 'content', ARGV[2])
+            redis.call('RPUSH', KEYS[2], ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            redis.call('SADD', KEYS[3], ARGV[5])
+            redis.call('PUBLISH', ARGV[6], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // {baseRevision, 연산 JSON...} (revision이 이미 압축된 범위라면 {-1})
+    private static final RedisScript<List> FIND_SINCE_SCRIPT = new DefaultRedisScript<>("""
+            local base = tonumber(redis.call('HGET', KEYS[1], 'baseRevision'))
+            if not base or tonumber(ARGV[1]) < base then
+                return {-1}
+            end
+            local result = redis.call('LRANGE', KEYS[2], tonumber(ARGV[1]) - base, -1)
+            table.insert(result, 1, base)
+            return result
+            """, List.class);
+
+    // dirty 목록을 처리 중 목록으로 옮기고, 처리 중 상태로 PROCESSING_EXPIRE_TIME이 지난 id(저장 도중 종료된 인스턴스의 몫)도 함께 반환.
+    private static final RedisScript<List> CLAIM_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+            local now = redis.call('TIME')
+            local nowMillis = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000)
+            local members = redis.call('SMEMBERS', KEYS[1])
+            local staleMembers = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', nowMillis - tonumber(ARGV[1]))
+            for _, member in ipairs(staleMembers) do
+                table.insert(members, member)
+            end
+            for _, member in ipairs(members) do
+                redis.call('ZADD', KEYS[2], nowMillis, member)
+            end
+            redis.call('DEL', KEYS[1])
+            return members
+            """, List.class);
+
+    private static final RedisScript<Long> MARK_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> COMPACT_SCRIPT = new DefaultRedisScript<>("""
+            local removeCount = redis.call('LLEN', KEYS[2]) - tonumber(ARGV[1])
+            if removeCount <= 0 or redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('LTRIM', KEYS[2], removeCount, -1)
+            redis.call('HINCRBY', KEYS[1], 'baseRevision', removeCount)
+            return removeCount
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+
+
+    @Override
+    public DocumentState findDocument(Long memoId) {
+        List<Object> valueList = redisTemplate.opsForHash().multiGet(toDocumentKey(memoId), List.of("revision", "content"));
+        if(valueList == null || valueList.get(0) == null) return null;
+        return new DocumentState(Long.parseLong((String) valueList.get(0)), (String) valueList.get(1));
+    }
+
+    @Override
+    public boolean existsDocument(Long memoId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(toDocumentKey(memoId)));
+    }
+
+    @Override
+    public boolean initializeDocument(Long memoId, long revision, String content) {
+        Long result = redisTemplate.execute(INITIALIZE_SCRIPT, List.of(toDocumentKey(memoId), toOperationsKey(memoId), toLastRevisionKey(memoId)),
+                String.valueOf(revision), (content != null) ? content : "", String.valueOf(DOCUMENT_EXPIRE_TIME), String.valueOf(LAST_REVISION_EXPIRE_TIME));
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public boolean discardUnusedDocument(Long memoId) {
+        Long result = redisTemplate.execute(DISCARD_UNUSED_SCRIPT, List.of(toDocumentKey(memoId), toOperationsKey(memoId)));
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public List<OperationRecord> findOperationsSince(Long memoId, long revision) {
+        List<?> resultList = redisTemplate.execute(FIND_SINCE_SCRIPT, List.of(toDocumentKey(memoId), toOperationsKey(memoId)), String.valueOf(revision));
+        if(resultList == null || resultList.isEmpty() || ((Number) resultList.get(0)).longValue() == -1L) return null;
+
+        List<OperationRecord> operationRecordList = new ArrayList<>(resultList.size() - 1);
+        for(int i=1; i<resultList.size(); i++) {
+            operationRecordList.add(readRecord((String) resultList.get(i)));
+        }
+        return operationRecordList;
+    }
+
+    @Override
+    public boolean appendOperation(Long memoId, long expectedRevision, String content, OperationRecord operationRecord) {
+        Long result = redisTemplate.execute(APPEND_SCRIPT, List.of(toDocumentKey(memoId), toOperationsKey(memoId), DIRTY_MEMO_KEY, toLastRevisionKey(memoId)),
+                String.valueOf(expectedRevision), content, writeRecord(operationRecord), String.valueOf(DOCUMENT_EXPIRE_TIME),
+                memoId.toString(), COLLAB_EVENT_CHANNEL, String.valueOf(LAST_REVISION_EXPIRE_TIME));
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public Set<Long> claimDirtyMemoIds() {
+        List<?> memberList = redisTemplate.execute(CLAIM_DIRTY_SCRIPT, List.of(DIRTY_MEMO_KEY, PROCESSING_MEMO_KEY), String.valueOf(PROCESSING_EXPIRE_TIME));
+        Set<Long> memoIdSet = new HashSet<>();
+        if(memberList != null) memberList.forEach(member -> memoIdSet.add(Long.valueOf((String) member)));
+        return memoIdSet;
+    }
+
+    @Override
+    public void completeDirty(Long memoId) {
+        redisTemplate.opsForZSet().remove(PROCESSING_MEMO_KEY, memoId.toString());
+    }
+
+    @Override
+    public void markDirty(Long memoId) {
+        redisTemplate.execute(MARK_DIRTY_SCRIPT, List.of(DIRTY_MEMO_KEY, PROCESSING_MEMO_KEY), memoId.toString());
+    }
+
+    @Override
+    public void compact(Long memoId, int retainCount) {
+        redisTemplate.execute(COMPACT_SCRIPT, List.of(toDocumentKey(memoId), toOperationsKey(memoId)), String.valueOf(retainCount));
+    }
+
+    @Override
+    public void subscribe(Consumer<OperationRecord> listener) {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(readRecord(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (IllegalStateException ex) {
+                log.warn("공동 편집 연산 수신 실패 - {}", ex.getMessage());
+            }
+        }, new ChannelTopic(COLLAB_EVENT_CHANNEL));
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private String writeRecord(OperationRecord operationRecord) {
+        try {
+            return objectMapper.writeValueAsString(operationRecord);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("공동 편집 연산 직렬화 실패", ex);
+        }
+    }
+
+    private OperationRecord readRecord(String json) {
+        try {
+            return objectMapper.readValue(json, OperationRecord.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("공동 편집 연산 역직렬화 실패", ex);
+        }
+    }
+
+    private static String toDocumentKey(Long memoId) {
+        return String.format("memoId:%d:collab_doc", memoId);
+    }
+
+    private static String toOperationsKey(Long memoId) {
+        return String.format("memoId:%d:collab_ops", memoId);
+    }
+
+    private static String toLastRevisionKey(Long memoId) {
+        return String.format("memoId:%d:collab_last_revision", memoId);
+    }
+}
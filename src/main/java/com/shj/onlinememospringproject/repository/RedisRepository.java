@@ -5,7 +5,6 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.time.Duration;
-import java.util.StringTokenizer;
 
 @Repository
 @RequiredArgsConstructor
@@ -22,29 +21,6 @@ public class RedisRepository {  // Redis DB
         return redisTemplate.expire(key, Duration.ofMillis(millisecond));
     }
 
-    public Boolean checkOwner(String key, Long userId) {  // 본인의 락이 맞는지 검증
-        // true : 키가 존재하고, 본인의 락이 맞음.
-        // false : 키는 존재하나, 본인의 락이 아님.
-        // null : 키가 존재하지 않음.
-        String value = getValue(key);
-        if(value == null) return null;
-        StringTokenizer typeStt = new StringTokenizer(value, ",");
-        StringTokenizer fieldStt;
-
-        while(typeStt.hasMoreTokens()) {
-            fieldStt = new StringTokenizer(typeStt.nextToken(), ":");
-            if(fieldStt.nextToken().equals("userId") == true) {
-                if(fieldStt.nextToken().equals(userId.toString()) == true) {
-                    return true;
-                }
-                else {
-                    return false;  // 키는 존재하나, 본인의 락이 아님.
-                }
-            }
-        }
-        return false;
-    }
-
     // - setValue() : 키의 존재여부와 관계없이 덮어씌워서라도 저장하며, 반환값 없음.
     public void setValue(String key, String value, Long millisecond) {  // millisecond = null 허용
         if(millisecond != null) {  // value와 TTL 모두 지정해서 저장
@@ -68,19 +44,6 @@ public class RedisRepository {  // Redis DB
         return redisTemplate.delete(key);  // 'DEL {key}' 명령어
     }
 
-    public Boolean unlockOwner(String key, Long userId) {  // 본인의 락 해제
-        // true : 본인의 락 해제 성공.
-        // false : 본인의 락 해제 실패.
-        // null : 키가 존재하지 않음.
-        // ==> 즉, 본인의 락이 존재할때만 해제함.
-        Boolean isOwnLock = checkOwner(key, userId);
-        if(isOwnLock == null) return null;
-        else {
-            if(isOwnLock == true) return unlock(key);
-            else return false;
-        }
-    }
-
     public Long updateCount(String key, long count) {
         // 숫자 반환 (키 존재 O) : 기존값에 +count 또는 -count 후 결과값 반환. (TTL 유지)
         // 숫자 반환 (키 존재 X) : 값을 1 또는 -1로 신규 저장 후 해당값 반환. (단, TTL 무한)
@@ -0,0 +1,98 @@
+package com.shj.onlinememospringproject.repository;
+
+import com.shj.onlinememospringproject.domain.enums.TitleJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@RequiredArgsConstructor
+public class TitleJobRepository {  // AI 제목 생성 작업의 상태 저장소 (Redis)
+
+    // - 저장 구조 : 'titleJob:%s' Hash. (필드 : userId, status, title, dailyAIUsage, isMaxDailyAIUsage, errorCode, errorMessage)
+    // - 작업을 실행한 서버 인스턴스와 조회 요청을 받은 서버 인스턴스가 다를 수 있으므로, 로컬 메모리가 아닌 Redis에 저장함.
+
+    private static final long JOB_EXPIRE_TIME = 1000L * 60 * 10;  // 작업 TTL = 10분 (마지막 상태 변경 이후)
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+
+    public void create(String jobId, Long userId) {
+        Map<String, String> fieldMap = new HashMap<>();
+        fieldMap.put("userId", userId.toString());
+        fieldMap.put("status", TitleJobStatus.PENDING.name());
+        save(jobId, fieldMap);
+    }
+
+    public void updateStatus(String jobId, TitleJobStatus status) {
+        save(jobId, Map.of("status", status.name()));
+    }
+
+    public void complete(String jobId, String title, Integer dailyAIUsage, Boolean isMaxDailyAIUsage) {
+        Map<String, String> fieldMap = new HashMap<>();
+        fieldMap.put("title", title);
+        if(dailyAIUsage != null) fieldMap.put("dailyAIUsage", dailyAIUsage.toString());
+        if(isMaxDailyAIUsage != null) fieldMap.put("isMaxDailyAIUsage", isMaxDailyAIUsage.toString());
+        fieldMap.put("status", TitleJobStatus.DONE.name());  // 결과 필드와 함께 저장되므로, DONE 조회 시 결과가 누락되지 않음.
+        save(jobId, fieldMap);
+    }
+
+    public void fail(String jobId, String errorCode, String errorMessage) {
+        Map<String, String> fieldMap = new HashMap<>();
+        fieldMap.put("errorCode", errorCode);
+        if(errorMessage != null) fieldMap.put("errorMessage", errorMessage);
+        fieldMap.put("status", TitleJobStatus.FAILED.name());
+        save(jobId, fieldMap);
+    }
+
+    public TitleJob find(String jobId) {  // 없거나 만료되었다면 null 반환
+        Map<Object, Object> fieldMap = redisTemplate.opsForHash().entries(toJobKey(jobId));
+        if(fieldMap == null || fieldMap.get("userId") == null) return null;
+
+        String dailyAIUsage = (String) fieldMap.get("dailyAIUsage");
+        String isMaxDailyAIUsage = (String) fieldMap.get("isMaxDailyAIUsage");
+        return new TitleJob(
+                Long.valueOf((String) fieldMap.get("userId")),
+                TitleJobStatus.valueOf((String) fieldMap.get("status")),
+                (String) fieldMap.get("title"),
+                (dailyAIUsage != null) ? Integer.valueOf(dailyAIUsage) : null,
+                (isMaxDailyAIUsage != null) ? Boolean.valueOf(isMaxDailyAIUsage) : null,
+                (String) fieldMap.get("errorCode"),
+                (String) fieldMap.get("errorMessage"));
+    }
+
+    public void delete(String jobId) {
+        redisTemplate.delete(toJobKey(jobId));
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private void save(String jobId, Map<String, String> fieldMap) {  // 저장할 때마다 TTL을 다시 지정하므로, 결과는 완료 시점부터 TTL 동안 조회 가능함.
+        redisTemplate.opsForHash().putAll(toJobKey(jobId), fieldMap);
+        redisTemplate.expire(toJobKey(jobId), JOB_EXPIRE_TIME, TimeUnit.MILLISECONDS);
+    }
+
+    private static String toJobKey(String jobId) {
+        return String.format("titleJob:%s", jobId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TitleJob {
+
+        private final Long userId;
+        private final TitleJobStatus status;
+        private final String title;
+        private final Integer dailyAIUsage;
+        private final Boolean isMaxDailyAIUsage;
+        private final String errorCode;  // 실패 시의 ResponseCode 이름
+        private final String errorMessage;
+    }
+}
@@ -20,7 +20,8 @@ public class UserMemoBatchRepository {  // 대용량 데이터의 batch 처리
 
 
     public void batchInsert(List<UserMemo> userMemoList) {
-        String sql = "INSERT INTO user_memo (user_id, memo_id) VALUES (?, ?)";
+        // 정렬기준인 메모의 수정날짜는 메모 행에서 그대로 복사함. (UserMemo.memoModifiedTime 참고)
+        String sql = "INSERT INTO user_memo (user_id, memo_id, memo_modified_time) SELECT ?, m.memo_id, m.modified_time FROM memo m WHERE m.memo_id = ?";
 
         for (int i=0; i<userMemoList.size(); i+=BATCH_SIZE) {
             List<UserMemo> batchList = userMemoList.subList(i, Math.min(i+BATCH_SIZE, userMemoList.size()));
@@ -2,9 +2,13 @@ package com.shj.onlinememospringproject.repository;
 
 import com.shj.onlinememospringproject.domain.mapping.UserMemo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserMemoRepository extends JpaRepository<UserMemo, Long> {
@@ -17,12 +21,30 @@ public interface UserMemoRepository extends JpaRepository<UserMemo, Long> {
 
     // Eager 조회 : 'UserMemo + UserMemo.memo + UserMemo.memo.userMemoList' (하위의 memo는 반드시 존재하므로 JOIN 사용하나, userMemoList는 비어있을수도있어 LEFT JOIN 사용.)
     @Query("SELECT um FROM UserMemo um JOIN FETCH um.memo m LEFT JOIN FETCH m.userMemoList WHERE um.user.id = :userId AND um.memo.id = :memoId")
-    Optional<UserMemo> findByUser_IdAndMemo_IdToUserMemoListWithEager(@Param("userId") Long userId, @Param("memoId") Long memoId);
+    Optional<UserMemo> findByUser_IdAndMemo_IdToUserMemoListWithEager(@Param("userId") Long userId, @Param("memoId") Long memoId);  // 현재 미사용 메소드이나, 차후 활용가능성을 위해 작성해두었음.
 
-    // memoId의 메모가 공동메모인지 여부를 확인하는 메소드
-    @Query(value = "SELECT EXISTS (SELECT 1 FROM user_memo WHERE memo_id = :memoId LIMIT 2 OFFSET 1)", nativeQuery = true)  // 두번째 작성자가 존재하는지만 확인하여, 2인 이상 여부 판단.
-    Long isGroupMemoByMemoId(@Param("memoId") Long memoId);
+    // memoId의 메모를 가진 사용자들의 id 조회
+    @Query("SELECT um.user.id FROM UserMemo um WHERE um.memo.id = :memoId")
+    List<Long> findUserIdsByMemoId(@Param("memoId") Long memoId);
 
+    // userId의 사용자와 메모를 함께 가진 모든 사용자들의 id 조회 (본인 포함)
+    @Query("SELECT DISTINCT um2.user.id FROM UserMemo um1 JOIN UserMemo um2 ON um2.memo.id = um1.memo.id WHERE um1.user.id = :userId")
+    List<Long> findCoMemberUserIdsByUserId(@Param("userId") Long userId);
+
+    // userId의 사용자가 가진 메모들의 id 조회
+    @Query("SELECT um.memo.id FROM UserMemo um WHERE um.user.id = :userId")
+    List<Long> findMemoIdsByUserId(@Param("userId") Long userId);
+
+    // memoIds 중에서 userId의 사용자가 현재 가지고 있는 메모들의 id만 조회
+    @Query("SELECT um.memo.id FROM UserMemo um WHERE um.user.id = :userId AND um.memo.id IN :memoIds")
+    List<Long> findMemoIdsByUserIdAndMemoIdIn(@Param("userId") Long userId, @Param("memoIds") Collection<Long> memoIds);
+
+    // 메모의 수정날짜가 바뀐 경우, 모든 사용자-메모 관계의 비정규화된 정렬기준도 같은 값으로 갱신함. (목록 커서 조회용)
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE user_memo SET memo_modified_time = :modifiedTime WHERE memo_id = :memoId", nativeQuery = true)
+    int syncMemoModifiedTime(@Param("memoId") Long memoId, @Param("modifiedTime") LocalDateTime modifiedTime);
+
+    long countByMemo_Id(Long memoId);
     boolean existsByUser_IdAndMemo_Id(Long userId, Long memoId);
     void deleteByUser_IdAndMemo_Id(Long userId, Long memoId);
 }
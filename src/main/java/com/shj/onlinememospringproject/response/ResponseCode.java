@@ -31,7 +31,12 @@ public enum ResponseCode {
     CREATED_MEMO(StatusItem.CREATED, MessageItem.CREATED_MEMO),
     READ_MEMO(StatusItem.OK, MessageItem.READ_MEMO),
     READ_MEMOLIST(StatusItem.OK, MessageItem.READ_MEMOLIST),
+    READ_MEMO_REVISIONLIST(StatusItem.OK, MessageItem.READ_MEMO_REVISIONLIST),
+    READ_MEMO_REVISION(StatusItem.OK, MessageItem.READ_MEMO_REVISION),
     UPDATE_MEMO(StatusItem.NO_CONTENT, MessageItem.UPDATE_MEMO),
+    SAVE_DRAFT(StatusItem.NO_CONTENT, MessageItem.SAVE_DRAFT),
+    FLUSH_DRAFT(StatusItem.OK, MessageItem.FLUSH_DRAFT),
+    APPLY_COLLAB_OPERATION(StatusItem.OK, MessageItem.APPLY_COLLAB_OPERATION),
     DELETE_MEMO(StatusItem.NO_CONTENT, MessageItem.DELETE_MEMO),
 
     // Memo 관련 실패 응답
@@ -83,11 +88,14 @@ public enum ResponseCode {
 
     // 기타 성공 응답
     READ_MEMORY(StatusItem.OK, MessageItem.READ_MEMORY),
+    READ_METRIC(StatusItem.OK, MessageItem.READ_METRIC),
     LOGIN_SUCCESS(StatusItem.OK, MessageItem.LOGIN_SUCCESS),
     UPDATE_PASSWORD(StatusItem.NO_CONTENT, MessageItem.UPDATE_PASSWORD),
     LOCK_ACQUIRED(StatusItem.CREATED, MessageItem.LOCK_ACQUIRED),
     DELETE_LOCK(StatusItem.NO_CONTENT, MessageItem.DELETE_LOCK),
     SUCCESS_RESPONSE_OPENAI(StatusItem.OK, MessageItem.SUCCESS_RESPONSE_OPENAI),
+    CREATED_TITLE_JOB(StatusItem.ACCEPTED, MessageItem.CREATED_TITLE_JOB),
+    READ_TITLE_JOB(StatusItem.OK, MessageItem.READ_TITLE_JOB),
     HEALTHY_SUCCESS(StatusItem.OK, MessageItem.HEALTHY_SUCCESS),
     TEST_SUCCESS(StatusItem.OK, MessageItem.TEST_SUCCESS),
     PREVENT_GET_ERROR(StatusItem.NO_CONTENT, MessageItem.PREVENT_GET_ERROR),
@@ -102,6 +110,7 @@ public enum ResponseCode {
     CONFLICT_DATA_ERROR(StatusItem.CONFLICT, MessageItem.CONFLICT_DATA_ERROR),
     LOCKED_DATA_ERROR(StatusItem.LOCKED, MessageItem.LOCKED_DATA_ERROR),
     EXCESS_REQUEST_OPENAI(StatusItem.TO_MANY_REQUESTS, MessageItem.EXCESS_REQUEST_OPENAI),
+    NOT_FOUND_TITLE_JOB(StatusItem.NOT_FOUND, MessageItem.NOT_FOUND_TITLE_JOB),
     UNAUTHORIZED_ERROR(StatusItem.UNAUTHORIZED, MessageItem.UNAUTHORIZED),
     FORBIDDEN_ERROR(StatusItem.FORBIDDEN, MessageItem.FORBIDDEN),
 
@@ -34,4 +34,10 @@ public class Exception404 extends CustomException {
             super(ResponseCode.NOT_FOUND_FRIENDSHIP, message);
         }
     }
+
+    public static class NoSuchTitleJob extends Exception404 {
+        public NoSuchTitleJob(String message) {
+            super(ResponseCode.NOT_FOUND_TITLE_JOB, message);
+        }
+    }
 }
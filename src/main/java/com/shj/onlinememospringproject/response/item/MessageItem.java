@@ -15,7 +15,12 @@ public class MessageItem {
     public static final String CREATED_MEMO = "SUCCESS - 메모 생성 성공";
     public static final String READ_MEMO = "SUCCESS - 메모 정보 조회 성공";
     public static final String READ_MEMOLIST = "SUCCESS - 회원의 메모 목록 조회 성공";
+    public static final String READ_MEMO_REVISIONLIST = "SUCCESS - 메모 수정 이력 목록 조회 성공";
+    public static final String READ_MEMO_REVISION = "SUCCESS - 메모 수정 이력 복원 조회 성공";
     public static final String UPDATE_MEMO = "SUCCESS - 메모 수정 성공";
+    public static final String SAVE_DRAFT = "SUCCESS - 메모 임시저장 성공";
+    public static final String FLUSH_DRAFT = "SUCCESS - 메모 임시저장 반영 성공";
+    public static final String APPLY_COLLAB_OPERATION = "SUCCESS - 공동 편집 연산 반영 성공";
     public static final String DELETE_MEMO = "SUCCESS - 메모 삭제 성공";
     public static final String NOT_FOUND_MEMO = "ERROR - 메모를 찾을 수 없습니다.";
     public static final String BAD_REQUEST_MEMO = "ERROR - 잘못된 메모요청 에러";
@@ -53,6 +58,7 @@ public class MessageItem {
 
     // < Etc >
     public static final String READ_MEMORY = "SUCCESS - 메모리 조회 성공";
+    public static final String READ_METRIC = "SUCCESS - 서버 지표 조회 성공";
     public static final String HEALTHY_SUCCESS = "SUCCESS - Health check 성공";
     public static final String TEST_SUCCESS = "SUCCESS - Test 성공";
     public static final String PREVENT_GET_ERROR = "Status 204 - 리소스 및 리다이렉트 GET호출 에러 방지";
@@ -64,6 +70,9 @@ public class MessageItem {
     // - OpenAI
     public static final String SUCCESS_RESPONSE_OPENAI = "SUCCESS - AI 응답 성공";
     public static final String EXCESS_REQUEST_OPENAI = "ERROR - AI 요청 제한 초과";  // Status 429
+    public static final String CREATED_TITLE_JOB = "SUCCESS - AI 제목 생성 작업 등록 성공";  // Status 202
+    public static final String READ_TITLE_JOB = "SUCCESS - AI 제목 생성 작업 조회 성공";
+    public static final String NOT_FOUND_TITLE_JOB = "ERROR - AI 제목 생성 작업을 찾을 수 없습니다.";
     // - Client (HTTP)
     public static final String NOT_ALLOWED_METHOD = "ERROR - 지원되지 않는 HTTP 메서드";  // Status 405
     public static final String NOT_ACCEPTABLE_TYPE = "ERROR - 지원되지 않는 응답 타입 (Accept)";  // Status 406 : 클라이언트가 원하는 응답형식(Accept)을 서버가 제공할 수 없음.
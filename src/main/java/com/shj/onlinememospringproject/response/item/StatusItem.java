@@ -3,6 +3,7 @@ package com.shj.onlinememospringproject.response.item;
 public class StatusItem {
     public static final int OK = 200;
     public static final int CREATED = 201;
+    public static final int ACCEPTED = 202;
     public static final int NO_CONTENT = 204;
     public static final int BAD_REQUEST =  400;
     public static final int UNAUTHORIZED = 401;
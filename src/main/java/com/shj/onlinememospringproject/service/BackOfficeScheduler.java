@@ -2,6 +2,7 @@ package com.shj.onlinememospringproject.service;
 
 import com.shj.onlinememospringproject.domain.backoffice.Ga4Filtered;
 import com.shj.onlinememospringproject.repository.Ga4FilteredRepository;
+import com.shj.onlinememospringproject.repository.MemoChangeRepository;
 import com.shj.onlinememospringproject.repository.RedisRepository;
 import com.shj.onlinememospringproject.util.TimeConverter;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,7 @@ public class BackOfficeScheduler {
     private final Ga4FilteredService ga4FilteredService;
     private final Ga4FilteredRepository ga4FilteredRepository;
     private final RedisRepository redisRepository;
+    private final MemoChangeRepository memoChangeRepository;
 
 
     @Scheduled(cron = "0 0 15 * * ?", zone = "Asia/Seoul")  // 매일 오후 3시에 실행
@@ -57,6 +59,12 @@ public class BackOfficeScheduler {
         ga4FilteredService.filterAndSaveGa4(startDatetimeStr, endDatetimeStr);
     }
 
+    @Scheduled(cron = "0 30 4 * * ?", zone = "Asia/Seoul")  // 매일 오전 4시 30분에 실행
+    public void deleteExpiredMemoChanges() {
+        int deletedCount = memoChangeRepository.deleteExpiredChanges();  // 보관기간이 지난 델타 동기화용 변경내역 삭제
+        log.info("메모 변경내역 정리 - {}건 삭제 (보관기간 = {}일)", deletedCount, MemoChangeRepository.RETENTION_DAYS);
+    }
+
     @Scheduled(fixedRate = 1000 * 60 * 5)  // 5분 간격으로 실행
     public void checkAllMemoryUsage() {
         // check Heap Memory
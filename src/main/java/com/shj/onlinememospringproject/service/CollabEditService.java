@@ -0,0 +1,9 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface CollabEditService {
+    SseEmitter subscribe(Long memoId);
+    MemoDto.CollabOperationResponse submitOperation(Long memoId, MemoDto.CollabOperationRequest collabOperationRequestDto);
+}
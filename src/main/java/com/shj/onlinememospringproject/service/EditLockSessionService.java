@@ -0,0 +1,7 @@
+package com.shj.onlinememospringproject.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface EditLockSessionService {
+    SseEmitter subscribe(Long memoId);
+}
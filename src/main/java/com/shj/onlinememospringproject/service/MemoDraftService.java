@@ -0,0 +1,10 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+
+public interface MemoDraftService {
+    void saveDraft(Long memoId, MemoDto.DraftRequest draftRequestDto);
+    MemoDto.DraftResponse flushDraft(Long memoId);
+    void flushDraftQuietly(Long memoId);
+    MemoDto.UpdateRequest rebaseForSave(Long memoId, MemoDto.UpdateRequest updateRequestDto);
+}
@@ -4,4 +4,6 @@ import com.shj.onlinememospringproject.dto.MemoDto;
 
 public interface MemoFacade {
     void updateMemoFacade(Long memoId, MemoDto.UpdateRequest updateRequestDto);
+    void patchMemoFacade(Long memoId, MemoDto.PatchRequest patchRequestDto);
+    void releaseEditLockFacade(Long memoId);
 }
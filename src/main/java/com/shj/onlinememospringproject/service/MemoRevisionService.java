@@ -0,0 +1,14 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+
+import java.util.List;
+
+public interface MemoRevisionService {
+    void recordRevision(Long memoId, long version, String title, String content);
+    void recordRevision(Long memoId, long version, String title, String content, Long editorId);
+    List<MemoDto.RevisionResponse> findRevisions(Long memoId);
+    MemoDto.RevisionDetailResponse findRevision(Long memoId, Long version);
+    MemoDto.RevisionDetailResponse restoreRevision(Long memoId, Long version);
+    void deleteRevisions(Long memoId);
+}
@@ -7,15 +7,20 @@ import java.util.List;
 
 public interface MemoService {
     MemoDto.Response findMemoInfo(Long memoId);
+    String findMemoInfoETag(Long memoId);
     List<MemoDto.MemoPageResponse> findMemos(String filter, String search);
+    String findMemosETag(String filter, String search);
+    MemoDto.MemoSliceResponse findMemosByCursor(String filter, String search, String cursor, int limit);
+    MemoDto.ChangeResponse findMemoChanges(String since);
     MemoDto.CreateResponse createMemo(MemoDto.CreateRequest createRequestDto);
     void checkEditLock(Long memoId);
-    void releaseEditLock(Long memoId);
-    void updateMemo(Long memoId, MemoDto.UpdateRequest updateRequestDto);
+    void releaseEditLock(Long memoId, Runnable beforeRelease);
+    void updateMemo(Long memoId, MemoDto.UpdateRequest updateRequestDto, Long fencingToken);
+    void patchMemo(Long memoId, MemoDto.PatchRequest patchRequestDto, Long fencingToken);
     void deleteMemo(Long memoId);
     MemoDto.GenerateResponse generateTitleByOpenAI(MemoDto.GenerateRequest generateRequestDto);
 
     // ========== 유틸성 메소드 ========== //
     Memo findMemo(Long memoId);
-    void checkOwnLock(String key, Long userId, boolean isRequiredExistKey);
+    Long checkOwnLock(Long memoId, Long userId, boolean isRequiredExistKey);
 }
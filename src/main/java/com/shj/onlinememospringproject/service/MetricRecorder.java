@@ -0,0 +1,35 @@
+package com.shj.onlinememospringproject.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class MetricRecorder {  // 서버 내부 지표용 누적 카운터 (서버 인스턴스 단위이며, 재시작 시 초기화됨.)
+
+    // 요청 스레드들이 동시에 같은 카운터를 증가시키므로, 경합이 적은 LongAdder 사용.
+    private final Map<String, LongAdder> counterMap = new ConcurrentHashMap<>();
+
+
+    public void increment(String name) {
+        add(name, 1L);
+    }
+
+    public void add(String name, long amount) {
+        counterMap.computeIfAbsent(name, key -> new LongAdder()).add(amount);
+    }
+
+    public long getCount(String name) {
+        LongAdder counter = counterMap.get(name);
+        return (counter != null) ? counter.sum() : 0L;
+    }
+
+    public Map<String, Long> getCounters() {  // 지표명 오름차순의 스냅샷 반환
+        Map<String, Long> snapshotMap = new TreeMap<>();
+        counterMap.forEach((name, counter) -> snapshotMap.put(name, counter.sum()));
+        return snapshotMap;
+    }
+}
@@ -0,0 +1,10 @@
+package com.shj.onlinememospringproject.service;
+
+import java.time.LocalDate;
+
+public interface OpenAIQuotaService {
+    int findDailyUsage(Long userId);
+    Integer reserveDailyUsage(Long userId, LocalDate usageDate, int maxUsage);
+    int refundDailyUsage(Long userId, LocalDate usageDate);
+    void acquireRateLimit(long tokenCost);
+}
@@ -0,0 +1,5 @@
+package com.shj.onlinememospringproject.service;
+
+public interface SummaryService {
+    String summarize(String content, int maxLength);
+}
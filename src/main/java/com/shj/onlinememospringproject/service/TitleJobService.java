@@ -0,0 +1,8 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+
+public interface TitleJobService {
+    MemoDto.TitleJobResponse submitTitleJob(MemoDto.GenerateRequest generateRequestDto);
+    MemoDto.TitleJobResponse findTitleJob(String jobId);
+}
@@ -6,10 +6,14 @@ import com.shj.onlinememospringproject.domain.User;
 import com.shj.onlinememospringproject.domain.enums.Authority;
 import com.shj.onlinememospringproject.domain.mapping.UserMemo;
 import com.shj.onlinememospringproject.dto.AuthDto;
+import com.shj.onlinememospringproject.event.MemoAccessRevokedEvent;
+import com.shj.onlinememospringproject.event.MemoChangedEvent;
+import com.shj.onlinememospringproject.event.MemoListChangedEvent;
 import com.shj.onlinememospringproject.jwt.TokenProvider;
 import com.shj.onlinememospringproject.repository.FriendshipBatchRepository;
 import com.shj.onlinememospringproject.repository.MemoBatchRepository;
 import com.shj.onlinememospringproject.repository.UserMemoBatchRepository;
+import com.shj.onlinememospringproject.repository.UserMemoRepository;
 import com.shj.onlinememospringproject.repository.UserRepository;
 import com.shj.onlinememospringproject.response.exception.Exception400;
 import com.shj.onlinememospringproject.response.exception.Exception404;
@@ -22,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -47,6 +52,8 @@ public class AuthServiceImpl implements AuthService {
     private final MemoBatchRepository memoBatchRepository;
     private final FriendshipBatchRepository friendshipBatchRepository;
     private final UserMemoBatchRepository userMemoBatchRepository;
+    private final UserMemoRepository userMemoRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final TokenProvider tokenProvider;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManagerBuilder managerBuilder;
@@ -130,6 +137,10 @@ public class AuthServiceImpl implements AuthService {
                 () -> new Exception404.NoSuchUser(String.format("userId = %d", loginUserId)));
         List<UserMemo> userMemoList = user.getUserMemoList();
 
+        // 관계 삭제 이전에, 공동메모의 남은 사용자들을 목록 캐시 무효화 대상으로 담아둠. (탈퇴 사용자의 닉네임 및 사용자 수 변경)
+        List<Long> coMemberUserIdList = userMemoRepository.findCoMemberUserIdsByUserId(loginUserId);
+        eventPublisher.publishEvent(new MemoListChangedEvent(coMemberUserIdList));  // 커밋 이후에 실행됨.
+
         // 사용자와 메모와의 관계를 삭제하기 이전에, 먼저 해당 사용자가 보유한 메모들부터 미리 리스트에 담아둠.
         List<Memo> memoList = userMemoList.stream()  // User.usermemoList (N+1 쿼리 발생)
                 .map(UserMemo::getMemo)
@@ -137,13 +148,18 @@ public class AuthServiceImpl implements AuthService {
 
         // 부모 테이블인 User보다 먼저, 자식 테이블인 UserAndMemo에서 사용자와 메모와의 관계부터 삭제.
         userMemoBatchRepository.batchDelete(userMemoList);  // UserMemos - Batch Delete
+        eventPublisher.publishEvent(new MemoAccessRevokedEvent(loginUserId, memoList.stream().map(Memo::getId).collect(Collectors.toList())));  // 접근권한 캐시 회수.
 
-        // 사용자와 메모와의 관계 삭제이후, 담아두었던 메모의 남은 사용자가 0명이라면, 해당 메모도 삭제.
+        // 사용자와 메모와의 관계 삭제이후, 담아두었던 메모들의 사용자 수를 갱신하고, 남은 사용자가 0명이라면 해당 메모도 삭제.
+        Set<Long> emptyMemoIdSet = new HashSet<>(memoBatchRepository.batchRefreshMemberCount(memoList));
         List<Memo> deleteMemoList = memoList.stream()
-                .filter(memo -> memo.getUserMemoList().isEmpty())  // User.usermemoList.memo (N+1 쿼리 발생)
+                .filter(memo -> emptyMemoIdSet.contains(memo.getId()))
                 .collect(Collectors.toList());
         memoBatchRepository.batchDelete(deleteMemoList);  // Memos - Batch Delete
 
+        // 공동메모의 남은 사용자들에게 사용자 구성 변경을 기록. (커밋 직전 시점에 사용자가 남아있는 메모만 기록됨.)
+        eventPublisher.publishEvent(MemoChangedEvent.upsert(memoList.stream().map(Memo::getId).collect(Collectors.toList())));
+
         // 부모 테이블인 User보다 먼저, 자식 테이블인 Friendship에서 요청사용자와 친구와의 관계부터 삭제.
         Set<Friendship> deleteFriendshipSet = new HashSet<>();  // 중복제거를 위해 Set 사용.
         deleteFriendshipSet.addAll(user.getReceiveFriendshipList());
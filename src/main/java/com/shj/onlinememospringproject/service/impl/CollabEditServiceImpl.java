@@ -0,0 +1,237 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.shj.onlinememospringproject.domain.Memo;
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.event.MemoChangedEvent;
+import com.shj.onlinememospringproject.event.MemoListChangedEvent;
+import com.shj.onlinememospringproject.repository.CollabOperationStore;
+import com.shj.onlinememospringproject.repository.MemoContentRepository;
+import com.shj.onlinememospringproject.repository.MemoRepository;
+import com.shj.onlinememospringproject.repository.UserMemoRepository;
+import com.shj.onlinememospringproject.response.exception.Exception400;
+import com.shj.onlinememospringproject.response.exception.Exception409;
+import com.shj.onlinememospringproject.service.CollabEditService;
+import com.shj.onlinememospringproject.service.MemoRevisionService;
+import com.shj.onlinememospringproject.service.UserMemoService;
+import com.shj.onlinememospringproject.util.SecurityUtil;
+import com.shj.onlinememospringproject.util.TextOperation;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollabEditServiceImpl implements CollabEditService {  // 공동메모 공동 편집 (중앙 서버 기반 OT)
+
+    // - 동작 방식 :
+    // 1. 클라이언트는 SSE 연결 시 현재 문서(snapshot)를 받고, 이후 다른 사용자의 연산(operation)을 실시간으로 수신함.
+    // 2. 클라이언트는 자신의 연산을 baseRevision과 함께 전송하며, 서버는 그 사이에 반영된 연산들로 변환(transform)한 후 다음 revision으로 반영함.
+    // 3. 반영된 연산은 Redis Pub/Sub으로 모든 서버 인스턴스에 전파되어, 각 인스턴스의 SSE 세션들로 전송됨.
+    // 4. 문서 상태는 공동 편집 저장소(Redis)에서 관리하며, 주기적으로 memo_content에 스냅샷을 저장하고 오래된 연산 기록은 압축함.
+    // - 편집락 없이 여러 사용자가 동시에 입력할 수 있으며, 연산 순서는 저장소의 revision 비교로 정해지므로 409 충돌로 작업을 잃지 않음.
+
+    private static final long SESSION_TIMEOUT = 1000L * 60 * 30;  // SSE 연결 유지시간 = 30분 (만료 시 클라이언트가 재연결)
+    private static final long HEARTBEAT_INTERVAL = 1000L * 20;  // 하트비트 주기 = 20초
+    private static final long SNAPSHOT_INTERVAL = 1000L * 30;  // DB 스냅샷 저장 주기 = 30초
+    private static final int MAX_APPEND_RETRY = 5;  // 동시 반영 경합 시, 최대 재변환 횟수
+    private static final int RETAINED_OPERATION_COUNT = 1000;  // 스냅샷 저장 후에도 남겨둘 최근 연산 수 (뒤처진 클라이언트의 연산 변환용)
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String OPERATION_EVENT = "operation";
+    private static final String HEARTBEAT_EVENT = "heartbeat";
+
+    private final UserMemoService userMemoService;
+    private final MemoRepository memoRepository;
+    private final MemoContentRepository memoContentRepository;
+    private final UserMemoRepository userMemoRepository;
+    private final MemoRevisionService memoRevisionService;
+    private final CollabOperationStore collabOperationStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Set<SseEmitter>> emitterMap = new ConcurrentHashMap<>();  // 이 서버 인스턴스에 연결된 메모별 SSE 세션
+
+
+    @PostConstruct
+    public void subscribeOperation() {
+        collabOperationStore.subscribe(operationRecord -> {
+            Set<SseEmitter> emitters = emitterMap.get(operationRecord.getMemoId());
+            if(emitters != null) emitters.forEach(emitter -> send(emitter, OPERATION_EVENT, operationRecord));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public SseEmitter subscribe(Long memoId) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
+        if(!userMemoService.checkGroupMemo(memoId)) {
+            throw new Exception400.MemoBadRequest("공동 편집은 공동메모인 경우에만 사용할 수 있습니다.");
+        }
+
+        // 세션을 먼저 등록한 후 스냅샷을 전송하므로, 그 사이에 반영된 연산은 클라이언트가 revision을 비교하여 무시함.
+        SseEmitter emitter = new SseEmitter(SESSION_TIMEOUT);
+        emitterMap.computeIfAbsent(memoId, key -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> removeEmitter(memoId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> removeEmitter(memoId, emitter));
+
+        CollabOperationStore.DocumentState documentState = findOrInitializeDocument(memoId);
+        MemoDto.CollabSnapshotResponse collabSnapshotResponseDto = MemoDto.CollabSnapshotResponse.builder()
+                .revision(documentState.getRevision())
+                .content(documentState.getContent())
+                .build();
+        send(emitter, SNAPSHOT_EVENT, collabSnapshotResponseDto);
+        return emitter;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public MemoDto.CollabOperationResponse submitOperation(Long memoId, MemoDto.CollabOperationRequest collabOperationRequestDto) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
+
+        Long baseRevision = collabOperationRequestDto.getBaseRevision();
+        if(baseRevision == null || baseRevision < 0) {
+            throw new Exception400.MemoBadRequest("잘못된 필드값으로 API를 요청하였습니다.");
+        }
+
+        try {
+            TextOperation operation = TextOperation.fromList(collabOperationRequestDto.getOperation());
+            for(int attempt=0; attempt<MAX_APPEND_RETRY; attempt++) {
+                CollabOperationStore.DocumentState documentState = collabOperationStore.findDocument(memoId);
+                if(documentState == null) {  // 문서가 만료된 경우 (SSE 재연결로 새 스냅샷을 받아야함.)
+                    throw new Exception409.ConflictData(String.format("공동 편집 문서가 존재하지 않습니다. (memoId = %d)", memoId));
+                }
+                long currentRevision = documentState.getRevision();
+                if(baseRevision > currentRevision) {
+                    throw new Exception400.MemoBadRequest(String.format("잘못된 revision입니다. (baseRevision = %d, currentRevision = %d)", baseRevision, currentRevision));
+                }
+
+                // baseRevision 이후에 먼저 반영된 연산들로 변환 (같은 문서 상태 기준으로 맞춤.)
+                if(baseRevision < currentRevision) {
+                    List<CollabOperationStore.OperationRecord> concurrentRecordList = collabOperationStore.findOperationsSince(memoId, baseRevision);
+                    if(concurrentRecordList == null) {  // 너무 오래된 revision이라 연산 기록이 이미 압축된 경우
+                        throw new Exception409.ConflictData(String.format("연산 기록이 만료된 revision입니다. (baseRevision = %d)", baseRevision));
+                    }
+                    for(CollabOperationStore.OperationRecord concurrentRecord : concurrentRecordList) {
+                        if(concurrentRecord.getRevision() > currentRevision) break;  // 조회 이후에 추가된 연산은 다음 시도에서 반영.
+                        operation = TextOperation.transform(operation, TextOperation.fromList(concurrentRecord.getOperation()))[0];
+                    }
+                    baseRevision = currentRevision;
+                }
+
+                String content = operation.apply(documentState.getContent());
+                CollabOperationStore.OperationRecord operationRecord = new CollabOperationStore.OperationRecord(
+                        memoId, currentRevision + 1, loginUserId, collabOperationRequestDto.getClientOpId(), operation.toList());
+                if(collabOperationStore.appendOperation(memoId, currentRevision, content, operationRecord)) {
+                    return MemoDto.CollabOperationResponse.builder()
+                            .revision(currentRevision + 1)
+                            .build();
+                }
+                // 다른 연산이 먼저 반영되어 revision이 바뀐 경우, 새 연산들로 다시 변환 후 재시도.
+            }
+        } catch (IllegalArgumentException ex) {  // 연산 형식 또는 길이가 문서와 맞지 않는 경우
+            throw new Exception400.MemoBadRequest(ex.getMessage());
+        }
+        throw new Exception409.ConflictData(String.format("memoId = %d", memoId));
+    }
+
+    // 연산이 반영된 문서들의 스냅샷을 DB에 저장하고, 오래된 연산 기록을 압축함. (여러 인스턴스 중 dirty 목록을 꺼낸 한 곳에서만 저장됨.)
+    // - 꺼낸 id는 처리 중 상태로 남아있다가 저장이 커밋된 이후에 제거되므로, 저장 도중 서버가 종료되어도 다른 인스턴스가 다시 저장함.
+    // - 저장에 실패한 메모는 dirty 목록에 다시 등록하여, 다음 주기에 재시도함. (문서는 Redis에 남아있으므로 최신 상태로 저장됨.)
+    @Scheduled(fixedDelay = SNAPSHOT_INTERVAL)
+    public void saveSnapshots() {
+        Set<Long> dirtyMemoIdSet;
+        try {
+            dirtyMemoIdSet = collabOperationStore.claimDirtyMemoIds();
+        } catch (DataAccessException ex) {
+            log.warn("공동 편집 스냅샷 대상 조회 실패 - {}", ex.getMessage());
+            return;
+        }
+
+        for(Long memoId : dirtyMemoIdSet) {
+            try {
+                CollabOperationStore.DocumentState documentState = collabOperationStore.findDocument(memoId);
+                if(documentState == null) {
+                    collabOperationStore.completeDirty(memoId);
+                    continue;
+                }
+
+                String content = documentState.getContent();
+                transactionTemplate.executeWithoutResult(status -> {
+                    LocalDateTime modifiedTime = LocalDateTime.now();
+                    if(memoRepository.updateSnapshot(memoId, Memo.toPreview(content), modifiedTime) == 0) return;  // 그 사이 메모가 삭제된 경우
+                    // 메모 행의 잠금을 획득한 이후이므로, 증가된 버전으로 수정 이력을 남김. (직전 본문을 읽을 수 있도록, 본문 수정 이전에 기록.)
+                    // 여러 사용자의 연산이 합쳐진 스냅샷이며 스케줄러 스레드에는 로그인 정보도 없으므로, 수정자는 알 수 없음(null)으로 기록.
+                    memoRevisionService.recordRevision(memoId, memoRepository.findVersionById(memoId), memoRepository.findTitleById(memoId), content, null);
+                    memoContentRepository.updateContentByMemoId(memoId, content);
+                    userMemoRepository.syncMemoModifiedTime(memoId, modifiedTime);  // 목록 정렬기준 갱신
+                    eventPublisher.publishEvent(new MemoListChangedEvent(userMemoRepository.findUserIdsByMemoId(memoId)));
+                    eventPublisher.publishEvent(MemoChangedEvent.upsert(List.of(memoId)));
+                });
+                collabOperationStore.completeDirty(memoId);  // 커밋 이후에만 처리 중 상태에서 제거.
+                collabOperationStore.compact(memoId, RETAINED_OPERATION_COUNT);
+            } catch (RuntimeException ex) {
+                log.error("공동 편집 스냅샷 저장 실패 - memoId = {}, {}", memoId, ex.getMessage());
+                try {
+                    collabOperationStore.markDirty(memoId);
+                } catch (DataAccessException dex) {  // 처리 중 상태로 남아있으므로, PROCESSING_EXPIRE_TIME 이후 다시 꺼내어짐.
+                    log.error("공동 편집 스냅샷 재시도 등록 실패 - memoId = {}, {}", memoId, dex.getMessage());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = HEARTBEAT_INTERVAL)
+    public void heartbeat() {  // 끊어진 연결은 전송 실패로 감지되어 정리됨.
+        emitterMap.values().forEach(emitters -> emitters.forEach(emitter -> send(emitter, HEARTBEAT_EVENT, null)));
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    // 공동 편집이 처음 시작되는 경우, DB의 본문으로 문서를 생성. (생성 직후 전체 수정으로 삭제된 경우, 한 번 더 생성함.)
+    // - 시작 revision은 메모 버전과 '저장소가 마지막으로 발급한 revision + 1' 중 큰 값이므로, 문서가 만료 · 삭제된 후 다시 생성되어도
+    // 이전 문서에서 발급된 어떤 revision보다 크게 시작함. (연산마다 revision이 1씩 증가하므로, 메모 버전만으로는 이전 revision보다 작아질 수 있음.)
+    // 따라서 이전 문서의 스냅샷을 가진 클라이언트의 baseRevision은 새 문서의 연산 기록 범위보다 작아, 다음 연산에서 409를 받고 다시 연결함.
+    private CollabOperationStore.DocumentState findOrInitializeDocument(Long memoId) {
+        for(int attempt=0; attempt<2; attempt++) {
+            Long version = memoRepository.findVersionById(memoId);
+            collabOperationStore.initializeDocument(memoId, (version != null) ? version : 0L, memoContentRepository.findContentById(memoId));
+            CollabOperationStore.DocumentState documentState = collabOperationStore.findDocument(memoId);
+            if(documentState != null) return documentState;
+        }
+        throw new Exception409.ConflictData(String.format("공동 편집 문서를 생성하지 못했습니다. (memoId = %d)", memoId));
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName);
+            emitter.send((data != null) ? event.data(data) : event.comment(eventName));
+        } catch (IOException | IllegalStateException ex) {  // 클라이언트 연결 끊김 또는 이미 종료된 세션
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private void removeEmitter(Long memoId, SseEmitter emitter) {
+        Set<SseEmitter> emitters = emitterMap.get(memoId);
+        if(emitters == null) return;
+        emitters.remove(emitter);
+        emitterMap.computeIfPresent(memoId, (key, value) -> value.isEmpty() ? null : value);
+    }
+}
@@ -0,0 +1,281 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.repository.EditLockRepository;
+import com.shj.onlinememospringproject.repository.MemoAccessCacheRepository;
+import com.shj.onlinememospringproject.repository.UserMemoRepository;
+import com.shj.onlinememospringproject.repository.UserRepository;
+import com.shj.onlinememospringproject.service.EditLockSessionService;
+import com.shj.onlinememospringproject.service.MemoDraftService;
+import com.shj.onlinememospringproject.service.UserMemoService;
+import com.shj.onlinememospringproject.util.SecurityUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EditLockSessionServiceImpl implements EditLockSessionService {  // 공동메모 편집락 세션 (SSE)
+
+    // - 기존 방식 : 클라이언트가 'POST /memos/{memoId}/lock'을 반복 호출하여 10분짜리 락을 연장하고, 423 응답을 받으면 재시도함.
+    // - 세션 방식 : 연결 시점에 한 번만 인증 · 권한 검증을 거친 후, 연결이 유지되는 동안 서버가 직접 락을 연장(하트비트)함.
+    // 대기자에게는 대기 순번을 부여하고, 락 해제 · 획득 이벤트(Redis Pub/Sub)가 발생할 때마다 다음 대기자에게 락을 넘기며 상태를 전송함.
+    // 연결이 끊기면 락이 해제되고 대기열에서도 제거되며, 서버가 비정상 종료되더라도 락은 짧은 TTL로 곧 만료됨.
+    // - 권한 회수 : 메모를 탈퇴 · 삭제한 사용자의 세션은 회수 알림(Pub/Sub)을 받는 즉시 모든 서버 인스턴스에서 종료되며,
+    // 알림이 유실되더라도 하트비트마다 DB로 메모 사용자 여부를 다시 확인하므로, 이미 해제된 락을 하트비트가 다시 획득하지 않음.
+
+    private static final long SESSION_TIMEOUT = 1000L * 60 * 30;  // SSE 연결 유지시간 = 30분 (만료 시 클라이언트가 재연결)
+    private static final long SESSION_LOCK_EXPIRE_TIME = 1000L * 60;  // 세션이 보유한 락의 TTL = 1분 (하트비트마다 연장)
+    private static final long HEARTBEAT_INTERVAL = 1000L * 20;  // 하트비트 주기 = 20초
+    private static final String LOCK_ACQUIRED_EVENT = "lock-acquired";  // 락 획득 (data : fencingToken)
+    private static final String LOCK_WAITING_EVENT = "lock-waiting";  // 락 대기 (data : queuePosition, holderNickname)
+    private static final String LOCK_LOST_EVENT = "lock-lost";  // 락 만료로 다른 사용자에게 넘어감 (이후 lock-waiting 이어서 전송)
+    private static final String HEARTBEAT_EVENT = "heartbeat";
+
+    private final UserMemoService userMemoService;
+    private final UserRepository userRepository;
+    private final UserMemoRepository userMemoRepository;
+    private final EditLockRepository editLockRepository;
+    private final MemoDraftService memoDraftService;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Map<Long, Set<LockSession>> sessionMap = new ConcurrentHashMap<>();  // 이 서버 인스턴스에 연결된 메모별 락 세션
+
+
+    @PostConstruct
+    public void subscribeLockEvent() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> handleLockEvent(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(EditLockRepository.LOCK_EVENT_CHANNEL));
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> handleAccessRevokeEvent(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(MemoAccessCacheRepository.ACCESS_REVOKE_CHANNEL));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public SseEmitter subscribe(Long memoId) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹. (연결 시점에 한 번만 수행)
+
+        SseEmitter emitter = new SseEmitter(SESSION_TIMEOUT);
+        if(!userMemoService.checkGroupMemo(memoId)) {  // 개인메모라면 락 제어는 불필요하므로, 획득 이벤트만 전송하고 즉시 종료.
+            send(emitter, LOCK_ACQUIRED_EVENT, MemoDto.LockEventResponse.builder().build());
+            emitter.complete();
+            return emitter;
+        }
+
+        LockSession session = new LockSession(memoId, loginUserId, userRepository.findNicknameById(loginUserId), emitter);
+        sessionMap.computeIfAbsent(memoId, key -> ConcurrentHashMap.newKeySet()).add(session);
+        emitter.onCompletion(() -> closeSession(session));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> closeSession(session));
+
+        tryAcquireOrWait(session);
+        return emitter;
+    }
+
+    // 하트비트 : 락 보유 세션은 TTL을 연장하고, 대기 세션은 대기열 TTL을 연장함. (끊어진 연결은 전송 실패로 감지되어 정리됨.)
+    // - 연장 전에 메모 사용자 여부를 DB로 다시 확인하여, 더 이상 사용자가 아니라면 락을 연장하지 않고 세션을 종료함.
+    @Scheduled(fixedDelay = HEARTBEAT_INTERVAL)
+    public void heartbeat() {
+        sessionMap.forEach((memoId, sessions) -> {
+            try {
+                for(LockSession session : sessions) {
+                    if(session.isRevoked() == true) continue;
+                    if(!userMemoRepository.existsByUser_IdAndMemo_Id(session.getUserId(), memoId)) {  // 회수 알림이 유실된 경우
+                        closeRevokedSessions(memoId, session.getUserId());
+                        continue;
+                    }
+                    if(session.isHolder() == true) {
+                        EditLockRepository.AcquireResult acquireResult = editLockRepository.acquire(memoId, session.getUserId(), session.getUserNickname(), SESSION_LOCK_EXPIRE_TIME);
+                        if(acquireResult.isAcquired() == false) {  // 락이 만료되어 다른 사용자에게 넘어간 경우
+                            session.setHolder(false);
+                            if(send(session.getEmitter(), LOCK_LOST_EVENT, MemoDto.LockEventResponse.builder().build())) tryAcquireOrWait(session);
+                            continue;
+                        }
+                    }
+                    else {
+                        editLockRepository.enqueue(memoId, session.getUserId());
+                    }
+                    send(session.getEmitter(), HEARTBEAT_EVENT, null);
+                }
+                // 락이 해제 이벤트 없이 만료된 경우(다른 서버의 비정상 종료 등)에도, 대기 중인 세션이 락을 이어받도록함.
+                if(editLockRepository.find(memoId) == null) promoteWaiter(memoId, false);
+            } catch (DataAccessException ex) {
+                log.warn("편집락 세션 하트비트 실패 - memoId = {}, {}", memoId, ex.getMessage());
+            }
+        });
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private void handleAccessRevokeEvent(String message) {  // 사용자가 메모 접근권한을 잃은 경우 (모든 서버 인스턴스에서 실행되며, 메시지 = '{userId}:{memoId},{memoId},...')
+        try {
+            int separatorIdx = message.indexOf(':');
+            Long userId = Long.valueOf(message.substring(0, separatorIdx));
+            for(String memoIdStr : message.substring(separatorIdx + 1).split(",")) {
+                closeRevokedSessions(Long.valueOf(memoIdStr), userId);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("편집락 세션 권한 회수 처리 실패 - message = {}, {}", message, ex.getMessage());
+        }
+    }
+
+    private void closeRevokedSessions(Long memoId, Long userId) {  // 해당 사용자의 세션(여러 탭)을 모두 종료 (임시저장은 반영하지 않고, 락과 대기열만 정리함.)
+        List<LockSession> revokedSessionList = sessionMap.getOrDefault(memoId, Set.of()).stream()
+                .filter(session -> session.getUserId().equals(userId))
+                .collect(Collectors.toList());
+        revokedSessionList.forEach(session -> session.setRevoked(true));
+        for(LockSession session : revokedSessionList) {
+            closeSession(session);  // 마지막 세션이 정리될 때 락이 해제됨. (완료 콜백으로 다시 호출되어도 무시됨.)
+            session.getEmitter().complete();
+        }
+    }
+
+    private void handleLockEvent(Long memoId) {  // 락이 새로 획득되거나 해제된 경우 (모든 서버 인스턴스에서 실행됨.)
+        Set<LockSession> sessions = sessionMap.get(memoId);
+        if(sessions == null) return;
+
+        try {
+            EditLockRepository.EditLock editLock = editLockRepository.find(memoId);
+            if(editLock == null && promoteWaiter(memoId, true)) return;  // 다음 대기자가 락을 획득했다면, 획득 이벤트가 다시 발행되어 상태가 전송됨.
+
+            for(LockSession session : sessions) {
+                if(session.isHolder() == true) {
+                    if(editLock == null || editLock.getUserId() == session.getUserId()) continue;
+                    session.setHolder(false);  // 락이 다른 사용자에게 넘어간 경우
+                    if(!send(session.getEmitter(), LOCK_LOST_EVENT, MemoDto.LockEventResponse.builder().build())) continue;
+                    editLockRepository.enqueue(memoId, session.getUserId());
+                }
+                sendWaiting(session, editLock, editLockRepository.findQueuePosition(memoId, session.getUserId()));
+            }
+        } catch (DataAccessException ex) {
+            log.warn("편집락 이벤트 처리 실패 - memoId = {}, {}", memoId, ex.getMessage());
+        }
+    }
+
+    private boolean promoteWaiter(Long memoId, boolean isHeadOnly) {  // 이 인스턴스의 대기 세션 중 가장 앞선 세션이 락 획득을 시도 (락 획득 여부 반환)
+        // isHeadOnly == true : 대기열의 맨 앞(1번) 세션만 시도. (해제 직후에는 모든 인스턴스가 동시에 시도하므로, 순서를 지키기 위함.)
+        // isHeadOnly == false : 순번과 관계없이 시도. (맨 앞 대기자의 서버가 비정상 종료되어 대기열에 남아있는 경우를 대비함.)
+        Set<LockSession> sessions = sessionMap.get(memoId);
+        if(sessions == null) return false;
+
+        LockSession firstWaiter = null;
+        long firstPosition = Long.MAX_VALUE;
+        for(LockSession session : sessions) {
+            if(session.isHolder() == true) continue;
+            Long position = editLockRepository.findQueuePosition(memoId, session.getUserId());
+            if(position != null && position < firstPosition) {
+                firstWaiter = session;
+                firstPosition = position;
+            }
+        }
+        if(firstWaiter == null || (isHeadOnly && firstPosition != 1L)) return false;
+
+        EditLockRepository.AcquireResult acquireResult = editLockRepository.acquire(memoId, firstWaiter.getUserId(), firstWaiter.getUserNickname(), SESSION_LOCK_EXPIRE_TIME);
+        if(acquireResult.isAcquired() == false) return false;
+        markHolder(memoId, firstWaiter.getUserId(), acquireResult.getEditLock());
+        return true;
+    }
+
+    private void tryAcquireOrWait(LockSession session) {
+        Long memoId = session.getMemoId();
+        EditLockRepository.AcquireResult acquireResult = editLockRepository.acquire(memoId, session.getUserId(), session.getUserNickname(), SESSION_LOCK_EXPIRE_TIME);
+        if(acquireResult.isAcquired() == true) {
+            markHolder(memoId, session.getUserId(), acquireResult.getEditLock());
+            return;
+        }
+        Long position = editLockRepository.enqueue(memoId, session.getUserId());
+        sendWaiting(session, acquireResult.getEditLock(), position);
+    }
+
+    private void markHolder(Long memoId, Long userId, EditLockRepository.EditLock editLock) {  // 같은 사용자의 모든 세션(여러 탭)을 락 보유 상태로 전환
+        MemoDto.LockEventResponse lockEventResponseDto = MemoDto.LockEventResponse.builder()
+                .fencingToken(editLock.getFencingToken())
+                .build();
+        for(LockSession session : sessionMap.getOrDefault(memoId, Set.of())) {
+            if(session.getUserId().equals(userId) && session.isHolder() == false) {
+                session.setHolder(true);
+                send(session.getEmitter(), LOCK_ACQUIRED_EVENT, lockEventResponseDto);
+            }
+        }
+    }
+
+    private void sendWaiting(LockSession session, EditLockRepository.EditLock editLock, Long position) {
+        MemoDto.LockEventResponse lockEventResponseDto = MemoDto.LockEventResponse.builder()
+                .queuePosition(position)
+                .holderNickname((editLock != null) ? editLock.getUserNickname() : null)
+                .build();
+        send(session.getEmitter(), LOCK_WAITING_EVENT, lockEventResponseDto);
+    }
+
+    private boolean send(SseEmitter emitter, String eventName, Object data) {  // 전송 성공 여부 반환 (실패 시, 연결을 종료하여 세션을 정리함.)
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName);
+            emitter.send((data != null) ? event.data(data) : event.comment(eventName));
+            return true;
+        } catch (IOException | IllegalStateException ex) {  // 클라이언트 연결 끊김 또는 이미 종료된 세션
+            emitter.completeWithError(ex);
+            return false;
+        }
+    }
+
+    private void closeSession(LockSession session) {  // 연결 종료 시 호출됨. (중복 호출될 수 있음.)
+        Long memoId = session.getMemoId();
+        Set<LockSession> sessions = sessionMap.get(memoId);
+        if(sessions == null || !sessions.remove(session)) return;
+        sessionMap.computeIfPresent(memoId, (key, value) -> value.isEmpty() ? null : value);
+
+        // 같은 사용자의 다른 세션(다른 탭)이 남아있다면, 락과 대기열은 유지함.
+        boolean hasOtherSession = sessionMap.getOrDefault(memoId, Set.of()).stream()
+                .anyMatch(otherSession -> otherSession.getUserId().equals(session.getUserId()));
+        if(hasOtherSession == true) return;
+
+        if(session.isHolder() == true && session.isRevoked() == false) memoDraftService.flushDraftQuietly(memoId);  // 락 해제 전, 남은 임시저장을 먼저 반영. (권한 회수 시 제외)
+        try {
+            if(session.isHolder() == true) editLockRepository.release(memoId, session.getUserId());  // 해제 이벤트가 발행되어 다음 대기자에게 넘어감.
+            else editLockRepository.dequeue(memoId, session.getUserId());
+        } catch (DataAccessException ex) {
+            log.warn("편집락 세션 정리 실패 - memoId = {}, userId = {}, {}", memoId, session.getUserId(), ex.getMessage());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LockSession {
+
+        private final Long memoId;
+        private final Long userId;
+        private final String userNickname;
+        private final SseEmitter emitter;
+        @Setter
+        private volatile boolean isHolder;
+        @Setter
+        private volatile boolean isRevoked;  // 메모 접근권한 회수로 종료되는 세션
+
+        private LockSession(Long memoId, Long userId, String userNickname, SseEmitter emitter) {
+            this(memoId, userId, userNickname, emitter, false, false);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.repository.CollabOperationStore;
+import com.shj.onlinememospringproject.repository.MemoDraftRepository;
+import com.shj.onlinememospringproject.repository.MemoRepository;
+import com.shj.onlinememospringproject.repository.RedisRepository;
+import com.shj.onlinememospringproject.response.exception.CustomException;
+import com.shj.onlinememospringproject.response.exception.Exception400;
+import com.shj.onlinememospringproject.response.exception.Exception409;
+import com.shj.onlinememospringproject.response.exception.Exception423;
+import com.shj.onlinememospringproject.service.MemoDraftService;
+import com.shj.onlinememospringproject.service.MemoService;
+import com.shj.onlinememospringproject.service.UserMemoService;
+import com.shj.onlinememospringproject.util.SecurityUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemoDraftServiceImpl implements MemoDraftService {  // 메모 자동저장 (쓰기 병합 버퍼)
+
+    // - 동작 방식 :
+    // 1. 편집기의 자동저장은 DB 대신 Redis 버퍼에 최신 본문만 덮어쓰므로, 짧은 시간의 연속 저장은 하나로 병합됨.
+    // 2. 버퍼는 설정된 주기('memo.autosave.flush-interval')마다 한 번씩만 DB에 반영되며, 명시적 저장 · 편집락 해제 · 서버 종료 시에도 반영됨.
+    // 3. 반영은 일반 수정과 동일한 updateMemo()(버전 조건부 UPDATE + 펜싱 토큰 + 충돌 병합)를 거치므로, 낙관적 락의 보장은 그대로 유지됨.
+    // - 반영 중복 방지 : 주기 반영 대상은 한 인스턴스만 꺼내가며, 명시적 반영과의 경합은 메모별 반영 락으로 막음.
+    // - 반영 유실 방지 : 꺼낸 대상은 반영이 끝난 이후에만 반영 중 목록에서 제거되므로, 반영 도중 서버가 종료되어도 다른 인스턴스가 다시 반영함.
+
+    private static final long FLUSH_LOCK_EXPIRE_TIME = 1000L * 30;  // 반영 락 TTL = 30초 (반영 도중 서버가 종료되어도 자동 해제)
+    private static final int FLUSH_LOCK_RETRY_COUNT = 30;  // 명시적 반영 시, 반영 락 최대 대기 횟수
+    private static final long FLUSH_LOCK_RETRY_INTERVAL = 100L;  // 명시적 반영 시, 반영 락 대기 간격 = 0.1초
+
+    private final MemoService memoService;
+    private final UserMemoService userMemoService;
+    private final MemoRepository memoRepository;
+    private final MemoDraftRepository memoDraftRepository;
+    private final RedisRepository redisRepository;
+    private final CollabOperationStore collabOperationStore;
+    private final TransactionTemplate transactionTemplate;
+
+
+    @Override
+    public void saveDraft(Long memoId, MemoDto.DraftRequest draftRequestDto) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
+        if(draftRequestDto.getContent() == null || draftRequestDto.getCurrentVersion() == null) {
+            throw new Exception400.MemoBadRequest("잘못된 필드값으로 API를 요청하였습니다.");
+        }
+
+        // 공동메모라면 updateMemoFacade()와 동일하게 편집락을 검증하고, 반영 시 사용할 펜싱 토큰을 함께 저장함.
+        Long fencingToken = null;
+        if(userMemoService.checkGroupMemo(memoId)) {
+            if(!collabOperationStore.discardUnusedDocument(memoId)) {  // 연산이 반영된 공동 편집 문서가 있는 경우 (updateMemoFacade()와 동일)
+                throw new Exception423.LockedData("공동 편집 중인 메모입니다.");
+            }
+            fencingToken = memoService.checkOwnLock(memoId, loginUserId, false);
+        }
+
+        long result = memoDraftRepository.save(memoId, loginUserId, draftRequestDto.getCurrentVersion(),
+                draftRequestDto.getTitle(), draftRequestDto.getContent(), fencingToken);
+        if(result == MemoDraftRepository.SAVE_CONFLICTED) {
+            throw new Exception409.ConflictData(String.format("이전 임시저장이 버전 충돌로 반영되지 못했습니다. (memoId = %d)", memoId));
+        }
+        else if(result == MemoDraftRepository.SAVE_REJECTED) {
+            throw new Exception409.ConflictData(String.format("반영되지 않은 다른 임시저장이 있습니다. (memoId = %d)", memoId));
+        }
+    }
+
+    @Override
+    public MemoDto.DraftResponse flushDraft(Long memoId) {  // 명시적 저장
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
+
+        Long currentVersion = flushWithLock(memoId);
+        return MemoDto.DraftResponse.builder()
+                .currentVersion((currentVersion != null) ? currentVersion : memoRepository.findVersionById(memoId))
+                .build();
+    }
+
+    @Override
+    public void flushDraftQuietly(Long memoId) {  // 편집락 해제 직전 (반영 실패가 락 해제를 막지 않도록, 예외는 로깅만 함.)
+        try {
+            flushWithLock(memoId);
+        } catch (RuntimeException ex) {
+            log.warn("편집락 해제 전 임시저장 반영 실패 - memoId = {}, {}", memoId, ex.getMessage());
+        }
+    }
+
+    @Override
+    public MemoDto.UpdateRequest rebaseForSave(Long memoId, MemoDto.UpdateRequest updateRequestDto) {
+        if(updateRequestDto.getIsStar() != null || updateRequestDto.getCurrentVersion() == null) return updateRequestDto;
+
+        // 명시적 저장(PUT)의 본문이 가장 최신이므로, 같은 편집 세션의 임시저장은 버리고 그 반영 버전을 기준으로 저장함.
+        // (이미 반영된 임시저장 버전과의 불필요한 409 충돌 방지)
+        // 반영 락을 최대 3초까지 기다릴 수 있으므로, 커넥션을 점유하지 않도록 반드시 트랜잭션 시작 이전에 호출해야함. (updateMemoFacade() 참고)
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        String flushLockKey = toFlushLockKey(memoId);
+        if(!acquireFlushLock(flushLockKey, true)) {
+            throw new Exception409.ConflictData(String.format("임시저장 반영 중입니다. (memoId = %d)", memoId));
+        }
+        try {
+            Long baseVersion = memoDraftRepository.rebase(memoId, loginUserId, updateRequestDto.getCurrentVersion());
+            if(baseVersion == null || baseVersion.equals(updateRequestDto.getCurrentVersion())) return updateRequestDto;
+            return MemoDto.UpdateRequest.builder()
+                    .title(updateRequestDto.getTitle())
+                    .content(updateRequestDto.getContent())
+                    .currentVersion(baseVersion)
+                    .build();
+        } finally {
+            redisRepository.unlock(flushLockKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${memo.autosave.flush-interval:10000}")
+    public void flushDirtyDrafts() {
+        Set<Long> dirtyMemoIdSet;
+        try {
+            dirtyMemoIdSet = memoDraftRepository.claimDirtyMemoIds();
+        } catch (DataAccessException ex) {
+            log.warn("임시저장 반영 대상 조회 실패 - {}", ex.getMessage());
+            return;
+        }
+
+        for(Long memoId : dirtyMemoIdSet) {
+            try {
+                String flushLockKey = toFlushLockKey(memoId);
+                if(!acquireFlushLock(flushLockKey, false)) {  // 다른 곳에서 반영 중이므로, dirty 목록으로 되돌려 다음 주기에 다시 확인.
+                    memoDraftRepository.markDirty(memoId);
+                    continue;
+                }
+                try {
+                    flush(memoId);
+                } finally {
+                    redisRepository.unlock(flushLockKey);
+                }
+                memoDraftRepository.completeDirty(memoId);
+            } catch (CustomException ex) {  // 버전 충돌 등은 버퍼에 기록되어 다음 요청에서 사용자에게 전달됨.
+                log.info("임시저장 반영 실패 - memoId = {}, {}", memoId, ex.getMessage());
+                completeDirtyQuietly(memoId);
+            } catch (RuntimeException ex) {  // dirty 목록에 다시 등록되었거나, 반영 중 목록에 남아 PROCESSING_EXPIRE_TIME 이후 다시 꺼내어짐.
+                log.error("임시저장 반영 실패 - memoId = {}, {}", memoId, ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {  // 정상 종료 시, 남은 임시저장을 모두 반영.
+        flushDirtyDrafts();
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private Long flushWithLock(Long memoId) {  // 명시적 반영 : 반영 이후의 메모 버전 반환 (반영할 임시저장이 없다면 null)
+        String flushLockKey = toFlushLockKey(memoId);
+        if(!acquireFlushLock(flushLockKey, true)) {
+            throw new Exception409.ConflictData(String.format("임시저장 반영 중입니다. (memoId = %d)", memoId));
+        }
+        try {
+            return flush(memoId);
+        } finally {
+            redisRepository.unlock(flushLockKey);
+        }
+    }
+
+    private Long flush(Long memoId) {
+        MemoDraftRepository.Draft draft = memoDraftRepository.find(memoId);
+        if(draft == null) return null;
+        if(draft.isConflicted()) {
+            throw new Exception409.ConflictData(String.format("이전 임시저장이 버전 충돌로 반영되지 못했습니다. (memoId = %d)", memoId));
+        }
+        if(!draft.isDirty()) return null;
+
+        MemoDto.UpdateRequest updateRequestDto = MemoDto.UpdateRequest.builder()
+                .title(draft.getTitle())
+                .content(draft.getContent())
+                .currentVersion(draft.getBaseVersion())
+                .build();
+        Long newVersion;
+        try {
+            // 스케줄러 스레드에는 로그인 정보가 없으므로, 임시저장한 사용자로 실행함. (접근권한 체킹 및 수정 이력의 수정자)
+            newVersion = runAsUser(draft.getUserId(), () -> transactionTemplate.execute(status -> {
+                if(!collabOperationStore.discardUnusedDocument(memoId)) {  // 임시저장 이후 공동 편집이 시작된 경우
+                    throw new Exception409.ConflictData(String.format("공동 편집 중인 메모입니다. (memoId = %d)", memoId));
+                }
+                memoService.updateMemo(memoId, updateRequestDto, draft.getFencingToken());
+                return memoRepository.findVersionById(memoId);  // 행 잠금이 유지된 상태이므로, 방금 반영한 버전임.
+            }));
+        } catch (CustomException ex) {  // 버전 충돌(병합 불가), 펜싱 토큰 거부, 메모 또는 접근권한 없음
+            memoDraftRepository.markConflicted(memoId);
+            throw ex;
+        } catch (RuntimeException ex) {  // DB 장애 등 일시적 실패는 다음 주기에 다시 시도.
+            memoDraftRepository.markDirty(memoId);
+            throw ex;
+        }
+
+        memoDraftRepository.complete(memoId, draft.getSeq(), newVersion);
+        return newVersion;
+    }
+
+    private void completeDirtyQuietly(Long memoId) {  // 제거에 실패하더라도, 다시 꺼내어진 이후 반영할 임시저장이 없음을 확인하고 제거됨.
+        try {
+            memoDraftRepository.completeDirty(memoId);
+        } catch (DataAccessException ex) {
+            log.warn("임시저장 반영 완료 처리 실패 - memoId = {}, {}", memoId, ex.getMessage());
+        }
+    }
+
+    private boolean acquireFlushLock(String flushLockKey, boolean isWaiting) {
+        int retryCnt = 0;
+        while(!Boolean.TRUE.equals(redisRepository.lock(flushLockKey, "1", FLUSH_LOCK_EXPIRE_TIME))) {
+            if(!isWaiting || ++retryCnt >= FLUSH_LOCK_RETRY_COUNT) return false;
+            try {
+                Thread.sleep(FLUSH_LOCK_RETRY_INTERVAL);
+            } catch (InterruptedException iex) {
+                Thread.currentThread().interrupt();  // 현재 스레드의 인터럽트 상태를 복원.
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> T runAsUser(Long userId, Supplier<T> logic) {
+        SecurityContext previousContext = SecurityContextHolder.getContext();
+        SecurityContext userContext = SecurityContextHolder.createEmptyContext();
+        userContext.setAuthentication(new UsernamePasswordAuthenticationToken(userId.toString(), null, List.of()));
+        SecurityContextHolder.setContext(userContext);
+        try {
+            return logic.get();
+        } finally {
+            SecurityContextHolder.setContext(previousContext);
+        }
+    }
+
+    private static String toFlushLockKey(Long memoId) {
+        return String.format("memoId:%d:draft_flush_lock", memoId);
+    }
+}
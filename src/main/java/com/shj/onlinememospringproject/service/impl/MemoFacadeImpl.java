@@ -1,11 +1,13 @@
 package com.shj.onlinememospringproject.service.impl;
 
 import com.shj.onlinememospringproject.dto.MemoDto;
-import com.shj.onlinememospringproject.repository.RedisRepository;
+import com.shj.onlinememospringproject.repository.CollabOperationStore;
+import com.shj.onlinememospringproject.repository.EditLockRepository;
 import com.shj.onlinememospringproject.response.exception.Exception400;
 import com.shj.onlinememospringproject.response.exception.Exception404;
 import com.shj.onlinememospringproject.response.exception.Exception409;
 import com.shj.onlinememospringproject.response.exception.Exception423;
+import com.shj.onlinememospringproject.service.MemoDraftService;
 import com.shj.onlinememospringproject.service.MemoFacade;
 import com.shj.onlinememospringproject.service.MemoService;
 import com.shj.onlinememospringproject.service.UserMemoService;
@@ -15,6 +17,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
@@ -22,47 +27,72 @@ public class MemoFacadeImpl implements MemoFacade {
 
     private final MemoService memoService;
     private final UserMemoService userMemoService;
-    private final RedisRepository redisRepository;
+    private final EditLockRepository editLockRepository;
+    private final CollabOperationStore collabOperationStore;
+    private final MemoDraftService memoDraftService;
+    private final TransactionTemplate transactionTemplate;
 
 
     // < '낙관적 락 (Optimistic Lock)' 기반의 퍼사드 메소드 >
-    @Transactional
     @Override
     public void updateMemoFacade(Long memoId, MemoDto.UpdateRequest updateRequestDto) {  // 메모의 제목 또는 내용을 수정할 경우에 호출하는 메소드
+        // 같은 편집 세션의 임시저장이 이미 반영되었다면, 그 반영 버전을 기준으로 저장함. (패치는 위치 기준 버전이 바뀌므로 대상이 아님.)
+        // 임시저장의 반영 락을 기다릴 수 있으므로, 커넥션을 점유하지 않도록 트랜잭션 시작 이전에 수행하고 이후의 수정만 트랜잭션으로 묶음.
+        MemoDto.UpdateRequest rebasedRequestDto = memoDraftService.rebaseForSave(memoId, updateRequestDto);
+        transactionTemplate.executeWithoutResult(status ->
+                updateWithOptimisticLock(memoId, fencingToken -> memoService.updateMemo(memoId, rebasedRequestDto, fencingToken)));
+    }
+
+    @Transactional
+    @Override
+    public void patchMemoFacade(Long memoId, MemoDto.PatchRequest patchRequestDto) {  // 메모의 제목 또는 내용을 범위 패치로 수정할 경우에 호출하는 메소드
+        updateWithOptimisticLock(memoId, fencingToken -> memoService.patchMemo(memoId, patchRequestDto, fencingToken));
+    }
+
+    @Override
+    public void releaseEditLockFacade(Long memoId) {  // 편집락 해제 (접근권한 · 락 보유자 검증 이후, 남은 임시저장을 먼저 반영하고 해제함.)
+        memoService.releaseEditLock(memoId, () -> memoDraftService.flushDraftQuietly(memoId));
+    }
+
+    // 로그인 사용자가 편집락을 가진 경우에만 수정 로직을 실행하고, 낙관적 락 충돌 등의 예외를 409로 변환하는 공통 메소드.
+    private void updateWithOptimisticLock(Long memoId, Consumer<Long> updateLogic) {  // updateLogic의 파라미터 : 편집락의 펜싱 토큰 (락이 없다면 null)
         try {
-            String lockKey = String.format("memoId:%d:lock", memoId);
             Long loginUserId = SecurityUtil.getCurrentMemberId();
+            Long fencingToken = null;
 
             boolean isGroupMemo = userMemoService.checkGroupMemo(memoId);  // 공동메모 여부 체킹. (개인메모라면 락 제어는 불필요하므로 리소스 낭비를 방지하기위함.)
             if(isGroupMemo == true) {
+                // 공동 편집(OT) 중인 메모는 공동 편집 저장소의 문서가 DB에 스냅샷으로 덮어써지므로, 전체 수정을 허용하지 않음.
+                // (구독만 하고 연산이 없는 문서는 삭제하여 수정을 허용하며, 구독자는 다음 연산 전송 시 409를 받고 새 스냅샷으로 재연결함.)
+                if(!collabOperationStore.discardUnusedDocument(memoId)) {
+                    throw new Exception423.LockedData("공동 편집 중인 메모입니다.");
+                }
                 // 공동메모를 수정중인 다른 사용자가 없다면(키가 존재하지않을때), 굳이 수정을 막을 필요가 없으므로 파라미터에 false를 전달.
-                memoService.checkOwnLock(lockKey, loginUserId, false);  // 사용자의 락 접근권한 체킹. (메모의 즐겨찾기 수정과는 무관함.)
+                fencingToken = memoService.checkOwnLock(memoId, loginUserId, false);  // 사용자의 락 접근권한 체킹. (메모의 즐겨찾기 수정과는 무관함.)
             }
 
-            // 메모 수정 비즈니스 로직
-            memoService.updateMemo(memoId, updateRequestDto);
+            // 메모 수정 비즈니스 로직 (updateMemo() 또는 patchMemo())
+            // 버전 충돌은 '버전 조건부 UPDATE'의 변경된 행 수로 즉시 감지되므로, 자식 메소드도 이 트랜잭션에 그대로 참여함. (하나의 커넥션만 점유)
+            // 펜싱 토큰을 함께 전달하여, 락 검증 이후 락이 만료되고 다른 사용자가 먼저 수정한 경우에는 DB에서 수정이 거부되게함.
+            updateLogic.accept(fencingToken);
 
-            // [ After : updateMemo()에 '@Transactional(..REQUIRES_NEW)' 적용 & 클래스 분리 후 ]
-            // - 이 구조에서는 자식 메소드의 트랜잭션이 부모와 분리되어, 자식의 update 쿼리가 DB에 커밋된 이후에야 부모의 다음 코드인 unlockOwner()가 실행됨.
-            // 따라서 이전의 Before 구조와 달리, afterCommit()을 사용해 후속 작업을 제어할 필요가 없음.
-            if(isGroupMemo == true) {
-                redisRepository.unlockOwner(lockKey, loginUserId);
-            }
-
-            // [ Before : updateMemo()에 '@Transactional' 적용 & 클래스 분리 전 ]
-            // - 이 구조에서는 updateMemo()가 updateMemoFacade() 메소드의 트랜잭션 범위 안에서 실행되므로,
-            // updateMemo() 종료 시점에는 트랜잭션이 커밋되지 않음. 실제 DB 업데이트 커밋은 updateMemoFacade() 종료 시 발생함.
+            // [ 현재 : updateMemo()가 updateMemoFacade()의 트랜잭션에 참여 ]
+            // - 이 구조에서는 updateMemo() 종료 시점에는 트랜잭션이 커밋되지 않음. 실제 DB 업데이트 커밋은 updateMemoFacade() 종료 시 발생함.
             // - 이에 TransactionSynchronizationManager.registerSynchronization()을 사용하면,
             // 트랜잭션이 성공적으로 커밋된 직후에 afterCommit() 콜백이 실행되게 구성할 수 있음.
             // 따라서 이 콜백 안에서 Redis 편집락 해제를 수행하게 하면, 메모 수정이 DB에 완전히 반영된 이후에 락 해제가 이뤄지므로 데이터 정합성을 보장할 수 있음.
-//            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-//                @Override
-//                public void afterCommit() {
-//                    if(isGroupMemo == true) {
-//                        redisRepository.unlockOwner(lockKey, loginUserId);
-//                    }
-//                }
-//            });
+            if(isGroupMemo == true) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        editLockRepository.release(memoId, loginUserId);
+                    }
+                });
+            }
+
+            // [ 이전 : updateMemo()에 '@Transactional(..REQUIRES_NEW)' 적용 & 클래스 분리 ]
+            // - 자식의 update 쿼리가 먼저 커밋된 이후에 부모의 다음 코드인 unlockOwner()를 바로 실행했었음.
+            // - 다만 요청 1건이 부모와 자식 트랜잭션의 커넥션 2개를 동시에 점유하여, 동시 수정이 몰리면 커넥션 풀 고갈 위험이 있어 현재 구조로 변경함.
         } catch (Exception400.MemoBadRequest ex400) {
             throw ex400;
         } catch (Exception404.NoSuchMemo ex404) {
@@ -0,0 +1,222 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shj.onlinememospringproject.domain.MemoRevision;
+import com.shj.onlinememospringproject.domain.User;
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.repository.MemoContentRepository;
+import com.shj.onlinememospringproject.repository.MemoRevisionRepository;
+import com.shj.onlinememospringproject.repository.UserRepository;
+import com.shj.onlinememospringproject.response.exception.Exception404;
+import com.shj.onlinememospringproject.service.MemoRevisionService;
+import com.shj.onlinememospringproject.service.UserMemoService;
+import com.shj.onlinememospringproject.util.DeflateCompressor;
+import com.shj.onlinememospringproject.util.SecurityUtil;
+import com.shj.onlinememospringproject.util.TextDiffer;
+import com.shj.onlinememospringproject.util.TextOperation;
+import com.shj.onlinememospringproject.util.TimeConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemoRevisionServiceImpl implements MemoRevisionService {  // 메모 수정 이력 (델타 압축 저장)
+
+    // - 저장 용량 : 대부분의 수정은 일부분만 바뀌므로, 직전 버전과의 델타(편집 연산)만 압축 저장하여 전체 사본 대비 수 % 수준으로 유지함.
+    // - 복원 시간 : 델타 체인이 SNAPSHOT_INTERVAL개에 도달하면 다음 리비전은 스냅샷으로 저장하므로, 어떤 버전이든 '스냅샷 1개 + 델타 최대 19개'로 복원됨.
+    // - 버전이 건너뛰어진 경우(수정 이력 도입 이전에 커밋된 버전 등)에는 직전 본문을 알 수 없으므로, 스냅샷으로 새 체인을 시작함.
+
+    private static final int SNAPSHOT_INTERVAL = 20;  // 델타 체인의 최대 길이 (스냅샷 포함) = 20개
+    // 델타 계산은 메모 수정 요청 스레드에서 실행되므로, 공통 접두사 · 접미사를 제외한 구간의 길이와 편집 거리를 함께 제한함.
+    // (Myers 비용 O((N + M) * D)의 최악값 = 약 1천만 회 비교이며, 초과 시에는 차분 없이 스냅샷으로 저장)
+    private static final int MAX_DELTA_EDIT_DISTANCE = 500;  // 델타 계산의 최대 편집 거리
+    private static final int MAX_DELTA_DIFF_LENGTH = 20_000;  // 델타 계산 구간(수정 전후 합계)의 최대 글자 수
+    private static final int MAX_REVISION_LIST_SIZE = 100;  // 리비전 목록 조회의 최대 개수 = 최신 100개
+
+    private final UserMemoService userMemoService;
+    private final UserRepository userRepository;
+    private final MemoContentRepository memoContentRepository;
+    private final MemoRevisionRepository memoRevisionRepository;
+    private final ObjectMapper objectMapper;
+
+
+    // 메모 수정 트랜잭션 내에서, 본문을 수정하기 이전에 호출할 것. (직전 버전의 본문을 DB에서 읽어야 할 수 있음.)
+    @Transactional
+    @Override
+    public void recordRevision(Long memoId, long version, String title, String content) {
+        recordRevision(memoId, version, title, content, SecurityUtil.getCurrentMemberId());
+    }
+
+    @Transactional
+    @Override
+    public void recordRevision(Long memoId, long version, String title, String content, Long editorId) {  // editorId : 수정자 (null일 경우, 알 수 없음.)
+        String currentContent = (content != null) ? content : "";
+        byte[] data = null;
+        long snapshotVersion = version;
+
+        Optional<MemoRevisionRepository.RevisionChain> lastChain = memoRevisionRepository.findTopByMemoIdOrderByVersionDesc(memoId);
+        if(lastChain.isPresent() && lastChain.get().getVersion() == version - 1
+                && version - lastChain.get().getSnapshotVersion() < SNAPSHOT_INTERVAL) {
+            TextOperation delta = diffWithinBudget(findPreviousContent(memoId), currentContent);
+            byte[] deltaData = (delta != null) ? compressDelta(delta) : null;
+            if(deltaData != null && deltaData.length < currentContent.length() / 2) {  // 델타가 본문에 비해 충분히 작을 때만 델타로 저장.
+                data = deltaData;
+                snapshotVersion = lastChain.get().getSnapshotVersion();
+            }
+        }
+        if(data == null) data = DeflateCompressor.compress(currentContent);
+
+        MemoRevision memoRevision = MemoRevision.MemoRevisionSaveBuilder()
+                .memoId(memoId)
+                .version(version)
+                .snapshotVersion(snapshotVersion)
+                .title(title)
+                .editorId(editorId)
+                .data(data)
+                .build();
+        memoRevisionRepository.save(memoRevision);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<MemoDto.RevisionResponse> findRevisions(Long memoId) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
+
+        List<MemoRevisionRepository.RevisionSummary> revisionSummaryList = memoRevisionRepository.findByMemoIdOrderByVersionDesc(memoId, PageRequest.of(0, MAX_REVISION_LIST_SIZE));
+        List<Long> editorIdList = revisionSummaryList.stream()
+                .map(MemoRevisionRepository.RevisionSummary::getEditorId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, User> editorMap = userRepository.findAllById(editorIdList).stream()  // 수정한 사용자들을 IN 쿼리 1번으로 조회.
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return revisionSummaryList.stream()
+                .map(revisionSummary -> {
+                    User editor = (revisionSummary.getEditorId() != null) ? editorMap.get(revisionSummary.getEditorId()) : null;
+                    return MemoDto.RevisionResponse.builder()
+                            .version(revisionSummary.getVersion())
+                            .title(revisionSummary.getTitle())
+                            .editorId(revisionSummary.getEditorId())
+                            .editorNickname((editor != null) ? editor.getNickname() : null)
+                            .createdTime(TimeConverter.timeToStringForResponse(revisionSummary.getCreatedTime()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public MemoDto.RevisionDetailResponse findRevision(Long memoId, Long version) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
+
+        MemoDto.RevisionDetailResponse revisionDetailResponseDto = restoreRevision(memoId, version);
+        if(revisionDetailResponseDto == null) {
+            throw new Exception404.NoSuchMemo(String.format("memoId = %d, version = %d", memoId, version));
+        }
+        return revisionDetailResponseDto;
+    }
+
+    // 접근권한 체킹 없이 해당 버전을 복원함. (리비전이 없거나 체인이 손상되었다면 예외 대신 null 반환 : 병합처럼 다른 트랜잭션에 참여하여 호출되는 경우, 롤백 마킹을 피하기 위함.)
+    @Transactional(readOnly = true)
+    @Override
+    public MemoDto.RevisionDetailResponse restoreRevision(Long memoId, Long version) {
+        // 시작 스냅샷부터 해당 버전까지의 리비전들을 한 번에 조회하여, 델타를 차례로 적용함.
+        List<MemoRevision> chainList = memoRevisionRepository.findChainByMemoIdAndVersion(memoId, version);
+        if(chainList.isEmpty() || !chainList.get(chainList.size() - 1).getVersion().equals(version)) return null;
+        if(!chainList.get(0).isSnapshot()) {
+            log.error("리비전 체인의 시작 스냅샷이 없습니다. - memoId = {}, version = {}", memoId, version);
+            return null;
+        }
+
+        String content;
+        try {
+            content = DeflateCompressor.decompress(chainList.get(0).getData());
+            for(int i=1; i<chainList.size(); i++) {
+                MemoRevision memoRevision = chainList.get(i);
+                if(memoRevision.getVersion() != chainList.get(i - 1).getVersion() + 1) {
+                    log.error("리비전 체인이 끊어져 있습니다. - memoId = {}, version = {}", memoId, memoRevision.getVersion());
+                    return null;
+                }
+                content = decompressDelta(memoRevision.getData()).apply(content);
+            }
+        } catch (IllegalStateException | IllegalArgumentException ex) {  // 압축 해제 · 역직렬화 실패 또는 델타의 기준 길이가 맞지 않는 경우
+            log.error("리비전을 복원할 수 없습니다. - memoId = {}, version = {}, {}", memoId, version, ex.getMessage());
+            return null;
+        }
+
+        MemoRevision targetRevision = chainList.get(chainList.size() - 1);
+        return MemoDto.RevisionDetailResponse.builder()
+                .version(targetRevision.getVersion())
+                .title(targetRevision.getTitle())
+                .content(content)
+                .createdTime(TimeConverter.timeToStringForResponse(targetRevision.getCreatedTime()))
+                .build();
+    }
+
+    @Transactional
+    @Override
+    public void deleteRevisions(Long memoId) {
+        memoRevisionRepository.deleteByMemoId(memoId);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private String findPreviousContent(Long memoId) {  // 직전 버전의 본문 (본문 수정 이전에 호출되므로, 아직 수정되기 전인 DB 본문을 조회)
+        String previousContent = memoContentRepository.findLatestContentById(memoId);
+        return (previousContent != null) ? previousContent : "";
+    }
+
+    // 공통 접두사 · 접미사를 먼저 제외하고 남은 구간만 비교함. (구간 길이 또는 편집 거리가 제한을 넘으면 null 반환)
+    private static TextOperation diffWithinBudget(String before, String after) {
+        int minLength = Math.min(before.length(), after.length());
+        int prefix = 0;
+        while(prefix < minLength && before.charAt(prefix) == after.charAt(prefix)) prefix++;
+        int suffix = 0;
+        while(suffix < minLength - prefix && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) suffix++;
+
+        String beforeMiddle = before.substring(prefix, before.length() - suffix);
+        String afterMiddle = after.substring(prefix, after.length() - suffix);
+        if(beforeMiddle.length() + afterMiddle.length() > MAX_DELTA_DIFF_LENGTH) return null;
+        TextOperation middleDelta = TextDiffer.diff(beforeMiddle, afterMiddle, MAX_DELTA_EDIT_DISTANCE);
+        if(middleDelta == null) return null;
+
+        List<Object> componentList = new ArrayList<>(middleDelta.toList().size() + 2);
+        if(prefix > 0) componentList.add(prefix);
+        componentList.addAll(middleDelta.toList());
+        if(suffix > 0) componentList.add(suffix);
+        return TextOperation.fromList(componentList);
+    }
+
+    private byte[] compressDelta(TextOperation delta) {  // 직렬화 실패 시 null 반환 (스냅샷으로 저장됨.)
+        try {
+            return DeflateCompressor.compress(objectMapper.writeValueAsString(delta.toList()));
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private TextOperation decompressDelta(byte[] data) {
+        try {
+            return TextOperation.fromList(objectMapper.readValue(DeflateCompressor.decompress(data), List.class));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("리비전 델타 역직렬화 실패", ex);
+        }
+    }
+}
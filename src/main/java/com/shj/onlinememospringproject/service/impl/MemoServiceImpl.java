@@ -2,31 +2,59 @@ package com.shj.onlinememospringproject.service.impl;
 
 import com.shj.onlinememospringproject.client.OpenAIClient;
 import com.shj.onlinememospringproject.domain.Memo;
+import com.shj.onlinememospringproject.domain.MemoContent;
 import com.shj.onlinememospringproject.domain.User;
 import com.shj.onlinememospringproject.domain.mapping.UserMemo;
 import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.domain.enums.MemoChangeType;
+import com.shj.onlinememospringproject.event.MemoAccessRevokedEvent;
+import com.shj.onlinememospringproject.event.MemoChangedEvent;
+import com.shj.onlinememospringproject.event.MemoListChangedEvent;
+import com.shj.onlinememospringproject.repository.EditLockRepository;
+import com.shj.onlinememospringproject.repository.MemoChangeRepository;
+import com.shj.onlinememospringproject.repository.MemoContentRepository;
+import com.shj.onlinememospringproject.repository.MemoListCacheRepository;
+import com.shj.onlinememospringproject.repository.MemoQueryRepository;
 import com.shj.onlinememospringproject.repository.MemoRepository;
-import com.shj.onlinememospringproject.repository.RedisRepository;
 import com.shj.onlinememospringproject.repository.UserMemoRepository;
 import com.shj.onlinememospringproject.repository.UserRepository;
 import com.shj.onlinememospringproject.response.exception.*;
+import com.shj.onlinememospringproject.service.MemoRevisionService;
 import com.shj.onlinememospringproject.service.MemoService;
+import com.shj.onlinememospringproject.service.MetricRecorder;
+import com.shj.onlinememospringproject.service.OpenAIQuotaService;
+import com.shj.onlinememospringproject.service.SummaryService;
 import com.shj.onlinememospringproject.service.UserMemoService;
 import com.shj.onlinememospringproject.service.UserService;
+import com.shj.onlinememospringproject.util.KeyphraseTitleGenerator;
+import com.shj.onlinememospringproject.util.LruTtlCache;
 import com.shj.onlinememospringproject.util.SecurityUtil;
+import com.shj.onlinememospringproject.util.TextMerger;
+import com.shj.onlinememospringproject.util.TextPatcher;
 import com.shj.onlinememospringproject.util.TimeConverter;
+import com.shj.onlinememospringproject.util.TokenEstimator;
 import lombok.RequiredArgsConstructor;
-import org.recap.Summarizer;
-import org.recap.graph.Graph;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.StringTokenizer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -36,21 +64,60 @@ public class MemoServiceImpl implements MemoService {
 
     private static final long EDIT_LOCK_EXPIRE_TIME = 1000L * 60 * 10;  // Redis 편집락 TTL = 10분
     private static final int MAX_TITLE_LENGTH = 15;  // 메모 제목의 최대 길이 = 15자 이하
-    private static final int MAX_SUMMARY_CONTENT_LENGTH = 6000;  // OpenAI 호출용 메모 최대 요약길이 = 6000자 이하
     private static final int MAX_DAILY_OPENAI_USAGE = 10;  // OpenAI 일일 최대 호출횟수 = 10회
+    private static final int MAX_PAGE_LIMIT = 100;  // 커서 기반 메모 목록 조회의 최대 페이지 크기 = 100개 이하
+    private static final int MAX_PATCH_OPERATION_COUNT = 1000;  // 패치 수정 1회 요청의 최대 연산 수 = 1000개 이하
+    private static final int MAX_CHANGE_LIMIT = 500;  // 델타 동기화 1회 응답의 최대 변경내역 수 = 500개 이하
+    private static final long CHANGE_TOKEN_EXPIRE_TIME = 1000L * 60 * 60 * 24 * (MemoChangeRepository.RETENTION_DAYS - 1);  // 동기화 토큰 유효기간 = 변경내역 보관기간 - 1일 (삭제 작업 주기 여유분)
     private static final String FALLBACK_LONG_TITLE = "좋은 제목을 찾지 못했어요";  // 대체할 제목 1 (14자)
     private static final String FALLBACK_SHORT_TITLE = "제목 없음";  // 대체할 제목 2 (5자)
     private static final String FALLBACK_DUPLICATE_LONG_TITLE = "다른 제목을 찾지 못했어요";  // 대체할 중복 제목 1 (14자)
     private static final String FALLBACK_DUPLICATE_SHORT_TITLE = "다른 제목 없음";  // 대체할 중복 제목 2 (8자)
-    private static Summarizer summarizer = new Summarizer();  // 이 클래스 내에서만 사용되므로, 빈 등록 대신 static 선언.
+    private static final String MEMO_LIST_CACHE_HIT_METRIC = "memo_list_cache.hit";
+    private static final String MEMO_LIST_CACHE_MISS_METRIC = "memo_list_cache.miss";
+    private static final String MEMO_UPDATE_MERGE_METRIC = "memo_update.merge";  // 낙관적 락 충돌을 자동 병합으로 해소한 횟수
+    private static final int TITLE_CACHE_SIZE = 10000;  // AI 제목 캐시 최대 항목 수
+    private static final long TITLE_CACHE_EXPIRE_TIME = 1000L * 60 * 60 * 24;  // AI 제목 캐시 TTL = 1일
+    private static final String OPENAI_TITLE_CACHE_HIT_METRIC = "openai_title_cache.hit";
+    private static final String OPENAI_TITLE_CACHE_MISS_METRIC = "openai_title_cache.miss";
+    private static final int TITLE_CANDIDATE_COUNT = 3;  // AI 제목 생성 1회 호출당 후보 수
+    private static final int TITLE_FALLBACK_RETRY_COUNT = 2;  // 후보가 모두 조건을 벗어난 경우의 순차 재호출 횟수
+    private static final String OPENAI_TITLE_CALL_METRIC = "openai_title.call";  // 다중 후보 호출 횟수
+    private static final String OPENAI_TITLE_CANDIDATE_METRIC = "openai_title.candidate";  // 받은 후보 수 합계 (호출당 후보 수 = candidate / call)
+    private static final String OPENAI_TITLE_FALLBACK_METRIC = "openai_title.fallback";  // 순차 재호출로 넘어간 횟수 (순차 재호출 비율 = fallback / call)
+    private static final int LOCAL_TITLE_FIRST_MAX_LENGTH = 50;  // 이 길이 이하의 짧은 글은 AI 호출 전에 로컬 추출형 제목을 먼저 시도함. (재생성 요청 제외)
+    private static final String LOCAL_TITLE_METRIC = "local_title.served";  // AI 대신 로컬 추출형 제목으로 응답한 횟수
+    private static final int MIN_CONTENT_TOKEN_BUDGET = 100;  // 프롬프트 예산 설정이 지시문보다 작더라도, 글에 배정할 최소 토큰 수
+    private static final String OPENAI_TITLE_PROMPT_TOKEN_METRIC = "openai_title.prompt_token";  // 보낸 프롬프트의 추정 토큰 수 합계
+    private static final String OPENAI_TITLE_COMPACT_METRIC = "openai_title.compact";  // 토큰 예산을 넘어 글을 압축한 횟수
+    private static final String OPENAI_TITLE_TOKEN_SAVED_METRIC = "openai_title.token_saved";  // 압축으로 줄인 추정 토큰 수 합계 (요청당 절감량 = token_saved / call)
+    private static KeyphraseTitleGenerator keyphraseTitleGenerator = new KeyphraseTitleGenerator(MAX_TITLE_LENGTH);  // 이 클래스 내에서만 사용되므로, 빈 등록 대신 static 선언.
 
     private final UserService userService;
     private final UserMemoService userMemoService;
     private final UserRepository userRepository;
     private final MemoRepository memoRepository;
+    private final MemoContentRepository memoContentRepository;
+    private final MemoChangeRepository memoChangeRepository;
+    private final MemoQueryRepository memoQueryRepository;
+    private final MemoListCacheRepository memoListCacheRepository;
     private final UserMemoRepository userMemoRepository;
-    private final RedisRepository redisRepository;
+    private final EditLockRepository editLockRepository;
     private final OpenAIClient openAIClient;
+    private final MemoRevisionService memoRevisionService;
+    private final MetricRecorder metricRecorder;
+    private final SummaryService summaryService;
+    private final OpenAIQuotaService openAIQuotaService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${openai.models.chat.model}")
+    private String chatModel;  // 토큰 추정 시 인코딩 판별용
+    @Value("${openai.models.chat.max-tokens}")
+    private int chatMaxTokens;  // 분당 토큰 한도 계산용 (OpenAI는 응답의 최대 토큰 수도 후보 수만큼 미리 한도에 반영함.)
+    @Value("${openai.title.max-prompt-tokens:4000}")
+    private int maxTitlePromptTokens;  // AI 제목 생성 프롬프트(지시문 + 글)의 최대 입력 토큰 수
+
+    private final LruTtlCache<String, String> titleCache = new LruTtlCache<>(TITLE_CACHE_SIZE, TITLE_CACHE_EXPIRE_TIME);  // AI 제목 캐시 (키 : SHA-256(글 + 이전 제목))
 
 
     @Transactional(readOnly = true)
@@ -59,35 +126,169 @@ public class MemoServiceImpl implements MemoService {
         Long loginUserId = SecurityUtil.getCurrentMemberId();
         userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
 
-        // 강제 Eager 조회 (N+1 문제 해결)
-        UserMemo userMemo = userMemoRepository.findByUser_IdAndMemo_IdToUserMemoListWithEager(loginUserId, memoId).orElseThrow(
-                () -> new Exception404.NoSuchUserMemo(String.format("userId = %d, memoId = %d", loginUserId, memoId)));  // 로그인사용자id와 메모의 사용자id 불일치 에러
-
-        Memo memo = userMemo.getMemo();
-        MemoDto.Response memoResponseDto = new MemoDto.Response(memo);  // Usermemo.memo & Usermemo.memo.userMemoList (DTO 변환 및 List길이 계산으로, N+1 쿼리 발생)
+        // 사용자 수는 메모 행에 비정규화되어 있으므로, userMemoList 없이 메모만 PK로 조회.
+        Memo memo = memoRepository.findById(memoId).orElseThrow(
+                () -> new Exception404.NoSuchMemo(String.format("memoId = %d", memoId)));
+        String content = memoContentRepository.findContentById(memoId);  // 본문은 별도 테이블에서 PK로 조회.
+        MemoDto.Response memoResponseDto = new MemoDto.Response(memo, content);
         return memoResponseDto;
     }
 
+    // - ETag 조회 메소드들의 사용 목적 :
+    // 클라이언트의 If-None-Match와 일치한다면, 엔티티 조회 및 DTO 변환 없이 304 Not Modified로 응답하기 위함.
+    // 반드시 실제 데이터 조회 이전에 호출해야함. (그 사이 변경이 있었다면 ETag가 데이터보다 과거값이 되어, 다음 요청에서 불일치로 재조회되므로 안전함.)
+    @Transactional(readOnly = true)
+    @Override
+    public String findMemoInfoETag(Long memoId) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹. (304 응답으로도 메모 존재여부가 노출되지 않도록 먼저 검사.)
+
+        String eTagSource = memoRepository.findETagSourceById(memoId);
+        if(eTagSource == null) throw new Exception404.NoSuchMemo(String.format("memoId = %d", memoId));
+        return String.format("\"memo-%d-%s\"", memoId, eTagSource);
+    }
+
+    @Override
+    public String findMemosETag(String filter, String search) {  // null 반환 : Redis 장애로 목록 버전을 알 수 없는 경우 (ETag 미사용)
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        String listVersion = memoListCacheRepository.findVersion(loginUserId);  // 목록에 영향을 주는 모든 변경이 커밋될 때마다 증가하는 버전
+        if(listVersion == null) return null;
+        return String.format("\"memos-%d-%s-%x\"", loginUserId, listVersion, Objects.hash(filter, search));  // 같은 버전이라도 정렬 및 검색조건별로 구분.
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<MemoDto.MemoPageResponse> findMemos(String filter, String search) {
         if(filter != null && search != null) throw new Exception400.MemoBadRequest("잘못된 쿼리파라미터로 API를 요청하였습니다.");  // 정렬과 검색중 하나만 적용 가능.
-        Predicate<Memo> memoPredicate = (filter != null) ? filterMemos(filter) : searchMemos(search);
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+
+        // - case 1. 전체 조회 또는 정렬인 경우 : 사용자의 전체 목록 캐시에서 정렬조건만 메모리 필터링.
+        if(search == null) {
+            Predicate<MemoDto.MemoPageResponse> memoPagePredicate = filterMemoPages(filter);
+            List<MemoDto.MemoPageResponse> memoPageResponseDtoList = findMemoPagesWithCache(loginUserId);
+            if(filter == null) return memoPageResponseDtoList;
+            return memoPageResponseDtoList.stream()
+                    .filter(memoPagePredicate)
+                    .collect(Collectors.toList());
+        }
+
+        // - case 2. 검색인 경우 : FULLTEXT ngram 인덱스 기반 검색 (관련도 내림차순 정렬, 검색어 조합이 다양하므로 캐싱하지 않음.)
+        if(search.isBlank()) return findMemoPagesWithCache(loginUserId);  // 빈 검색어는 전체 메모 조회와 동일함.
+        return memoQueryRepository.searchMemoPagesByUserId(loginUserId, search);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public MemoDto.MemoSliceResponse findMemosByCursor(String filter, String search, String cursor, int limit) {
+        if(search != null) throw new Exception400.MemoBadRequest("검색은 커서 기반 조회를 지원하지 않습니다.");  // 검색은 DB 정렬 커서와 함께 적용 불가.
+        if(limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new Exception400.MemoBadRequest(String.format("limit은 1 이상 %d 이하로 요청해야 합니다. (limit = %d)", MAX_PAGE_LIMIT, limit));
+        }
 
-        // 강제 Eager 조회 (N+1 문제 해결)
+        // 정렬(filter) 조건을 쿼리 파라미터로 변환 (null == 조건 무시)
+        Integer isStar = null;
+        Long minUserCount = null, maxUserCount = null;
+        if(filter != null) {
+            switch (filter) {
+                case "private-memo" -> { minUserCount = 1L; maxUserCount = 1L; }
+                case "group-memo" -> { minUserCount = 2L; maxUserCount = Long.MAX_VALUE; }
+                case "star-memo" -> isStar = 1;
+                default -> throw new Exception400.MemoBadRequest("잘못된 쿼리파라미터로 API를 요청하였습니다.");
+            }
+        }
+
+        // 커서 해석 (null일 경우, 첫 페이지)
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        if(cursor != null) {
+            Object[] cursorInfo = decodeCursor(cursor);
+            cursorTime = (LocalDateTime) cursorInfo[0];
+            cursorId = (Long) cursorInfo[1];
+        }
+
+        // 다음 페이지 존재여부를 판단하기 위해, limit+1개를 조회함.
         Long loginUserId = SecurityUtil.getCurrentMemberId();
-        User user = userRepository.findByIdToDeepUserWithEager(loginUserId).orElseThrow(
-                () -> new Exception404.NoSuchUser(String.format("userId = %d", loginUserId)));
+        List<Long> memoIdList = memoRepository.findMemoIdsByCursor(
+                loginUserId, isStar, minUserCount, maxUserCount, cursorTime, cursorId, PageRequest.of(0, limit + 1));
+        boolean hasNext = (memoIdList.size() > limit);
+        if(hasNext == true) memoIdList = memoIdList.subList(0, limit);
+        if(memoIdList.isEmpty()) {
+            return MemoDto.MemoSliceResponse.builder()
+                    .memoPageResponseDtoList(List.of())
+                    .nextCursor(null)
+                    .hasNext(false)
+                    .build();
+        }
 
-        List<MemoDto.MemoPageResponse> memoPageResponseDtoList = user.getUserMemoList().stream()
-                .map(UserMemo::getMemo)  // User.userMemoList (N+1 쿼리 발생)
-                .filter(memoPredicate)  // User.userMemoList.memo (N+1 쿼리 발생)
-                .sorted(Comparator.comparing(Memo::getModifiedTime, Comparator.reverseOrder())  // 정렬 우선순위 1: 수정날짜 내림차순
-                        .thenComparing(Memo::getId, Comparator.reverseOrder()))  // 정렬 우선순위 2: id 내림차순
-                .map(MemoDto.MemoPageResponse::new)  // User.userMemoList.memo.userMemoList & User.userMemoList.memo.userMemoList.user (내부에서 N+1 쿼리 발생)
-                .collect(Collectors.toList());
+        // 현재 페이지의 메모들만 Projection 조회
+        List<MemoDto.MemoPageResponse> memoPageResponseDtoList = memoQueryRepository.findMemoPagesByMemoIdIn(memoIdList);
 
-        return memoPageResponseDtoList;
+        String nextCursor = null;
+        if(hasNext == true) {  // 커서에는 응답용 문자열 시각이 아닌, DB 원본 시각이 필요하므로 마지막 메모만 별도 조회.
+            Long lastMemoId = memoIdList.get(memoIdList.size() - 1);
+            nextCursor = encodeCursor(memoRepository.findModifiedTimeById(lastMemoId), lastMemoId);
+        }
+        return MemoDto.MemoSliceResponse.builder()
+                .memoPageResponseDtoList(memoPageResponseDtoList)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public MemoDto.ChangeResponse findMemoChanges(String since) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        long now = System.currentTimeMillis();
+
+        // 최초 동기화이거나 토큰이 너무 오래되어 변경내역이 이미 삭제되었을 수 있는 경우 : 전체 목록 재조회 요청
+        long[] tokenInfo = (since != null) ? decodeChangeToken(since) : null;
+        if(tokenInfo == null || now - tokenInfo[1] > CHANGE_TOKEN_EXPIRE_TIME) {
+            return MemoDto.ChangeResponse.builder()
+                    .upsertedMemoPageResponseDtoList(List.of())
+                    .deletedMemoIdList(List.of())
+                    .nextToken(encodeChangeToken(memoChangeRepository.findLatestId(), now))  // 전체 목록 조회 이전에 발급해야 누락이 없음.
+                    .hasNext(false)
+                    .isReset(true)
+                    .build();
+        }
+
+        // 다음 요청이 필요한지 판단하기 위해, limit+1개를 조회함.
+        List<MemoChangeRepository.MemoChangeRow> changeRowList = memoChangeRepository.findChangesByUserId(loginUserId, tokenInfo[0], MAX_CHANGE_LIMIT + 1);
+        boolean hasNext = (changeRowList.size() > MAX_CHANGE_LIMIT);
+        if(hasNext == true) changeRowList = changeRowList.subList(0, MAX_CHANGE_LIMIT);
+        long nextChangeId = changeRowList.isEmpty() ? tokenInfo[0] : changeRowList.get(changeRowList.size() - 1).getId();
+
+        // 같은 메모의 여러 변경내역은 마지막 내역만 반영. (시퀀스 오름차순 조회이므로, 나중 값으로 덮어씀.)
+        Map<Long, MemoChangeType> lastChangeMap = new LinkedHashMap<>();
+        for(MemoChangeRepository.MemoChangeRow changeRow : changeRowList) {
+            lastChangeMap.put(changeRow.getMemoId(), changeRow.getChangeType());
+        }
+        List<Long> upsertMemoIdList = new ArrayList<>();
+        List<Long> deletedMemoIdList = new ArrayList<>();
+        lastChangeMap.forEach((memoId, changeType) -> {
+            if(changeType == MemoChangeType.UPSERT) upsertMemoIdList.add(memoId);
+            else deletedMemoIdList.add(memoId);
+        });
+
+        // 이번 응답 범위 이후에 탈퇴한 메모는 아직 DELETE 내역이 응답되지 않았으므로, 현재 사용자 여부를 다시 확인하여 삭제로 응답함.
+        List<MemoDto.MemoPageResponse> upsertedMemoPageResponseDtoList = List.of();
+        if(!upsertMemoIdList.isEmpty()) {
+            List<Long> memberMemoIdList = userMemoRepository.findMemoIdsByUserIdAndMemoIdIn(loginUserId, upsertMemoIdList);
+            Set<Long> memberMemoIdSet = new HashSet<>(memberMemoIdList);
+            upsertMemoIdList.stream()
+                    .filter(memoId -> !memberMemoIdSet.contains(memoId))
+                    .forEach(deletedMemoIdList::add);
+            upsertedMemoPageResponseDtoList = memoQueryRepository.findMemoPagesByMemoIdIn(memberMemoIdList);  // 본문 없이 Projection 조회
+        }
+
+        return MemoDto.ChangeResponse.builder()
+                .upsertedMemoPageResponseDtoList(upsertedMemoPageResponseDtoList)
+                .deletedMemoIdList(deletedMemoIdList)
+                .nextToken(encodeChangeToken(nextChangeId, now))
+                .hasNext(hasNext)
+                .isReset(false)
+                .build();
     }
 
     @Transactional
@@ -100,15 +301,26 @@ public class MemoServiceImpl implements MemoService {
                 .build();
         Long memoId = memoRepository.save(memo).getId();
 
+        MemoContent memoContent = MemoContent.MemoContentSaveBuilder()
+                .memo(memo)
+                .content(createRequestDto.getContent())
+                .build();
+        memoContentRepository.save(memoContent);
+        memoRevisionService.recordRevision(memoId, memo.getVersion(), memo.getTitle(), createRequestDto.getContent());  // 최초 버전도 병합의 기준이 될 수 있음.
+
         UserMemo newUserMemo = UserMemo.UserMemoSaveBuilder()
                 .user(loginUser)
                 .memo(memo)
                 .build();
         userMemoRepository.save(newUserMemo);
+        eventPublisher.publishEvent(new MemoListChangedEvent(List.of(loginUser.getId())));  // 초대된 사용자들의 목록은 초대로직에서 무효화됨.
 
         // 공동메모 생성시 (초대로직 추가실행)
         if(!(createRequestDto.getUserIdList() == null || createRequestDto.getUserIdList().isEmpty())) {  // 개인메모가 아닐때
-            userMemoService.inviteUsersToMemo(memoId, createRequestDto.getUserIdList());
+            userMemoService.inviteUsersToMemo(memoId, createRequestDto.getUserIdList());  // 변경내역은 초대로직에서 모든 사용자에게 기록됨.
+        }
+        else {
+            eventPublisher.publishEvent(MemoChangedEvent.upsert(List.of(memoId)));
         }
 
         return MemoDto.CreateResponse.builder()
@@ -124,82 +336,95 @@ public class MemoServiceImpl implements MemoService {
         if(!userMemoService.checkGroupMemo(memoId)) return;  // 공동메모 여부 체킹. (개인메모라면 락 제어는 불필요하므로 즉시 종료.)
 
         String loginUserNickname = userRepository.findNicknameById(loginUserId);
-        StringBuilder lockValueStb = new StringBuilder();
-        lockValueStb.append("userId:").append(loginUserId).append(",").append("userNickname:").append(loginUserNickname);
-
-        String lockKey = String.format("memoId:%d:lock", memoId);
-        String lockValue = lockValueStb.toString();
-        long lockTTL = EDIT_LOCK_EXPIRE_TIME;
-
-        String value = redisRepository.getValue(lockKey);
-        if(value != null) {  // Redis에 해당 메모의 락이 이미 존재한다면
-            Object[] userInfo = parseUserInfo(value);
-            Long lockUserId = (Long) userInfo[0];
-            String lockUserNickname = (String) userInfo[1];
-
-            boolean isOwnLock = (lockUserId != null && lockUserId.equals(loginUserId));
-            if(isOwnLock == true) {  // 존재하는 락이 이미 자신의 것이라면
-                redisRepository.refreshTTL(lockKey, lockTTL);  // 락의 TTL 연장하기
-            }
-            else {  // 다른 사용자(락 주인)가 해당 메모를 수정중인 상황임.
-                throw new Exception423.LockedData(lockUserNickname);
-            }
-        }
-        else {
-            redisRepository.lock(lockKey, lockValue, lockTTL);
+
+        // 락이 없다면 생성, 자신의 락이라면 TTL 연장을 하나의 Lua 스크립트로 원자적으로 수행함. (왕복 1회)
+        EditLockRepository.AcquireResult acquireResult = editLockRepository.acquire(memoId, loginUserId, loginUserNickname, EDIT_LOCK_EXPIRE_TIME);
+        if(acquireResult.isAcquired() == false) {  // 다른 사용자(락 주인)가 해당 메모를 수정중인 상황임.
+            throw new Exception423.LockedData(acquireResult.getEditLock().getUserNickname());
         }
     }
 
-    @Transactional
+    // beforeRelease : 락 보유자임을 확인한 이후, 락 해제 직전에 실행할 작업. (ex. 남은 임시저장 반영)
+    // - 임시저장 반영은 자체 트랜잭션으로 실행되어야 하므로(반영 실패의 롤백 마킹 및 커넥션 2개 점유 방지), 이 메소드는 트랜잭션을 열지 않음.
     @Override
-    public void releaseEditLock(Long memoId) {
+    public void releaseEditLock(Long memoId, Runnable beforeRelease) {
         Long loginUserId = SecurityUtil.getCurrentMemberId();
         userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
         if(!userMemoService.checkGroupMemo(memoId)) return;  // 공동메모 여부 체킹. (개인메모라면 락 제어는 불필요하므로 즉시 종료.)
 
-        String lockKey = String.format("memoId:%d:lock", memoId);
-        redisRepository.unlockOwner(lockKey, loginUserId);
+        EditLockRepository.EditLock editLock = editLockRepository.find(memoId);
+        if(editLock == null || editLock.getUserId() != loginUserId) return;  // 락 보유자가 아니라면, 다른 사용자의 임시저장을 반영하거나 락을 해제하지 않음.
+
+        if(beforeRelease != null) beforeRelease.run();
+        editLockRepository.release(memoId, loginUserId);
     }
 
-    // - @Transactional(propagation = Propagation.REQUIRES_NEW) 사용 이유 :
-    // '자식인 updateMemo() 비즈니스 메소드'를 '부모인 updateMemoFacade() 퍼사드 메소드' 내에서 별도의 트랜잭션으로 커밋을 독립적으로 수행하게 하려면,
-    // 서로 다른 클래스에 분리하여 정의해야하며, 트랜잭션 전파 속성을 '@Transactional(propagation = Propagation.REQUIRES_NEW)'로 선언해야함.
-    // - 위의 트랜잭션 전파 속성을 정의하지 않을 경우 발생하는 문제 :
-    // 이 경우, 자식 메소드가 부모 트랜잭션 범위 내에서 실행되어 커밋 시점이 부모와 일치하게 되고, 결국 자식 update 쿼리의 DB 커밋도 부모 트랜잭션이 끝날 때까지 지연되어 반영되지 않음.
-    // 따라서 부모의 try~catch 문에서는 아직 자식의 update 쿼리가 DB에 커밋되기 전이므로 낙관적 락 충돌이 발생하지 않아, 의도한 'throw new Exception409.ConflictData()' 예외로 감지할 수 없음.
-    // 그렇게 되면 최종적으로 부모 메소드가 모두 종료된 후에야 500 에러로 대신 발생하게 되어, 의도한 예외 처리로 잡히지 않게됨.
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    // < '버전 조건부 UPDATE' 기반의 낙관적 락 >
+    // - 이전에는 엔티티의 @Version 검증이 커밋 시점에 일어나므로, 충돌을 부모인 updateMemoFacade()의 try~catch에서 감지하기 위해
+    // 이 메소드를 '@Transactional(propagation = Propagation.REQUIRES_NEW)'로 분리하여 먼저 커밋하게 했었음.
+    // 그러나 이 경우 부모와 자식 트랜잭션이 각각 커넥션을 점유하여, 요청 1건당 2개의 커넥션이 필요해지고 동시 수정이 몰리면 커넥션 풀이 고갈될 수 있음.
+    // - 현재는 'UPDATE ... WHERE memo_id = ? AND version = ?' 단일 쿼리의 변경된 행 수로 충돌을 즉시 판단하므로,
+    // 부모 트랜잭션에 그대로 참여하여 하나의 트랜잭션 · 하나의 커넥션으로 처리됨. (편집락 해제는 부모의 afterCommit()에서 수행)
+    // - 버전 충돌 시에는 요청의 기준 버전 리비전(memo_revision 테이블의 수정 이력)으로 3-way 병합을 시도하므로, 같은 위치를 서로 다르게 수정한 경우에만 409를 응답함.
+    @Transactional
     @Override
-    public void updateMemo(Long memoId, MemoDto.UpdateRequest updateRequestDto) {
+    public void updateMemo(Long memoId, MemoDto.UpdateRequest updateRequestDto, Long fencingToken) {
         Long loginUserId = SecurityUtil.getCurrentMemberId();
         userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
 
         // - case 1. 메모의 즐겨찾기 여부 수정인 경우
         if(updateRequestDto.getIsStar() != null) {
             memoRepository.updateIsStar(memoId, updateRequestDto.getIsStar());
+            eventPublisher.publishEvent(new MemoListChangedEvent(userMemoRepository.findUserIdsByMemoId(memoId)));
+            eventPublisher.publishEvent(MemoChangedEvent.upsert(List.of(memoId)));
             return;  // 바로 함수 종료.
         }
 
-        // '낙관적 락 (Optimistic Lock)' 기반의 조회 (이는 트랜잭션 종료 후 update 될때 검증됨.)
-        Memo memo = memoRepository.findByIdWithOptimisticLock(memoId).orElseThrow(
-                () -> new Exception404.NoSuchMemo(String.format("memoId = %d", memoId)));
+        // - case 2. 즐겨찾기 수정이 아닌, 메모의 제목과 내용 수정인 경우
+        updateWithVersion(memoId, updateRequestDto.getCurrentVersion(), fencingToken, updateRequestDto.getTitle(), updateRequestDto.getContent(), null);
+    }
+
+    // 본문 전체 대신 범위 패치 연산만 전달받아 서버에서 적용하는 수정 메소드. (낙관적 락 검증은 updateMemo()와 동일함.)
+    @Transactional
+    @Override
+    public void patchMemo(Long memoId, MemoDto.PatchRequest patchRequestDto, Long fencingToken) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        userMemoService.checkUserInMemo(loginUserId, memoId);  // 사용자의 메모 접근권한 체킹.
 
-        // 1차 검증 : 전달받은 메모의 현재 버전과 DB 조회된 버전이 일치하는지 확인 (수동 필드 기반)
-        Long currentVersion = updateRequestDto.getCurrentVersion();
+        List<MemoDto.PatchOperation> operationList = patchRequestDto.getOperationList();
+        if(operationList != null && operationList.size() > MAX_PATCH_OPERATION_COUNT) {
+            throw new Exception400.MemoBadRequest(String.format("패치 연산은 최대 %d개까지 요청할 수 있습니다.", MAX_PATCH_OPERATION_COUNT));
+        }
+
+        // 패치 연산의 위치는 currentVersion 시점의 본문 기준이므로, 그 시점의 본문에 적용한 후 최신 본문과는 updateWithVersion()에서 3-way 병합함.
+        // (그 사이 다른 사용자가 패치 범위 앞에 입력했더라도, 최신 본문의 엉뚱한 위치에 적용되지 않음.)
+        Long currentVersion = patchRequestDto.getCurrentVersion();
         if(currentVersion == null) {
             throw new Exception400.MemoBadRequest("잘못된 필드값으로 API를 요청하였습니다.");
         }
-        else if(currentVersion.equals(memo.getVersion()) == false) {  // && currentVersion != null
-            throw new Exception409.ConflictData(null);  // 이는 부모에서 catch 로깅되므로, 불필요한 중복 메세지를 null로 지정.
-            // updateMemo 메소드의 Exception409.ConflictData(null)
-            // -> updateMemoFacade 메소드의 catch(Exception){}
-            // -> Exception409.ConflictData(memoId) 재처리 가능
+        Long latestVersion = memoRepository.findVersionById(memoId);
+        if(latestVersion == null) {
+            throw new Exception404.NoSuchMemo(String.format("memoId = %d", memoId));
+        }
+        String baseContent;
+        if(latestVersion.equals(currentVersion)) {
+            baseContent = memoContentRepository.findContentById(memoId);  // 버전과 같은 트랜잭션 스냅샷에서 읽으므로, currentVersion 시점의 본문임.
+        }
+        else {
+            MemoDto.RevisionDetailResponse baseRevision = memoRevisionService.restoreRevision(memoId, currentVersion);
+            if(baseRevision == null) {  // 기준 버전의 수정 이력이 없어 패치 위치를 알 수 없는 경우
+                throw new Exception409.ConflictData(null);
+            }
+            baseContent = baseRevision.getContent();
         }
 
-        // - case 2. 즐겨찾기 수정이 아닌, 메모의 제목과 내용 수정인 경우
-        // 2차 검증 : 트랜잭션 커밋 시점에 JPA가 버전 일치 여부로 충돌 판단 (낙관적 락 기반)
-        memo.updateTitle(updateRequestDto.getTitle());
-        memo.updateContent(updateRequestDto.getContent());
+        String content;
+        try {
+            content = TextPatcher.apply(baseContent, operationList);
+        } catch (IllegalArgumentException ex) {
+            throw new Exception400.MemoBadRequest(ex.getMessage());
+        }
+        updateWithVersion(memoId, currentVersion, fencingToken, patchRequestDto.getTitle(), content, baseContent);
     }
 
     @Transactional
@@ -208,46 +433,65 @@ public class MemoServiceImpl implements MemoService {
         Long loginUserId = SecurityUtil.getCurrentMemberId();
         userMemoService.checkUserInMemo(loginUserId, memoId);  // 메모를 삭제/탈퇴할 권한이 있는지 체킹.
 
-        // 강제 Eager 조회 (N+1 문제 해결)
-        Memo memo = memoRepository.findByIdToUserMemoListWithEager(memoId).orElseThrow(
-                () -> new Exception404.NoSuchUser(String.format("memoId = %d", memoId)));
-        int memoHasUsersCount = memo.getUserMemoList().size();  // Memo.userMemoList (리스트의 size 측정으로, N+1 쿼리 발생)
+        List<Long> memoUserIdList = userMemoRepository.findUserIdsByMemoId(memoId);  // 삭제 이후에는 조회할 수 없으므로, 목록 캐시 무효화 대상을 미리 담아둠.
+        eventPublisher.publishEvent(new MemoListChangedEvent(memoUserIdList));  // 커밋 이후에 실행됨.
+        eventPublisher.publishEvent(MemoChangedEvent.delete(memoId, List.of(loginUserId)));  // 본인에게는 삭제 내역을 기록.
+        eventPublisher.publishEvent(new MemoAccessRevokedEvent(loginUserId, List.of(memoId)));  // 본인의 접근권한 캐시 회수.
+        eventPublisher.publishEvent(MemoChangedEvent.upsert(List.of(memoId)));  // 남은 사용자들에게는 사용자 구성 변경을 기록. (개인메모였다면 기록되지 않음.)
 
         // 공동메모 그룹 탈퇴 처리. (자식 테이블인 UserMemo에서 먼저 삭제.)
         userMemoRepository.deleteByUser_IdAndMemo_Id(loginUserId, memoId);
         userMemoRepository.flush();  // 영속성 컨텍스트 내 변경상태인 위 delete를 즉시 반영.
 
+        // 탈퇴 이후의 사용자 수를 갱신하고 다시 조회. (갱신 시 메모 행이 잠기므로, 동시 초대 · 탈퇴와 섞이지 않은 값임.)
+        memoRepository.refreshMemberCount(memoId);
+        int memoHasUsersCount = memoRepository.findMemberCountById(memoId) + 1;  // 탈퇴 이전의 사용자 수
+
         if(memoHasUsersCount == 1) {  // 해당 메모가 개인메모라면
-            memoRepository.delete(memo);  // 그 이후에 부모 테이블인 Memo에서 해당 메모를 삭제. (이후 부모 테이블인 Memo에서 삭제.)
+            memoContentRepository.deleteByMemoId(memoId);  // 자식 테이블인 MemoContent에서 본문부터 삭제.
+            memoRepository.deleteById(memoId);  // 그 이후에 부모 테이블인 Memo에서 해당 메모를 삭제. (이후 부모 테이블인 Memo에서 삭제.)
+            memoRevisionService.deleteRevisions(memoId);
         }
         else {  // 해당 메모가 공동메모라면
-            String lockKey = String.format("memoId:%d:lock", memoId);
             if(memoHasUsersCount == 2) {  // 공동메모인데, 그룹 탈퇴로 메모의 사용자가 2명에서 1명으로 개인메모가 될 경우 (즉, 원래 2명이었을 경우)
                 // isStar 필드는 수정시각에 영향을 주지않도록, @LastModifiedDate 생명주기에서 제외시켜 따로 JPQL로 직접 업데이트함.
                 memoRepository.updateIsStar(memoId, 0);  // 즐겨찾기 여부를 다시 0으로 초기화.
                 // 개인메모 체제로 변경되었으므로, Redis 내 편집락이 필요 없어짐.
-                redisRepository.unlock(lockKey);  // Redis 내 편집락 해제 (본인 무관)
+                editLockRepository.forceRelease(memoId);  // Redis 내 편집락 해제 (본인 무관)
             }
             else {  // 그룹을 탈퇴해도 인원수가 2명 이상 남아, 공동메모 체제를 유지할 경우
-                redisRepository.unlockOwner(lockKey, loginUserId);  // Redis 내 본인의 편집락 해제. (락 소유자만 가능)
+                editLockRepository.release(memoId, loginUserId);  // Redis 내 본인의 편집락 해제. (락 소유자만 가능)
             }
         }
     }
 
-    @Transactional
+    // DB를 사용하지 않으므로(호출한도 · 작업 상태는 Redis), 트랜잭션을 열지 않음.
+    // - 분당 한도 대기(Thread.sleep)와 OpenAI 호출 동안 DB 커넥션을 점유하면, AI 요청이 몰릴 때 커넥션 풀이 고갈되어 일반 메모 요청까지 막힘.
     @Override
     public MemoDto.GenerateResponse generateTitleByOpenAI(MemoDto.GenerateRequest generateRequestDto) {
         Long loginUserId = SecurityUtil.getCurrentMemberId();
+        int openAIUsage = openAIQuotaService.findDailyUsage(loginUserId);
 
-        // 1. 개인별 일일 AI 호출한도 체크 (check OpenAIUsage)
-        String openAIUsageKey = String.format("userId:%d:openai_usage", loginUserId);
-        String value = redisRepository.getValue(openAIUsageKey);
-        int openAIUsage = (value != null) ? Integer.parseInt(value) : 0;
-        if(openAIUsage >= MAX_DAILY_OPENAI_USAGE) {  // 400 예외 응답
-            throw new Exception400.MemoBadRequest(String.format("사용자(userId=%d)는 이미 OpenAI 일일 호출횟수(%d회)를 모두 소진했습니다.", loginUserId, MAX_DAILY_OPENAI_USAGE));
+        // 0. 이미 같은 글과 이전 제목으로 생성한 제목이 있다면, AI 호출 없이 응답. (호출한도를 차감하지 않으므로, 한도 체크보다 먼저 확인.)
+        String prevTitle = generateRequestDto.getPrevTitle();
+        if(FALLBACK_LONG_TITLE.equals(prevTitle) || FALLBACK_SHORT_TITLE.equals(prevTitle)) {  // 주의: 순서 반대면 'null.equals(String)'으로 NPE 에러 위험.
+            prevTitle = null;
+        }
+        String titleCacheKey = toTitleCacheKey(generateRequestDto.getContent(), prevTitle);
+        String cachedTitle = titleCache.get(titleCacheKey);
+        if(cachedTitle != null) {
+            metricRecorder.increment(OPENAI_TITLE_CACHE_HIT_METRIC);
+            return MemoDto.GenerateResponse.builder()
+                    .title(cachedTitle)
+                    .dailyAIUsage(openAIUsage)
+                    .isMaxDailyAIUsage(openAIUsage >= MAX_DAILY_OPENAI_USAGE)
+                    .build();
         }
 
-        // 2. AI 호출 전 메모내용 요약 (summarize memoContent)
+        // 1. 개인별 일일 AI 호출한도 체크 (check OpenAIUsage)
+        boolean isMaxDailyAIUsage = (openAIUsage >= MAX_DAILY_OPENAI_USAGE);  // 소진 시, 아래 2-1.에서 로컬 추출형 제목으로 대신함. (최종 판단은 4.의 원자적 예약)
+
+        // 2. AI 호출 전 메모내용 압축 (compact memoContent to token budget)
         String content = generateRequestDto.getContent();
         int contentLen = content.length();
         if(contentLen <= MAX_TITLE_LENGTH) {
@@ -255,41 +499,79 @@ public class MemoServiceImpl implements MemoService {
                     .title(content)  // 이미 내용이 최대 제목길이보다 짧다면, AI 호출 없이 그대로 제목으로 사용.
                     .build();
         }
-        if(contentLen > MAX_SUMMARY_CONTENT_LENGTH) {
-            List<String> summarizedSentenceList = summarizer.summarizeByTextLen(
-                    content,  // 요약할 원본 텍스트
-                    Graph.SimilarityMethods.COSINE_SIMILARITY,  // 문장 간 유사도 계산 및 측정법 (COSINE or JACCARD)
-                    MAX_SUMMARY_CONTENT_LENGTH  // 요약될 최대 전체글자수 제한
-            );
-            content = summarizer.joinText(summarizedSentenceList, null);  // null == 구분자 "\n"
+        // 비용과 지연시간은 글자 수가 아닌 토큰 수에 비례하므로(한글은 영문보다 글자당 토큰이 훨씬 많음), 지시문을 제외한 토큰 예산에 맞춰 글을 압축함.
+        int titleLenInPrompt = (MAX_TITLE_LENGTH-2 > 0) ? MAX_TITLE_LENGTH-2 : MAX_TITLE_LENGTH;
+        TokenEstimator.Encoding encoding = TokenEstimator.Encoding.fromModel(chatModel);
+        int contentTokenBudget = Math.max(MIN_CONTENT_TOKEN_BUDGET, maxTitlePromptTokens - TokenEstimator.MESSAGE_OVERHEAD_TOKENS
+                - TokenEstimator.estimate(toTitlePrompt("", prevTitle, titleLenInPrompt), encoding));
+        int contentTokens = TokenEstimator.estimate(content, encoding);
+        int savedTokens = 0;
+        if(contentTokens > contentTokenBudget) {  // 예산 이하의 글은 요약하지 않고 그대로 사용.
+            content = compactToTokenBudget(content, contentTokens, contentTokenBudget, encoding);
+            savedTokens = contentTokens - TokenEstimator.estimate(content, encoding);
         }
 
-        // 3. AI Prompt 생성 (make AI Prompt)
-        String prevTitle = generateRequestDto.getPrevTitle();
-        if(FALLBACK_LONG_TITLE.equals(prevTitle) || FALLBACK_SHORT_TITLE.equals(prevTitle)) {  // 주의: 순서 반대면 'null.equals(String)'으로 NPE 에러 위험.
-            prevTitle = null;
+        // 2-1. 호출한도를 소진했거나 짧은 글이라면, AI 호출 없이 로컬 추출형 제목으로 응답. (호출한도를 차감하지 않음.)
+        // 단, 재생성 요청(prevTitle 존재)은 로컬 제목이 매번 비슷하게 나오므로, 짧은 글이라도 AI로 넘김.
+        boolean isRegenerate = (prevTitle != null);
+        if(isMaxDailyAIUsage || (contentLen <= LOCAL_TITLE_FIRST_MAX_LENGTH && !isRegenerate)) {
+            String localTitle = keyphraseTitleGenerator.generate(content, prevTitle);
+            if(localTitle != null && !localTitle.equals(prevTitle)) return toLocalTitleResponse(localTitle, openAIUsage);
+            if(isMaxDailyAIUsage) {  // 400 예외 응답
+                throw new Exception400.MemoBadRequest(String.format("사용자(userId=%d)는 이미 OpenAI 일일 호출횟수(%d회)를 모두 소진했습니다.", loginUserId, MAX_DAILY_OPENAI_USAGE));
+            }
         }
-        int titleLenInPrompt = (MAX_TITLE_LENGTH-2 > 0) ? MAX_TITLE_LENGTH-2 : MAX_TITLE_LENGTH;
-        String extraPrompt = (prevTitle != null)
-                ? String.format("\n- 이 제목은 절대 사용 금지: \"%s\" (동일한 경우 무효)", prevTitle.strip()) : "";
-        String prompt = String.format("""
-                아래 글에 어울리는 새로운 제목을 작성해 주세요.
-
-                # 조건
-                - 글자 수 %d자 이하 (공백 포함, 초과 시 무효)
-                - 가능한 한 %d자에 가깝게 작성%s
-                - 제목만 작성, 다른 설명 금지
-                - 위 조건들을 반드시 준수
-
-                # 글
-                %s
-                """, titleLenInPrompt, titleLenInPrompt, extraPrompt, content);
 
-        // 4. OpenAI 호출 & 제목 생성 (generate memoTitle)
-        String generatedTitle = null, resultTitle = null;
-        int retryInner = 3;
+        // 3. AI Prompt 생성 (make AI Prompt)
+        metricRecorder.increment(OPENAI_TITLE_CACHE_MISS_METRIC);
+        String prompt = toTitlePrompt(content, prevTitle, titleLenInPrompt);
+
+        // 4. 개인별 일일 AI 호출횟수 예약 (reserve OpenAIUsage)
+        // 호출 이전에 1회를 원자적으로 차감하므로, 같은 사용자의 동시 요청도 한도를 넘지 못함. (호출 실패 시 예약한 날짜의 호출횟수로 환불)
+        LocalDate usageDate = LocalDate.now(TimeConverter.KST_ZONEID);
+        Integer reservedUsage = openAIQuotaService.reserveDailyUsage(loginUserId, usageDate, MAX_DAILY_OPENAI_USAGE);
+        if(reservedUsage == null) {  // 1.의 체크 이후, 다른 요청이 남은 한도를 모두 사용한 경우
+            String localTitle = keyphraseTitleGenerator.generate(content, prevTitle);
+            if(localTitle != null) return toLocalTitleResponse(localTitle, MAX_DAILY_OPENAI_USAGE);
+            throw new Exception400.MemoBadRequest(String.format("사용자(userId=%d)는 이미 OpenAI 일일 호출횟수(%d회)를 모두 소진했습니다.", loginUserId, MAX_DAILY_OPENAI_USAGE));
+        }
+        openAIUsage = reservedUsage;
+
+        // 5. OpenAI 호출 & 제목 생성 (generate memoTitle)
+        // 한 번의 호출로 여러 후보(n개의 choices)를 받아 로컬에서 고르므로, 대부분은 순차 재호출 없이 끝남. (입력 토큰은 1회분만 과금됨.)
+        // 서버 전체 분당 한도(RPM · TPM)를 먼저 획득하며, 대기시간 초과 · OpenAI 한도 초과(429) · 장애(500)라면 예약을 환불하고 로컬 추출형 제목으로 대신 응답.
+        long promptTokens = TokenEstimator.estimate(prompt, encoding) + TokenEstimator.MESSAGE_OVERHEAD_TOKENS;
+        List<String> candidateList;
+        try {
+            openAIQuotaService.acquireRateLimit(promptTokens + (long) chatMaxTokens * TITLE_CANDIDATE_COUNT);  // 429 예외 응답 포함됨
+            candidateList = openAIClient.getChatAnswers(prompt, TITLE_CANDIDATE_COUNT);  // 429 및 500 예외 응답 포함됨
+        } catch (Exception429.ExcessRequestOpenAI | Exception500.ExternalServer ex) {
+            openAIUsage = openAIQuotaService.refundDailyUsage(loginUserId, usageDate);
+            String localTitle = keyphraseTitleGenerator.generate(content, prevTitle);
+            if(localTitle == null) throw ex;
+            return toLocalTitleResponse(localTitle, openAIUsage);
+        } catch (RuntimeException ex) {
+            openAIQuotaService.refundDailyUsage(loginUserId, usageDate);
+            throw ex;
+        }
+        metricRecorder.increment(OPENAI_TITLE_CALL_METRIC);
+        metricRecorder.add(OPENAI_TITLE_PROMPT_TOKEN_METRIC, promptTokens);
+        if(savedTokens > 0) metricRecorder.add(OPENAI_TITLE_TOKEN_SAVED_METRIC, savedTokens);
+        metricRecorder.add(OPENAI_TITLE_CANDIDATE_METRIC, candidateList.size());
+        String resultTitle = selectTitleCandidate(candidateList, prevTitle, titleLenInPrompt);
+
+        // 조건을 만족하는 후보가 하나도 없을 때만, 기존 방식대로 한 개씩 순차 재호출.
+        if(resultTitle == null) metricRecorder.increment(OPENAI_TITLE_FALLBACK_METRIC);
+        String generatedTitle = null;
+        boolean isLocalTitle = false;
+        int retryInner = (resultTitle == null) ? TITLE_FALLBACK_RETRY_COUNT : 0;
         while(retryInner-- > 0) {
-            generatedTitle = openAIClient.getChatAnswer(prompt);  // 429 및 500 예외 응답 포함됨
+            try {
+                openAIQuotaService.acquireRateLimit(promptTokens + chatMaxTokens);  // 429 예외 응답 포함됨
+                generatedTitle = openAIClient.getChatAnswer(prompt);  // 429 및 500 예외 응답 포함됨
+            } catch (Exception429.ExcessRequestOpenAI | Exception500.ExternalServer ex) {  // 후보 호출은 성공했으므로, 아래의 대체 제목 처리로 넘어감.
+                break;
+            }
             if(generatedTitle != null) {
                 generatedTitle = generatedTitle.strip();
                 boolean isDuplicateTitle = generatedTitle.equals(prevTitle);
@@ -305,6 +587,14 @@ public class MemoServiceImpl implements MemoService {
                 }
             }
         }
+        if(resultTitle == null || isFallbackTitle(resultTitle)) {  // AI가 조건에 맞는 제목을 만들지 못했다면, 고정된 대체 제목보다 로컬 추출형 제목을 우선함.
+            String localTitle = keyphraseTitleGenerator.generate(content, prevTitle);
+            if(localTitle != null) {
+                metricRecorder.increment(LOCAL_TITLE_METRIC);
+                resultTitle = localTitle;
+                isLocalTitle = true;
+            }
+        }
         if(resultTitle == null || resultTitle.isBlank()) {
             resultTitle = FALLBACK_LONG_TITLE;  // 14자
             if(resultTitle.length() > MAX_TITLE_LENGTH) {  // 안전 장치
@@ -314,19 +604,7 @@ public class MemoServiceImpl implements MemoService {
         else if(resultTitle.length() > MAX_TITLE_LENGTH) {
             resultTitle = resultTitle.substring(0, MAX_TITLE_LENGTH).strip();
         }
-
-        // 5. 개인별 일일 AI 호출횟수 증가 (increase OpenAIUsage)
-        if(openAIUsage == 0) {  // 당일 첫 호출인 경우
-            LocalDateTime now = LocalDateTime.now(TimeConverter.KST_ZONEID);
-            LocalDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay();
-            Long restMillisecond = Duration.between(now, midnight).toMillis();
-            redisRepository.setValue(openAIUsageKey, "1", restMillisecond);
-            openAIUsage = 1;
-        }
-        else {
-            Long dailyOpenAIUsage = redisRepository.updateCount(openAIUsageKey, 1);  // 파라미터를 1로 넣었으므로 null 체크 필요없음.
-            openAIUsage = dailyOpenAIUsage.intValue();
-        }
+        if(!isLocalTitle && !isFallbackTitle(resultTitle)) titleCache.put(titleCacheKey, resultTitle);  // 대체 제목은 다음 요청에서 다시 생성을 시도하도록 저장하지 않음.
 
         return MemoDto.GenerateResponse.builder()
                 .title(resultTitle)
@@ -345,59 +623,214 @@ public class MemoServiceImpl implements MemoService {
                 () -> new Exception404.NoSuchMemo(String.format("memoId = %d", memoId)));
     }
 
-    private static Predicate<Memo> filterMemos(String filter) {
-        if(filter == null) return memo -> true;
-        Predicate<Memo> predicate = switch (filter) {
-            case "private-memo" -> memo -> memo.getUserMemoList().size() == 1;
-            case "group-memo" -> memo -> memo.getUserMemoList().size() > 1;
-            case "star-memo" -> memo -> memo.getIsStar() == 1;
+    private static String toTitleCacheKey(String content, String prevTitle) {  // 글 원문의 해시 (요약은 원문에 대해 결정적이므로, 요약 이전에 계산하여 적중 시 요약 비용도 생략함.)
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(content.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);  // 글과 이전 제목의 경계 구분
+            if(prevTitle != null) messageDigest.update(prevTitle.strip().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);  // SHA-256은 모든 JVM에서 지원되므로 발생하지 않음.
+        }
+    }
+
+    private static String toTitlePrompt(String content, String prevTitle, int titleLenInPrompt) {
+        String extraPrompt = (prevTitle != null)
+                ? String.format("\n- 이 제목은 절대 사용 금지: \"%s\" (동일한 경우 무효)", prevTitle.strip()) : "";
+        return String.format("""
+                아래 글에 어울리는 새로운 제목을 작성해 주세요.
+
+                # 조건
+                - 글자 수 %d자 이하 (공백 포함, 초과 시 무효)
+                - 가능한 한 %d자에 가깝게 작성%s
+                - 제목만 작성, 다른 설명 금지
+                - 위 조건들을 반드시 준수
+
+                # 글
+                %s
+                """, titleLenInPrompt, titleLenInPrompt, extraPrompt, content);
+    }
+
+    // 글을 토큰 예산 이하로 압축. (글의 평균 토큰 밀도로 목표 글자수를 정해 요약하고, 요약된 문장들의 밀도가 더 높아 예산을 넘는다면 뒷부분을 잘라냄.)
+    private String compactToTokenBudget(String content, int contentTokens, int tokenBudget, TokenEstimator.Encoding encoding) {
+        metricRecorder.increment(OPENAI_TITLE_COMPACT_METRIC);
+        int targetLength = Math.max(MAX_TITLE_LENGTH, (int) ((long) content.length() * tokenBudget / contentTokens));
+        String compactedContent = summaryService.summarize(content, targetLength);  // 시간 초과 시, 앞부분 문장들로 대체됨.
+        if(TokenEstimator.estimate(compactedContent, encoding) > tokenBudget) {
+            compactedContent = TokenEstimator.truncate(compactedContent, tokenBudget, encoding);
+        }
+        return compactedContent;
+    }
+
+    // 후보 중 조건(공백 아님, 최대 제목길이 이하, 이전 제목과 다름)을 만족하면서, 프롬프트의 목표 길이에 가장 가까운 제목을 선택. (없다면 null 반환)
+    private static String selectTitleCandidate(List<String> candidateList, String prevTitle, int targetLength) {
+        String selectedTitle = null;
+        for(String candidate : candidateList) {
+            if(candidate == null) continue;
+            String title = candidate.strip();
+            if(title.isBlank() || title.length() > MAX_TITLE_LENGTH || title.equals(prevTitle)) continue;
+            if(selectedTitle == null || Math.abs(title.length() - targetLength) < Math.abs(selectedTitle.length() - targetLength)) {
+                selectedTitle = title;  // 길이 차이가 같다면, 먼저 생성된 후보를 유지.
+            }
+        }
+        return selectedTitle;
+    }
+
+    private MemoDto.GenerateResponse toLocalTitleResponse(String localTitle, int openAIUsage) {  // 로컬 추출형 제목은 AI 제목 캐시에 저장하지 않음. (다음 요청에서 AI 생성을 다시 시도)
+        metricRecorder.increment(LOCAL_TITLE_METRIC);
+        return MemoDto.GenerateResponse.builder()
+                .title(localTitle)
+                .dailyAIUsage(openAIUsage)
+                .isMaxDailyAIUsage(openAIUsage >= MAX_DAILY_OPENAI_USAGE)
+                .build();
+    }
+
+    private static boolean isFallbackTitle(String title) {
+        return FALLBACK_LONG_TITLE.equals(title) || FALLBACK_SHORT_TITLE.equals(title)
+                || FALLBACK_DUPLICATE_LONG_TITLE.equals(title) || FALLBACK_DUPLICATE_SHORT_TITLE.equals(title);
+    }
+
+    // 버전 조건부 UPDATE로 제목과 본문을 수정. (title == null일 경우, 제목은 유지)
+    // - currentContent : currentVersion 시점의 본문 (호출부에서 이미 읽은 경우에만 전달하며, null이라면 최신 버전과 같을 때만 조회함.)
+    private void updateWithVersion(Long memoId, Long currentVersion, Long fencingToken, String title, String content, String currentContent) {
+        if(currentVersion == null) {
+            throw new Exception400.MemoBadRequest("잘못된 필드값으로 API를 요청하였습니다.");
+        }
+
+        // 제목과 본문이 모두 그대로인 요청은 버전 · 수정날짜를 바꾸지 않고 종료하며, 본문이 그대로라면 MEDIUMTEXT 행은 다시 쓰지 않음.
+        // (버전이 바뀌지 않으므로 ETag와 목록 캐시도 그대로 유지됨.)
+        Long latestVersion = memoRepository.findVersionById(memoId);
+        if(latestVersion == null) throw new Exception404.NoSuchMemo(String.format("memoId = %d", memoId));
+        boolean isLatestVersion = latestVersion.equals(currentVersion);
+        if(currentContent == null && isLatestVersion) currentContent = memoContentRepository.findContentById(memoId);
+        boolean isContentChanged = (currentContent == null || !currentContent.equals(content));
+        if(isContentChanged == false && isLatestVersion && (title == null || title.equals(memoRepository.findTitleById(memoId)))) {
+            return;
+        }
+
+        long savedVersion = currentVersion + 1;
+        String savedTitle = title;  // 리비전에 저장할 제목
+        LocalDateTime modifiedTime = LocalDateTime.now();
+        int updatedCount = memoRepository.updateWithVersion(memoId, currentVersion, fencingToken, title, Memo.toPreview(content), modifiedTime);
+        if(updatedCount == 0) {  // 전달받은 버전이 현재 버전과 다르거나(다른 사용자가 먼저 수정함), 더 최신 편집락으로 이미 수정되었거나, 메모가 존재하지 않는 경우
+            // 최신 행을 잠그고 읽은 후, 요청의 기준 버전(base) · 최신 버전(theirs) · 요청(ours)을 3-way 병합하여 충돌이 없다면 그대로 반영함.
+            Memo latestMemo = memoRepository.findByIdForUpdate(memoId).orElseThrow(
+                    () -> new Exception404.NoSuchMemo(String.format("memoId = %d", memoId)));
+            MemoDto.RevisionDetailResponse baseRevision = (latestMemo.getVersion() > currentVersion) ? findBaseRevision(memoId, currentVersion) : null;
+            if(baseRevision == null) {  // 버전은 그대로인데 펜싱 토큰으로 거부되었거나, 기준 버전의 리비전이 없어 병합할 수 없는 경우
+                throw new Exception409.ConflictData(null);  // 이는 부모에서 catch 로깅되므로, 불필요한 중복 메세지를 null로 지정.
+            }
+
+            String latestTitle = latestMemo.getTitle();
+            String latestContent = memoContentRepository.findLatestContentById(memoId);
+            String mergedContent = TextMerger.merge(baseRevision.getContent(), content, latestContent);
+            if(title != null && !title.equals(latestTitle)) {  // 제목은 한 줄이므로, 한쪽만 변경한 경우에만 병합함.
+                if(title.equals(baseRevision.getTitle())) title = null;  // 요청은 제목을 변경하지 않았으므로, 최신 제목을 유지.
+                else if(baseRevision.getTitle() == null || !baseRevision.getTitle().equals(latestTitle)) mergedContent = null;  // 양쪽이 서로 다르게 변경함.
+            }
+            if(mergedContent == null) {  // 같은 위치를 서로 다르게 수정한 진짜 충돌
+                throw new Exception409.ConflictData(null);
+            }
+            isContentChanged = !mergedContent.equals(latestContent);
+            if(isContentChanged == false && (title == null || title.equals(latestTitle))) return;  // 요청의 변경사항이 이미 최신 버전에 모두 반영되어 있는 경우
+
+            updatedCount = memoRepository.updateWithVersion(memoId, latestMemo.getVersion(), fencingToken, title, Memo.toPreview(mergedContent), modifiedTime);
+            if(updatedCount == 0) {  // 더 최신 편집락으로 이미 수정된 경우 (행을 잠근 이후이므로, 버전은 바뀌지 않음.)
+                throw new Exception409.ConflictData(null);
+            }
+            content = mergedContent;
+            savedVersion = latestMemo.getVersion() + 1;
+            savedTitle = (title != null) ? title : latestTitle;
+            metricRecorder.increment(MEMO_UPDATE_MERGE_METRIC);
+        }
+        if(savedTitle == null) savedTitle = memoRepository.findTitleById(memoId);  // 제목 없이 본문만 수정한 경우 (같은 트랜잭션의 수정 결과가 조회됨.)
+        // 메모 행의 잠금을 획득한 이후이므로, 리비전 기록과 본문 수정이 다른 트랜잭션과 뒤섞이지 않음.
+        memoRevisionService.recordRevision(memoId, savedVersion, savedTitle, content);  // 직전 본문을 읽을 수 있도록, 본문 수정 이전에 기록.
+        if(isContentChanged == true) memoContentRepository.updateContentByMemoId(memoId, content);
+        userMemoRepository.syncMemoModifiedTime(memoId, modifiedTime);  // 목록 정렬기준 갱신
+
+        eventPublisher.publishEvent(new MemoListChangedEvent(userMemoRepository.findUserIdsByMemoId(memoId)));  // 제목 및 수정날짜(정렬순서) 변경
+        eventPublisher.publishEvent(MemoChangedEvent.upsert(List.of(memoId)));
+    }
+
+    private MemoDto.RevisionDetailResponse findBaseRevision(Long memoId, long version) {  // 병합의 기준 버전 리비전 (DB 수정 이력에서 복원하며, 없다면 null 반환)
+        return memoRevisionService.restoreRevision(memoId, version);
+    }
+
+    private List<MemoDto.MemoPageResponse> findMemoPagesWithCache(Long userId) {
+        MemoListCacheRepository.CacheLookup cacheLookup = memoListCacheRepository.find(userId);
+        if(cacheLookup.isHit() == true) {
+            metricRecorder.increment(MEMO_LIST_CACHE_HIT_METRIC);
+            return cacheLookup.getMemoPageList();
+        }
+
+        metricRecorder.increment(MEMO_LIST_CACHE_MISS_METRIC);
+        List<MemoDto.MemoPageResponse> memoPageResponseDtoList = memoQueryRepository.findMemoPagesByUserId(userId, null);  // 본문 없이 Projection 조회
+        memoListCacheRepository.save(userId, cacheLookup.getVersion(), memoPageResponseDtoList);  // DB 조회 이전에 읽어둔 버전으로 저장.
+        return memoPageResponseDtoList;
+    }
+
+    private static Predicate<MemoDto.MemoPageResponse> filterMemoPages(String filter) {
+        if(filter == null) return memoPage -> true;
+        Predicate<MemoDto.MemoPageResponse> predicate = switch (filter) {
+            case "private-memo" -> memoPage -> memoPage.getMemoHasUsersCount() == 1;
+            case "group-memo" -> memoPage -> memoPage.getMemoHasUsersCount() > 1;
+            case "star-memo" -> memoPage -> memoPage.getIsStar() == 1;
             default -> throw new Exception400.MemoBadRequest("잘못된 쿼리파라미터로 API를 요청하였습니다.");
         };
         return predicate;
     }
 
-    private static Predicate<Memo> searchMemos(String search) {
-        if(search == null) return memo -> true;
-        String lowerSearch = search.toLowerCase();
-        return memo -> memo.getTitle().toLowerCase().contains(lowerSearch) || memo.getContent().toLowerCase().contains(lowerSearch);
+    private static String encodeChangeToken(long changeId, long issuedMillis) {  // 동기화 토큰 = Base64("{변경 시퀀스}_{발급시각}")
+        String rawToken = changeId + "_" + issuedMillis;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decodeChangeToken(String token) {  // { 변경 시퀀스, 발급시각 }
+        try {
+            String rawToken = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIdx = rawToken.indexOf('_');
+            return new long[]{ Long.parseLong(rawToken.substring(0, separatorIdx)), Long.parseLong(rawToken.substring(separatorIdx + 1)) };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {  // NumberFormatException 포함
+            throw new Exception400.MemoBadRequest(String.format("잘못된 동기화 토큰으로 API를 요청하였습니다. (since = %s)", token));
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime modifiedTime, Long memoId) {  // 커서 = Base64("{수정날짜}_{memoId}")
+        String rawCursor = modifiedTime.toString() + "_" + memoId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String rawCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIdx = rawCursor.lastIndexOf('_');
+            LocalDateTime cursorTime = LocalDateTime.parse(rawCursor.substring(0, separatorIdx));
+            Long cursorId = Long.valueOf(rawCursor.substring(separatorIdx + 1));
+            return new Object[]{ cursorTime, cursorId };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {  // NumberFormatException 포함
+            throw new Exception400.MemoBadRequest(String.format("잘못된 커서로 API를 요청하였습니다. (cursor = %s)", cursor));
+        }
     }
 
     @Override
-    public void checkOwnLock(String key, Long userId, boolean isRequiredExistKey) {  // DI된 redisRepository 의존성 인스턴스 변수를 사용하므로, static으로는 선언하지 않는것이 권장됨.
+    public Long checkOwnLock(Long memoId, Long userId, boolean isRequiredExistKey) {  // DI된 editLockRepository 의존성 인스턴스 변수를 사용하므로, static으로는 선언하지 않는것이 권장됨.
         // 파라미터 isRequiredExistKey==true인 경우 :
         //      - Redis에 해당 키가 존재하지않을때 검사 실패.
         //      - Redis에 해당 키가 존재하나, 본인의 락이 아니라면 검사 실패.
         // 파라미터 isRequiredExistKey==false인 경우 (굳이 키가 존재하지않아도 괜찮음) :
         //      - Redis에 해당 키가 존재하나, 본인의 락이 아니라면 검사 실패.
-        Boolean isOwnLock = redisRepository.checkOwner(key, userId);
-        if(isOwnLock == null) {
+        // 반환값 : 본인 락의 펜싱 토큰 (락이 존재하지 않는 경우 null)
+        Long fencingToken = editLockRepository.checkOwner(memoId, userId);
+        if(fencingToken == null) {
             if(isRequiredExistKey == true) {  // 반드시 Redis에 키가 존재해야만 하는가?
                 throw new Exception423.LockedData("해당 데이터의 Lock은 존재하지 않습니다.");
             }
         }
-        else if(isOwnLock == false) {  // && isOwnLock != null
+        else if(fencingToken == 0L) {  // 키는 존재하나, 본인의 락이 아님.
             throw new Exception423.LockedData(String.format("해당 데이터의 Lock은 사용자(userId=%d)의 소유가 아닙니다.", userId));
         }
-    }
-
-    public static Object[] parseUserInfo(String value) {
-        StringTokenizer typeStt = new StringTokenizer(value, ",");
-        StringTokenizer fieldStt;
-        Long lockUserId = null;
-        String lockUserNickname = null;
-
-        while(typeStt.hasMoreTokens()) {
-            fieldStt = new StringTokenizer(typeStt.nextToken(), ":");
-            String fieldName = fieldStt.nextToken();
-            if(lockUserId == null && fieldName.equals("userId") == true) {
-                lockUserId = Long.valueOf(fieldStt.nextToken());
-            }
-            else if(lockUserNickname == null && fieldName.equals("userNickname") == true) {
-                lockUserNickname = fieldStt.nextToken();
-            }
-            if(lockUserId != null && lockUserNickname != null) break;
-        }
-
-        return new Object[]{ lockUserId, lockUserNickname };
+        return fencingToken;
     }
 }
@@ -0,0 +1,99 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.shj.onlinememospringproject.repository.OpenAIQuotaRepository;
+import com.shj.onlinememospringproject.response.exception.Exception429;
+import com.shj.onlinememospringproject.service.MetricRecorder;
+import com.shj.onlinememospringproject.service.OpenAIQuotaService;
+import com.shj.onlinememospringproject.util.TimeConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OpenAIQuotaServiceImpl implements OpenAIQuotaService {  // OpenAI 호출량 제한 (사용자별 일일 한도 + 서버 전체 분당 한도)
+
+    // - 사용자별 일일 한도 : 호출 이전에 1회를 원자적으로 예약(차감)하므로, 동시 요청도 한도를 넘지 못함. 호출이 실패하면 환불함.
+    // 환불은 예약한 날짜(KST)의 호출횟수에만 적용되므로, 호출 도중 자정이 지나더라도 새 날의 한도를 늘리지 않음.
+    // - 서버 전체 분당 한도 : OpenAI의 RPM · TPM 제한은 API 키 단위이므로, 모든 서버 인스턴스가 Redis의 토큰 버킷 하나를 함께 사용함.
+    // 버킷은 분당 한도의 BURST_SECONDS초분만 담을 수 있어, 순간적으로 몰린 요청은 OpenAI의 429 응답 대신 잠시 대기하며 고르게 나뉨.
+    // 대기가 MAX_RATE_LIMIT_WAIT을 넘는다면 호출하지 않고 429 예외로 응답함. (Redis 장애 시에는 분당 한도 없이 호출함.)
+
+    private static final int BURST_SECONDS = 5;  // 토큰 버킷 용량 = 분당 한도의 5초분
+    private static final long MAX_RATE_LIMIT_WAIT = 1000L * 2;  // 분당 한도 최대 대기시간 = 2초
+    private static final String RATE_LIMIT_WAIT_METRIC = "openai_rate_limit.wait";  // 버킷이 부족하여 대기한 횟수
+    private static final String RATE_LIMIT_REJECTED_METRIC = "openai_rate_limit.rejected";  // 최대 대기시간을 넘어 호출하지 못한 횟수
+
+    private final OpenAIQuotaRepository openAIQuotaRepository;
+    private final MetricRecorder metricRecorder;
+
+    @Value("${openai.rate-limit.rpm:500}")
+    private int requestsPerMinute;  // OpenAI 계정 등급의 RPM보다 약간 낮게 설정할 것.
+    @Value("${openai.rate-limit.tpm:200000}")
+    private int tokensPerMinute;  // OpenAI 계정 등급의 TPM보다 약간 낮게 설정할 것.
+
+
+    @Override
+    public int findDailyUsage(Long userId) {
+        return openAIQuotaRepository.findUsage(userId, LocalDate.now(TimeConverter.KST_ZONEID));
+    }
+
+    @Override
+    public Integer reserveDailyUsage(Long userId, LocalDate usageDate, int maxUsage) {  // 예약 후의 해당 날짜 호출횟수 반환 (이미 한도를 모두 사용했다면 null)
+        LocalDateTime now = LocalDateTime.now(TimeConverter.KST_ZONEID);
+        LocalDateTime midnight = usageDate.plusDays(1).atStartOfDay();
+        long restMillisecond = Math.max(1L, Duration.between(now, midnight).toMillis());
+
+        long usage = openAIQuotaRepository.reserve(userId, usageDate, maxUsage, restMillisecond);
+        return (usage != OpenAIQuotaRepository.RESERVE_REJECTED) ? (int) usage : null;
+    }
+
+    @Override
+    public int refundDailyUsage(Long userId, LocalDate usageDate) {  // 환불 후의 해당 날짜 호출횟수 반환 (usageDate : reserveDailyUsage()에 전달한 날짜)
+        return (int) openAIQuotaRepository.refund(userId, usageDate);
+    }
+
+    @Override
+    public void acquireRateLimit(long tokenCost) {  // 요청 1회와 tokenCost만큼의 토큰을 획득할 때까지 대기. (최대 대기시간 초과 시 429 예외)
+        double requestRefillPerMillis = requestsPerMinute / 60000.0;
+        double tokenRefillPerMillis = tokensPerMinute / 60000.0;
+        double requestCapacity = Math.max(1.0, requestsPerMinute * BURST_SECONDS / 60.0);
+        double tokenCapacity = Math.max(1.0, tokensPerMinute * BURST_SECONDS / 60.0);
+
+        long deadline = System.currentTimeMillis() + MAX_RATE_LIMIT_WAIT;
+        boolean isWaited = false;
+        while(true) {
+            long waitMillis;
+            try {
+                waitMillis = openAIQuotaRepository.acquire(requestCapacity, requestRefillPerMillis, tokenCapacity, tokenRefillPerMillis, tokenCost);
+            } catch (DataAccessException ex) {  // 분당 한도는 OpenAI의 429 응답을 줄이기 위한 보호장치이므로, Redis 장애가 호출 자체를 막지 않도록 함.
+                log.warn("OpenAI 분당 한도 확인 실패 - {}", ex.getMessage());
+                return;
+            }
+            if(waitMillis <= 0) return;
+
+            if(!isWaited) {
+                metricRecorder.increment(RATE_LIMIT_WAIT_METRIC);
+                isWaited = true;
+            }
+            long restMillis = deadline - System.currentTimeMillis();
+            if(waitMillis > restMillis) {
+                metricRecorder.increment(RATE_LIMIT_REJECTED_METRIC);
+                throw new Exception429.ExcessRequestOpenAI("AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException iex) {
+                Thread.currentThread().interrupt();  // 현재 스레드의 인터럽트 상태를 복원.
+                throw new Exception429.ExcessRequestOpenAI("AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+        }
+    }
+}
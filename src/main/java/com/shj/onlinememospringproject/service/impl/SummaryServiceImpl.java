@@ -0,0 +1,146 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.shj.onlinememospringproject.config.AsyncConfig;
+import com.shj.onlinememospringproject.service.MetricRecorder;
+import com.shj.onlinememospringproject.service.SummaryService;
+import com.shj.onlinememospringproject.util.KeyphraseTitleGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.recap.Summarizer;
+import org.recap.graph.Graph;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.text.BreakIterator;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SummaryServiceImpl implements SummaryService {  // 긴 글의 추출 요약 (TextRank)
+
+    // - 실행 방식 :
+    // 1. 요약은 전용 스레드풀(AsyncConfig.summaryExecutor)에서 실행되며, 요청 스레드는 SUMMARY_TIMEOUT까지만 기다림.
+    // 시간 초과 또는 스레드풀 포화 시에는 작업을 취소하고, 앞부분 문장들을 최대 길이에 맞춰 잘라낸 글로 대신함.
+    // 2. 메모는 수 MB까지 저장될 수 있으므로, 요약 이전에 문장 경계(BreakIterator)를 따라 글 전체에 고르게 떨어진 몇 구간만 남겨 입력 크기를 제한함.
+    // (전체 문장을 나누지 않고 구간 경계 부근만 탐색하므로, 글 길이와 무관하게 복사량은 MAX_SUMMARY_INPUT_LENGTH 이하임.)
+    // 3. 요약기와 형태소 분석기는 첫 사용 시 모델 · 사전을 불러오므로, 서버 시작 직후 미리 불러옴. (첫 요청이 로딩 비용을 지불하지 않음.)
+    // - 주의 : 요약 라이브러리는 인터럽트를 확인하지 않으므로, 취소된 작업도 끝까지 실행된 뒤 스레드를 반납함. (입력 크기 제한으로 실행시간의 상한을 둠.)
+
+    private static final int MAX_SUMMARY_INPUT_LENGTH = 60000;  // 요약기에 넘길 최대 입력길이 = 60000자 이하
+    private static final int TRIM_SECTION_COUNT = 4;  // 입력길이 제한 시 남길 구간 수 (첫 구간은 항상 글의 시작)
+    private static final long SUMMARY_TIMEOUT = 1000L * 3;  // 요약 최대 대기시간 = 3초
+    private static final String SUMMARY_TRIM_METRIC = "summary.trim";  // 입력길이 제한으로 글을 잘라낸 횟수
+    private static final String SUMMARY_TIMEOUT_METRIC = "summary.timeout";
+    private static final String SUMMARY_REJECTED_METRIC = "summary.rejected";  // 스레드풀 포화로 요약하지 못한 횟수
+    private static final String WARM_UP_TEXT = """
+            온라인 메모 서비스의 요약 기능을 준비합니다. 긴 메모는 중요한 문장만 남겨 제목 생성에 사용합니다.
+            요약은 문장 사이의 유사도를 계산하여 중심이 되는 문장을 고릅니다. 준비가 끝나면 첫 요청도 빠르게 처리됩니다.
+            """;
+
+    private static Summarizer summarizer = new Summarizer();  // 이 클래스 내에서만 사용되므로, 빈 등록 대신 static 선언.
+
+    @Qualifier(AsyncConfig.SUMMARY_EXECUTOR)
+    private final ThreadPoolTaskExecutor summaryExecutor;
+    private final MetricRecorder metricRecorder;
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {  // 서버 시작 직후, 요청이 들어오기 전에 모델 · 사전을 불러옴.
+        KeyphraseTitleGenerator.warmUp();  // 별도 스레드에서 로딩됨.
+        try {
+            summaryExecutor.execute(() -> {
+                try {
+                    summarizer.summarizeByTextLen(WARM_UP_TEXT, Graph.SimilarityMethods.COSINE_SIMILARITY, WARM_UP_TEXT.length() / 2);
+                    log.info("요약기 워밍업 완료");
+                } catch (RuntimeException ex) {
+                    log.warn("요약기 워밍업 실패 - {}", ex.getMessage());
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            log.warn("요약기 워밍업 등록 실패 - {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public String summarize(String content, int maxLength) {  // 최대 길이 이하의 요약 반환 (이미 짧다면 그대로 반환)
+        if(content.length() <= maxLength) return content;
+
+        String input = trimBySentence(content);
+        Future<String> summaryFuture;
+        try {
+            summaryFuture = summaryExecutor.submit(() -> summarizer.joinText(
+                    summarizer.summarizeByTextLen(
+                            input,  // 요약할 원본 텍스트
+                            Graph.SimilarityMethods.COSINE_SIMILARITY,  // 문장 간 유사도 계산 및 측정법 (COSINE or JACCARD)
+                            maxLength  // 요약될 최대 전체글자수 제한
+                    ), null));  // null == 구분자 "\n"
+        } catch (TaskRejectedException ex) {
+            metricRecorder.increment(SUMMARY_REJECTED_METRIC);
+            return cutBySentence(input, maxLength);
+        }
+
+        try {
+            String summary = summaryFuture.get(SUMMARY_TIMEOUT, TimeUnit.MILLISECONDS);
+            return (summary != null && !summary.isBlank()) ? summary : cutBySentence(input, maxLength);
+        } catch (TimeoutException ex) {
+            summaryFuture.cancel(true);
+            metricRecorder.increment(SUMMARY_TIMEOUT_METRIC);
+            log.warn("요약 시간 초과 - contentLength = {}, inputLength = {}", content.length(), input.length());
+        } catch (InterruptedException ex) {
+            summaryFuture.cancel(true);
+            Thread.currentThread().interrupt();  // 현재 스레드의 인터럽트 상태를 복원.
+        } catch (ExecutionException ex) {
+            log.warn("요약 실패 - contentLength = {}, {}", content.length(), ex.getCause().getMessage());
+        }
+        return cutBySentence(input, maxLength);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private String trimBySentence(String content) {  // 글 전체에 고르게 떨어진 TRIM_SECTION_COUNT개 구간을 문장 경계에 맞춰 이어붙임.
+        int contentLen = content.length();
+        if(contentLen <= MAX_SUMMARY_INPUT_LENGTH) return content;
+        metricRecorder.increment(SUMMARY_TRIM_METRIC);
+
+        BreakIterator sentenceIterator = BreakIterator.getSentenceInstance(Locale.KOREAN);
+        sentenceIterator.setText(content);  // 문자열을 복사하지 않고 필요한 위치만 탐색함.
+        int sectionLen = (MAX_SUMMARY_INPUT_LENGTH - (TRIM_SECTION_COUNT - 1)) / TRIM_SECTION_COUNT;  // 구간 사이의 구분자("\n")까지 포함하여 최대 입력길이 이하
+        StringBuilder inputSb = new StringBuilder(MAX_SUMMARY_INPUT_LENGTH);
+        for(int sectionIdx=0; sectionIdx<TRIM_SECTION_COUNT; sectionIdx++) {
+            int start = (int) ((long) (contentLen - sectionLen) * sectionIdx / (TRIM_SECTION_COUNT - 1));
+            if(start > 0) {
+                int nextBoundary = sentenceIterator.following(start);  // 구간은 문장의 시작에서 시작함.
+                if(nextBoundary != BreakIterator.DONE && nextBoundary - start < sectionLen) start = nextBoundary;
+            }
+            int end = toSentenceEnd(sentenceIterator, start, Math.min(start + sectionLen, contentLen));
+            if(end <= start) continue;
+
+            if(!inputSb.isEmpty()) inputSb.append('\n');
+            inputSb.append(content, start, end);
+        }
+        return inputSb.toString();
+    }
+
+    private String cutBySentence(String text, int maxLength) {  // 요약 대신, 앞부분 문장들을 최대 길이에 맞춰 자름.
+        if(text.length() <= maxLength) return text;
+        BreakIterator sentenceIterator = BreakIterator.getSentenceInstance(Locale.KOREAN);
+        sentenceIterator.setText(text);
+        return text.substring(0, toSentenceEnd(sentenceIterator, 0, maxLength));
+    }
+
+    private static int toSentenceEnd(BreakIterator sentenceIterator, int start, int limit) {  // limit 이하의 마지막 문장 경계 (start 이후의 경계가 없다면 limit)
+        if(limit >= sentenceIterator.getText().getEndIndex()) return limit;
+        int boundary = sentenceIterator.preceding(limit + 1);
+        return (boundary != BreakIterator.DONE && boundary > start) ? boundary : limit;
+    }
+}
@@ -0,0 +1,98 @@
+package com.shj.onlinememospringproject.service.impl;
+
+import com.shj.onlinememospringproject.config.AsyncConfig;
+import com.shj.onlinememospringproject.domain.enums.TitleJobStatus;
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.repository.TitleJobRepository;
+import com.shj.onlinememospringproject.response.ResponseCode;
+import com.shj.onlinememospringproject.response.exception.CustomException;
+import com.shj.onlinememospringproject.response.exception.Exception400;
+import com.shj.onlinememospringproject.response.exception.Exception404;
+import com.shj.onlinememospringproject.response.exception.Exception429;
+import com.shj.onlinememospringproject.service.MemoService;
+import com.shj.onlinememospringproject.service.TitleJobService;
+import com.shj.onlinememospringproject.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TitleJobServiceImpl implements TitleJobService {  // AI 제목 생성의 비동기 작업 (등록 즉시 응답 & 결과는 폴링으로 조회)
+
+    // - 요청 스레드는 작업 등록만 하고 바로 반환되며, OpenAI 호출은 전용 스레드풀(AsyncConfig.openAITitleExecutor)에서 실행됨.
+    // - 작업 스레드에도 요청자의 로그인 정보를 전달하므로, 호출한도 및 제목 캐시는 동기 API(generateTitleByOpenAI)와 동일하게 적용됨.
+
+    private final MemoService memoService;
+    private final TitleJobRepository titleJobRepository;
+    @Qualifier(AsyncConfig.OPENAI_TITLE_EXECUTOR)
+    private final ThreadPoolTaskExecutor openAITitleExecutor;
+
+
+    @Override
+    public MemoDto.TitleJobResponse submitTitleJob(MemoDto.GenerateRequest generateRequestDto) {
+        if(generateRequestDto.getContent() == null) {  // 작업 실행 이전에 검증 가능한 요청 오류는 즉시 응답.
+            throw new Exception400.MemoBadRequest("잘못된 필드값으로 API를 요청하였습니다.");
+        }
+
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        String jobId = UUID.randomUUID().toString();
+        titleJobRepository.create(jobId, loginUserId);
+        try {
+            openAITitleExecutor.execute(DelegatingSecurityContextRunnable.create(
+                    () -> runTitleJob(jobId, generateRequestDto), SecurityContextHolder.getContext()));
+        } catch (TaskRejectedException ex) {  // 전용 스레드풀의 대기열까지 가득 찬 경우
+            titleJobRepository.delete(jobId);
+            throw new Exception429.ExcessRequestOpenAI("AI 제목 생성 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        return MemoDto.TitleJobResponse.builder()
+                .jobId(jobId)
+                .status(TitleJobStatus.PENDING.name())
+                .build();
+    }
+
+    @Override
+    public MemoDto.TitleJobResponse findTitleJob(String jobId) {
+        Long loginUserId = SecurityUtil.getCurrentMemberId();
+        TitleJobRepository.TitleJob titleJob = titleJobRepository.find(jobId);
+        if(titleJob == null || !titleJob.getUserId().equals(loginUserId)) {  // 다른 사용자의 작업은 존재 여부도 알리지 않음.
+            throw new Exception404.NoSuchTitleJob(String.format("jobId = %s", jobId));
+        }
+
+        return MemoDto.TitleJobResponse.builder()
+                .jobId(jobId)
+                .status(titleJob.getStatus().name())
+                .title(titleJob.getTitle())
+                .dailyAIUsage(titleJob.getDailyAIUsage())
+                .isMaxDailyAIUsage(titleJob.getIsMaxDailyAIUsage())
+                .errorCode(titleJob.getErrorCode())
+                .errorMessage(titleJob.getErrorMessage())
+                .build();
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private void runTitleJob(String jobId, MemoDto.GenerateRequest generateRequestDto) {  // 작업 스레드에서 실행됨.
+        try {
+            titleJobRepository.updateStatus(jobId, TitleJobStatus.RUNNING);
+            MemoDto.GenerateResponse generateResponseDto = memoService.generateTitleByOpenAI(generateRequestDto);
+            titleJobRepository.complete(jobId, generateResponseDto.getTitle(),
+                    generateResponseDto.getDailyAIUsage(), generateResponseDto.getIsMaxDailyAIUsage());
+        } catch (CustomException ex) {  // 호출한도 초과(400), OpenAI 429 및 500 등은 동기 API와 같은 코드로 전달.
+            titleJobRepository.fail(jobId, ex.getErrorResponseCode().name(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("AI 제목 생성 작업 실패 - jobId = {}, {}", jobId, ex.getMessage());
+            titleJobRepository.fail(jobId, ResponseCode.INTERNAL_SERVER_ERROR.name(), null);
+        }
+    }
+}
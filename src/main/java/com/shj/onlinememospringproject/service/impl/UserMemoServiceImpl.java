@@ -3,6 +3,9 @@ package com.shj.onlinememospringproject.service.impl;
 import com.shj.onlinememospringproject.domain.Memo;
 import com.shj.onlinememospringproject.domain.User;
 import com.shj.onlinememospringproject.domain.mapping.UserMemo;
+import com.shj.onlinememospringproject.event.MemoChangedEvent;
+import com.shj.onlinememospringproject.event.MemoListChangedEvent;
+import com.shj.onlinememospringproject.repository.MemoAccessCacheRepository;
 import com.shj.onlinememospringproject.repository.MemoRepository;
 import com.shj.onlinememospringproject.repository.UserMemoBatchRepository;
 import com.shj.onlinememospringproject.repository.UserMemoRepository;
@@ -12,9 +15,11 @@ import com.shj.onlinememospringproject.response.exception.Exception404;
 import com.shj.onlinememospringproject.service.UserMemoService;
 import com.shj.onlinememospringproject.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,6 +32,8 @@ public class UserMemoServiceImpl implements UserMemoService {
     private final MemoRepository memoRepository;
     private final UserMemoRepository userMemoRepository;
     private final UserMemoBatchRepository userMemoBatchRepository;
+    private final MemoAccessCacheRepository memoAccessCacheRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
@@ -62,6 +69,13 @@ public class UserMemoServiceImpl implements UserMemoService {
                         .build())
                 .collect(Collectors.toList());
         userMemoBatchRepository.batchInsert(userMemoList);  // UserMemos - Batch Insert
+        memoRepository.refreshMemberCount(memoId);  // 같은 트랜잭션에서 사용자 수 갱신.
+
+        // 기존 사용자들(즐겨찾기 해제 및 사용자 추가)과 신규 사용자들(메모 추가) 모두의 목록 캐시 무효화
+        Set<Long> changedUserIdSet = new HashSet<>(existUserIdSet);
+        changedUserIdSet.addAll(userIdList);
+        eventPublisher.publishEvent(new MemoListChangedEvent(changedUserIdSet));
+        eventPublisher.publishEvent(MemoChangedEvent.upsert(List.of(memoId)));
     }
 
 
@@ -71,16 +85,23 @@ public class UserMemoServiceImpl implements UserMemoService {
     @Transactional(readOnly = true)
     @Override
     public void checkUserInMemo(Long userId, Long memoId) {  // DI된 userMemoRepository 의존성 인스턴스 변수를 사용하므로, static으로는 선언하지 않는것이 권장됨.
+        if(memoAccessCacheRepository.contains(userId, memoId)) return;  // 접근권한 캐시 적중 시, DB 조회 생략.
+
         if(!userMemoRepository.existsByUser_IdAndMemo_Id(userId, memoId)) {  // 애초에 초대할 권한(메모에 포함되지않은 사용자인 경우)이 없는 경우
             throw new Exception404.NoSuchUserMemo(String.format("userId = %d, memoId = %d", userId, memoId));
         }
+        memoAccessCacheRepository.save(userId, memoId);
     }
 
     // 해당 메모가 공동메모인지 체킹하는 메소드
     @Transactional(readOnly = true)
     @Override
     public boolean checkGroupMemo(Long memoId) {
-        boolean isGroupMemo = (userMemoRepository.isGroupMemoByMemoId(memoId) != 0);
+        Integer memberCount = memoRepository.findMemberCountById(memoId);  // 메모 행의 비정규화된 사용자 수를 PK로 조회.
+        if(memberCount == null || memberCount == 0) {  // 컬럼 추가 이후 아직 채워지지 않은 메모 (0 = 알 수 없음) ==> user_memo를 직접 카운트.
+            return userMemoRepository.countByMemo_Id(memoId) > 1;
+        }
+        boolean isGroupMemo = (memberCount > 1);
         return isGroupMemo;
     }
 }
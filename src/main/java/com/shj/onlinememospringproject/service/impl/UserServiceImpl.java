@@ -2,11 +2,15 @@ package com.shj.onlinememospringproject.service.impl;
 
 import com.shj.onlinememospringproject.domain.User;
 import com.shj.onlinememospringproject.dto.UserDto;
+import com.shj.onlinememospringproject.event.MemoChangedEvent;
+import com.shj.onlinememospringproject.event.MemoListChangedEvent;
+import com.shj.onlinememospringproject.repository.UserMemoRepository;
 import com.shj.onlinememospringproject.repository.UserRepository;
 import com.shj.onlinememospringproject.response.exception.Exception404;
 import com.shj.onlinememospringproject.service.UserService;
 import com.shj.onlinememospringproject.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserMemoRepository userMemoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional(readOnly = true)
@@ -29,7 +35,12 @@ public class UserServiceImpl implements UserService {
     @Override
     public void updateUserProfile(UserDto.UpdateRequest updateRequestDto) {
         User user = findLoginUser();
+        if(user.getNickname().equals(updateRequestDto.getNickname())) return;  // 닉네임 변경이 없다면, 목록 캐시도 유지함.
         user.updateNickName(updateRequestDto.getNickname());
+
+        // 메모 목록에는 공동작성자들의 닉네임이 포함되므로, 함께 메모를 가진 모든 사용자들의 목록 캐시 무효화
+        eventPublisher.publishEvent(new MemoListChangedEvent(userMemoRepository.findCoMemberUserIdsByUserId(user.getId())));
+        eventPublisher.publishEvent(MemoChangedEvent.upsert(userMemoRepository.findMemoIdsByUserId(user.getId())));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,50 @@
+package com.shj.onlinememospringproject.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class DeflateCompressor {  // 문자열의 Deflate 압축 · 해제 (리비전 저장용)
+
+    private static final int BUFFER_SIZE = 8192;
+
+
+    public static byte[] compress(String str) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(str.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while(!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();  // 네이티브 메모리 즉시 해제
+        }
+    }
+
+    public static String decompress(byte[] bytes) {  // 손상된 데이터일 경우, IllegalStateException 발생
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while(!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if(length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축 데이터가 손상되었습니다.");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("압축 데이터가 손상되었습니다.", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
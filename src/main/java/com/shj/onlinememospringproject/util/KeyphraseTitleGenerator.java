@@ -0,0 +1,332 @@
+package com.shj.onlinememospringproject.util;
+
+import kr.bydelta.koala.POS;
+import kr.bydelta.koala.data.Morpheme;
+import kr.bydelta.koala.data.Sentence;
+import kr.bydelta.koala.data.Word;
+import kr.bydelta.koala.hnn.Tagger;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class KeyphraseTitleGenerator {  // 로컬 추출형 제목 생성기 (OpenAI 호출 없이, 서버 내에서 핵심 키워드로 짧은 제목을 만듦.)
+
+    // - 동작 방식 :
+    // 1. 글의 앞부분(최대 MAX_INPUT_LENGTH자)을 형태소 분석(KoalaNLP 한나눔)하여, 일반명사 · 고유명사 · 외국어만 키워드로 남김.
+    // 2. 같은 문장 안에서 WINDOW_SIZE 이내로 함께 등장한 키워드끼리 연결한 그래프에 TextRank를 적용하여 키워드 점수를 계산함.
+    // 3. 글에서 연달아 등장한 명사 어절들(ex. '주간 회의 안건')을 후보 구로 묶어 키워드 점수의 합으로 순위를 매기고, 최대 제목길이 안에서 상위 구들을 이어붙임.
+    // - 형태소 분석기는 사전 로딩에 수 초가 걸리므로 별도 스레드에서 불러오며, 로딩 전에는 어절 단위 분석(조사 제거)으로 대신함. (호출이 사전 로딩을 기다리지 않음.)
+    // 분석기는 모든 생성기 인스턴스가 함께 사용하므로, 사전은 서버 인스턴스당 한 번만 불러와짐.
+
+    private static final int MAX_INPUT_LENGTH = 2000;  // 분석할 글의 최대 길이 (제목의 핵심어는 대부분 글의 앞부분에 있음.)
+    private static final int MAX_PHRASE_WORD_COUNT = 3;  // 후보 구의 최대 어절 수
+    private static final int MAX_TITLE_PHRASE_COUNT = 2;  // 제목에 이어붙일 최대 구 수
+    private static final int WINDOW_SIZE = 3;  // 동시 등장으로 볼 키워드 간 최대 거리
+    private static final double DAMPING_FACTOR = 0.85;
+    private static final int MAX_ITERATION = 30;
+    private static final double CONVERGENCE_THRESHOLD = 0.0001;
+    private static final double FIRST_SENTENCE_BONUS = 1.2;  // 첫 문장에 등장한 구의 가중치 (메모는 보통 첫 줄에 주제를 적음.)
+
+    private static final Pattern SENTENCE_DELIMITER = Pattern.compile("(?<=[.!?。])\\s+|\\n+");
+    private static final Pattern WORD_DELIMITER = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD_CHAR = Pattern.compile("[^0-9A-Za-z가-힣]");
+    private static final Pattern LATIN_WORD = Pattern.compile("[A-Za-z][0-9A-Za-z]*");
+    private static final String[] JOSA_SUFFIXES = {  // 어절 단위 분석용 조사 (긴 것부터 비교)
+            "에서는", "으로는", "에게서", "이라고", "에서", "에게", "으로", "까지", "부터", "처럼", "보다", "이나", "이랑", "하고", "라고",
+            "은", "는", "이", "가", "을", "를", "의", "에", "도", "로", "와", "과", "만"};
+    private static final String[] PREDICATE_SUFFIXES = {"다", "요", "며", "면", "게", "지", "서", "고", "죠", "네"};  // 어절 단위 분석용 용언 어미
+    private static final String[] PREDICATE_STEM_SUFFIXES = {"하", "되", "했", "됐", "있", "없", "았", "었"};  // 조사로 오인된 관형형 어미('-는', '-은') 앞의 용언 어간
+
+    private static final AtomicBoolean isLoadStarted = new AtomicBoolean(false);
+    private static final Object TAGGER_LOCK = new Object();
+    private static volatile Tagger tagger;  // 로딩 전 또는 로딩 실패 시 null
+
+    private final int maxTitleLength;
+
+
+    public KeyphraseTitleGenerator(int maxTitleLength) {
+        this.maxTitleLength = maxTitleLength;
+    }
+
+    public static void warmUp() {  // 형태소 분석기 사전 로딩을 시작함. (한 번만 수행되며, 완료를 기다리지 않음.)
+        if(!isLoadStarted.compareAndSet(false, true)) return;
+        Thread loaderThread = new Thread(KeyphraseTitleGenerator::loadTagger, "keyphrase-tagger-loader");
+        loaderThread.setDaemon(true);
+        loaderThread.start();
+    }
+
+    public static boolean isWarmedUp() {
+        return tagger != null;
+    }
+
+    // 글에서 최대 제목길이 이하의 제목을 추출. (excludedTitle과 같은 제목은 피하며, 만들 수 없다면 null 반환)
+    public String generate(String content, String excludedTitle) {
+        if(content == null || content.isBlank()) return null;
+        warmUp();
+
+        String text = (content.length() > MAX_INPUT_LENGTH) ? content.substring(0, MAX_INPUT_LENGTH) : content;
+        List<List<Phrase>> sentencePhraseList;
+        try {
+            sentencePhraseList = (tagger != null) ? extractPhrasesByTagger(text) : extractPhrasesByWord(text);
+        } catch (RuntimeException ex) {  // 형태소 분석 실패 시에도 제목 생성은 계속함.
+            log.warn("형태소 분석 실패 - {}", ex.getMessage());
+            sentencePhraseList = extractPhrasesByWord(text);
+        }
+
+        List<String> rankedPhraseList = rankPhrases(sentencePhraseList);
+        String excluded = (excludedTitle != null) ? excludedTitle.strip() : null;
+        for(int skipCnt=0; skipCnt<2 && skipCnt<rankedPhraseList.size(); skipCnt++) {  // 제외할 제목과 같다면, 1순위 구를 빼고 한 번 더 시도.
+            String title = composeTitle(rankedPhraseList.subList(skipCnt, rankedPhraseList.size()));
+            if(title != null && !title.equals(excluded)) return title;
+        }
+
+        String headTitle = toHeadTitle(text);  // 키워드가 없는 글(ex. 숫자 · 기호 위주)은 첫 줄의 앞부분을 사용.
+        return (headTitle != null && !headTitle.equals(excluded)) ? headTitle : null;
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static void loadTagger() {
+        try {
+            Tagger loadedTagger = new Tagger();
+            loadedTagger.tag("형태소 분석기를 준비합니다.");  // 사전 및 모델은 첫 분석 시점에 불러와지므로, 미리 한 번 분석함.
+            tagger = loadedTagger;
+            log.info("형태소 분석기 로딩 완료");
+        } catch (RuntimeException | LinkageError ex) {  // 로딩 실패 시, 어절 단위 분석만 계속 사용함.
+            log.error("형태소 분석기 로딩 실패 - {}", ex.getMessage());
+        }
+    }
+
+    private List<List<Phrase>> extractPhrasesByTagger(String text) {
+        List<Sentence> sentenceList;
+        synchronized (TAGGER_LOCK) {  // 한나눔 분석기는 내부 작업흐름을 공유하므로, 동시에 분석하지 않음.
+            sentenceList = tagger.tag(text);
+        }
+
+        List<List<Phrase>> sentencePhraseList = new ArrayList<>();
+        for(Sentence sentence : sentenceList) {
+            PhraseBuilder phraseBuilder = new PhraseBuilder();
+            for(Word word : sentence) {
+                StringBuilder nounSb = new StringBuilder();
+                List<String> keywordList = new ArrayList<>();
+                boolean isNounOnly = true;
+                for(Morpheme morpheme : word) {
+                    if(isKeywordTag(morpheme.getTag()) && isNounOnly) {
+                        nounSb.append(morpheme.getSurface());
+                        keywordList.add(morpheme.getSurface());
+                    }
+                    else {
+                        isNounOnly = false;  // 조사 · 어미 등이 붙은 어절은 그 앞의 명사까지만 구에 포함하고, 구를 끝냄.
+                    }
+                }
+                phraseBuilder.append(nounSb.toString(), keywordList, isNounOnly);
+            }
+            sentencePhraseList.add(phraseBuilder.build());
+        }
+        return sentencePhraseList;
+    }
+
+    private List<List<Phrase>> extractPhrasesByWord(String text) {  // 형태소 분석기 없이, 조사를 떼어낸 어절을 키워드로 사용.
+        List<List<Phrase>> sentencePhraseList = new ArrayList<>();
+        for(String sentence : SENTENCE_DELIMITER.split(text)) {
+            PhraseBuilder phraseBuilder = new PhraseBuilder();
+            for(String rawWord : WORD_DELIMITER.split(sentence.strip())) {
+                String word = NON_WORD_CHAR.matcher(rawWord).replaceAll("");
+                if(word.isEmpty() || word.chars().allMatch(Character::isDigit)) {  // 숫자만 있는 어절은 키워드에서 제외.
+                    phraseBuilder.append("", List.of(), false);
+                    continue;
+                }
+                if(LATIN_WORD.matcher(word).matches()) {
+                    phraseBuilder.append(word, List.of(word), true);
+                    continue;
+                }
+
+                String noun = stripSuffix(word, JOSA_SUFFIXES);
+                boolean isNounOnly = noun.equals(word);
+                if((isNounOnly && !stripSuffix(word, PREDICATE_SUFFIXES).equals(word))
+                        || !stripSuffix(noun, PREDICATE_STEM_SUFFIXES).equals(noun)) {  // 용언으로 보이는 어절은 키워드에서 제외.
+                    phraseBuilder.append("", List.of(), false);
+                    continue;
+                }
+                if(noun.length() < 2) noun = "";  // 한 글자 단어는 의미가 약하므로 제외.
+                phraseBuilder.append(noun, noun.isEmpty() ? List.of() : List.of(noun), isNounOnly);
+            }
+            sentencePhraseList.add(phraseBuilder.build());
+        }
+        return sentencePhraseList;
+    }
+
+    private List<String> rankPhrases(List<List<Phrase>> sentencePhraseList) {  // 점수 내림차순의 후보 구 반환
+        Map<String, Double> keywordScoreMap = computeKeywordScores(sentencePhraseList);
+
+        Map<String, Double> phraseScoreMap = new LinkedHashMap<>();  // 동점이라면 먼저 등장한 구를 우선함.
+        for(int sentenceIdx=0; sentenceIdx<sentencePhraseList.size(); sentenceIdx++) {
+            for(Phrase phrase : sentencePhraseList.get(sentenceIdx)) {
+                if(phrase.text.length() > maxTitleLength) continue;
+                double score = 0.0;
+                for(String keyword : phrase.keywordList) score += keywordScoreMap.getOrDefault(keyword, 0.0);
+                if(sentenceIdx == 0) score *= FIRST_SENTENCE_BONUS;
+                phraseScoreMap.merge(phrase.text, score, Math::max);
+            }
+        }
+
+        List<String> rankedPhraseList = new ArrayList<>(phraseScoreMap.keySet());
+        rankedPhraseList.sort(Comparator.comparingDouble((String phrase) -> phraseScoreMap.get(phrase)).reversed());
+        return rankedPhraseList;
+    }
+
+    private static Map<String, Double> computeKeywordScores(List<List<Phrase>> sentencePhraseList) {  // 키워드 동시 등장 그래프의 TextRank 점수
+        Map<String, Integer> keywordIdxMap = new HashMap<>();
+        List<Map<Integer, Double>> edgeList = new ArrayList<>();  // edgeList.get(i) = i번 키워드의 이웃별 가중치
+        for(List<Phrase> phraseList : sentencePhraseList) {
+            List<Integer> sequence = new ArrayList<>();
+            for(Phrase phrase : phraseList) {
+                for(String keyword : phrase.keywordList) {
+                    Integer keywordIdx = keywordIdxMap.get(keyword);
+                    if(keywordIdx == null) {
+                        keywordIdx = keywordIdxMap.size();
+                        keywordIdxMap.put(keyword, keywordIdx);
+                        edgeList.add(new HashMap<>());
+                    }
+                    sequence.add(keywordIdx);
+                }
+            }
+            for(int i=0; i<sequence.size(); i++) {
+                for(int j=i+1; j<sequence.size() && j<=i+WINDOW_SIZE; j++) {
+                    int from = sequence.get(i), to = sequence.get(j);
+                    if(from == to) continue;
+                    edgeList.get(from).merge(to, 1.0, Double::sum);
+                    edgeList.get(to).merge(from, 1.0, Double::sum);
+                }
+            }
+        }
+
+        int keywordCnt = keywordIdxMap.size();
+        double[] weightSums = new double[keywordCnt];
+        for(int idx=0; idx<keywordCnt; idx++) {
+            for(double weight : edgeList.get(idx).values()) weightSums[idx] += weight;
+        }
+        double[] scores = new double[keywordCnt];
+        Arrays.fill(scores, 1.0);
+        for(int iteration=0; iteration<MAX_ITERATION; iteration++) {
+            double[] nextScores = new double[keywordCnt];
+            double maxDiff = 0.0;
+            for(int idx=0; idx<keywordCnt; idx++) {
+                double sum = 0.0;
+                for(Map.Entry<Integer, Double> edge : edgeList.get(idx).entrySet()) {
+                    sum += edge.getValue() / weightSums[edge.getKey()] * scores[edge.getKey()];
+                }
+                nextScores[idx] = (1 - DAMPING_FACTOR) + DAMPING_FACTOR * sum;
+                maxDiff = Math.max(maxDiff, Math.abs(nextScores[idx] - scores[idx]));
+            }
+            scores = nextScores;
+            if(maxDiff < CONVERGENCE_THRESHOLD) break;
+        }
+
+        Map<String, Double> keywordScoreMap = new HashMap<>();
+        for(Map.Entry<String, Integer> keywordIdx : keywordIdxMap.entrySet()) {
+            keywordScoreMap.put(keywordIdx.getKey(), scores[keywordIdx.getValue()]);
+        }
+        return keywordScoreMap;
+    }
+
+    private String composeTitle(List<String> rankedPhraseList) {  // 상위 구들을 최대 제목길이 안에서 이어붙임. (이미 포함된 구와 겹치는 구는 제외)
+        StringBuilder titleSb = new StringBuilder();
+        int phraseCnt = 0;
+        for(String phrase : rankedPhraseList) {
+            if(phraseCnt >= MAX_TITLE_PHRASE_COUNT) break;
+            String title = titleSb.toString();
+            if(!title.isEmpty() && (title.contains(phrase) || phrase.contains(title))) continue;
+            int appendedLength = title.isEmpty() ? phrase.length() : title.length() + 1 + phrase.length();
+            if(appendedLength > maxTitleLength) continue;
+
+            if(!title.isEmpty()) titleSb.append(' ');
+            titleSb.append(phrase);
+            phraseCnt++;
+        }
+        return (titleSb.length() > 0) ? titleSb.toString() : null;
+    }
+
+    private String toHeadTitle(String text) {  // 첫 줄을 최대 제목길이에 맞춰 어절 단위로 자름.
+        for(String line : text.split("\n")) {
+            String strippedLine = line.strip();
+            if(strippedLine.isEmpty()) continue;
+            if(strippedLine.length() <= maxTitleLength) return strippedLine;
+
+            int cutIdx = strippedLine.lastIndexOf(' ', maxTitleLength);
+            return ((cutIdx > 0) ? strippedLine.substring(0, cutIdx) : strippedLine.substring(0, maxTitleLength)).strip();
+        }
+        return null;
+    }
+
+    private static boolean isKeywordTag(POS tag) {
+        return tag == POS.NNG || tag == POS.NNP || tag == POS.SL;  // 일반명사, 고유명사, 외국어
+    }
+
+    private static String stripSuffix(String word, String[] suffixes) {
+        for(String suffix : suffixes) {
+            if(word.length() > suffix.length() && word.endsWith(suffix)) return word.substring(0, word.length() - suffix.length());
+        }
+        return word;
+    }
+
+    private static class Phrase {
+
+        private final String text;
+        private final List<String> keywordList;
+
+        private Phrase(String text, List<String> keywordList) {
+            this.text = text;
+            this.keywordList = keywordList;
+        }
+    }
+
+    private class PhraseBuilder {  // 연달아 등장한 명사 어절들을 하나의 후보 구로 묶음.
+
+        private final List<Phrase> phraseList = new ArrayList<>();
+        private final List<String> wordList = new ArrayList<>();
+        private final List<List<String>> wordKeywordList = new ArrayList<>();  // 어절별 키워드
+
+        // isNounOnly == false : 명사 뒤에 조사 · 어미가 붙은 어절이므로, 이 어절까지만 구에 포함하고 구를 끝냄.
+        private void append(String noun, List<String> nounKeywordList, boolean isNounOnly) {
+            if(!noun.isEmpty()) {
+                if(wordList.size() >= MAX_PHRASE_WORD_COUNT) flush();
+                wordList.add(noun);
+                wordKeywordList.add(nounKeywordList);
+            }
+            if(!isNounOnly || noun.isEmpty()) flush();
+        }
+
+        private List<Phrase> build() {
+            flush();
+            return phraseList;
+        }
+
+        private void flush() {
+            if(wordList.isEmpty()) return;
+            String text = String.join(" ", wordList);
+            if(text.length() <= maxTitleLength) {
+                List<String> keywordList = new ArrayList<>();
+                wordKeywordList.forEach(keywordList::addAll);
+                phraseList.add(new Phrase(text, keywordList));
+            }
+            else {  // 너무 긴 구는 어절별로 나누어 후보에 올림.
+                for(int idx=0; idx<wordList.size(); idx++) {
+                    if(wordList.get(idx).length() <= maxTitleLength) phraseList.add(new Phrase(wordList.get(idx), wordKeywordList.get(idx)));
+                }
+            }
+            wordList.clear();
+            wordKeywordList.clear();
+        }
+    }
+}
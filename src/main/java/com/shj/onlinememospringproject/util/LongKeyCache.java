@@ -0,0 +1,107 @@
+package com.shj.onlinememospringproject.util;
+
+import java.util.function.LongPredicate;
+
+public class LongKeyCache {  // 원시 long 키의 크기 제한 로컬 캐시 (값 없이 키의 존재 여부와 만료시각만 저장)
+
+    // - 저장 구조 :
+    // 1. 키 배열과 만료시각 배열만 사용하므로, 박싱된 Long 키나 엔트리 객체 없이 항목당 16바이트로 고정됨.
+    // 2. 키의 해시로 정해지는 WAYS칸 묶음(버킷) 안에서만 저장하며, 빈칸이 없다면 가장 먼저 만료될 항목을 덮어씀. (전체 크기는 maxSize를 넘지 않음.)
+    // 3. 세그먼트별로 잠그므로, 서로 다른 세그먼트의 키는 동시에 읽고 쓸 수 있음.
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int WAYS = 4;  // 버킷당 칸 수
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long ttlMillis;
+
+
+    public LongKeyCache(int maxSize, long ttlMillis) {
+        int bucketCount = Integer.highestOneBit(Math.max(1, maxSize / (SEGMENT_COUNT * WAYS)));  // 세그먼트당 버킷 수 (2의 거듭제곱)
+        for(int idx=0; idx<SEGMENT_COUNT; idx++) {
+            segments[idx] = new Segment(bucketCount);
+        }
+        this.ttlMillis = ttlMillis;
+    }
+
+    public boolean contains(long key) {
+        long hash = hash(key);
+        Segment segment = segments[(int) (hash & (SEGMENT_COUNT - 1))];
+        int start = segment.toBucketStart(hash);
+        long now = System.currentTimeMillis();
+
+        synchronized (segment) {
+            for(int idx=start; idx<start+WAYS; idx++) {
+                if(segment.keys[idx] == key && segment.expireTimes[idx] > now) return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(long key) {
+        long hash = hash(key);
+        Segment segment = segments[(int) (hash & (SEGMENT_COUNT - 1))];
+        int start = segment.toBucketStart(hash);
+        long expireTime = System.currentTimeMillis() + ttlMillis;
+
+        synchronized (segment) {
+            int targetIdx = start;
+            for(int idx=start; idx<start+WAYS; idx++) {
+                if(segment.keys[idx] == key) {  // 이미 있는 키라면, 만료시각만 갱신.
+                    targetIdx = idx;
+                    break;
+                }
+                if(segment.expireTimes[idx] < segment.expireTimes[targetIdx]) targetIdx = idx;  // 빈칸(만료시각 0) 또는 가장 먼저 만료될 칸
+            }
+            segment.keys[targetIdx] = key;
+            segment.expireTimes[targetIdx] = expireTime;
+        }
+    }
+
+    public void remove(long key) {
+        long hash = hash(key);
+        Segment segment = segments[(int) (hash & (SEGMENT_COUNT - 1))];
+        int start = segment.toBucketStart(hash);
+
+        synchronized (segment) {
+            for(int idx=start; idx<start+WAYS; idx++) {
+                if(segment.keys[idx] == key) segment.expireTimes[idx] = 0L;
+            }
+        }
+    }
+
+    public void removeIf(LongPredicate keyPredicate) {  // 전체 칸을 순회하므로, 드물게 호출되는 경우에만 사용할 것.
+        for(Segment segment : segments) {
+            synchronized (segment) {
+                for(int idx=0; idx<segment.keys.length; idx++) {
+                    if(segment.expireTimes[idx] != 0L && keyPredicate.test(segment.keys[idx])) segment.expireTimes[idx] = 0L;
+                }
+            }
+        }
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static long hash(long key) {  // 연속된 id도 세그먼트와 버킷에 고르게 분산되도록 섞음.
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private static class Segment {
+
+        private final long[] keys;
+        private final long[] expireTimes;  // 0 : 빈칸
+        private final int bucketMask;
+
+        private Segment(int bucketCount) {
+            this.keys = new long[bucketCount * WAYS];
+            this.expireTimes = new long[bucketCount * WAYS];
+            this.bucketMask = bucketCount - 1;
+        }
+
+        private int toBucketStart(long hash) {
+            return (int) ((hash >>> 4) & bucketMask) * WAYS;  // 하위 4비트는 세그먼트 선택에 사용됨.
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.shj.onlinememospringproject.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LruTtlCache<K, V> {  // 크기 제한(LRU 제거)과 TTL을 함께 갖는 로컬 캐시
+
+    // - 접근 순서의 LinkedHashMap을 사용하므로, 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거됨.
+    // - 만료된 항목은 조회 시점에 제거하며, 조회되지 않는 만료 항목은 LRU 순서에 따라 자연스럽게 밀려남.
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entryMap;
+
+
+    public LruTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entryMap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > LruTtlCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {  // 없거나 만료되었다면 null 반환
+        Entry<V> entry = entryMap.get(key);
+        if(entry == null) return null;
+        if(entry.expireTime <= System.currentTimeMillis()) {
+            entryMap.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entryMap.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized int size() {
+        return entryMap.size();
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long expireTime;
+
+        private Entry(V value, long expireTime) {
+            this.value = value;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.shj.onlinememospringproject.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TextDiffer {  // Myers 차분 알고리즘 기반의 토큰 비교기
+
+    // - 동작 방식 :
+    // 1. 두 토큰 배열의 공통 접두사 · 접미사를 먼저 제외하고, 남은 구간에서만 최단 편집 경로를 탐색함.
+    // 2. 편집 거리(삽입 + 삭제 수)를 D라고 할 때 O((N + M) * D) 시간이므로, 일부만 수정된 문서는 길이와 무관하게 빠르게 비교됨.
+    // 3. 경로 역추적용 기록은 단계마다 필요한 범위(2D + 3칸)만 복사하므로, 메모리는 O(D²)이며 D는 maxEditDistance로 제한함.
+
+    // a의 각 토큰이 대응되는 b의 인덱스 배열을 반환함. (대응되지 않은 토큰은 -1이며, 편집 거리가 maxEditDistance를 넘으면 null 반환)
+    public static int[] match(int[] a, int[] b, int maxEditDistance) {
+        int[] matchArr = new int[a.length];
+        Arrays.fill(matchArr, -1);
+
+        int prefix = 0;
+        while(prefix < a.length && prefix < b.length && a[prefix] == b[prefix]) {
+            matchArr[prefix] = prefix;
+            prefix++;
+        }
+        int suffix = 0;
+        while(suffix < a.length - prefix && suffix < b.length - prefix && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+            matchArr[a.length - 1 - suffix] = b.length - 1 - suffix;
+            suffix++;
+        }
+
+        int n = a.length - prefix - suffix, m = b.length - prefix - suffix;
+        if(n == 0 || m == 0) return matchArr;  // 남은 구간이 순수 삽입 또는 순수 삭제인 경우
+
+        int bound = Math.min(n + m, maxEditDistance);
+        int offset = bound + 1;
+        int[] v = new int[2 * bound + 3];  // v[offset + k] : 대각선 k에서 도달한 가장 먼 x
+        List<int[]> traceList = new ArrayList<>();
+
+        for(int d=0; d<=bound; d++) {
+            traceList.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));  // 이번 단계 이전의 v[-d-1 ~ d+1]
+            for(int k=-d; k<=d; k+=2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while(x < n && y < m && a[prefix + x] == b[prefix + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+
+                if(x >= n && y >= m) {  // 최단 편집 경로 발견 -> 역추적하며 대각선(일치) 구간을 기록.
+                    backtrack(traceList, d, n, m, prefix, matchArr);
+                    return matchArr;
+                }
+            }
+        }
+        return null;  // 편집 거리 초과 (두 토큰 배열이 너무 많이 다름.)
+    }
+
+    // before를 after로 바꾸는 글자(UTF-16) 단위 편집 연산을 반환함. (편집 거리가 maxEditDistance를 넘으면 null 반환)
+    public static TextOperation diff(String before, String after, int maxEditDistance) {
+        int[] matchArr = match(toCharIds(before), toCharIds(after), maxEditDistance);
+        if(matchArr == null) return null;
+
+        TextOperation operation = new TextOperation();
+        int afterIdx = 0, deleteCount = 0;
+        for(int idx=0; idx<matchArr.length; idx++) {
+            if(matchArr[idx] == -1) {
+                deleteCount++;
+                continue;
+            }
+            operation.delete(deleteCount).insert(after.substring(afterIdx, matchArr[idx])).retain(1);
+            deleteCount = 0;
+            afterIdx = matchArr[idx] + 1;
+        }
+        operation.delete(deleteCount).insert(after.substring(afterIdx));
+        return operation;
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static int[] toCharIds(String str) {
+        int[] ids = new int[str.length()];
+        for(int idx=0; idx<str.length(); idx++) {
+            ids[idx] = str.charAt(idx);
+        }
+        return ids;
+    }
+
+    private static void backtrack(List<int[]> traceList, int lastD, int n, int m, int prefix, int[] matchArr) {
+        int x = n, y = m;
+        for(int d=lastD; d>=0; d--) {
+            int[] v = traceList.get(d);  // v[0]은 대각선 -d-1에 해당함.
+            int k = x - y;
+            int prevK = (k == -d || (k != d && v[k - 1 + d + 1] < v[k + 1 + d + 1])) ? k + 1 : k - 1;
+            int prevX = v[prevK + d + 1];
+            int prevY = prevX - prevK;
+            while(x > prevX && y > prevY) {
+                x--;
+                y--;
+                matchArr[prefix + x] = prefix + y;
+            }
+            if(d > 0) {
+                x = prevX;
+                y = prevY;
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.shj.onlinememospringproject.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TextMerger {  // 3-way 텍스트 병합기 (diff3)
+
+    // - 병합 규칙 :
+    // 1. base -> ours, base -> theirs의 차분을 줄 단위로 구하고, 세 문서가 모두 일치하는 줄(안정 구간)을 기준으로 나머지를 변경 구간으로 나눔.
+    // 2. 변경 구간은 한쪽만 수정했다면 그 쪽을, 양쪽이 같게 수정했다면 그 값을 사용함.
+    // 3. 양쪽이 같은 줄을 서로 다르게 수정한 경우, 해당 구간만 다시 글자 단위로 병합하여 같은 줄의 서로 다른 위치 수정도 합쳐지게함.
+    // 4. 글자 단위로도 같은 위치가 서로 다르게 수정된 경우에만 진짜 충돌로 판단하여 null을 반환함.
+
+    private static final int MAX_LINE_EDIT_DISTANCE = 2000;  // 줄 단위 차분의 최대 편집 거리 (초과 시 충돌로 처리)
+    private static final int MAX_CHAR_EDIT_DISTANCE = 2000;  // 글자 단위 차분의 최대 편집 거리 (초과 시 충돌로 처리)
+    private static final int MAX_CHAR_MERGE_LENGTH = 10000;  // 글자 단위로 다시 병합할 변경 구간의 최대 길이
+
+
+    public static String merge(String base, String ours, String theirs) {  // 충돌 시 null 반환
+        base = (base != null) ? base : "";
+        ours = (ours != null) ? ours : "";
+        theirs = (theirs != null) ? theirs : "";
+        if(ours.equals(theirs) || base.equals(theirs)) return ours;
+        if(base.equals(ours)) return theirs;
+
+        return merge(splitLines(base), splitLines(ours), splitLines(theirs), MAX_LINE_EDIT_DISTANCE, true);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static String merge(String[] base, String[] ours, String[] theirs, int maxEditDistance, boolean isLineLevel) {
+        Map<String, Integer> tokenIdMap = new HashMap<>();
+        int[] baseIds = toIds(base, tokenIdMap), oursIds = toIds(ours, tokenIdMap), theirsIds = toIds(theirs, tokenIdMap);
+        int[] oursMatch = TextDiffer.match(baseIds, oursIds, maxEditDistance);
+        int[] theirsMatch = TextDiffer.match(baseIds, theirsIds, maxEditDistance);
+        if(oursMatch == null || theirsMatch == null) return null;
+
+        StringBuilder resultStb = new StringBuilder();
+        int i = 0, o = 0, t = 0;  // base, ours, theirs의 현재 위치
+        while(i < base.length || o < ours.length || t < theirs.length) {
+            // 안정 구간 : 세 문서에서 연속으로 일치하는 토큰들
+            while(i < base.length && oursMatch[i] == o && theirsMatch[i] == t) {
+                resultStb.append(base[i]);
+                i++;
+                o++;
+                t++;
+            }
+
+            // 변경 구간 : 다음 안정 토큰(양쪽 모두에 대응되는 base 토큰) 직전까지
+            int j = i;
+            while(j < base.length && (oursMatch[j] == -1 || theirsMatch[j] == -1)) j++;
+            int oEnd = (j < base.length) ? oursMatch[j] : ours.length;
+            int tEnd = (j < base.length) ? theirsMatch[j] : theirs.length;
+            if(j == i && oEnd == o && tEnd == t) continue;  // 변경 구간 없음 (문서 끝 또는 다음 안정 구간)
+
+            String baseChunk = join(base, i, j), oursChunk = join(ours, o, oEnd), theirsChunk = join(theirs, t, tEnd);
+            String resolvedChunk = resolve(baseChunk, oursChunk, theirsChunk, isLineLevel);
+            if(resolvedChunk == null) return null;
+            resultStb.append(resolvedChunk);
+            i = j;
+            o = oEnd;
+            t = tEnd;
+        }
+        return resultStb.toString();
+    }
+
+    private static String resolve(String baseChunk, String oursChunk, String theirsChunk, boolean isLineLevel) {
+        if(oursChunk.equals(theirsChunk) || baseChunk.equals(theirsChunk)) return oursChunk;
+        if(baseChunk.equals(oursChunk)) return theirsChunk;
+
+        // 양쪽이 같은 줄들을 서로 다르게 수정한 경우 -> 글자 단위로 한 번 더 병합 시도.
+        // (단, base가 빈 구간이라면 같은 위치에 서로 다른 내용을 삽입한 것이므로, 순서를 정할 수 없어 충돌로 처리함.)
+        if(!isLineLevel || baseChunk.isEmpty()) return null;
+        if(Math.max(baseChunk.length(), Math.max(oursChunk.length(), theirsChunk.length())) > MAX_CHAR_MERGE_LENGTH) return null;
+        return merge(splitChars(baseChunk), splitChars(oursChunk), splitChars(theirsChunk), MAX_CHAR_EDIT_DISTANCE, false);
+    }
+
+    private static String[] splitLines(String str) {  // 줄바꿈 문자를 각 줄의 끝에 포함하여 분리
+        List<String> lineList = new ArrayList<>();
+        int start = 0;
+        for(int idx=0; idx<str.length(); idx++) {
+            if(str.charAt(idx) == '\n') {
+                lineList.add(str.substring(start, idx + 1));
+                start = idx + 1;
+            }
+        }
+        if(start < str.length()) lineList.add(str.substring(start));
+        return lineList.toArray(new String[0]);
+    }
+
+    private static String[] splitChars(String str) {  // UTF-16 단위로 분리 (서로게이트 쌍은 세 문서에서 함께 일치하거나 함께 변경되므로, 결과에서 쪼개지지 않음.)
+        String[] charArr = new String[str.length()];
+        for(int idx=0; idx<str.length(); idx++) {
+            charArr[idx] = String.valueOf(str.charAt(idx));
+        }
+        return charArr;
+    }
+
+    private static int[] toIds(String[] tokens, Map<String, Integer> tokenIdMap) {  // 토큰 비교를 정수 비교로 바꾸기 위한 변환
+        int[] ids = new int[tokens.length];
+        for(int idx=0; idx<tokens.length; idx++) {
+            ids[idx] = tokenIdMap.computeIfAbsent(tokens[idx], key -> tokenIdMap.size());
+        }
+        return ids;
+    }
+
+    private static String join(String[] tokens, int start, int end) {
+        StringBuilder stb = new StringBuilder();
+        for(int idx=start; idx<end; idx++) {
+            stb.append(tokens[idx]);
+        }
+        return stb.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.shj.onlinememospringproject.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TextOperation {  // 공동 편집(OT)용 텍스트 연산
+
+    // - 연산 구성 : 문서를 앞에서부터 순회하며 적용되는 컴포넌트들의 리스트.
+    // 1. 양수(Integer) : retain(n) - n글자를 그대로 유지.
+    // 2. 음수(Integer) : delete(n) - n글자를 삭제.
+    // 3. 문자열(String) : insert(str) - 현재 위치에 str을 삽입.
+    // - 모든 길이는 UTF-16 단위(JavaScript 문자열 길이와 동일)이며, JSON 표현은 ot.js의 TextOperation과 호환됨. (ex. [3, "abc", -2, 5])
+    // - 같은 위치의 삽입은 항상 'insert -> delete' 순서로 정규화하여, 동일한 편집은 동일한 컴포넌트 리스트를 갖게함.
+
+    private final List<Object> componentList = new ArrayList<>();
+    private int baseLength;  // 적용 대상 문서의 길이
+    private int targetLength;  // 적용 결과 문서의 길이
+
+
+    public TextOperation retain(int n) {
+        if(n < 0) throw new IllegalArgumentException("retain 길이는 음수일 수 없습니다.");
+        if(n == 0) return this;
+
+        baseLength += n;
+        targetLength += n;
+        int lastIdx = componentList.size() - 1;
+        if(lastIdx >= 0 && isRetain(componentList.get(lastIdx))) {
+            componentList.set(lastIdx, (Integer) componentList.get(lastIdx) + n);
+        }
+        else {
+            componentList.add(n);
+        }
+        return this;
+    }
+
+    public TextOperation insert(String str) {
+        if(str == null || str.isEmpty()) return this;
+
+        targetLength += str.length();
+        int lastIdx = componentList.size() - 1;
+        if(lastIdx >= 0 && isInsert(componentList.get(lastIdx))) {
+            componentList.set(lastIdx, componentList.get(lastIdx) + str);
+        }
+        else if(lastIdx >= 0 && isDelete(componentList.get(lastIdx))) {  // 'delete -> insert'는 'insert -> delete'로 정규화.
+            if(lastIdx >= 1 && isInsert(componentList.get(lastIdx - 1))) {
+                componentList.set(lastIdx - 1, componentList.get(lastIdx - 1) + str);
+            }
+            else {
+                componentList.add(lastIdx, str);
+            }
+        }
+        else {
+            componentList.add(str);
+        }
+        return this;
+    }
+
+    public TextOperation delete(int n) {
+        n = Math.abs(n);
+        if(n == 0) return this;
+
+        baseLength += n;
+        int lastIdx = componentList.size() - 1;
+        if(lastIdx >= 0 && isDelete(componentList.get(lastIdx))) {
+            componentList.set(lastIdx, (Integer) componentList.get(lastIdx) - n);
+        }
+        else {
+            componentList.add(-n);
+        }
+        return this;
+    }
+
+    public String apply(String document) {  // 잘못된 연산일 경우, IllegalArgumentException 발생
+        String original = (document != null) ? document : "";
+        if(original.length() != baseLength) {
+            throw new IllegalArgumentException(String.format("연산의 기준 길이(%d)와 문서 길이(%d)가 다릅니다.", baseLength, original.length()));
+        }
+
+        StringBuilder resultStb = new StringBuilder(targetLength);
+        int idx = 0;
+        for(Object component : componentList) {
+            if(isRetain(component)) {
+                int n = (Integer) component;
+                resultStb.append(original, idx, idx + n);
+                idx += n;
+            }
+            else if(isInsert(component)) {
+                resultStb.append((String) component);
+            }
+            else {
+                idx -= (Integer) component;
+            }
+        }
+        return resultStb.toString();
+    }
+
+    // 같은 문서에 동시에 만들어진 두 연산 a, b를 변환하여, apply(apply(doc, a), b') == apply(apply(doc, b), a')를 만족하는 {a', b'}를 반환.
+    // (같은 위치의 삽입은 a를 먼저 배치함.)
+    public static TextOperation[] transform(TextOperation a, TextOperation b) {
+        if(a.baseLength != b.baseLength) {
+            throw new IllegalArgumentException(String.format("두 연산의 기준 길이가 다릅니다. (%d, %d)", a.baseLength, b.baseLength));
+        }
+
+        TextOperation aPrime = new TextOperation();
+        TextOperation bPrime = new TextOperation();
+        List<Object> aList = a.componentList, bList = b.componentList;
+        int i1 = 0, i2 = 0;
+        Object op1 = (i1 < aList.size()) ? aList.get(i1++) : null;
+        Object op2 = (i2 < bList.size()) ? bList.get(i2++) : null;
+
+        while(op1 != null || op2 != null) {
+            if(isInsert(op1)) {
+                aPrime.insert((String) op1);
+                bPrime.retain(((String) op1).length());
+                op1 = (i1 < aList.size()) ? aList.get(i1++) : null;
+                continue;
+            }
+            if(isInsert(op2)) {
+                aPrime.retain(((String) op2).length());
+                bPrime.insert((String) op2);
+                op2 = (i2 < bList.size()) ? bList.get(i2++) : null;
+                continue;
+            }
+            if(op1 == null || op2 == null) {
+                throw new IllegalArgumentException("두 연산의 길이가 맞지 않습니다.");
+            }
+
+            int n1 = (Integer) op1, n2 = (Integer) op2;
+            if(n1 > 0 && n2 > 0) {  // retain / retain
+                int min = Math.min(n1, n2);
+                aPrime.retain(min);
+                bPrime.retain(min);
+                op1 = (n1 > min) ? (Object) (n1 - min) : ((i1 < aList.size()) ? aList.get(i1++) : null);
+                op2 = (n2 > min) ? (Object) (n2 - min) : ((i2 < bList.size()) ? bList.get(i2++) : null);
+            }
+            else if(n1 < 0 && n2 < 0) {  // delete / delete : 이미 양쪽에서 삭제된 범위이므로 아무것도 추가하지 않음.
+                int min = Math.min(-n1, -n2);
+                op1 = (-n1 > min) ? (Object) (n1 + min) : ((i1 < aList.size()) ? aList.get(i1++) : null);
+                op2 = (-n2 > min) ? (Object) (n2 + min) : ((i2 < bList.size()) ? bList.get(i2++) : null);
+            }
+            else if(n1 < 0) {  // delete / retain
+                int min = Math.min(-n1, n2);
+                aPrime.delete(min);
+                op1 = (-n1 > min) ? (Object) (n1 + min) : ((i1 < aList.size()) ? aList.get(i1++) : null);
+                op2 = (n2 > min) ? (Object) (n2 - min) : ((i2 < bList.size()) ? bList.get(i2++) : null);
+            }
+            else {  // retain / delete
+                int min = Math.min(n1, -n2);
+                bPrime.delete(min);
+                op1 = (n1 > min) ? (Object) (n1 - min) : ((i1 < aList.size()) ? aList.get(i1++) : null);
+                op2 = (-n2 > min) ? (Object) (n2 + min) : ((i2 < bList.size()) ? bList.get(i2++) : null);
+            }
+        }
+        return new TextOperation[]{ aPrime, bPrime };
+    }
+
+    public static TextOperation fromList(List<?> rawComponentList) {  // JSON 배열 -> 연산 (잘못된 형식일 경우, IllegalArgumentException 발생)
+        if(rawComponentList == null) throw new IllegalArgumentException("연산이 비어있습니다.");
+
+        TextOperation operation = new TextOperation();
+        for(Object component : rawComponentList) {
+            if(component instanceof String str) {
+                operation.insert(str);
+            }
+            else if(component instanceof Number number && number.doubleValue() == number.intValue() && number.intValue() != 0) {
+                if(number.intValue() > 0) operation.retain(number.intValue());
+                else operation.delete(number.intValue());
+            }
+            else {
+                throw new IllegalArgumentException(String.format("잘못된 연산 컴포넌트입니다. (%s)", component));
+            }
+        }
+        return operation;
+    }
+
+    public List<Object> toList() {
+        return Collections.unmodifiableList(componentList);
+    }
+
+    public int getBaseLength() {
+        return baseLength;
+    }
+
+    public int getTargetLength() {
+        return targetLength;
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static boolean isRetain(Object component) {
+        return component instanceof Integer n && n > 0;
+    }
+
+    private static boolean isDelete(Object component) {
+        return component instanceof Integer n && n < 0;
+    }
+
+    private static boolean isInsert(Object component) {
+        return component instanceof String;
+    }
+}
@@ -0,0 +1,52 @@
+package com.shj.onlinememospringproject.util;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+
+import java.util.List;
+
+public class TextPatcher {  // 범위 기반 텍스트 패치(삽입 · 삭제 · 치환) 적용기
+
+    // - 패치 연산 규칙 :
+    // 1. start ~ end 범위(end 미포함)를 text로 치환함. (start == end : 삽입, text == "" 또는 null : 삭제)
+    // 2. 모든 위치는 '패치 이전의 원본' 기준 UTF-16 인덱스이며 (JavaScript 문자열 인덱스와 동일), 연산들은 start 오름차순으로 서로 겹치지 않아야함.
+    // 3. 결과 문자열은 원본을 앞에서부터 한 번만 복사하며 조립하므로, 연산 개수와 무관하게 O(원본 길이 + 삽입 길이)임.
+
+    public static String apply(String content, List<MemoDto.PatchOperation> operationList) {  // 잘못된 연산일 경우, IllegalArgumentException 발생
+        String original = (content != null) ? content : "";
+        if(operationList == null || operationList.isEmpty()) return original;
+
+        int resultLength = original.length();
+        int prevEnd = 0;
+        for(MemoDto.PatchOperation operation : operationList) {
+            Integer start = operation.getStart(), end = operation.getEnd();
+            if(start == null || end == null || start < prevEnd || start > end || end > original.length()) {
+                throw new IllegalArgumentException(String.format("잘못된 패치 범위입니다. (start = %s, end = %s, prevEnd = %d, length = %d)",
+                        start, end, prevEnd, original.length()));
+            }
+            if(splitsSurrogatePair(original, start) || splitsSurrogatePair(original, end)) {
+                throw new IllegalArgumentException(String.format("패치 범위가 문자(서로게이트 쌍)의 중간을 가리킵니다. (start = %d, end = %d)", start, end));
+            }
+            String text = operation.getText();
+            resultLength += ((text != null) ? text.length() : 0) - (end - start);
+            prevEnd = end;
+        }
+
+        StringBuilder resultStb = new StringBuilder(resultLength);
+        int copiedEnd = 0;
+        for(MemoDto.PatchOperation operation : operationList) {
+            resultStb.append(original, copiedEnd, operation.getStart());
+            if(operation.getText() != null) resultStb.append(operation.getText());
+            copiedEnd = operation.getEnd();
+        }
+        resultStb.append(original, copiedEnd, original.length());
+        return resultStb.toString();
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static boolean splitsSurrogatePair(String str, int index) {
+        return index > 0 && index < str.length()
+                && Character.isHighSurrogate(str.charAt(index - 1)) && Character.isLowSurrogate(str.charAt(index));
+    }
+}
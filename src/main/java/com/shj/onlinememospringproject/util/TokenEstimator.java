@@ -0,0 +1,143 @@
+package com.shj.onlinememospringproject.util;
+
+import java.util.Locale;
+
+public class TokenEstimator {  // OpenAI 입력 토큰 수 추정 (네트워크 · 어휘 사전 없이 서버 내에서 계산)
+
+    // - 동작 방식 : OpenAI 토크나이저(BPE)의 사전 분할 규칙과 같이 글을 문자 종류별 구간(영문 단어, 숫자, 한글, 기호 등)으로 나누고,
+    // 구간마다 인코딩별 평균 토큰 밀도를 적용하여 합산함.
+    // - 한글은 ASCII와 달리 음절(UTF-8 3바이트)이 잘 병합되지 않으므로 글자당 토큰 수가 훨씬 크며, 인코딩에 따라서도 차이가 큼.
+    // (cl100k : 음절당 약 1토큰 이상, o200k : 음절당 약 0.6 ~ 0.7토큰)
+    // - 예산 초과를 막는 용도이므로, 밀도는 실측 평균보다 약간 크게 잡아 실제보다 조금 더 많게 추정함.
+    // - 보정 기준 : OpenAI가 공개한 인코딩별 실제 토큰 수(한글 · 영문 · 혼합 문장)에 대해, 추정값이 실제 이상 1.25배 이하가 되도록 맞춤. (TokenEstimatorTest 참고)
+
+    public static final int MESSAGE_OVERHEAD_TOKENS = 7;  // Chat 메시지 1개의 형식 토큰 (역할 · 구분자 및 응답 시작 토큰)
+
+    public enum Encoding {
+
+        O200K(0.65, 1.0, 0.5),  // gpt-4o, gpt-4.1, o 시리즈 등
+        CL100K(1.2, 1.5, 0.7);  // gpt-4, gpt-3.5-turbo 등
+
+        private final double hangulTokenPerChar;
+        private final double cjkTokenPerChar;  // 한자, 가나
+        private final double otherLetterTokenPerChar;  // 그 밖의 비 ASCII 문자 (키릴 문자 등)
+
+        Encoding(double hangulTokenPerChar, double cjkTokenPerChar, double otherLetterTokenPerChar) {
+            this.hangulTokenPerChar = hangulTokenPerChar;
+            this.cjkTokenPerChar = cjkTokenPerChar;
+            this.otherLetterTokenPerChar = otherLetterTokenPerChar;
+        }
+
+        public static Encoding fromModel(String model) {  // 모델명으로 인코딩 판별 (알 수 없는 모델은 더 많게 추정되는 CL100K)
+            if(model == null) return CL100K;
+            String lowerModel = model.toLowerCase(Locale.ROOT);
+            if(lowerModel.startsWith("gpt-4o") || lowerModel.startsWith("gpt-4.1") || lowerModel.startsWith("gpt-5")
+                    || lowerModel.matches("^o\\d.*")) {
+                return O200K;
+            }
+            return CL100K;
+        }
+    }
+
+    private static final int LATIN_CHARS_PER_TOKEN = 6;  // 자주 쓰이는 영단어는 대부분 단어 전체가 1토큰임.
+    private static final int DIGITS_PER_TOKEN = 3;  // 숫자는 최대 3자리씩 나뉨.
+    private static final int PUNCT_CHARS_PER_TOKEN = 2;
+
+
+    public static int estimate(String text, Encoding encoding) {
+        if(text == null || text.isEmpty()) return 0;
+        return scan(text, encoding, Integer.MAX_VALUE).tokenCnt;
+    }
+
+    public static String truncate(String text, int maxTokens, Encoding encoding) {  // 추정 토큰 수가 maxTokens 이하가 되도록, 앞부분만 남김.
+        if(text == null || maxTokens <= 0) return "";
+        int endIdx = scan(text, encoding, maxTokens).endIdx;
+        return (endIdx >= text.length()) ? text : text.substring(0, endIdx);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static ScanResult scan(String text, Encoding encoding, int maxTokens) {  // 누적 토큰 수가 maxTokens를 넘기 직전의 구간까지 계산.
+        int tokenCnt = 0;
+        int idx = 0;
+        int textLen = text.length();
+        while(idx < textLen) {
+            int codePoint = text.codePointAt(idx);
+            CharType charType = CharType.of(codePoint);
+            int runEndIdx = idx;
+            int runCharCnt = 0;
+            int runByteCnt = 0;
+            while(runEndIdx < textLen) {
+                int runCodePoint = text.codePointAt(runEndIdx);
+                if(CharType.of(runCodePoint) != charType) break;
+                runEndIdx += Character.charCount(runCodePoint);
+                runCharCnt++;
+                runByteCnt += toUtf8ByteCnt(runCodePoint);
+            }
+
+            int runTokenCnt = switch (charType) {
+                case LATIN -> ceilDiv(runCharCnt, LATIN_CHARS_PER_TOKEN);
+                case DIGIT -> ceilDiv(runCharCnt, DIGITS_PER_TOKEN);
+                case HANGUL -> Math.max(1, (int) Math.round(runCharCnt * encoding.hangulTokenPerChar));  // 한글 어절은 2~3음절로 짧으므로, 올림 시 구간마다 과대 추정이 누적됨.
+                case CJK -> (int) Math.ceil(runCharCnt * encoding.cjkTokenPerChar);
+                case OTHER_LETTER -> (int) Math.ceil(runCharCnt * encoding.otherLetterTokenPerChar);
+                case PUNCT -> ceilDiv(runCharCnt, PUNCT_CHARS_PER_TOKEN);
+                case SPACE -> (runCharCnt > 1) ? 1 : 0;  // 단어 앞의 공백 1개는 단어 토큰에 병합됨.
+                case NEWLINE -> 1;
+                case OTHER -> ceilDiv(runByteCnt, 2);  // 이모지 등은 UTF-8 바이트 단위로 나뉨.
+            };
+            if(tokenCnt + runTokenCnt > maxTokens) {  // 긴 구간(ex. 띄어쓰기 없는 글)도 남은 토큰 비율만큼은 포함함.
+                int fitCharCnt = (int) ((long) runCharCnt * (maxTokens - tokenCnt) / runTokenCnt);
+                return new ScanResult(maxTokens, text.offsetByCodePoints(idx, fitCharCnt));
+            }
+
+            tokenCnt += runTokenCnt;
+            idx = runEndIdx;
+        }
+        return new ScanResult(tokenCnt, textLen);
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    private static int toUtf8ByteCnt(int codePoint) {
+        if(codePoint < 0x80) return 1;
+        if(codePoint < 0x800) return 2;
+        if(codePoint < 0x10000) return 3;
+        return 4;
+    }
+
+    private enum CharType {
+
+        LATIN, DIGIT, HANGUL, CJK, OTHER_LETTER, PUNCT, SPACE, NEWLINE, OTHER;
+
+        private static CharType of(int codePoint) {
+            if((codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')) return LATIN;
+            if(codePoint >= '0' && codePoint <= '9') return DIGIT;
+            if(codePoint == ' ' || codePoint == '\t') return SPACE;
+            if(codePoint == '\n' || codePoint == '\r') return NEWLINE;
+            if(codePoint < 0x80) return PUNCT;
+
+            Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+            if(script == Character.UnicodeScript.HANGUL) return HANGUL;
+            if(script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                    || script == Character.UnicodeScript.KATAKANA) return CJK;
+            if(Character.isLetter(codePoint)) return OTHER_LETTER;
+            if(Character.isWhitespace(codePoint)) return SPACE;
+            return OTHER;
+        }
+    }
+
+    private static class ScanResult {
+
+        private final int tokenCnt;
+        private final int endIdx;
+
+        private ScanResult(int tokenCnt, int endIdx) {
+            this.tokenCnt = tokenCnt;
+            this.endIdx = endIdx;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.repository.CollabOperationStore;
+import com.shj.onlinememospringproject.util.TextOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 공동 편집 저장소는 Redis 대신 메모리 구현체(InMemoryCollabOperationStore)를 사용함.
+// - transform 수렴 Test는 스프링 컨텍스트와 DB 없이 실행되므로, 항상 활성화해둠.
+// @SpringBootTest(properties = "collab.store=memory")
+public class CollabEditServiceTest {
+
+    @Autowired
+    private CollabEditService collabEditService;
+    @Autowired
+    private CollabOperationStore collabOperationStore;
+
+    // 테스트용 데이터 (공동메모와 그 사용자들로 지정할 것)
+    private final Long MEMO_ID = 1L;
+    private final List<Long> USER_ID_LIST = List.of(1L, 2L, 3L, 4L, 5L);
+
+
+    // @Test
+    @DisplayName("동시편집 Test - 같은 revision 기준의 동시 연산이 모두 반영되고 한 문서로 수렴하는지 확인")
+    public void submitOperation_Test() throws InterruptedException {
+        // 공동 편집 시작 (문서 생성)
+        setAuthentication(USER_ID_LIST.get(0));
+        collabEditService.subscribe(MEMO_ID);
+        CollabOperationStore.DocumentState beforeState = collabOperationStore.findDocument(MEMO_ID);
+        int beforeLength = beforeState.getContent().length();
+
+        // 모든 사용자가 같은 revision 기준으로, 문서 맨 앞에 각자의 문자열을 삽입.
+        int threadCnt = USER_ID_LIST.size();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        List<Exception> exceptionList = Collections.synchronizedList(new ArrayList<>());
+        for(Long userId : USER_ID_LIST) {
+            executorService.submit(() -> {
+                try {
+                    setAuthentication(userId);
+                    MemoDto.CollabOperationRequest collabOperationRequestDto = MemoDto.CollabOperationRequest.builder()
+                            .baseRevision(beforeState.getRevision())
+                            .clientOpId("op-" + userId)
+                            .operation(beforeLength > 0 ? List.of("[" + userId + "]", beforeLength) : List.of("[" + userId + "]"))
+                            .build();
+                    collabEditService.submitOperation(MEMO_ID, collabOperationRequestDto);
+                } catch (Exception ex) {
+                    exceptionList.add(ex);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        CollabOperationStore.DocumentState afterState = collabOperationStore.findDocument(MEMO_ID);
+        exceptionList.forEach(ex -> System.out.println("TEST ERROR - " + ex.getMessage()));
+
+        // 검증 - 모든 연산이 409 없이 반영되었는가?
+        assertThat(exceptionList.isEmpty())
+                .as("(1)검증 실패 - 반영되지 않은 연산이 있습니다.")
+                .isTrue();
+        assertThat(afterState.getRevision() - beforeState.getRevision() == threadCnt)
+                .as("(2)검증 실패 - revision 증가량이 연산 수와 다릅니다.")
+                .isTrue();
+        // 검증 - 모든 사용자의 입력이 유실 없이 문서에 포함되었는가?
+        USER_ID_LIST.forEach(userId -> assertThat(afterState.getContent()).contains("[" + userId + "]"));
+        assertThat(afterState.getContent()).endsWith(beforeState.getContent());
+    }
+
+
+    @Test
+    @DisplayName("OT 수렴 Test - 같은 문서에 동시에 만들어진 두 연산을 변환 후 서로 다른 순서로 적용해도 같은 문서가 되는지 확인")
+    public void transform_Convergence_Test() {
+        // 같은 위치의 삽입 : a를 먼저 배치함.
+        assertConverge("abc", new TextOperation().retain(1).insert("X").retain(2), new TextOperation().retain(1).insert("Y").retain(2), "aXYbc");
+        // 겹치는 범위의 삭제 : 양쪽에서 삭제된 범위는 한 번만 삭제됨.
+        assertConverge("abcdef", new TextOperation().retain(1).delete(3).retain(2), new TextOperation().retain(2).delete(3).retain(1), "af");
+        // 삭제 범위 안의 삽입 : 삽입된 문자열은 유지됨.
+        assertConverge("abcdef", new TextOperation().retain(1).delete(4).retain(1), new TextOperation().retain(3).insert("Z").retain(3), "aZf");
+        // 빈 문서에 동시 삽입
+        assertConverge("", new TextOperation().insert("가나"), new TextOperation().insert("다"), "가나다");
+
+        // 무작위 연산 쌍 (시드 고정)
+        Random random = new Random(20240601L);
+        for(int i=0; i<5000; i++) {
+            String document = randomString(random, random.nextInt(20));
+            assertConverge(document, randomOperation(random, document), randomOperation(random, document), null);
+        }
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private void assertConverge(String document, TextOperation a, TextOperation b, String expected) {
+        TextOperation[] transformedOperations = TextOperation.transform(a, b);
+        String abResult = transformedOperations[1].apply(a.apply(document));  // a -> b'
+        String baResult = transformedOperations[0].apply(b.apply(document));  // b -> a'
+        assertThat(abResult)
+                .as("검증 실패 - 적용 순서에 따라 문서가 다릅니다. (document = '%s', a = %s, b = %s)", document, a.toList(), b.toList())
+                .isEqualTo(baResult);
+        if(expected != null) assertThat(abResult).isEqualTo(expected);
+    }
+
+    private TextOperation randomOperation(Random random, String document) {  // document 전체를 순회하는 retain · insert · delete 무작위 조합
+        TextOperation operation = new TextOperation();
+        int restLength = document.length();
+        while(restLength > 0) {
+            int n = 1 + random.nextInt(Math.min(restLength, 5));
+            switch (random.nextInt(3)) {
+                case 0 -> operation.retain(n);
+                case 1 -> operation.delete(n);
+                default -> {
+                    operation.insert(randomString(random, 1 + random.nextInt(3)));
+                    continue;
+                }
+            }
+            restLength -= n;
+        }
+        if(random.nextBoolean()) operation.insert(randomString(random, 1 + random.nextInt(3)));
+        return operation;
+    }
+
+    private String randomString(Random random, int length) {
+        StringBuilder randomSb = new StringBuilder(length);
+        for(int i=0; i<length; i++) randomSb.append((char) ('a' + random.nextInt(4)));
+        return randomSb.toString();
+    }
+
+    private void setAuthentication(Long userId) {
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userId.toString(), null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
+}
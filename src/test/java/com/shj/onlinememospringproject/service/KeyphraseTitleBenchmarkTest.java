@@ -0,0 +1,121 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.util.KeyphraseTitleGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 로컬 추출형 제목 생성기(KeyphraseTitleGenerator)의 지연시간과, DB에 저장된 기존 제목(AI 생성 제목) 대비 품질 비교.
+// - 지연시간 : 형태소 분석기 로딩 이후, 글 길이별 p50 · p99 소요시간 (워밍업 포함)
+// - 품질 : 기존 제목과 로컬 제목의 글자 바이그램 Dice 유사도 평균, 기존 제목의 어절이 로컬 제목에 포함된 비율 평균
+// @SpringBootTest
+public class KeyphraseTitleBenchmarkTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 테스트용 데이터 (AI로 제목을 생성한 메모가 많은 DB로 지정할 것)
+    private final int MAX_TITLE_LENGTH = 15;
+    private final int REPEAT_CNT = 200;
+    private final int SAMPLE_CNT = 500;
+    private final long WARM_UP_TIMEOUT = 1000L * 30;
+    private final String SAMPLE_TEXT = "주간 회의 안건 정리. 다음 주 프로젝트 일정과 서버 배포 계획을 논의했다. 배포 계획은 금요일까지 확정하고, 테스트 일정은 팀장님께 공유한다.\n";
+
+    private final KeyphraseTitleGenerator keyphraseTitleGenerator = new KeyphraseTitleGenerator(MAX_TITLE_LENGTH);
+
+
+    // @Test
+    @DisplayName("로컬 추출형 제목 Benchmark - 글 길이별 p50 · p99 지연시간")
+    public void generateLocalTitle_Latency() throws InterruptedException {
+        waitForWarmUp();
+
+        for(int contentLen : new int[]{100, 1000, 6000}) {
+            String content = SAMPLE_TEXT.repeat(contentLen / SAMPLE_TEXT.length() + 1).substring(0, contentLen);
+            for(int i=0; i<REPEAT_CNT; i++) keyphraseTitleGenerator.generate(content, null);  // 워밍업
+
+            long[] elapsedMicros = new long[REPEAT_CNT];
+            for(int i=0; i<REPEAT_CNT; i++) {
+                long startNanos = System.nanoTime();
+                String title = keyphraseTitleGenerator.generate(content, null);
+                elapsedMicros[i] = (System.nanoTime() - startNanos) / 1000;
+                assertThat(title).isNotNull().hasSizeLessThanOrEqualTo(MAX_TITLE_LENGTH);
+            }
+            Arrays.sort(elapsedMicros);
+            System.out.println(String.format("[contentLen=%d] p50 = %d us, p99 = %d us",
+                    contentLen, elapsedMicros[REPEAT_CNT / 2], elapsedMicros[REPEAT_CNT * 99 / 100]));
+        }
+    }
+
+    // @Test
+    @DisplayName("로컬 추출형 제목 품질 비교 - 기존 제목 대비 유사도")
+    public void generateLocalTitle_Quality() throws InterruptedException {
+        waitForWarmUp();
+
+        List<Map<String, Object>> memoList = jdbcTemplate.queryForList(
+                "SELECT m.title, mc.content FROM memo m JOIN memo_content mc ON mc.memo_id = m.memo_id " +
+                        "WHERE CHAR_LENGTH(mc.content) > ? ORDER BY m.memo_id DESC LIMIT ?", MAX_TITLE_LENGTH, SAMPLE_CNT);
+
+        double diceSum = 0.0, wordRecallSum = 0.0;
+        int sampleCnt = 0;
+        for(Map<String, Object> memo : memoList) {
+            String storedTitle = (String) memo.get("title");
+            String localTitle = keyphraseTitleGenerator.generate((String) memo.get("content"), null);
+            if(storedTitle == null || storedTitle.isBlank() || localTitle == null) continue;
+
+            diceSum += toBigramDice(storedTitle, localTitle);
+            wordRecallSum += toWordRecall(storedTitle, localTitle);
+            sampleCnt++;
+            if(sampleCnt <= 20) System.out.println(String.format("[sample] stored = %s, local = %s", storedTitle, localTitle));
+        }
+
+        assertThat(sampleCnt).isPositive();
+        System.out.println(String.format("[quality] samples = %d, avgBigramDice = %.3f, avgWordRecall = %.3f",
+                sampleCnt, diceSum / sampleCnt, wordRecallSum / sampleCnt));
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private void waitForWarmUp() throws InterruptedException {  // 어절 단위 분석이 아닌 형태소 분석 결과를 측정하도록, 사전 로딩을 기다림.
+        KeyphraseTitleGenerator.warmUp();
+        long deadline = System.currentTimeMillis() + WARM_UP_TIMEOUT;
+        while(!KeyphraseTitleGenerator.isWarmedUp() && System.currentTimeMillis() < deadline) Thread.sleep(100L);
+        assertThat(KeyphraseTitleGenerator.isWarmedUp()).isTrue();
+    }
+
+    private double toBigramDice(String a, String b) {
+        Set<String> aBigramSet = toBigramSet(a), bBigramSet = toBigramSet(b);
+        if(aBigramSet.isEmpty() && bBigramSet.isEmpty()) return a.strip().equals(b.strip()) ? 1.0 : 0.0;
+
+        Set<String> intersectionSet = new HashSet<>(aBigramSet);
+        intersectionSet.retainAll(bBigramSet);
+        return 2.0 * intersectionSet.size() / (aBigramSet.size() + bBigramSet.size());
+    }
+
+    private Set<String> toBigramSet(String text) {
+        String compactText = text.replaceAll("\\s+", "");
+        Set<String> bigramSet = new HashSet<>();
+        for(int i=0; i+1<compactText.length(); i++) bigramSet.add(compactText.substring(i, i + 2));
+        return bigramSet;
+    }
+
+    private double toWordRecall(String storedTitle, String localTitle) {  // 기존 제목의 어절(2글자 이상 앞부분) 중 로컬 제목에 포함된 비율
+        String[] words = storedTitle.strip().split("\\s+");
+        int matchedCnt = 0;
+        for(String word : words) {
+            String stem = (word.length() > 2) ? word.substring(0, 2) : word;
+            if(localTitle.contains(stem)) matchedCnt++;
+        }
+        return (double) matchedCnt / words.length;
+    }
+}
@@ -0,0 +1,99 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.repository.MemoQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// 메모 본문 분리 이전(Before, 'memo' 한 행에 본문 포함)과 이후(After, 'memo' + 'memo_content')의 비교.
+// - Before 구조는 현재 데이터로 'memo_benchmark_legacy' 테이블을 임시 생성하여 재현함. (테스트 종료 시 삭제)
+// - 행 크기 : information_schema.tables의 평균 행 길이
+// - 지연시간 : findMemos(목록 헤더), findMemoInfo(헤더 + 본문), 버전 검증, 즐겨찾기 수정 형태의 쿼리별 평균 소요시간
+// @SpringBootTest
+public class MemoContentBenchmarkTest {
+
+    @Autowired
+    private MemoQueryRepository memoQueryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 테스트용 데이터 (메모가 많은 사용자와, 본문이 긴 메모로 지정할 것)
+    private final Long USER_ID = 1L;
+    private final Long MEMO_ID = 1L;
+    private final int REPEAT_CNT = 200;
+
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS memo_benchmark_legacy");
+        jdbcTemplate.execute("CREATE TABLE memo_benchmark_legacy (PRIMARY KEY (memo_id), INDEX idx_legacy_modified_time_id (modified_time, memo_id)) ENGINE=InnoDB " +
+                "SELECT m.memo_id, m.title, mc.content, m.is_star, m.version, m.modified_time FROM memo m JOIN memo_content mc ON mc.memo_id = m.memo_id");
+        jdbcTemplate.execute("ANALYZE TABLE memo_benchmark_legacy, memo, memo_content");
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS memo_benchmark_legacy");
+    }
+
+
+    // @Test
+    @DisplayName("메모 본문 분리 Benchmark - 행 크기 · 쿼리별 평균 지연시간 비교")
+    public void splitMemoContent_Benchmark() {
+        // 행 크기
+        System.out.println(String.format("[Before] memo avgRowLength = %d B", getAvgRowLength("memo_benchmark_legacy")));
+        System.out.println(String.format("[After]  memo avgRowLength = %d B, memo_content avgRowLength = %d B",
+                getAvgRowLength("memo"), getAvgRowLength("memo_content")));
+
+        // findMemos (목록 헤더 조회)
+        long beforeFindMemos = measure(() -> jdbcTemplate.queryForList(
+                "SELECT m.memo_id, m.title, m.is_star, m.modified_time FROM user_memo um JOIN memo_benchmark_legacy m ON um.memo_id = m.memo_id " +
+                        "WHERE um.user_id = ? ORDER BY m.modified_time DESC, m.memo_id DESC", USER_ID));
+        long afterFindMemos = measure(() -> memoQueryRepository.findMemoPagesByUserId(USER_ID, null));
+
+        // findMemoInfo (헤더 + 본문 조회)
+        long beforeFindMemoInfo = measure(() -> jdbcTemplate.queryForList(
+                "SELECT * FROM memo_benchmark_legacy WHERE memo_id = ?", MEMO_ID));
+        long afterFindMemoInfo = measure(() -> {
+            jdbcTemplate.queryForList("SELECT memo_id, title, preview, is_star, version, modified_time FROM memo WHERE memo_id = ?", MEMO_ID);
+            jdbcTemplate.queryForObject("SELECT content FROM memo_content WHERE memo_id = ?", String.class, MEMO_ID);
+        });
+
+        // 버전 검증 및 즐겨찾기 수정 (락 · 버전 경로, 즐겨찾기는 워밍업 포함 짝수번 토글되므로 원래 값으로 복구됨.)
+        long beforeVersion = measure(() -> jdbcTemplate.queryForList("SELECT * FROM memo_benchmark_legacy WHERE memo_id = ?", MEMO_ID));
+        long afterVersion = measure(() -> jdbcTemplate.queryForList("SELECT * FROM memo WHERE memo_id = ?", MEMO_ID));
+        long beforeIsStar = measure(() -> jdbcTemplate.update("UPDATE memo_benchmark_legacy SET is_star = 1 - is_star WHERE memo_id = ?", MEMO_ID));
+        long afterIsStar = measure(() -> jdbcTemplate.update("UPDATE memo SET is_star = 1 - is_star WHERE memo_id = ?", MEMO_ID));
+
+        printResult("findMemos", beforeFindMemos, afterFindMemos);
+        printResult("findMemoInfo", beforeFindMemoInfo, afterFindMemoInfo);
+        printResult("versionCheck", beforeVersion, afterVersion);
+        printResult("updateIsStar", beforeIsStar, afterIsStar);
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private long measure(Runnable runnable) {  // 요청당 평균 소요시간 (마이크로초)
+        for(int i=0; i<REPEAT_CNT; i++) runnable.run();  // 워밍업
+        long startNanos = System.nanoTime();
+        for(int i=0; i<REPEAT_CNT; i++) runnable.run();
+        return (System.nanoTime() - startNanos) / REPEAT_CNT / 1000;
+    }
+
+    private long getAvgRowLength(String tableName) {
+        List<Long> avgRowLengthList = jdbcTemplate.queryForList(
+                "SELECT avg_row_length FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", Long.class, tableName);
+        return avgRowLengthList.isEmpty() ? 0L : avgRowLengthList.get(0);
+    }
+
+    private void printResult(String name, long beforeMicros, long afterMicros) {
+        System.out.println(String.format("[%s] Before = %d us/req, After = %d us/req", name, beforeMicros, afterMicros));
+    }
+}
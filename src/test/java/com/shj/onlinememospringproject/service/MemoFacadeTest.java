@@ -2,9 +2,12 @@ package com.shj.onlinememospringproject.service;
 
 import com.shj.onlinememospringproject.domain.Memo;
 import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.repository.MemoContentRepository;
 import com.shj.onlinememospringproject.repository.MemoRepository;
 import com.shj.onlinememospringproject.repository.UserRepository;
 import com.shj.onlinememospringproject.response.exception.Exception409;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import javax.sql.DataSource;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +25,9 @@ import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -32,6 +40,10 @@ public class MemoFacadeTest {
     private UserRepository userRepository;
     @Autowired
     private MemoRepository memoRepository;
+    @Autowired
+    private MemoContentRepository memoContentRepository;
+    @Autowired
+    private DataSource dataSource;
 
     // 테스트용 데이터
     private final Long MEMO_ID = 1L;
@@ -52,8 +64,12 @@ public class MemoFacadeTest {
         // 메모 내용 초기화 (Test 반복 실행 시, 더티 체킹으로 update 쿼리가 누락되는 문제를 방지하기위함.)
         Memo memo = optionalMemo.get();
         memo.updateTitle("testTitle init");
-        memo.updateContent("testContent init");
+        memo.updatePreview("testContent init");
         memoRepository.saveAndFlush(memo);  // with flush
+        memoContentRepository.findById(MEMO_ID).ifPresent(memoContent -> {
+            memoContent.updateContent("testContent init");
+            memoContentRepository.saveAndFlush(memoContent);
+        });
     }
 
 
@@ -119,6 +135,145 @@ public class MemoFacadeTest {
     }
 
 
+    // @Test
+    @DisplayName("범위 패치 Test - 패치 범위 앞에 먼저 입력된 수정이 있어도, 기준 버전의 위치에 적용되어 병합되는지 확인")
+    public void patchMemoFacade_ConcurrentInsert_Test() {
+        // 기준 버전 생성 (setup의 초기화는 수정 이력을 남기지 않으므로, 제목만 바꿔 본문 "testContent init"의 리비전을 기록함.)
+        setAuthentication(USER_ID_LIST.get(0));
+        memoFacade.updateMemoFacade(MEMO_ID, MemoDto.UpdateRequest.builder()
+                .title("testTitle base")
+                .content("testContent init")
+                .currentVersion(memoRepository.findVersionById(MEMO_ID))
+                .build());
+        Long baseVersion = memoRepository.findVersionById(MEMO_ID);
+
+        // 다른 사용자가 본문 맨 앞에 먼저 입력함.
+        MemoDto.UpdateRequest updateRequestDto = MemoDto.UpdateRequest.builder()
+                .title("testTitle base")
+                .content("NEW testContent init")
+                .currentVersion(baseVersion)
+                .build();
+        memoFacade.updateMemoFacade(MEMO_ID, updateRequestDto);
+
+        // 같은 기준 버전으로, 'init'(12 ~ 16) 범위를 'done'으로 치환하는 패치를 요청함.
+        setAuthentication(USER_ID_LIST.get(1));
+        MemoDto.PatchRequest patchRequestDto = MemoDto.PatchRequest.builder()
+                .operationList(List.of(MemoDto.PatchOperation.builder().start(12).end(16).text("done").build()))
+                .currentVersion(baseVersion)
+                .build();
+        memoFacade.patchMemoFacade(MEMO_ID, patchRequestDto);
+
+        // 검증 - 패치가 최신 본문의 12 ~ 16 위치('Content' 일부)가 아닌, 기준 버전의 'init' 위치에 적용되었는가?
+        String afterContent = memoContentRepository.findContentById(MEMO_ID);
+        assertThat(afterContent.equals("NEW testContent done"))
+                .as("(1)검증 실패 - 패치가 잘못된 위치에 적용되었습니다. (본문 = '%s')", afterContent)
+                .isTrue();
+        // 검증 - 두 수정 모두 반영되어 버전이 2 증가했는가?
+        assertThat(memoRepository.findVersionById(MEMO_ID) - baseVersion == 2)
+                .as("(2)검증 실패 - 버전 증가량이 수정 횟수와 다릅니다.")
+                .isTrue();
+    }
+
+
+    // @Test
+    @DisplayName("동시수정 부하 Test - 요청당 커넥션 점유 수 및 처리량 확인")
+    public void updateMemoFacade_ConnectionUsage_Test() throws InterruptedException {
+        int threadCnt = 20;
+        int requestCntPerThread = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCnt);
+        CountDownLatch latch = new CountDownLatch(threadCnt);
+        HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+        HikariPoolMXBean poolMXBean = hikariDataSource.getHikariPoolMXBean();
+
+        // 풀이 스레드 수의 2배보다 커야, 요청당 2개의 커넥션을 점유하는 경우 사용 커넥션이 동시 요청 수를 넘어서며 드러남. (풀이 작으면 대기만 늘어날 뿐 검증이 항상 통과함.)
+        assertThat(hikariDataSource.getMaximumPoolSize() > threadCnt * 2)
+                .as("TEST ERROR - 커넥션 풀 크기(%d)가 스레드 수의 2배(%d)보다 커야 합니다.", hikariDataSource.getMaximumPoolSize(), threadCnt * 2)
+                .isTrue();
+
+        // 부하 도중 커넥션 풀의 최대 사용량과 대기 스레드 수, 동시 처리중인 요청 수를 주기적으로 측정.
+        AtomicBoolean isRunning = new AtomicBoolean(true);
+        AtomicInteger inFlightCnt = new AtomicInteger();
+        AtomicInteger maxInFlightCnt = new AtomicInteger();
+        AtomicInteger maxActiveConnections = new AtomicInteger();
+        AtomicInteger maxPendingThreads = new AtomicInteger();
+        Thread monitorThread = new Thread(() -> {
+            while(isRunning.get()) {
+                maxActiveConnections.accumulateAndGet(poolMXBean.getActiveConnections(), Math::max);
+                maxPendingThreads.accumulateAndGet(poolMXBean.getThreadsAwaitingConnection(), Math::max);
+                maxInFlightCnt.accumulateAndGet(inFlightCnt.get(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException iex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        });
+        monitorThread.start();
+
+        // 동시수정 요청 (각 스레드가 최신 버전으로 반복 수정하므로, 성공과 409 충돌이 섞여서 발생함.)
+        Long beforeVersion = memoRepository.findVersionById(MEMO_ID);
+        AtomicInteger successCnt = new AtomicInteger();
+        AtomicInteger conflictCnt = new AtomicInteger();
+        List<Exception> exceptionOtherList = Collections.synchronizedList(new ArrayList<>());
+        long startTime = System.nanoTime();
+        for(int i=0; i<threadCnt; i++) {
+            Long userId = USER_ID_LIST.get(i % USER_ID_LIST.size());
+            executorService.submit(() -> {
+                try {
+                    setAuthentication(userId);
+                    for(int j=0; j<requestCntPerThread; j++) {
+                        inFlightCnt.incrementAndGet();  // 버전 조회부터 수정 완료까지를 요청 1건으로 봄.
+                        MemoDto.UpdateRequest updateRequestDto = MemoDto.UpdateRequest.builder()
+                                .title("testTitle " + userId)
+                                .content("testContent " + userId + " " + j)
+                                .currentVersion(memoRepository.findVersionById(MEMO_ID))
+                                .build();
+                        try {
+                            memoFacade.updateMemoFacade(MEMO_ID, updateRequestDto);
+                            successCnt.incrementAndGet();
+                        } catch (Exception409.ConflictData ex409) {
+                            conflictCnt.incrementAndGet();
+                        } finally {
+                            inFlightCnt.decrementAndGet();
+                        }
+                    }
+                } catch (Exception ex) {
+                    exceptionOtherList.add(ex);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        isRunning.set(false);
+        monitorThread.join();
+        executorService.shutdown();
+
+        // 부하 결과 출력
+        int totalRequestCnt = threadCnt * requestCntPerThread;
+        System.out.printf("요청 수 = %d (성공 = %d, 409 = %d), 소요시간 = %dms, 처리량 = %.1f req/s%n",
+                totalRequestCnt, successCnt.get(), conflictCnt.get(), elapsedMillis, totalRequestCnt * 1000.0 / Math.max(elapsedMillis, 1));
+        System.out.printf("커넥션 풀 크기 = %d, 최대 사용 커넥션 = %d, 최대 대기 스레드 = %d, 최대 동시 요청 = %d%n",
+                poolMXBean.getTotalConnections(), maxActiveConnections.get(), maxPendingThreads.get(), maxInFlightCnt.get());
+
+        // 검증 - 성공한 수정 횟수만큼만 버전이 증가했는가? (유실되거나 중복 반영된 수정이 없는가?)
+        Long afterVersion = memoRepository.findVersionById(MEMO_ID);
+        assertThat(afterVersion - beforeVersion == successCnt.get())
+                .as("(1)검증 실패 - 버전 증가량(%d)과 성공한 수정 횟수(%d)가 다릅니다.", afterVersion - beforeVersion, successCnt.get())
+                .isTrue();
+        // 검증 - 요청 1건당 커넥션을 1개만 점유하여, 최대 동시 요청 수를 넘어서는 커넥션을 사용하지 않았는가?
+        assertThat(maxActiveConnections.get() <= maxInFlightCnt.get())
+                .as("(2)검증 실패 - 요청당 2개 이상의 커넥션을 점유했습니다. (최대 사용 커넥션 = %d, 최대 동시 요청 = %d)", maxActiveConnections.get(), maxInFlightCnt.get())
+                .isTrue();
+        // 검증 - 기타 예외는 발생하지 않았는가?
+        assertThat(exceptionOtherList.size() == 0)
+                .as("(3)검증 실패 - 의도 외의 예외가 발생했습니다.")
+                .isTrue();
+    }
+
+
     // ========== 유틸성 메소드 ========== //
 
     private void setAuthentication(Long userId) {
@@ -0,0 +1,141 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.domain.Memo;
+import com.shj.onlinememospringproject.domain.User;
+import com.shj.onlinememospringproject.domain.mapping.UserMemo;
+import com.shj.onlinememospringproject.dto.MemoDto;
+import com.shj.onlinememospringproject.dto.UserDto;
+import com.shj.onlinememospringproject.repository.MemoQueryRepository;
+import com.shj.onlinememospringproject.repository.UserRepository;
+import com.shj.onlinememospringproject.util.TimeConverter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메모 목록 조회의 '4단계 Fetch Join 방식(Before)'과 'Projection 방식(After)'의 요청당 비용 비교.
+// - 조회 행 수 : 각 방식의 쿼리가 반환하는 행 수를 동일한 조인조건의 COUNT로 계산.
+// - 전송 바이트 : MySQL 세션 상태값 'Bytes_sent'의 증가량 (같은 커넥션을 사용하도록 테스트 전체를 하나의 트랜잭션으로 묶음.)
+// - 힙 할당량 : 현재 스레드의 누적 할당 바이트 증가량
+// @SpringBootTest
+public class MemoQueryBenchmarkTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MemoQueryRepository memoQueryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    // 테스트용 데이터 (메모가 많은 사용자로 지정할 것)
+    private final Long USER_ID = 1L;
+    private final int REPEAT_CNT = 20;
+
+
+    // @Test
+    @DisplayName("메모 목록 조회 Benchmark - 행 수 · 전송 바이트 · 힙 할당량 비교")
+    @Transactional(readOnly = true)
+    public void findMemoPages_Benchmark() {
+        // 조회 행 수
+        Long beforeRowCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM `user` u " +
+                        "LEFT JOIN user_memo uml ON uml.user_id = u.user_id " +
+                        "LEFT JOIN memo m ON m.memo_id = uml.memo_id " +
+                        "LEFT JOIN user_memo umll ON umll.memo_id = m.memo_id " +
+                        "LEFT JOIN `user` uu ON uu.user_id = umll.user_id " +
+                        "WHERE u.user_id = ?", Long.class, USER_ID);
+        Long afterHeaderRowCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_memo WHERE user_id = ?", Long.class, USER_ID);
+        Long afterMemberRowCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_memo um JOIN user_memo umm ON umm.memo_id = um.memo_id WHERE um.user_id = ?", Long.class, USER_ID);
+
+        // 결과 동일성 검증
+        List<MemoDto.MemoPageResponse> beforeList = findMemoPagesByFetchJoin();
+        entityManager.clear();
+        List<MemoDto.MemoPageResponse> afterList = memoQueryRepository.findMemoPagesByUserId(USER_ID, null);
+        assertThat(afterList.stream().map(MemoDto.MemoPageResponse::getMemoId).collect(Collectors.toList()))
+                .as("검증 실패 - 두 방식의 메모 목록 순서가 일치하지 않습니다.")
+                .isEqualTo(beforeList.stream().map(MemoDto.MemoPageResponse::getMemoId).collect(Collectors.toList()));
+
+        // 측정 (워밍업 이후 반복 측정의 평균)
+        long[] beforeResult = measure(this::findMemoPagesByFetchJoin);
+        long[] afterResult = measure(() -> memoQueryRepository.findMemoPagesByUserId(USER_ID, null));
+
+        System.out.println(String.format("[Before] rows = %d, bytesSent = %d B/req, heapAllocated = %d B/req",
+                beforeRowCount, beforeResult[0], beforeResult[1]));
+        System.out.println(String.format("[After]  rows = %d (header %d + member %d), bytesSent = %d B/req, heapAllocated = %d B/req",
+                afterHeaderRowCount + afterMemberRowCount, afterHeaderRowCount, afterMemberRowCount, afterResult[0], afterResult[1]));
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private List<MemoDto.MemoPageResponse> findMemoPagesByFetchJoin() {  // 기존 MemoServiceImpl.findMemos 방식
+        User user = userRepository.findByIdToDeepUserWithEager(USER_ID).orElseThrow();
+        return user.getUserMemoList().stream()
+                .map(UserMemo::getMemo)
+                .sorted(Comparator.comparing(Memo::getModifiedTime, Comparator.reverseOrder())
+                        .thenComparing(Memo::getId, Comparator.reverseOrder()))
+                .map(this::toMemoPageResponse)
+                .collect(Collectors.toList());
+    }
+
+    private MemoDto.MemoPageResponse toMemoPageResponse(Memo memo) {  // 기존 엔티티 -> DTO 변환 (userMemoList 지연로딩 컬렉션을 순회)
+        List<UserDto.Response> userResponseDtoList = memo.getUserMemoList().stream()
+                .map(UserMemo::getUser)
+                .map(UserDto.Response::new)
+                .sorted(Comparator.comparing(UserDto.Response::getNickname)  // 정렬 우선순위 1: 이름 오름차순
+                        .thenComparing(UserDto.Response::getUserId))  // 정렬 우선순위 2: id 오름차순
+                .collect(Collectors.toList());
+
+        return MemoDto.MemoPageResponse.builder()
+                .memoId(memo.getId())
+                .title(memo.getTitle())
+                .preview(memo.getPreview())
+                .isStar(memo.getIsStar())
+                .modifiedTime(TimeConverter.timeToStringForResponse(memo.getModifiedTime()))
+                .userResponseDtoList(userResponseDtoList)
+                .memoHasUsersCount(userResponseDtoList.size())
+                .build();
+    }
+
+    private long[] measure(Supplier<List<MemoDto.MemoPageResponse>> supplier) {  // { 요청당 전송 바이트, 요청당 힙 할당량 }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for(int i=0; i<REPEAT_CNT; i++) {  // 워밍업
+            supplier.get();
+            entityManager.clear();
+        }
+
+        long bytesSentOverhead = getBytesSent() - getBytesSent();  // 상태값 조회 쿼리 자체의 전송량 (음수)
+        long beforeBytesSent = getBytesSent();
+        long beforeAllocated = threadMXBean.getCurrentThreadAllocatedBytes();
+        for(int i=0; i<REPEAT_CNT; i++) {
+            supplier.get();
+            entityManager.clear();  // 1차 캐시 재사용 방지
+        }
+        long afterAllocated = threadMXBean.getCurrentThreadAllocatedBytes();
+        long afterBytesSent = getBytesSent();
+
+        return new long[]{
+                (afterBytesSent - beforeBytesSent + bytesSentOverhead) / REPEAT_CNT,
+                (afterAllocated - beforeAllocated) / REPEAT_CNT
+        };
+    }
+
+    private long getBytesSent() {
+        return jdbcTemplate.queryForObject("SHOW SESSION STATUS LIKE 'Bytes_sent'", (rs, rowNum) -> rs.getLong("Value"));
+    }
+}
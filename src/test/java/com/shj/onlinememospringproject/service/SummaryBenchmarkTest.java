@@ -0,0 +1,119 @@
+package com.shj.onlinememospringproject.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 긴 글 요약(SummaryService)의 글 길이별 지연시간과 힙 사용량.
+// - 지연시간 : 요청 스레드 기준 p50 · p99 (시간 초과 시 대체 결과까지의 시간 포함)
+// - 힙 사용량 : 측정 구간의 힙 메모리 풀 최대 사용량 합계 (측정 전 GC 및 최대값 초기화)
+// - 부하 : STRESS_THREAD_CNT개의 요청 스레드가 동시에 요약을 요청하는 경우 (전용 스레드풀 포화 시의 거절 · 대체 포함)
+// @SpringBootTest
+public class SummaryBenchmarkTest {
+
+    @Autowired
+    private SummaryService summaryService;
+    @Autowired
+    private MetricRecorder metricRecorder;
+
+    // 테스트용 데이터
+    private final int MAX_SUMMARY_CONTENT_LENGTH = 6000;
+    private final int REPEAT_CNT = 20;
+    private final int STRESS_THREAD_CNT = 16;
+    private final int[] CONTENT_LENGTHS = {10_000, 100_000, 1_000_000};
+    private final String[] SAMPLE_SENTENCES = {
+            "오늘 회의에서는 다음 분기 서비스 개선 계획을 논의했다.", "메모 목록 조회 속도가 느리다는 의견이 많았다.",
+            "캐시를 적용하고 쿼리를 줄이는 방향으로 개선하기로 했다.", "배포 일정은 다음 주 금요일로 정했다.",
+            "공동 메모의 편집 충돌 문제도 함께 검토해야 한다.", "AI 제목 생성의 비용을 줄이는 방법을 찾아보자."};
+
+
+    // @Test
+    @DisplayName("긴 글 요약 Benchmark - 글 길이별 p50 · p99 지연시간 및 힙 사용량")
+    public void summarize_Latency() {
+        summaryService.summarize(toContent(10_000), MAX_SUMMARY_CONTENT_LENGTH);  // 워밍업
+
+        for(int contentLen : CONTENT_LENGTHS) {
+            String content = toContent(contentLen);
+            resetHeapPeak();
+            long[] elapsedMillis = new long[REPEAT_CNT];
+            for(int i=0; i<REPEAT_CNT; i++) {
+                long startNanos = System.nanoTime();
+                String summary = summaryService.summarize(content, MAX_SUMMARY_CONTENT_LENGTH);
+                elapsedMillis[i] = (System.nanoTime() - startNanos) / 1_000_000;
+                assertThat(summary.length()).isLessThanOrEqualTo(MAX_SUMMARY_CONTENT_LENGTH);
+            }
+            printResult("sequential", contentLen, elapsedMillis);
+        }
+        System.out.println(String.format("[metric] timeout = %d, rejected = %d",
+                metricRecorder.getCount("summary.timeout"), metricRecorder.getCount("summary.rejected")));
+    }
+
+    // @Test
+    @DisplayName("긴 글 요약 Stress - 동시 요청 시 p50 · p99 지연시간 및 힙 사용량")
+    public void summarize_Stress() throws Exception {
+        ExecutorService requestExecutor = Executors.newFixedThreadPool(STRESS_THREAD_CNT);
+        try {
+            for(int contentLen : CONTENT_LENGTHS) {
+                String content = toContent(contentLen);
+                resetHeapPeak();
+                List<Future<Long>> futureList = new ArrayList<>();
+                for(int i=0; i<STRESS_THREAD_CNT * REPEAT_CNT; i++) {
+                    futureList.add(requestExecutor.submit(() -> {
+                        long startNanos = System.nanoTime();
+                        summaryService.summarize(content, MAX_SUMMARY_CONTENT_LENGTH);
+                        return (System.nanoTime() - startNanos) / 1_000_000;
+                    }));
+                }
+                long[] elapsedMillis = new long[futureList.size()];
+                for(int i=0; i<futureList.size(); i++) elapsedMillis[i] = futureList.get(i).get();
+                printResult("stress", contentLen, elapsedMillis);
+            }
+        } finally {
+            requestExecutor.shutdownNow();
+        }
+        System.out.println(String.format("[metric] timeout = %d, rejected = %d",
+                metricRecorder.getCount("summary.timeout"), metricRecorder.getCount("summary.rejected")));
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private String toContent(int contentLen) {
+        StringBuilder contentSb = new StringBuilder(contentLen + 100);
+        for(int i=0; contentSb.length()<contentLen; i++) {
+            contentSb.append(SAMPLE_SENTENCES[i % SAMPLE_SENTENCES.length]).append((i % 5 == 4) ? "\n" : " ");
+        }
+        return contentSb.substring(0, contentLen);
+    }
+
+    private void resetHeapPeak() {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private long getHeapPeakMB() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum() / (1024 * 1024);
+    }
+
+    private void printResult(String name, int contentLen, long[] elapsedMillis) {
+        Arrays.sort(elapsedMillis);
+        System.out.println(String.format("[%s] contentLen = %d, p50 = %d ms, p99 = %d ms, heapPeak = %d MB", name, contentLen,
+                elapsedMillis[elapsedMillis.length / 2], elapsedMillis[elapsedMillis.length * 99 / 100], getHeapPeakMB()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.shj.onlinememospringproject.service;
+
+import com.shj.onlinememospringproject.util.TokenEstimator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 토큰 수 추정값을 실제 토크나이저(tiktoken)의 토큰 수와 비교하여, 인코딩별 밀도가 보정되어 있는지 확인.
+// - 실제 토큰 수 : OpenAI가 GPT-4o 발표 시 공개한 언어별 예문의 cl100k · o200k 토큰 수를 사용함.
+// - 예산 초과를 막는 용도이므로, 추정값은 실제 이상이어야 하며 너무 크지 않아야 함. (실제의 1.25배 이하)
+// - 스프링 컨텍스트와 DB 없이 실행되므로, 항상 활성화해둠.
+public class TokenEstimatorTest {
+
+    private static final double MAX_OVERESTIMATE_RATIO = 1.25;
+
+    // 예문과 실제 토큰 수 { cl100k, o200k }
+    private static final String KOREAN_TEXT = "안녕하세요, 제 이름은 GPT-4o입니다. 저는 새로운 유형의 언어 모델입니다, 만나서 반갑습니다!";
+    private static final int[] KOREAN_TOKENS = {45, 27};
+    private static final String ENGLISH_TEXT = "Hello, my name is GPT-4o. I'm a new type of language model, it's nice to meet you!";
+    private static final int[] ENGLISH_TOKENS = {27, 24};
+    // 혼합 : 두 예문을 공백으로 이음. (사전 분할이 ' Hello' 단어 경계에서 나뉘므로, 실제 토큰 수는 두 예문의 합과 같음.)
+    private static final String MIXED_TEXT = KOREAN_TEXT + " " + ENGLISH_TEXT;
+    private static final int[] MIXED_TOKENS = {KOREAN_TOKENS[0] + ENGLISH_TOKENS[0], KOREAN_TOKENS[1] + ENGLISH_TOKENS[1]};
+
+
+    @Test
+    @DisplayName("토큰 추정 보정 Test - 한글 · 영문 · 혼합 예문의 추정값이 실제 토큰 수 이상, 1.25배 이하인지 확인")
+    public void estimate_Calibration_Test() {
+        assertCalibrated("한글", KOREAN_TEXT, KOREAN_TOKENS);
+        assertCalibrated("영문", ENGLISH_TEXT, ENGLISH_TOKENS);
+        assertCalibrated("혼합", MIXED_TEXT, MIXED_TOKENS);
+    }
+
+    @Test
+    @DisplayName("토큰 자르기 Test - 자른 글의 추정값이 예산 이하이며, 예산이 충분하면 원문 그대로인지 확인")
+    public void truncate_Test() {
+        for(TokenEstimator.Encoding encoding : TokenEstimator.Encoding.values()) {
+            for(int maxTokens=1; maxTokens<=60; maxTokens++) {
+                String truncated = TokenEstimator.truncate(MIXED_TEXT, maxTokens, encoding);
+                assertThat(MIXED_TEXT).startsWith(truncated);
+                assertThat(TokenEstimator.estimate(truncated, encoding))
+                        .as("검증 실패 - %s, maxTokens = %d", encoding, maxTokens)
+                        .isLessThanOrEqualTo(maxTokens);
+            }
+            assertThat(TokenEstimator.truncate(MIXED_TEXT, TokenEstimator.estimate(MIXED_TEXT, encoding), encoding)).isEqualTo(MIXED_TEXT);
+        }
+    }
+
+
+    // ========== 유틸성 메소드 ========== //
+
+    private static void assertCalibrated(String label, String text, int[] actualTokens) {
+        TokenEstimator.Encoding[] encodings = {TokenEstimator.Encoding.CL100K, TokenEstimator.Encoding.O200K};
+        for(int idx=0; idx<encodings.length; idx++) {
+            int estimatedTokens = TokenEstimator.estimate(text, encodings[idx]);
+            System.out.println(String.format("[%s] %s : estimated = %d, actual = %d", label, encodings[idx], estimatedTokens, actualTokens[idx]));
+
+            assertThat(estimatedTokens)
+                    .as("검증 실패 - [%s] %s의 추정값이 실제 토큰 수보다 작습니다.", label, encodings[idx])
+                    .isGreaterThanOrEqualTo(actualTokens[idx]);
+            assertThat(estimatedTokens)
+                    .as("검증 실패 - [%s] %s의 추정값이 실제 토큰 수의 %.2f배를 넘습니다.", label, encodings[idx], MAX_OVERESTIMATE_RATIO)
+                    .isLessThanOrEqualTo((int) (actualTokens[idx] * MAX_OVERESTIMATE_RATIO));
+        }
+    }
+}